@@ -0,0 +1,188 @@
+package com.clemble.test.benchmark;
+
+/**
+ * Model classes used in benchmarks, one for each construction strategy.
+ *
+ * @author Anton Oparin
+ */
+public class BenchmarkModel {
+
+    private BenchmarkModel() {
+        throw new IllegalAccessError();
+    }
+
+    /**
+     * Constructed with {@link com.clemble.test.random.constructor.ClassConstructorSimple}.
+     */
+    public static class SimpleBean {
+        private int intValue;
+        private long longValue;
+        private double doubleValue;
+        private boolean booleanValue;
+        private String stringValue;
+
+        public SimpleBean() {
+        }
+
+        public int getIntValue() {
+            return intValue;
+        }
+
+        public void setIntValue(int intValue) {
+            this.intValue = intValue;
+        }
+
+        public long getLongValue() {
+            return longValue;
+        }
+
+        public void setLongValue(long longValue) {
+            this.longValue = longValue;
+        }
+
+        public double getDoubleValue() {
+            return doubleValue;
+        }
+
+        public void setDoubleValue(double doubleValue) {
+            this.doubleValue = doubleValue;
+        }
+
+        public boolean isBooleanValue() {
+            return booleanValue;
+        }
+
+        public void setBooleanValue(boolean booleanValue) {
+            this.booleanValue = booleanValue;
+        }
+
+        public String getStringValue() {
+            return stringValue;
+        }
+
+        public void setStringValue(String stringValue) {
+            this.stringValue = stringValue;
+        }
+    }
+
+    /**
+     * Constructed with {@link com.clemble.test.random.constructor.ClassConstructorFactory}.
+     */
+    public static class FactoryBean {
+        final private int intValue;
+        final private long longValue;
+        final private double doubleValue;
+        final private boolean booleanValue;
+        final private String stringValue;
+
+        private FactoryBean(int intValue, long longValue, double doubleValue, boolean booleanValue, String stringValue) {
+            this.intValue = intValue;
+            this.longValue = longValue;
+            this.doubleValue = doubleValue;
+            this.booleanValue = booleanValue;
+            this.stringValue = stringValue;
+        }
+
+        public int getIntValue() {
+            return intValue;
+        }
+
+        public long getLongValue() {
+            return longValue;
+        }
+
+        public double getDoubleValue() {
+            return doubleValue;
+        }
+
+        public boolean isBooleanValue() {
+            return booleanValue;
+        }
+
+        public String getStringValue() {
+            return stringValue;
+        }
+
+        public static FactoryBean create(int intValue, long longValue, double doubleValue, boolean booleanValue, String stringValue) {
+            return new FactoryBean(intValue, longValue, doubleValue, booleanValue, stringValue);
+        }
+    }
+
+    /**
+     * Constructed with {@link com.clemble.test.random.constructor.ClassConstructorBuilder}.
+     */
+    public static abstract class BuilderBean {
+
+        abstract public int getIntValue();
+
+        abstract public long getLongValue();
+
+        abstract public double getDoubleValue();
+
+        abstract public boolean isBooleanValue();
+
+        abstract public String getStringValue();
+
+        public static class BuilderBeanBuilder {
+            private int intValue;
+            private long longValue;
+            private double doubleValue;
+            private boolean booleanValue;
+            private String stringValue;
+
+            public void setIntValue(int intValue) {
+                this.intValue = intValue;
+            }
+
+            public void setLongValue(long longValue) {
+                this.longValue = longValue;
+            }
+
+            public void setDoubleValue(double doubleValue) {
+                this.doubleValue = doubleValue;
+            }
+
+            public void setBooleanValue(boolean booleanValue) {
+                this.booleanValue = booleanValue;
+            }
+
+            public void setStringValue(String stringValue) {
+                this.stringValue = stringValue;
+            }
+
+            public BuilderBean build() {
+                final int intValue = this.intValue;
+                final long longValue = this.longValue;
+                final double doubleValue = this.doubleValue;
+                final boolean booleanValue = this.booleanValue;
+                final String stringValue = this.stringValue;
+                return new BuilderBean() {
+                    public int getIntValue() {
+                        return intValue;
+                    }
+
+                    public long getLongValue() {
+                        return longValue;
+                    }
+
+                    public double getDoubleValue() {
+                        return doubleValue;
+                    }
+
+                    public boolean isBooleanValue() {
+                        return booleanValue;
+                    }
+
+                    public String getStringValue() {
+                        return stringValue;
+                    }
+                };
+            }
+        }
+
+        public static BuilderBeanBuilder builder() {
+            return new BuilderBeanBuilder();
+        }
+    }
+
+}
@@ -0,0 +1,46 @@
+package com.clemble.test.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.clemble.test.benchmark.BenchmarkModel.SimpleBean;
+import com.clemble.test.random.ObjectGenerator;
+
+/**
+ * Sequential and parallel bulk generation with {@link ObjectGenerator}.
+ *
+ * @author Anton Oparin
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BulkGenerationBenchmark {
+
+    @Param({ "100000" })
+    public int size;
+
+    @Benchmark
+    public List<SimpleBean> generateList() {
+        return ObjectGenerator.generateList(SimpleBean.class, size);
+    }
+
+    @Benchmark
+    public List<SimpleBean> parallelGenerateList() {
+        return ObjectGenerator.parallelGenerateList(SimpleBean.class, size);
+    }
+
+}
@@ -0,0 +1,90 @@
+package com.clemble.test.benchmark;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.clemble.test.benchmark.BenchmarkModel.BuilderBean;
+import com.clemble.test.benchmark.BenchmarkModel.FactoryBean;
+import com.clemble.test.benchmark.BenchmarkModel.SimpleBean;
+import com.clemble.test.random.ValueGeneratorFactory;
+import com.clemble.test.random.constructor.ClassConstructor;
+import com.clemble.test.random.constructor.ClassConstructorBuilder;
+import com.clemble.test.random.constructor.ClassConstructorFactory;
+import com.clemble.test.random.constructor.ClassConstructorSimple;
+import com.clemble.test.random.constructor.ClassValueGenerator;
+import com.clemble.test.random.constructor.ClassValueGeneratorCompiler;
+import com.clemble.test.random.generator.RandomValueGeneratorFactory;
+
+/**
+ * Steady state throughput of resolved generators for each construction strategy, both compiled and reflective.
+ *
+ * @author Anton Oparin
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConstructionStrategyBenchmark {
+
+    @Param({ "true", "false" })
+    public boolean compiled;
+
+    private Supplier<SimpleBean> simpleGenerator;
+    private Supplier<FactoryBean> factoryGenerator;
+    private Supplier<BuilderBean> builderGenerator;
+
+    @Setup
+    public void setUp() {
+        if (compiled)
+            ClassValueGeneratorCompiler.enable();
+        else
+            ClassValueGeneratorCompiler.disable();
+        ValueGeneratorFactory valueGeneratorFactory = new RandomValueGeneratorFactory();
+        // Step 1. Resolving generators once, only generation is measured
+        simpleGenerator = valueGeneratorFactory.get(SimpleBean.class);
+        factoryGenerator = valueGeneratorFactory.get(FactoryBean.class);
+        builderGenerator = valueGeneratorFactory.get(BuilderBean.class);
+        // Step 2. Making sure each benchmark measures expected strategy
+        checkStrategy(simpleGenerator, ClassConstructorSimple.class);
+        checkStrategy(factoryGenerator, ClassConstructorFactory.class);
+        checkStrategy(builderGenerator, ClassConstructorBuilder.class);
+    }
+
+    private static void checkStrategy(Supplier<?> generator, Class<?> expectedConstructor) {
+        if (!(generator instanceof ClassValueGenerator))
+            throw new IllegalStateException("Unexpected generator " + generator);
+        ClassConstructor<?> constructor = ((ClassValueGenerator<?>) generator).getObjectConstructor();
+        if (!expectedConstructor.isInstance(constructor))
+            throw new IllegalStateException("Expected " + expectedConstructor.getSimpleName() + " but was " + constructor);
+    }
+
+    @Benchmark
+    public SimpleBean simpleConstructor() {
+        return simpleGenerator.get();
+    }
+
+    @Benchmark
+    public FactoryBean factoryMethod() {
+        return factoryGenerator.get();
+    }
+
+    @Benchmark
+    public BuilderBean builder() {
+        return builderGenerator.get();
+    }
+
+}
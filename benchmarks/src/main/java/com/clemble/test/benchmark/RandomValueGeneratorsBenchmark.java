@@ -0,0 +1,145 @@
+package com.clemble.test.benchmark;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.clemble.test.random.generator.RandomSources;
+import com.clemble.test.random.generator.RandomValueGenerators;
+import com.clemble.test.random.generator.SplittableRandomSource;
+import com.clemble.test.random.generator.ThreadLocalRandomSource;
+
+/**
+ * Throughput of standard {@link RandomValueGenerators} suppliers, for each {@link com.clemble.test.random.generator.RandomSource}.
+ * Run with -t to check scaling across threads, shared source is a single {@link Random} for comparison.
+ *
+ * @author Anton Oparin
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RandomValueGeneratorsBenchmark {
+
+    @Param({ "threadLocal", "splittable", "shared" })
+    public String source;
+
+    @Setup
+    public void setUp() {
+        if ("splittable".equals(source))
+            RandomSources.set(new SplittableRandomSource());
+        else if ("shared".equals(source))
+            RandomSources.set(new SharedRandomSource());
+        else
+            RandomSources.set(new ThreadLocalRandomSource());
+    }
+
+    @TearDown
+    public void tearDown() {
+        RandomSources.reset();
+    }
+
+    @Benchmark
+    public Boolean booleanValue() {
+        return RandomValueGenerators.BOOLEAN_VALUE_GENERATOR.get();
+    }
+
+    @Benchmark
+    public Integer integerValue() {
+        return RandomValueGenerators.INTEGER_VALUE_GENERATOR.get();
+    }
+
+    @Benchmark
+    public Long longValue() {
+        return RandomValueGenerators.LONG_VALUE_GENERATOR.get();
+    }
+
+    @Benchmark
+    public Double doubleValue() {
+        return RandomValueGenerators.DOUBLE_VALUE_GENERATOR.get();
+    }
+
+    @Benchmark
+    public String stringValue() {
+        return RandomValueGenerators.STRING_VALUE_GENERATOR.get();
+    }
+
+    @Benchmark
+    public byte[] byteArray() {
+        return RandomValueGenerators.BYTE_ARRAY_VALUE_GENERATOR.get();
+    }
+
+    @Benchmark
+    public int[] integerArray() {
+        return RandomValueGenerators.INTEGER_ARRAY_VALUE_GENERATOR.get();
+    }
+
+    @Benchmark
+    public long[] longArray() {
+        return RandomValueGenerators.LONG_ARRAY_VALUE_GENERATOR.get();
+    }
+
+    @Benchmark
+    public double[] doubleArray() {
+        return RandomValueGenerators.DOUBLE_ARRAY_VALUE_GENERATOR.get();
+    }
+
+    /**
+     * Single {@link Random} shared by all threads, behaviour before per thread sources.
+     */
+    public static class SharedRandomSource extends ThreadLocalRandomSource {
+
+        final private Random random = new Random();
+
+        @Override
+        public boolean nextBoolean() {
+            return random.nextBoolean();
+        }
+
+        @Override
+        public int nextInt() {
+            return random.nextInt();
+        }
+
+        @Override
+        public int nextInt(int bound) {
+            return random.nextInt(bound);
+        }
+
+        @Override
+        public long nextLong() {
+            return random.nextLong();
+        }
+
+        @Override
+        public float nextFloat() {
+            return random.nextFloat();
+        }
+
+        @Override
+        public double nextDouble() {
+            return random.nextDouble();
+        }
+
+        @Override
+        public Random asRandom() {
+            return random;
+        }
+
+    }
+
+}
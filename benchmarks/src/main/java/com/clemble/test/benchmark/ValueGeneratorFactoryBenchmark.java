@@ -0,0 +1,73 @@
+package com.clemble.test.benchmark;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.clemble.test.benchmark.BenchmarkModel.SimpleBean;
+import com.clemble.test.random.ObjectGenerator;
+import com.clemble.test.random.ValueGeneratorFactory;
+import com.clemble.test.random.generator.CachedValueGeneratorFactory;
+import com.clemble.test.random.generator.RandomValueGeneratorFactory;
+
+/**
+ * Compares cached and uncached {@link ValueGeneratorFactory} lookups, as well as {@link ObjectGenerator#generate(Class)}
+ * end to end, which includes lookup on every call.
+ *
+ * @author Anton Oparin
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ValueGeneratorFactoryBenchmark {
+
+    private ValueGeneratorFactory uncachedFactory;
+    private ValueGeneratorFactory cachedFactory;
+
+    @Setup
+    public void setUp() {
+        uncachedFactory = new RandomValueGeneratorFactory();
+        cachedFactory = new CachedValueGeneratorFactory(uncachedFactory);
+        // Warming up cache, so only cache hits are measured
+        cachedFactory.get(SimpleBean.class);
+    }
+
+    @Benchmark
+    public Supplier<SimpleBean> uncachedLookup() {
+        return uncachedFactory.get(SimpleBean.class);
+    }
+
+    @Benchmark
+    public Supplier<SimpleBean> cachedLookup() {
+        return cachedFactory.get(SimpleBean.class);
+    }
+
+    @Benchmark
+    public SimpleBean uncachedGenerate() {
+        return uncachedFactory.get(SimpleBean.class).get();
+    }
+
+    @Benchmark
+    public SimpleBean cachedGenerate() {
+        return cachedFactory.get(SimpleBean.class).get();
+    }
+
+    @Benchmark
+    public SimpleBean objectGeneratorGenerate() {
+        return ObjectGenerator.generate(SimpleBean.class);
+    }
+
+}
@@ -3,6 +3,7 @@ package com.clemble.test.random;
 import java.lang.reflect.Parameter;
 import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Deque;
@@ -12,13 +13,21 @@ import java.util.List;
 import java.util.Map;
 import java.util.Queue;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Supplier;
 
 import com.clemble.test.random.constructor.ClassAccessWrapper;
 import com.clemble.test.random.constructor.ClassConstructor;
+import com.clemble.test.random.constructor.ClassPlanCache;
 import com.clemble.test.random.constructor.ClassPropertySetter;
 import com.clemble.test.random.constructor.ClassPropertySetterRegistry;
 import com.clemble.test.random.constructor.ClassValueGenerator;
+import com.clemble.test.random.constructor.ClassValueGeneratorCompiler;
+import com.clemble.test.random.constructor.ConstraintValidatorRegistry;
+import com.clemble.test.random.generator.GeneratedValueGenerators;
+import com.clemble.test.random.generator.RandomSources;
+import com.clemble.test.random.generator.RecursiveValueGenerator;
+import com.clemble.test.random.generator.ReusePool;
 import com.google.common.collect.ImmutableMap;
 import com.clemble.test.reflection.ReflectionUtils;
 
@@ -61,10 +70,23 @@ abstract public class AbstractValueGeneratorFactory implements ValueGeneratorFac
 
     final private Map<Class<?>, Supplier<?>> DEFAULT_GENERATORS;
 
-    final private Map<Class<?>, Supplier<?>> REGISTERED_GENERATORS = new HashMap<Class<?>, Supplier<?>>();
+    /**
+     * Registered generators, can be updated concurrently with lookups.
+     */
+    final private Map<Class<?>, Supplier<?>> REGISTERED_GENERATORS = new ConcurrentHashMap<Class<?>, Supplier<?>>();
 
     final private ClassPropertySetterRegistry propertySetterManager;
 
+    /**
+     * Back references to the classes, that are being resolved in the current thread.
+     */
+    final private static ThreadLocal<Map<Class<?>, RecursiveValueGenerator<?>>> RESOLVING = ThreadLocal.withInitial(HashMap::new);
+
+    /**
+     * Bean Validation constraints of constructor and factory method parameters.
+     */
+    final private static ConstraintValidatorRegistry CONSTRAINTS = new ConstraintValidatorRegistry();
+
     public AbstractValueGeneratorFactory(final ClassPropertySetterRegistry setterManager) {
         this(setterManager, null);
     }
@@ -129,11 +151,33 @@ abstract public class AbstractValueGeneratorFactory implements ValueGeneratorFac
         valueGenerator = (Supplier<T>) REGISTERED_GENERATORS.get(klass);
         if(valueGenerator != null)
             return valueGenerator;
+        // Step 1.2. Checking compile time generated generators, they can't apply registered properties of the class
+        valueGenerator = GeneratedValueGenerators.get(klass);
+        if (valueGenerator != null && propertySetterManager.getApplicableProperties(ClassAccessWrapper.createAllMethodsAccessor(klass)).isEmpty())
+            return valueGenerator;
         // Step 2. If this is enum replace with Random value generator
         if (klass.isEnum())
             return enumValueGenerator(klass);
-        // Step 3. Initialize value generator with primarily public access
-        valueGenerator = construct(ClassAccessWrapper.createPublicAccessor(klass));
+        // Step 3. Class that is already being resolved in this thread references itself, back reference is used
+        Map<Class<?>, RecursiveValueGenerator<?>> resolving = RESOLVING.get();
+        RecursiveValueGenerator<T> backReference = (RecursiveValueGenerator<T>) resolving.get(klass);
+        if (backReference != null)
+            return backReference.reference();
+        backReference = new RecursiveValueGenerator<T>(klass);
+        resolving.put(klass, backReference);
+        try {
+            // Step 4. Resolving the plan, in seeded mode resolution does not shift generated values
+            valueGenerator = RandomSources.detached(() -> resolve(klass));
+        } finally {
+            resolving.remove(klass);
+        }
+        return backReference.bind(valueGenerator);
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> Supplier<T> resolve(Class<T> klass) {
+        // Step 3.1. Initialize value generator with primarily public access
+        Supplier<T> valueGenerator = construct(ClassAccessWrapper.createPublicAccessor(klass));
         if (valueGenerator != null)
             return valueGenerator;
         // Step 4. Trying to initialize with all available access
@@ -144,9 +188,9 @@ abstract public class AbstractValueGeneratorFactory implements ValueGeneratorFac
         if(klass.isArray()) {
             return arrayValueGenerator(klass);
         }
-        for(Class<?> registered: REGISTERED_GENERATORS.keySet()) {
-            if(klass.isAssignableFrom(registered)) {
-                return (Supplier<T>) REGISTERED_GENERATORS.get(registered);
+        for(Map.Entry<Class<?>, Supplier<?>> registered: REGISTERED_GENERATORS.entrySet()) {
+            if(klass.isAssignableFrom(registered.getKey())) {
+                return (Supplier<T>) registered.getValue();
             }
         }
         // Step 7. If there is no result throw IllegalArgumentException
@@ -171,8 +215,9 @@ abstract public class AbstractValueGeneratorFactory implements ValueGeneratorFac
         // Step 3.2 Checking extended list of candidates
         for (Class<?> subClass : subClasses) {
             ClassAccessWrapper<?> childWrapper = sourceClass.wrap(subClass);
-            if(REGISTERED_GENERATORS.containsKey(childWrapper.getSourceClass()))
-                return (Supplier<T>) REGISTERED_GENERATORS.get(childWrapper.getSourceClass());
+            Supplier<T> registeredGenerator = (Supplier<T>) REGISTERED_GENERATORS.get(childWrapper.getSourceClass());
+            if (registeredGenerator != null)
+                return registeredGenerator;
             if (childWrapper.constructable()) {
                 valueGenerator = (Supplier<T>) tryConstruct(childWrapper);
                 if (valueGenerator != null)
@@ -190,6 +235,10 @@ abstract public class AbstractValueGeneratorFactory implements ValueGeneratorFac
      * @return {@link Supplier} if it is possible to create one, with defined access level, <code>null</code> otherwise.
      */
     private <T> Supplier<T> tryConstruct(final ClassAccessWrapper<T> classToGenerate) {
+        // Step 0. Reusing plan, discovered by the previous run
+        ClassValueGenerator<T> plan = ClassPlanCache.load(classToGenerate, this);
+        if (plan != null)
+            return ClassValueGeneratorCompiler.compile(plan);
         // Step 1. Selecting appropriate constructor
         ClassConstructor<T> objectConstructor = ClassConstructor.construct(classToGenerate, this);
         if (objectConstructor == null)
@@ -197,7 +246,9 @@ abstract public class AbstractValueGeneratorFactory implements ValueGeneratorFac
         // Step 2. Selecting list of applicable specific selectors from specific properties
         ClassPropertySetter<T> classPropertySetter = ClassPropertySetter.constructPropertySetter(classToGenerate, this);
         // Step 3. Generating final ClassGenerator for the type
-        return new ClassValueGenerator<T>(objectConstructor, classPropertySetter);
+        plan = new ClassValueGenerator<T>(objectConstructor, classPropertySetter);
+        ClassPlanCache.store(classToGenerate, plan, this);
+        return ClassValueGeneratorCompiler.compile(plan);
     }
 
     protected abstract <T> Supplier<T> enumValueGenerator(Class<T> klass);
@@ -206,7 +257,10 @@ abstract public class AbstractValueGeneratorFactory implements ValueGeneratorFac
 
     @Override
     public Supplier<?> getByParameter(Parameter parameter) {
-        return get(parameter.getType());
+        Supplier<?> unconstrained = get(parameter.getType());
+        Supplier<?> valueGenerator = CONSTRAINTS.get(parameter.getParameterizedType(), Arrays.stream(parameter.getAnnotations()), unconstrained);
+        // Pool is shared by all references of the type, so only unconstrained values are served from it
+        return valueGenerator == unconstrained ? ReusePool.apply(parameter.getType(), valueGenerator) : valueGenerator;
     }
 
 }
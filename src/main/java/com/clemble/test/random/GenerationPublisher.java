@@ -0,0 +1,210 @@
+package com.clemble.test.random;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+import com.clemble.test.random.generator.RandomSource;
+import com.clemble.test.random.generator.RandomSources;
+import com.clemble.test.random.generator.SeededRandomSource;
+
+/**
+ * Reactive Streams {@link Publisher} of generated values. Values are generated only on demand, in batches of limited size
+ * on the {@link Executor}, and passed to the {@link Subscriber} immediately, nothing is buffered. Each {@link Subscriber}
+ * gets its own sequence.
+ *
+ * @author Anton Oparin
+ *
+ * @param <T>
+ *            generated type.
+ */
+final class GenerationPublisher<T> implements Publisher<T> {
+
+    /**
+     * Generated {@link Class}.
+     */
+    final private Class<T> classToGenerate;
+    /**
+     * Shared plan.
+     */
+    final private Supplier<T> valueGenerator;
+    /**
+     * Number of values in each sequence, {@link Long#MAX_VALUE} for unbounded sequence.
+     */
+    final private long count;
+    /**
+     * {@link Executor} values are generated on.
+     */
+    final private Executor executor;
+    /**
+     * Maximum number of values generated in a single task.
+     */
+    final private int batchSize;
+
+    GenerationPublisher(Class<T> classToGenerate, Supplier<T> valueGenerator, long count, Executor executor, int batchSize) {
+        if (count < 0)
+            throw new IllegalArgumentException("Count must be non negative");
+        if (batchSize <= 0)
+            throw new IllegalArgumentException("Batch size must be positive");
+        this.classToGenerate = checkNotNull(classToGenerate);
+        this.valueGenerator = checkNotNull(valueGenerator);
+        this.count = count;
+        this.executor = checkNotNull(executor);
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    public void subscribe(Subscriber<? super T> subscriber) {
+        checkNotNull(subscriber);
+        GenerationSubscription subscription = new GenerationSubscription(subscriber);
+        subscriber.onSubscribe(subscription);
+        if (count == 0)
+            subscription.schedule();
+    }
+
+    /**
+     * {@link Subscription} of a single {@link Subscriber}, at most one batch is scheduled at any time. All signals, including
+     * terminal ones, are sent from the scheduled batch, so they are never concurrent.
+     */
+    final private class GenerationSubscription implements Subscription, Runnable {
+
+        final private Subscriber<? super T> subscriber;
+        /**
+         * Seeded source, or <code>null</code> if generation is not seeded.
+         */
+        final private SeededRandomSource seededSource;
+        /**
+         * For sized sequence first reserved index, for unbounded sequence the only reserved index.
+         */
+        final private long seedIndex;
+        /**
+         * Outstanding demand, {@link Long#MAX_VALUE} means unbounded.
+         */
+        final private AtomicLong requested = new AtomicLong();
+        /**
+         * Whether batch is scheduled, or running.
+         */
+        final private AtomicBoolean scheduled = new AtomicBoolean();
+        /**
+         * Number of generated values, only accessed from the scheduled batch.
+         */
+        private long produced;
+        private volatile boolean cancelled;
+        /**
+         * Illegal request, signalled by the next batch.
+         */
+        private volatile Throwable requestError;
+        /**
+         * Whether terminal signal was sent.
+         */
+        final private AtomicBoolean terminated = new AtomicBoolean();
+
+        GenerationSubscription(Subscriber<? super T> subscriber) {
+            this.subscriber = subscriber;
+            RandomSource randomSource = RandomSources.get();
+            this.seededSource = randomSource instanceof SeededRandomSource ? (SeededRandomSource) randomSource : null;
+            this.seedIndex = seededSource == null ? 0 : seededSource.reserve(count == Long.MAX_VALUE ? 1 : count);
+        }
+
+        @Override
+        public void request(long n) {
+            if (cancelled)
+                return;
+            if (n <= 0) {
+                requestError = new IllegalArgumentException("Requested number of values must be positive, was " + n);
+                schedule();
+                return;
+            }
+            // Step 1. Adding demand, capped at Long.MAX_VALUE
+            long current, updated;
+            do {
+                current = requested.get();
+                updated = current + n < 0 ? Long.MAX_VALUE : current + n;
+            } while (!requested.compareAndSet(current, updated));
+            // Step 2. Scheduling batch, unless it is already scheduled
+            schedule();
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+        }
+
+        private void schedule() {
+            if (scheduled.compareAndSet(false, true))
+                executor.execute(this);
+        }
+
+        /**
+         * Sends terminal signal, at most once.
+         *
+         * @param error failure, or <code>null</code> for completion.
+         */
+        private void terminate(Throwable error) {
+            if (!terminated.compareAndSet(false, true))
+                return;
+            cancelled = true;
+            if (error != null)
+                subscriber.onError(error);
+            else
+                subscriber.onComplete();
+        }
+
+        @Override
+        public void run() {
+            if (cancelled)
+                return;
+            // Step 1. Generating batch limited by demand, batch size and remaining count
+            long demand = requested.get();
+            long batch = Math.min(Math.min(demand, batchSize), count - produced);
+            for (long i = 0; i < batch; i++) {
+                if (cancelled)
+                    return;
+                if (requestError != null) {
+                    terminate(requestError);
+                    return;
+                }
+                T value;
+                try {
+                    value = generate(produced++);
+                } catch (Throwable throwable) {
+                    terminate(throwable);
+                    return;
+                }
+                subscriber.onNext(value);
+            }
+            // Step 2. Signalling illegal request, or completing bounded sequence
+            if (requestError != null || produced == count) {
+                terminate(requestError);
+                return;
+            }
+            // Step 3. Scheduling next batch, if there is remaining demand
+            long remaining = demand == Long.MAX_VALUE ? Long.MAX_VALUE : requested.addAndGet(-batch);
+            if (remaining > 0) {
+                executor.execute(this);
+            } else {
+                scheduled.set(false);
+                // Demand or illegal request could have been added, after it was checked
+                if (requested.get() > 0 || requestError != null)
+                    schedule();
+            }
+        }
+
+        private T generate(long position) {
+            if (seededSource == null)
+                return ObjectGenerator.attempt(classToGenerate, valueGenerator, 5);
+            if (count != Long.MAX_VALUE)
+                return seededSource.generate(seedIndex + position, () -> ObjectGenerator.attempt(classToGenerate, valueGenerator, 5));
+            return seededSource.generate(seedIndex, position, () -> ObjectGenerator.attempt(classToGenerate, valueGenerator, 5));
+        }
+
+    }
+
+}
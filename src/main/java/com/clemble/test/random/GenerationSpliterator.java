@@ -0,0 +1,105 @@
+package com.clemble.test.random;
+
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+import com.clemble.test.random.generator.SeededRandomSource;
+
+/**
+ * {@link Spliterator} generating values lazily, over the range of positions. Nothing is kept, apart from the position,
+ * so memory use does not depend on the number of generated values. Range is split in halves, so parallel streams get
+ * balanced parts.
+ *
+ * @author Anton Oparin
+ *
+ * @param <T>
+ *            generated type.
+ */
+final class GenerationSpliterator<T> implements Spliterator<T> {
+
+    /**
+     * Generated {@link Class}.
+     */
+    final private Class<T> classToGenerate;
+    /**
+     * Shared plan.
+     */
+    final private Supplier<T> valueGenerator;
+    /**
+     * Seeded source, or <code>null</code> if generation is not seeded.
+     */
+    final private SeededRandomSource seededSource;
+    /**
+     * For sized sequence first reserved index, for unbounded sequence the only reserved index.
+     */
+    final private long seedIndex;
+    /**
+     * Whether sequence has known size.
+     */
+    final private boolean sized;
+    /**
+     * Position after the last value.
+     */
+    final private long end;
+    /**
+     * Position of the next value.
+     */
+    private long position;
+
+    GenerationSpliterator(Class<T> classToGenerate, Supplier<T> valueGenerator, SeededRandomSource seededSource, long seedIndex, boolean sized, long position, long end) {
+        this.classToGenerate = classToGenerate;
+        this.valueGenerator = valueGenerator;
+        this.seededSource = seededSource;
+        this.seedIndex = seedIndex;
+        this.sized = sized;
+        this.position = position;
+        this.end = end;
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super T> action) {
+        if (position >= end)
+            return false;
+        action.accept(generate(position++));
+        return true;
+    }
+
+    @Override
+    public void forEachRemaining(Consumer<? super T> action) {
+        long current = position;
+        position = end;
+        for (; current < end; current++)
+            action.accept(generate(current));
+    }
+
+    private T generate(long current) {
+        if (seededSource == null)
+            return ObjectGenerator.attempt(classToGenerate, valueGenerator, 5);
+        if (sized)
+            return seededSource.generate(seedIndex + current, () -> ObjectGenerator.attempt(classToGenerate, valueGenerator, 5));
+        return seededSource.generate(seedIndex, current, () -> ObjectGenerator.attempt(classToGenerate, valueGenerator, 5));
+    }
+
+    @Override
+    public Spliterator<T> trySplit() {
+        long remaining = end - position;
+        if (remaining < 2)
+            return null;
+        long middle = position + remaining / 2;
+        GenerationSpliterator<T> prefix = new GenerationSpliterator<T>(classToGenerate, valueGenerator, seededSource, seedIndex, sized, position, middle);
+        position = middle;
+        return prefix;
+    }
+
+    @Override
+    public long estimateSize() {
+        return sized ? end - position : Long.MAX_VALUE;
+    }
+
+    @Override
+    public int characteristics() {
+        return sized ? ORDERED | SIZED | SUBSIZED : ORDERED;
+    }
+
+}
@@ -1,12 +1,44 @@
 package com.clemble.test.random;
 
+import com.clemble.test.random.constructor.ClassConstructor;
+import com.clemble.test.random.constructor.ClassPlanCache;
 import com.clemble.test.random.constructor.ClassPropertySetterRegistry;
+import com.clemble.test.random.constructor.ClassValueGeneratorCompiler;
+import com.clemble.test.random.corpus.Corpus;
+import com.clemble.test.random.corpus.CorpusWriter;
 import com.clemble.test.random.generator.CachedValueGeneratorFactory;
+import com.clemble.test.random.generator.CollectionSizes;
+import com.clemble.test.random.generator.RandomSource;
+import com.clemble.test.random.generator.RandomSources;
+import com.clemble.test.random.generator.RecursiveValueGenerator;
+import com.clemble.test.random.generator.ReusePool;
+import com.clemble.test.random.generator.SeededRandomSource;
+import com.clemble.test.random.generator.SizeDistribution;
 import com.clemble.test.random.generator.RandomValueGeneratorFactory;
+import com.clemble.test.random.writer.JdbcRecordWriter;
+import com.clemble.test.random.writer.RecordFormat;
+import com.clemble.test.random.writer.RecordWriter;
 
+import java.io.IOException;
+import java.lang.reflect.Array;
+import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
 import java.util.function.Supplier;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import javax.sql.DataSource;
+
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+
+import com.google.common.primitives.Primitives;
 
 public class ObjectGenerator {
 
@@ -14,7 +46,30 @@ public class ObjectGenerator {
 
     final private static ValueGeneratorFactory DEFAULT_VALUE_GENERATOR = new RandomValueGeneratorFactory(SETTER_MANAGER);
 
-    private static ValueGeneratorFactory valueGeneratorFactory = DEFAULT_VALUE_GENERATOR;
+    /**
+     * Minimal number of elements, generated by a single parallel task.
+     */
+    final private static int MIN_CHUNK_SIZE = 256;
+
+    /**
+     * Default number of values, generated by a single publisher task.
+     */
+    final private static int PUBLISHER_BATCH_SIZE = 64;
+
+    /**
+     * Default number of released values, kept by recycler for each thread.
+     */
+    final private static int RECYCLER_CAPACITY = 1024;
+
+    /**
+     * Default number of ready values, kept by prefetcher.
+     */
+    final private static int PREFETCHER_CAPACITY = 1024;
+
+    /**
+     * Active factory, volatile so that switching caching on or off is visible to all generating threads.
+     */
+    private static volatile ValueGeneratorFactory valueGeneratorFactory = DEFAULT_VALUE_GENERATOR;
 
     private ObjectGenerator() {
         throw new IllegalAccessError();
@@ -25,13 +80,46 @@ public class ObjectGenerator {
     }
 
     public static <T> T generate(Class<T> classToGenerate, int attempts) {
+        SeededRandomSource seededSource = seededSource();
+        // Step 1. In seeded mode each generated object is reproduced from its own index
+        if (seededSource != null)
+            return seededSource.generate(seededSource.reserve(1), () -> attempt(classToGenerate, attempts));
+        return attempt(classToGenerate, attempts);
+    }
+
+    private static <T> T attempt(Class<T> classToGenerate, int attempts) {
         try {
             return getValueGenerator(classToGenerate).get();
         } catch (Throwable throwable) {
             if (attempts != 0) {
-                return generate(classToGenerate, attempts - 1);
+                return attempt(classToGenerate, attempts - 1);
+            }
+            throw new RuntimeException("Can't generate " + classToGenerate.getName(), throwable);
+        }
+    }
+
+    /**
+     * Generates value with the shared plan, if it fails, value is generated as with {@link #generate(Class, int)}.
+     */
+    static <T> T attempt(Class<T> classToGenerate, Supplier<T> valueGenerator, int attempts) {
+        try {
+            return valueGenerator.get();
+        } catch (Throwable throwable) {
+            return attempt(classToGenerate, attempts - 1);
+        }
+    }
+
+    /**
+     * Resolves plan, shared by all generated values, with the same retries as {@link #generate(Class, int)}.
+     */
+    private static <T> Supplier<T> resolve(Class<T> classToGenerate, int attempts) {
+        try {
+            return getValueGenerator(classToGenerate);
+        } catch (Throwable throwable) {
+            if (attempts != 0) {
+                return resolve(classToGenerate, attempts - 1);
             }
-            throw new RuntimeException(throwable);
+            throw new RuntimeException("Can't generate " + classToGenerate.getName(), throwable);
         }
     }
 
@@ -40,14 +128,257 @@ public class ObjectGenerator {
     }
 
     public static <T> List<T> generateList(Class<T> classToGenerate, int num) {
-        List<T> results = new ArrayList<T>();
-        for(int i = 0; i < num; i++) {
-            T generated = generate(classToGenerate);
-            results.add(generated);
+        return new ArrayList<T>(Arrays.asList(generateArray(classToGenerate, num)));
+    }
+
+    /**
+     * Generates array of values, plan is resolved once for all elements. Failures are handled as in
+     * {@link #generate(Class, int)}: resolution is retried, value, that fails with the shared plan, is generated again with
+     * newly resolved one, and {@link RuntimeException} with the class name is thrown, when attempts are exhausted.
+     *
+     * @param <T> the type of generated values
+     * @param classToGenerate {@link Class} to generate.
+     * @param num number of values.
+     * @return array of generated values (primitive classes produce array of wrappers).
+     */
+    public static <T> T[] generateArray(Class<T> classToGenerate, int num) {
+        T[] results = newArray(classToGenerate, num);
+        SeededRandomSource seededSource = seededSource();
+        fill(classToGenerate, results, resolve(classToGenerate, 5), 0, results.length, seededSource, seededSource != null ? seededSource.reserve(results.length) : 0);
+        return results;
+    }
+
+    public static <T> List<T> parallelGenerateList(Class<T> classToGenerate, int num) {
+        return parallelGenerateList(classToGenerate, num, ForkJoinPool.commonPool());
+    }
+
+    public static <T> List<T> parallelGenerateList(Class<T> classToGenerate, int num, Executor executor) {
+        return new ArrayList<T>(Arrays.asList(parallelGenerateArray(classToGenerate, num, executor)));
+    }
+
+    public static <T> T[] parallelGenerateArray(Class<T> classToGenerate, int num) {
+        return parallelGenerateArray(classToGenerate, num, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Generates array of values in parallel, plan is resolved once, and elements are generated in chunks on the {@link Executor},
+     * each worker uses its own random stream. In seeded mode result is the same, as for sequential generation.
+     *
+     * @param <T> the type of generated values
+     * @param classToGenerate {@link Class} to generate.
+     * @param num number of values.
+     * @param executor {@link Executor} to use.
+     * @return array of generated values (primitive classes produce array of wrappers).
+     */
+    public static <T> T[] parallelGenerateArray(Class<T> classToGenerate, int num, Executor executor) {
+        // Step 1. Resolving plan and reserving indexes
+        final T[] results = newArray(classToGenerate, num);
+        final Supplier<T> valueGenerator = resolve(classToGenerate, 5);
+        final SeededRandomSource seededSource = seededSource();
+        final long firstIndex = seededSource != null ? seededSource.reserve(results.length) : 0;
+        // Step 2. Splitting work in chunks, few per worker, to balance uneven generation cost
+        int parallelism = executor instanceof ForkJoinPool ? ((ForkJoinPool) executor).getParallelism() : Runtime.getRuntime().availableProcessors();
+        int chunkSize = Math.max(MIN_CHUNK_SIZE, results.length / (parallelism * 4) + 1);
+        List<CompletableFuture<Void>> chunks = new ArrayList<CompletableFuture<Void>>();
+        for (int from = 0; from < results.length; from += chunkSize) {
+            final int chunkStart = from;
+            final int chunkEnd = Math.min(results.length, from + chunkSize);
+            chunks.add(CompletableFuture.runAsync(() -> fill(classToGenerate, results, valueGenerator, chunkStart, chunkEnd, seededSource, firstIndex), executor));
+        }
+        // Step 3. Waiting for all chunks
+        try {
+            CompletableFuture.allOf(chunks.toArray(new CompletableFuture<?>[chunks.size()])).join();
+        } catch (CompletionException completionException) {
+            if (completionException.getCause() instanceof RuntimeException)
+                throw (RuntimeException) completionException.getCause();
+            throw completionException;
         }
         return results;
     }
 
+    private static <T> void fill(Class<T> classToGenerate, T[] results, Supplier<T> valueGenerator, int from, int to, SeededRandomSource seededSource, long firstIndex) {
+        for (int i = from; i < to; i++)
+            results[i] = seededSource != null ? seededSource.generate(firstIndex + i, () -> attempt(classToGenerate, valueGenerator, 5)) : attempt(classToGenerate, valueGenerator, 5);
+    }
+
+    /**
+     * Unbounded lazy {@link Stream} of generated values, plan is resolved once.
+     *
+     * @param <T> the type of generated values
+     * @param classToGenerate {@link Class} to generate.
+     * @return infinite {@link Stream} of generated values.
+     */
+    public static <T> Stream<T> stream(Class<T> classToGenerate) {
+        SeededRandomSource seededSource = seededSource();
+        long seedIndex = seededSource != null ? seededSource.reserve(1) : 0;
+        return StreamSupport.stream(new GenerationSpliterator<T>(classToGenerate, getValueGenerator(classToGenerate), seededSource, seedIndex, false, 0, Long.MAX_VALUE), false);
+    }
+
+    /**
+     * Lazy {@link Stream} of generated values of known size, plan is resolved once. {@link Stream} is SIZED and splits evenly,
+     * so it can be used in parallel.
+     *
+     * @param <T> the type of generated values
+     * @param classToGenerate {@link Class} to generate.
+     * @param size number of values.
+     * @return {@link Stream} of generated values.
+     */
+    public static <T> Stream<T> stream(Class<T> classToGenerate, long size) {
+        if (size < 0)
+            throw new IllegalArgumentException("Size must be non negative");
+        SeededRandomSource seededSource = seededSource();
+        long firstIndex = seededSource != null ? seededSource.reserve(size) : 0;
+        return StreamSupport.stream(new GenerationSpliterator<T>(classToGenerate, getValueGenerator(classToGenerate), seededSource, firstIndex, true, 0, size), false);
+    }
+
+    /**
+     * Unbounded Reactive Streams {@link Publisher} of generated values, on the common {@link ForkJoinPool}.
+     *
+     * @param <T> the type of generated values
+     * @param classToGenerate {@link Class} to generate.
+     * @return {@link Publisher} of generated values.
+     */
+    public static <T> Publisher<T> publisher(Class<T> classToGenerate) {
+        return publisher(classToGenerate, Long.MAX_VALUE);
+    }
+
+    /**
+     * Reactive Streams {@link Publisher} of generated values, on the common {@link ForkJoinPool}. Each {@link Subscriber}
+     * receives at most size values, followed by completion.
+     *
+     * @param <T> the type of generated values
+     * @param classToGenerate {@link Class} to generate.
+     * @param size number of values for each {@link Subscriber}, {@link Long#MAX_VALUE} for unbounded.
+     * @return {@link Publisher} of generated values.
+     */
+    public static <T> Publisher<T> publisher(Class<T> classToGenerate, long size) {
+        return publisher(classToGenerate, size, ForkJoinPool.commonPool(), PUBLISHER_BATCH_SIZE);
+    }
+
+    /**
+     * Reactive Streams {@link Publisher} of generated values. Values are generated only when requested by the
+     * {@link Subscriber}, in tasks of at most batchSize values on the executor, plan is resolved once.
+     *
+     * @param <T> the type of generated values
+     * @param classToGenerate {@link Class} to generate.
+     * @param size number of values for each {@link Subscriber}, {@link Long#MAX_VALUE} for unbounded.
+     * @param executor {@link Executor} to generate on.
+     * @param batchSize maximum number of values generated in a single task.
+     * @return {@link Publisher} of generated values.
+     */
+    public static <T> Publisher<T> publisher(Class<T> classToGenerate, long size, Executor executor, int batchSize) {
+        return new GenerationPublisher<T>(classToGenerate, getValueGenerator(classToGenerate), size, executor, batchSize);
+    }
+
+    /**
+     * {@link ObjectRecycler} keeping up to 1024 released values per thread.
+     *
+     * @param <T> the type of generated values
+     * @param classToGenerate {@link Class} to generate.
+     * @return {@link ObjectRecycler} of generated values.
+     */
+    public static <T> ObjectRecycler<T> recycler(Class<T> classToGenerate) {
+        return recycler(classToGenerate, RECYCLER_CAPACITY);
+    }
+
+    /**
+     * {@link ObjectRecycler}, that populates released values again, instead of allocating new ones, plan is resolved once.
+     *
+     * @param <T> the type of generated values
+     * @param classToGenerate {@link Class} to generate.
+     * @param capacity maximum number of released values, kept by each thread.
+     * @return {@link ObjectRecycler} of generated values.
+     */
+    public static <T> ObjectRecycler<T> recycler(Class<T> classToGenerate, int capacity) {
+        return new ObjectRecycler<T>(classToGenerate, getValueGenerator(classToGenerate), capacity);
+    }
+
+    /**
+     * {@link ObjectPrefetcher} with a ring of 1024 values, refilled by a single background thread.
+     *
+     * @param <T> the type of generated values
+     * @param classToGenerate {@link Class} to generate.
+     * @return {@link ObjectPrefetcher} of generated values.
+     */
+    public static <T> ObjectPrefetcher<T> prefetcher(Class<T> classToGenerate) {
+        return prefetcher(classToGenerate, PREFETCHER_CAPACITY, 1);
+    }
+
+    /**
+     * {@link ObjectPrefetcher}, that generates values in background threads ahead of time, plan is resolved once. It must
+     * be closed, when it is no longer needed.
+     *
+     * @param <T> the type of generated values
+     * @param classToGenerate {@link Class} to generate.
+     * @param capacity maximum number of ready values.
+     * @param threads number of refilling threads.
+     * @return {@link ObjectPrefetcher} of generated values.
+     */
+    public static <T> ObjectPrefetcher<T> prefetcher(Class<T> classToGenerate, int capacity, int threads) {
+        return new ObjectPrefetcher<T>(classToGenerate, getValueGenerator(classToGenerate), capacity, threads);
+    }
+
+    /**
+     * Generates values lazily and writes them in the corpus file, that can be mapped later with {@link #openCorpus(Class, Path)}.
+     *
+     * @param <T> the type of generated values
+     * @param classToGenerate {@link Class} to generate.
+     * @param size number of values.
+     * @param path corpus file, replaced if exists.
+     * @throws IOException if write fails.
+     */
+    public static <T> void writeCorpus(Class<T> classToGenerate, long size, Path path) throws IOException {
+        CorpusWriter.write(path, classToGenerate, stream(classToGenerate, size).iterator(), size);
+    }
+
+    /**
+     * Maps corpus file, written by {@link #writeCorpus(Class, long, Path)}, values are materialized lazily by index.
+     *
+     * @param <T> the type of stored values
+     * @param classToGenerate stored {@link Class}.
+     * @param path corpus file.
+     * @return mapped {@link Corpus}.
+     * @throws IOException if file can't be read.
+     */
+    public static <T> Corpus<T> openCorpus(Class<T> classToGenerate, Path path) throws IOException {
+        return Corpus.open(classToGenerate, path);
+    }
+
+    /**
+     * {@link RecordWriter}, that generates values and writes them as text records, for loading in the data base.
+     *
+     * @param <T> the type of generated values
+     * @param classToGenerate {@link Class} to generate.
+     * @param format {@link RecordFormat} of the records.
+     * @return {@link RecordWriter} of generated values.
+     */
+    public static <T> RecordWriter<T> recordWriter(Class<T> classToGenerate, RecordFormat format) {
+        return new RecordWriter<T>(classToGenerate, format);
+    }
+
+    /**
+     * {@link JdbcRecordWriter}, that generates values and inserts them in the data base table in batches.
+     *
+     * @param <T> the type of generated values
+     * @param classToGenerate {@link Class} to generate.
+     * @param dataSource {@link DataSource} of the data base.
+     * @param table name of the table.
+     * @return {@link JdbcRecordWriter} of generated values.
+     */
+    public static <T> JdbcRecordWriter<T> jdbcWriter(Class<T> classToGenerate, DataSource dataSource, String table) {
+        return new JdbcRecordWriter<T>(classToGenerate, dataSource, table);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T[] newArray(Class<T> classToGenerate, int num) {
+        return (T[]) Array.newInstance(Primitives.wrap(classToGenerate), Math.max(0, num));
+    }
+
+    private static SeededRandomSource seededSource() {
+        RandomSource randomSource = RandomSources.get();
+        return randomSource instanceof SeededRandomSource ? (SeededRandomSource) randomSource : null;
+    }
+
     public static <T> Supplier<T> getValueGenerator(Class<T> classToGenerate) {
         return valueGeneratorFactory.get(classToGenerate);
     }
@@ -68,4 +399,145 @@ public class ObjectGenerator {
         valueGeneratorFactory = DEFAULT_VALUE_GENERATOR;
     }
 
+    public static void enableCompilation() {
+        ClassValueGeneratorCompiler.enable();
+    }
+
+    public static void disableCompilation() {
+        ClassValueGeneratorCompiler.disable();
+    }
+
+    /**
+     * Enables static discovery, constructors, factory methods and builders are ranked without trial constructions, and
+     * only the selected one is constructed once to validate the choice.
+     */
+    public static void enableStaticDiscovery() {
+        ClassConstructor.enableStaticDiscovery();
+    }
+
+    public static void disableStaticDiscovery() {
+        ClassConstructor.disableStaticDiscovery();
+    }
+
+    /**
+     * Enables persistent cache of resolved plans, so following runs skip discovery of unchanged classes.
+     *
+     * @param directory cache directory.
+     */
+    public static void enablePlanCache(Path directory) {
+        ClassPlanCache.enable(directory);
+    }
+
+    public static void disablePlanCache() {
+        ClassPlanCache.disable();
+    }
+
+    /**
+     * Serves fraction of references to the type (properties, parameters and collection elements of other generated
+     * values) from a bounded pool of previously generated instances, instead of generating new ones. Must be called before
+     * plans, that reference the type, are resolved.
+     *
+     * @param <T> the type of reused values
+     * @param klass reused {@link Class}.
+     * @param fraction fraction of references served from the pool, from 0 to 1.
+     * @param size maximum number of pooled instances.
+     * @return registered {@link ReusePool}.
+     */
+    public static <T> ReusePool<T> reuse(Class<T> klass, double fraction, int size) {
+        return ReusePool.register(klass, fraction, size);
+    }
+
+    public static void disableReuse(Class<?> klass) {
+        ReusePool.remove(klass);
+    }
+
+    /**
+     * Sets size of generated collections (and maps) of the element (map value) type. Such collections are created presized
+     * and populated in bulk. Must be called before plans, that use the collections, are resolved.
+     *
+     * @param elementType type of the elements.
+     * @param sizeDistribution {@link SizeDistribution} of the collection sizes.
+     */
+    public static void collectionSize(Class<?> elementType, SizeDistribution sizeDistribution) {
+        CollectionSizes.register(elementType, sizeDistribution);
+    }
+
+    /**
+     * Sets size of generated collection (or map) property, takes precedence over the size of the element type.
+     *
+     * @param owner {@link Class} that has the property.
+     * @param property name of the property.
+     * @param sizeDistribution {@link SizeDistribution} of the collection sizes.
+     */
+    public static void collectionSize(Class<?> owner, String property, SizeDistribution sizeDistribution) {
+        CollectionSizes.register(owner, property, sizeDistribution);
+    }
+
+    /**
+     * Sets size of all other generated collections and maps.
+     *
+     * @param sizeDistribution {@link SizeDistribution} of the collection sizes, <code>null</code> to populate collections with a single element.
+     */
+    public static void defaultCollectionSize(SizeDistribution sizeDistribution) {
+        CollectionSizes.setDefault(sizeDistribution);
+    }
+
+    /**
+     * Sets length of generated arrays of the component type, checked on each generated array.
+     *
+     * @param componentType component type of the array.
+     * @param lengthDistribution {@link SizeDistribution} of the array lengths.
+     */
+    public static void arrayLength(Class<?> componentType, SizeDistribution lengthDistribution) {
+        CollectionSizes.registerArray(componentType, lengthDistribution);
+    }
+
+    /**
+     * Sets length of all other generated arrays, by default from 1 to 10.
+     *
+     * @param lengthDistribution {@link SizeDistribution} of the array lengths, <code>null</code> to use default.
+     */
+    public static void defaultArrayLength(SizeDistribution lengthDistribution) {
+        CollectionSizes.setDefaultArray(lengthDistribution);
+    }
+
+    public static void resetCollectionSizes() {
+        CollectionSizes.reset();
+    }
+
+    /**
+     * Sets maximum depth of recursive values (trees, parent/child links, linked nodes), deeper values are <code>null</code>.
+     *
+     * @param depth maximum number of nested recursive values on the path from the generated root.
+     */
+    public static void setMaxDepth(int depth) {
+        RecursiveValueGenerator.setMaxDepth(depth);
+    }
+
+    /**
+     * Sets maximum number of recursive values in a single generated root, following values are <code>null</code>.
+     *
+     * @param nodes maximum number of recursive values.
+     */
+    public static void setMaxNodes(int nodes) {
+        RecursiveValueGenerator.setMaxNodes(nodes);
+    }
+
+    public static void setRandomSource(RandomSource randomSource) {
+        RandomSources.set(randomSource);
+    }
+
+    /**
+     * Enables reproducible generation, same seed produces the same objects, even when generated from different threads.
+     *
+     * @param seed root seed.
+     */
+    public static void enableSeeding(long seed) {
+        RandomSources.set(new SeededRandomSource(seed));
+    }
+
+    public static void disableSeeding() {
+        RandomSources.reset();
+    }
+
 }
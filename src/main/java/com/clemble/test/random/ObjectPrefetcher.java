@@ -0,0 +1,204 @@
+package com.clemble.test.random;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
+
+import com.clemble.test.random.generator.RandomSource;
+import com.clemble.test.random.generator.RandomSources;
+import com.clemble.test.random.generator.SeededRandomSource;
+
+/**
+ * Generator, that keeps bounded lock free ring of ready values, refilled by background daemon threads, so the cost of
+ * construction does not land on the consuming thread, and {@link #get()} is a single dequeue. If the ring is empty value
+ * is generated on the consuming thread and counted as a starvation, fill level and starvation counters help to size
+ * the ring and the number of refilling threads. Refilling thread, that finds the ring full, parks until a consumer takes
+ * a value, consumer unparks one parked thread, only when there is one.
+ * <p>
+ * In seeded mode each value is still generated from its own index, but the order in which values are taken depends on
+ * scheduling, so the sequence is not reproducible.
+ *
+ * @author Anton Oparin
+ *
+ * @param <T>
+ *            generated type.
+ */
+final public class ObjectPrefetcher<T> implements Supplier<T>, AutoCloseable {
+
+    /**
+     * Pause of the refilling thread, when generation failed.
+     */
+    final private static long FAILURE_PAUSE = TimeUnit.MICROSECONDS.toNanos(50);
+
+    /**
+     * Generated {@link Class}.
+     */
+    final private Class<T> classToGenerate;
+    /**
+     * Generator of new values.
+     */
+    final private Supplier<T> valueGenerator;
+    /**
+     * Ready values.
+     */
+    final private RingBuffer<T> ring;
+    /**
+     * Refilling threads.
+     */
+    final private Thread[] refillers;
+    /**
+     * Refilling threads, parked on the full ring.
+     */
+    final private Queue<Thread> parked = new ConcurrentLinkedQueue<Thread>();
+    /**
+     * Number of values, taken from the ring.
+     */
+    final private LongAdder prefetched = new LongAdder();
+    /**
+     * Number of values, generated on the consuming thread, because the ring was empty.
+     */
+    final private LongAdder starvations = new LongAdder();
+    /**
+     * Number of failed background generations.
+     */
+    final private LongAdder failures = new LongAdder();
+
+    private volatile boolean running = true;
+
+    ObjectPrefetcher(final Class<T> classToGenerate, final Supplier<T> valueGenerator, final int capacity, final int threads) {
+        if (threads <= 0)
+            throw new IllegalArgumentException("Number of threads must be positive");
+        this.classToGenerate = checkNotNull(classToGenerate);
+        this.valueGenerator = checkNotNull(valueGenerator);
+        this.ring = new RingBuffer<T>(capacity);
+        this.refillers = new Thread[threads];
+        for (int i = 0; i < threads; i++) {
+            refillers[i] = new Thread(this::refill, "object-prefetcher-" + classToGenerate.getSimpleName() + "-" + i);
+            refillers[i].setDaemon(true);
+            refillers[i].start();
+        }
+    }
+
+    private void refill() {
+        while (running) {
+            // Step 1. Generating value outside of the ring
+            T value;
+            try {
+                value = generate();
+            } catch (Throwable throwable) {
+                failures.increment();
+                LockSupport.parkNanos(this, FAILURE_PAUSE);
+                continue;
+            }
+            // Step 2. Waiting for the free slot
+            if (!ring.offer(value) && !awaitSlot(value))
+                return;
+        }
+    }
+
+    /**
+     * Parks refilling thread, until consumer takes a value, and offers value to the ring.
+     *
+     * @param value generated value.
+     * @return <code>false</code> if prefetcher was closed, before value was added.
+     */
+    private boolean awaitSlot(final T value) {
+        Thread refiller = Thread.currentThread();
+        while (running) {
+            // Step 1. Registering before the last check, consumer, that takes value after the check, unparks this thread
+            parked.add(refiller);
+            if (ring.offer(value)) {
+                parked.remove(refiller);
+                return true;
+            }
+            // Step 2. Parking until consumer or close unparks the thread, unpark before park is not lost
+            LockSupport.park(this);
+            parked.remove(refiller);
+            if (ring.offer(value))
+                return true;
+        }
+        return false;
+    }
+
+    private T generate() {
+        RandomSource randomSource = RandomSources.get();
+        if (randomSource instanceof SeededRandomSource) {
+            SeededRandomSource seededSource = (SeededRandomSource) randomSource;
+            return seededSource.generate(seededSource.reserve(1), () -> ObjectGenerator.attempt(classToGenerate, valueGenerator, 5));
+        }
+        return ObjectGenerator.attempt(classToGenerate, valueGenerator, 5);
+    }
+
+    /**
+     * Takes ready value, or generates one on the calling thread, if there is none.
+     *
+     * @return random value.
+     */
+    @Override
+    public T get() {
+        T value = ring.poll();
+        if (value != null) {
+            prefetched.increment();
+            // Waking up refilling thread, parked on the full ring
+            if (!parked.isEmpty()) {
+                Thread refiller = parked.poll();
+                if (refiller != null)
+                    LockSupport.unpark(refiller);
+            }
+            return value;
+        }
+        starvations.increment();
+        return generate();
+    }
+
+    /**
+     * Stops refilling threads, values in the ring are still returned.
+     */
+    @Override
+    public void close() {
+        running = false;
+        for (Thread refiller : refillers)
+            LockSupport.unpark(refiller);
+    }
+
+    /**
+     * @return approximate number of ready values.
+     */
+    public int getFillLevel() {
+        return ring.size();
+    }
+
+    /**
+     * @return maximum number of ready values, requested capacity rounded up to the power of 2.
+     */
+    public int getCapacity() {
+        return ring.capacity();
+    }
+
+    /**
+     * @return number of values taken from the ring.
+     */
+    public long getPrefetchedCount() {
+        return prefetched.sum();
+    }
+
+    /**
+     * @return number of values generated on the consuming thread, because the ring was empty.
+     */
+    public long getStarvationCount() {
+        return starvations.sum();
+    }
+
+    /**
+     * @return number of failed background generations.
+     */
+    public long getFailureCount() {
+        return failures.sum();
+    }
+
+}
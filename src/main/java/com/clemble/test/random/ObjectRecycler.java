@@ -0,0 +1,131 @@
+package com.clemble.test.random;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.util.function.Supplier;
+
+import com.clemble.test.random.constructor.ClassValueGenerator;
+import com.clemble.test.random.generator.RandomSource;
+import com.clemble.test.random.generator.RandomSources;
+import com.clemble.test.random.generator.SeededRandomSource;
+
+/**
+ * Generator, that reuses released values, instead of allocating new ones. Released value is populated again by the
+ * property setters of the plan, so it has the same random state as a newly generated one, in seeded mode identical to it.
+ * Each thread keeps its own pool, so taking and releasing values is not synchronized and allocates nothing.
+ * <p>
+ * Only values, fully populated by property setters (constructed with no arguments, without add methods), can be reused,
+ * for all other values recycler falls back to a regular generation.
+ *
+ * @author Anton Oparin
+ *
+ * @param <T>
+ *            generated type.
+ */
+final public class ObjectRecycler<T> implements Supplier<T> {
+
+    /**
+     * Generated {@link Class}.
+     */
+    final private Class<T> classToGenerate;
+    /**
+     * Generator of new values.
+     */
+    final private Supplier<T> valueGenerator;
+    /**
+     * Plan used for population of released values, <code>null</code> if values can't be reused.
+     */
+    final private ClassValueGenerator<T> populator;
+    /**
+     * Maximum number of released values, kept by each thread.
+     */
+    final private int capacity;
+    /**
+     * Released values of the current thread.
+     */
+    final private ThreadLocal<Pool> pool;
+
+    @SuppressWarnings("unchecked")
+    ObjectRecycler(final Class<T> classToGenerate, final Supplier<T> valueGenerator, final int capacity) {
+        if (capacity <= 0)
+            throw new IllegalArgumentException("Capacity must be positive");
+        this.classToGenerate = checkNotNull(classToGenerate);
+        this.valueGenerator = checkNotNull(valueGenerator);
+        this.populator = valueGenerator instanceof ClassValueGenerator && ((ClassValueGenerator<T>) valueGenerator).isRepopulatable() ? (ClassValueGenerator<T>) valueGenerator : null;
+        this.capacity = capacity;
+        this.pool = ThreadLocal.withInitial(() -> new Pool(capacity));
+    }
+
+    /**
+     * Returns released value populated with new random state, or a new value if there is none.
+     *
+     * @return random value.
+     */
+    @Override
+    public T get() {
+        // Step 1. Taking released value of the current thread
+        T reused = populator != null ? pool.get().poll() : null;
+        // Step 2. In seeded mode each value is reproduced from its own index
+        RandomSource randomSource = RandomSources.get();
+        if (randomSource instanceof SeededRandomSource) {
+            SeededRandomSource seededSource = (SeededRandomSource) randomSource;
+            return seededSource.generate(seededSource.reserve(1), () -> reused != null ? populator.populate(reused) : ObjectGenerator.attempt(classToGenerate, valueGenerator, 5));
+        }
+        // Step 3. Populating released value, without any allocation
+        return reused != null ? populator.populate(reused) : ObjectGenerator.attempt(classToGenerate, valueGenerator, 5);
+    }
+
+    /**
+     * Returns value to the pool of the current thread, value must not be used after release. Values over the capacity
+     * are left to the garbage collector.
+     *
+     * @param value value to release.
+     */
+    public void release(final T value) {
+        if (populator != null && value != null)
+            pool.get().offer(value);
+    }
+
+    /**
+     * @return <code>true</code> if released values are reused.
+     */
+    public boolean isRecycling() {
+        return populator != null;
+    }
+
+    /**
+     * @return maximum number of released values, kept by each thread.
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Bounded stack of released values.
+     */
+    final private class Pool {
+
+        final private Object[] values;
+        private int size;
+
+        Pool(final int capacity) {
+            this.values = new Object[capacity];
+        }
+
+        @SuppressWarnings("unchecked")
+        T poll() {
+            if (size == 0)
+                return null;
+            T value = (T) values[--size];
+            values[size] = null;
+            return value;
+        }
+
+        void offer(final T value) {
+            if (size < values.length)
+                values[size++] = value;
+        }
+
+    }
+
+}
@@ -0,0 +1,109 @@
+package com.clemble.test.random;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Bounded lock free multi producer multi consumer queue (D. Vyukov). Each slot has a sequence number, that tells producers
+ * and consumers whether the slot is free or taken for the current lap, so the only contention is a single CAS on the
+ * head or the tail.
+ *
+ * @author Anton Oparin
+ *
+ * @param <T>
+ *            element type.
+ */
+final class RingBuffer<T> {
+
+    final private AtomicReferenceArray<T> values;
+    final private AtomicLongArray sequences;
+    final private int mask;
+    /**
+     * Position of the next enqueue.
+     */
+    final private AtomicLong tail = new AtomicLong();
+    /**
+     * Position of the next dequeue.
+     */
+    final private AtomicLong head = new AtomicLong();
+
+    /**
+     * @param capacity requested capacity, rounded up to the power of 2.
+     */
+    RingBuffer(int capacity) {
+        if (capacity <= 0 || capacity > 1 << 30)
+            throw new IllegalArgumentException("Capacity must be in (0, 2^30]");
+        int size = Integer.highestOneBit(capacity - 1 == 0 ? 1 : (capacity - 1) << 1);
+        this.values = new AtomicReferenceArray<T>(size);
+        this.sequences = new AtomicLongArray(size);
+        for (int i = 0; i < size; i++)
+            sequences.set(i, i);
+        this.mask = size - 1;
+    }
+
+    /**
+     * @param value value to add.
+     * @return <code>false</code> if buffer is full.
+     */
+    boolean offer(T value) {
+        long position = tail.get();
+        while (true) {
+            int index = (int) position & mask;
+            long difference = sequences.get(index) - position;
+            if (difference == 0) {
+                // Step 1. Slot is free on this lap, claiming it
+                if (tail.compareAndSet(position, position + 1)) {
+                    values.lazySet(index, value);
+                    sequences.lazySet(index, position + 1);
+                    return true;
+                }
+                position = tail.get();
+            } else if (difference < 0) {
+                // Step 2. Slot still holds value of the previous lap
+                return false;
+            } else {
+                position = tail.get();
+            }
+        }
+    }
+
+    /**
+     * @return next value, or <code>null</code> if buffer is empty.
+     */
+    T poll() {
+        long position = head.get();
+        while (true) {
+            int index = (int) position & mask;
+            long difference = sequences.get(index) - (position + 1);
+            if (difference == 0) {
+                // Step 1. Slot is filled on this lap, claiming it
+                if (head.compareAndSet(position, position + 1)) {
+                    T value = values.get(index);
+                    values.lazySet(index, null);
+                    sequences.lazySet(index, position + mask + 1);
+                    return value;
+                }
+                position = head.get();
+            } else if (difference < 0) {
+                // Step 2. Slot is not filled yet
+                return null;
+            } else {
+                position = head.get();
+            }
+        }
+    }
+
+    /**
+     * @return approximate number of values in the buffer.
+     */
+    int size() {
+        long size = tail.get() - head.get();
+        return (int) Math.max(0, Math.min(size, mask + 1));
+    }
+
+    int capacity() {
+        return mask + 1;
+    }
+
+}
@@ -0,0 +1,19 @@
+package com.clemble.test.random.annotation;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks type, or all types in a package (when placed in package-info.java), for compile time generation of reflection free
+ * {@link com.clemble.test.random.generator.GeneratedValueGenerator}, by {@link com.clemble.test.random.processor.GeneratableProcessor}.
+ *
+ * @author Anton Oparin
+ */
+@Documented
+@Retention(RetentionPolicy.CLASS)
+@Target({ ElementType.TYPE, ElementType.PACKAGE })
+public @interface Generatable {
+}
@@ -4,11 +4,13 @@ import static com.google.common.base.Preconditions.checkNotNull;
 
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Field;
+import java.lang.reflect.Member;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Comparator;
 
 /**
  * Wraps {@link Class} reflection access to limit visibility of methods, constructors and fields, used for initialization.
@@ -20,6 +22,23 @@ import java.util.Collection;
  */
 abstract public class ClassAccessWrapper<T> {
 
+    /**
+     * Reflection does not guarantee order of members, they are sorted, so that the same members are selected on every run.
+     */
+    final private static Comparator<Member> MEMBER_ORDER = Comparator.comparing(Member::toString);
+
+    /**
+     * Sorts reflected members in stable order.
+     *
+     * @param members reflected members.
+     * @return sorted copy of members.
+     */
+    static <M extends Member> M[] sorted(M[] members) {
+        M[] sortedMembers = members.clone();
+        Arrays.sort(sortedMembers, MEMBER_ORDER);
+        return sortedMembers;
+    }
+
     /**
      * Get's source {@link Class} for transformation.
      * 
@@ -27,6 +46,15 @@ abstract public class ClassAccessWrapper<T> {
      */
     abstract public Class<T> getSourceClass();
 
+    /**
+     * Checks, whether wrapper provides access to all (public, protected, private) members.
+     * 
+     * @return <code>true</code> if all members are accessible, <code>false</code> if only public.
+     */
+    final public boolean isFullAccess() {
+        return this instanceof FullClassAccessWrapper;
+    }
+
     /**
      * Wrapper for {@link Class#getModifiers()} method.
      * 
@@ -165,17 +193,17 @@ abstract public class ClassAccessWrapper<T> {
 
         @Override
         protected Collection<Method> extractMethods() {
-            return Arrays.asList(sourceClass.getMethods());
+            return Arrays.asList(sorted(sourceClass.getMethods()));
         }
 
         @Override
         public Collection<Field> extractFields() {
-            return Arrays.asList(sourceClass.getFields());
+            return Arrays.asList(sorted(sourceClass.getFields()));
         }
 
         @Override
         public Constructor<?>[] getConstructors() {
-            return sourceClass.getConstructors();
+            return sorted(sourceClass.getConstructors());
         }
 
         @Override
@@ -220,17 +248,17 @@ abstract public class ClassAccessWrapper<T> {
 
         @Override
         protected Collection<Method> extractMethods() {
-            return Arrays.asList(sourceClass.getDeclaredMethods());
+            return Arrays.asList(sorted(sourceClass.getDeclaredMethods()));
         }
 
         @Override
         protected Collection<Field> extractFields() {
-            return Arrays.asList(sourceClass.getDeclaredFields());
+            return Arrays.asList(sorted(sourceClass.getDeclaredFields()));
         }
 
         @Override
         public Constructor<?>[] getConstructors() {
-            return sourceClass.getDeclaredConstructors();
+            return sorted(sourceClass.getDeclaredConstructors());
         }
 
         @Override
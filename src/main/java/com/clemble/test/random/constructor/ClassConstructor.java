@@ -1,9 +1,14 @@
 package com.clemble.test.random.constructor;
 
-
+import java.lang.reflect.Executable;
 import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
 import java.util.List;
 import java.util.function.Supplier;
+import java.util.stream.Collectors;
 
 import com.clemble.test.random.ValueGeneratorFactory;
 
@@ -17,6 +22,27 @@ import com.clemble.test.random.ValueGeneratorFactory;
  */
 abstract public class ClassConstructor<T> {
 
+    /**
+     * Static discovery switch, can be enabled with -Dobject.generator.staticDiscovery=true.
+     */
+    private static volatile boolean staticDiscovery = Boolean.getBoolean("object.generator.staticDiscovery");
+
+    public static boolean isStaticDiscovery() {
+        return staticDiscovery;
+    }
+
+    /**
+     * Enables static discovery, candidates are ranked without constructing them, and only the best candidate is
+     * constructed to validate the choice. Next candidate is constructed only if the previous one fails.
+     */
+    public static void enableStaticDiscovery() {
+        staticDiscovery = true;
+    }
+
+    public static void disableStaticDiscovery() {
+        staticDiscovery = false;
+    }
+
     /**
      * Returns {@link Object} of defined type.
      * 
@@ -42,6 +68,8 @@ abstract public class ClassConstructor<T> {
     public static <T> ClassConstructor<T> construct(
         final ClassAccessWrapper<?> classToGenerate,
         final ValueGeneratorFactory valueGeneratorFactory) {
+        if (staticDiscovery)
+            return discover(classToGenerate, valueGeneratorFactory);
         ClassConstructor<T> objectConstructor = null;
         if ((objectConstructor = ClassConstructorFactory.build(classToGenerate, valueGeneratorFactory)) != null && canConstruct(objectConstructor))
             return objectConstructor;
@@ -50,6 +78,72 @@ abstract public class ClassConstructor<T> {
         return (ClassConstructor<T>) ((classToGenerate.getModifiers() & Modifier.ABSTRACT) == 0 ? ClassConstructorSimple.build(classToGenerate, valueGeneratorFactory) : null);
     }
 
+    /**
+     * Generates {@link ClassConstructor} without trial constructions. Candidates are checked in the same order, as in
+     * {@link #construct(ClassAccessWrapper, ValueGeneratorFactory)}, factory methods, builders and constructors, with the
+     * most parameters first, candidates with parameters that can't be generated are skipped, without construction.
+     * Candidates are resolved lazily, only the first remaining candidate is resolved and constructed, next one is resolved,
+     * only if the construction fails.
+     *
+     * @param <T> the type of object to construct
+     * @param classToGenerate
+     *            {@link Class} to generate.
+     * @param valueGeneratorFactory
+     *            {@link ValueGeneratorFactory} to use.
+     * @return {@link ClassConstructor} if it is possible to generate one, <code>null</code> otherwise.
+     */
+    private static <T> ClassConstructor<T> discover(
+        final ClassAccessWrapper<?> classToGenerate,
+        final ValueGeneratorFactory valueGeneratorFactory) {
+        // Step 1. Factory methods
+        ClassConstructor<T> objectConstructor = validate(ClassConstructorFactory.<T>candidates(classToGenerate, valueGeneratorFactory));
+        if (objectConstructor != null)
+            return objectConstructor;
+        // Step 2. Builders, resolved only if there is no factory method
+        objectConstructor = validate(ClassConstructorBuilder.<T>candidates(classToGenerate, valueGeneratorFactory));
+        if (objectConstructor != null || (classToGenerate.getModifiers() & Modifier.ABSTRACT) != 0)
+            return objectConstructor;
+        // Step 3. Constructors
+        return validate(ClassConstructorSimple.<T>candidates(classToGenerate, valueGeneratorFactory));
+    }
+
+    private static <T> ClassConstructor<T> validate(List<Supplier<ClassConstructor<T>>> candidates) {
+        for (Supplier<ClassConstructor<T>> candidate : candidates) {
+            ClassConstructor<T> objectConstructor = candidate.get();
+            if (objectConstructor != null && canConstruct(objectConstructor))
+                return objectConstructor;
+        }
+        return null;
+    }
+
+    /**
+     * Orders candidates by the number of parameters, candidates with the same number of parameters keep original order.
+     *
+     * @param <E> candidate type.
+     * @param candidates {@link Collection} of constructors or methods.
+     * @return {@link List} of candidates, with the most parameters first.
+     */
+    static <E extends Executable> List<E> ranked(final Collection<E> candidates) {
+        List<E> ranked = new ArrayList<E>(candidates);
+        ranked.sort(Comparator.comparingInt(Executable::getParameterCount).reversed());
+        return ranked;
+    }
+
+    /**
+     * Resolves generators for all parameters of the candidate.
+     *
+     * @param candidate constructor or method.
+     * @param valueGeneratorFactory {@link ValueGeneratorFactory} to use.
+     * @return {@link List} of parameter {@link Supplier}s.
+     * @throws RuntimeException if any of the parameters can't be generated.
+     */
+    static List<Supplier<?>> parameterGenerators(final Executable candidate, final ValueGeneratorFactory valueGeneratorFactory) {
+        return Arrays.asList(candidate.getParameters()).
+            stream().
+            map(valueGeneratorFactory::getByParameter).
+            collect(Collectors.toList());
+    }
+
     private static boolean canConstruct(ClassConstructor<?> constructor) {
         try {
             constructor.construct();
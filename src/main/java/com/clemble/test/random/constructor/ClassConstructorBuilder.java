@@ -4,6 +4,7 @@ import static com.google.common.base.Preconditions.checkNotNull;
 
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
@@ -25,15 +26,15 @@ public class ClassConstructorBuilder<T> extends ClassConstructor<T> {
     /**
      * {@link ClassConstructor} builder method to use.
      */
-    final private ClassConstructorFactory<?> builderFactoryMethod;
+    final ClassConstructorFactory<?> builderFactoryMethod;
     /**
      * {@link ClassPropertyCombinedSetter} to use in builder class.
      */
-    final private ClassPropertySetter<?> classPropertySetter;
+    final ClassPropertySetter<?> classPropertySetter;
     /**
      * Method that generates target value
      */
-    final private Method valueBuilderMethod;
+    final Method valueBuilderMethod;
 
     /**
      * Default constructor.
@@ -42,7 +43,7 @@ public class ClassConstructorBuilder<T> extends ClassConstructor<T> {
      * @param classPropertySetter  {@link Collection} of {@link Supplier} to use as property setters.
      * @param valueBuilderMethod   method to generate value.
      */
-    private ClassConstructorBuilder(final ClassConstructorFactory<?> builderFactoryMethod,
+    ClassConstructorBuilder(final ClassConstructorFactory<?> builderFactoryMethod,
                                     final ClassPropertySetter<?> classPropertySetter, final Method valueBuilderMethod) {
         this.builderFactoryMethod = checkNotNull(builderFactoryMethod);
         this.classPropertySetter = checkNotNull(classPropertySetter);
@@ -124,12 +125,7 @@ public class ClassConstructorBuilder<T> extends ClassConstructor<T> {
                 ClassConstructorFactory<T> builderMethod = new ClassConstructorFactory<T>(candidate, suppliers);
                 ClassPropertySetter<T> builderPropertySetter = ((ClassPropertySetter<T>) ClassPropertySetter.constructPropertySetter(classToGenerate.wrap(candidate.getReturnType()), valueGeneratorFactory));
 
-                Method valueBuilderMethod = null;
-                for (Method constructorMethod : candidate.getReturnType().getDeclaredMethods()) {
-                    if (classToGenerate.canBeReplacedWith(constructorMethod.getReturnType())) {
-                        valueBuilderMethod = constructorMethod;
-                    }
-                }
+                Method valueBuilderMethod = getValueBuilderMethod(classToGenerate, candidate);
 
                 ClassConstructorBuilder candidateBuilder = new ClassConstructorBuilder<T>(builderMethod, builderPropertySetter, valueBuilderMethod);
                 try {
@@ -144,4 +140,53 @@ public class ClassConstructorBuilder<T> extends ClassConstructor<T> {
         return constructorBuilder;
     }
 
-}
\ No newline at end of file
+    /**
+     * Finds method of the builder, that returns generated value, the last one in the declaration order.
+     *
+     * @param classToGenerate {@link Class} to generate.
+     * @param builder         static method, that returns builder.
+     * @return builder method, that returns value, or <code>null</code> if there is none.
+     */
+    static Method getValueBuilderMethod(final ClassAccessWrapper<?> classToGenerate, final Method builder) {
+        Method valueBuilderMethod = null;
+        for (Method constructorMethod : ClassAccessWrapper.sorted(builder.getReturnType().getDeclaredMethods())) {
+            if (classToGenerate.canBeReplacedWith(constructorMethod.getReturnType())) {
+                valueBuilderMethod = constructorMethod;
+            }
+        }
+        return valueBuilderMethod;
+    }
+
+    /**
+     * Lists builder based {@link ClassConstructor}s, with the most parameters first, without constructing them.
+     * Builders without method that returns value are skipped. Parameters and properties are resolved, when candidate is
+     * requested, candidate with parameters or properties that can't be generated is <code>null</code>.
+     *
+     * @param <T>                   the type of object to construct
+     * @param classToGenerate       {@link Class} to generate.
+     * @param valueGeneratorFactory {@link ValueGeneratorFactory} to use.
+     * @return {@link List} of lazily resolved candidate {@link ClassConstructor}s.
+     */
+    static <T> List<Supplier<ClassConstructor<T>>> candidates(final ClassAccessWrapper<?> classToGenerate, final ValueGeneratorFactory valueGeneratorFactory) {
+        List<Supplier<ClassConstructor<T>>> candidates = new ArrayList<Supplier<ClassConstructor<T>>>();
+        for (final Method candidate : ranked(getPossibleBuilders(classToGenerate))) {
+            // Step 1. Selecting method that generates value
+            final Method valueBuilderMethod = getValueBuilderMethod(classToGenerate, candidate);
+            if (valueBuilderMethod == null)
+                continue;
+            // Step 2. Resolving builder parameters and properties, only for requested candidate
+            candidates.add(() -> {
+                try {
+                    ClassConstructorFactory<?> builderMethod = new ClassConstructorFactory<Object>(candidate, parameterGenerators(candidate, valueGeneratorFactory));
+                    ClassPropertySetter<?> builderPropertySetter = ClassPropertySetter.constructPropertySetter(classToGenerate.wrap(candidate.getReturnType()), valueGeneratorFactory);
+                    return new ClassConstructorBuilder<T>(builderMethod, builderPropertySetter, valueBuilderMethod);
+                } catch (Throwable throwable) {
+                    // Ignore candidate with parameters, that can't be generated
+                    return null;
+                }
+            });
+        }
+        return candidates;
+    }
+
+}
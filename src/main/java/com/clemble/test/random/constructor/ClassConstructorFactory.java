@@ -28,7 +28,7 @@ final public class ClassConstructorFactory<T> extends ClassConstructor<T> {
     /**
      * Factory method to use.
      */
-    final private Method builder;
+    final Method builder;
     /**
      * {@link Collection} of {@link Supplier} to use in factory method.
      */
@@ -132,5 +132,33 @@ final public class ClassConstructorFactory<T> extends ClassConstructor<T> {
         // Step 4. Creating factory method based
         return constructorFactory;
     }
+
+    /**
+     * Lists factory method based {@link ClassConstructor}s, with the most parameters first, without constructing them.
+     * Parameters are resolved, when candidate is requested, candidate with parameters that can't be generated is <code>null</code>.
+     *
+     * @param <T> the type of object to construct
+     * @param classToGenerate
+     *            {@link Class} to generate.
+     * @param valueGeneratorFactory
+     *            {@link ValueGeneratorFactory} to use.
+     * @return {@link List} of lazily resolved candidate {@link ClassConstructor}s.
+     */
+    static <T> List<Supplier<ClassConstructor<T>>> candidates(
+            final ClassAccessWrapper<?> classToGenerate,
+            final ValueGeneratorFactory valueGeneratorFactory) {
+        List<Supplier<ClassConstructor<T>>> candidates = new ArrayList<Supplier<ClassConstructor<T>>>();
+        for (final Method candidate : ranked(getPossibleFactoryMethods(classToGenerate))) {
+            candidates.add(() -> {
+                try {
+                    return new ClassConstructorFactory<T>(candidate, parameterGenerators(candidate, valueGeneratorFactory));
+                } catch (Throwable throwable) {
+                    // Ignore candidate with parameters, that can't be generated
+                    return null;
+                }
+            });
+        }
+        return candidates;
+    }
     
 }
\ No newline at end of file
@@ -106,23 +106,11 @@ public final class ClassConstructorSimple<T> extends ClassConstructor<T> {
     public static <T> ClassConstructorSimple<T> build(
         final ClassAccessWrapper<?> classToGenerate,
         final ValueGeneratorFactory valueGeneratorFactory) {
-        Constructor<?>[] constructors = classToGenerate.getConstructors();
-        // Step 1. Selecting appropriate constructor
-        if (constructors.length == 0)
+        // Step 1. Selecting appropriate constructors, filtering ones with parameters that can be cast to constructed class
+        Collection<Constructor<?>> filteredConstructors = getPossibleConstructors(classToGenerate);
+        // Step 2. If there is no such constructor return null
+        if (filteredConstructors.isEmpty())
             return null;
-        // Step 2. Searching for default Constructor or constructor with least configurations
-        // Step 2.1 Filtering classes with parameters that can be cast to constructed class
-        Collection<Constructor<?>> filteredConstructors = Arrays.
-            asList(constructors).
-            stream().
-            filter((constructor) -> {
-                for (Class<?> parameter : constructor.getParameterTypes())
-                    // Prevent circular references
-                    if (classToGenerate.canBeReplacedWith(parameter) || classToGenerate.canReplace(parameter))
-                        return false;
-                return true;
-            }).
-            collect(Collectors.toList());
         // Step 3. Selecting constructor that would best fit for processing
         ClassConstructorSimple<T> simpleConstructor = null;
         Constructor<?> bestCandidate = null;
@@ -147,4 +135,54 @@ public final class ClassConstructorSimple<T> extends ClassConstructor<T> {
         return simpleConstructor;
     }
 
-}
\ No newline at end of file
+    /**
+     * Filters constructors, that can be used for generation.
+     *
+     * @param classToGenerate
+     *            {@link Class} to generate.
+     * @return {@link Collection} of constructors, none of which parameters can be cast to or from constructed class.
+     */
+    static Collection<Constructor<?>> getPossibleConstructors(final ClassAccessWrapper<?> classToGenerate) {
+        return Arrays.
+            asList(classToGenerate.getConstructors()).
+            stream().
+            filter((constructor) -> {
+                for (Class<?> parameter : constructor.getParameterTypes())
+                    // Prevent circular references
+                    if (classToGenerate.canBeReplacedWith(parameter) || classToGenerate.canReplace(parameter))
+                        return false;
+                return true;
+            }).
+            collect(Collectors.toList());
+    }
+
+    /**
+     * Lists constructor based {@link ClassConstructor}s, with the most parameters first, without constructing them.
+     * Parameters are resolved, when candidate is requested, candidate with parameters that can't be generated is <code>null</code>.
+     *
+     * @param <T> the type of object to construct
+     * @param classToGenerate
+     *            {@link Class} to generate.
+     * @param valueGeneratorFactory
+     *            {@link ValueGeneratorFactory} to use.
+     * @return {@link List} of lazily resolved candidate {@link ClassConstructor}s.
+     */
+    @SuppressWarnings("unchecked")
+    static <T> List<Supplier<ClassConstructor<T>>> candidates(
+        final ClassAccessWrapper<?> classToGenerate,
+        final ValueGeneratorFactory valueGeneratorFactory) {
+        List<Supplier<ClassConstructor<T>>> candidates = new ArrayList<Supplier<ClassConstructor<T>>>();
+        for (final Constructor<?> candidate : ranked(getPossibleConstructors(classToGenerate))) {
+            candidates.add(() -> {
+                try {
+                    return new ClassConstructorSimple<T>((Constructor<T>) candidate, parameterGenerators(candidate, valueGeneratorFactory));
+                } catch (Throwable throwable) {
+                    // Ignore candidate with parameters, that can't be generated
+                    return null;
+                }
+            });
+        }
+        return candidates;
+    }
+
+}
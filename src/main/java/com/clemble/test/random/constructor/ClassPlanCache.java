@@ -0,0 +1,332 @@
+package com.clemble.test.random.constructor;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Executable;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Properties;
+import java.util.Set;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import org.apache.commons.lang3.ClassUtils;
+
+import com.clemble.test.random.ValueGeneratorFactory;
+import com.google.common.io.BaseEncoding;
+import com.google.common.io.ByteStreams;
+
+/**
+ * Persistent cache of the resolved {@link ClassValueGenerator} plans. Plan choices (constructor, factory method or
+ * builder, and populated fields and methods) are stored in the properties file per class and access level, so that
+ * following runs (and surefire forks) rebuild the plan without discovery and trial constructions.
+ * <p>
+ * Each entry keeps SHA-256 of the bytecode of all classes, the plan depends on, entry is ignored and replaced as soon
+ * as any of them changes. Classes with registered property generators are never cached. Cache is disabled by default,
+ * it can be enabled with {@link #enable(Path)}, or <code>-Dobject.generator.planCache=directory</code>.
+ *
+ * @author Anton Oparin
+ */
+public abstract class ClassPlanCache {
+
+    /**
+     * Format version, changed on every incompatible change of the entry.
+     */
+    final private static String VERSION = "1";
+    /**
+     * Marker of the absent member.
+     */
+    final private static String NONE = "-";
+
+    /**
+     * Cache directory, or <code>null</code> if cache is disabled.
+     */
+    private static volatile Path directory = initialDirectory();
+
+    private ClassPlanCache() {
+        throw new IllegalAccessError();
+    }
+
+    private static Path initialDirectory() {
+        String configured = System.getProperty("object.generator.planCache");
+        return configured != null && !configured.isEmpty() ? Paths.get(configured) : null;
+    }
+
+    /**
+     * Enables cache in the directory, it is created if needed.
+     *
+     * @param cacheDirectory directory of the cache.
+     */
+    public static void enable(Path cacheDirectory) {
+        directory = cacheDirectory;
+    }
+
+    public static void disable() {
+        directory = null;
+    }
+
+    public static boolean isEnabled() {
+        return directory != null;
+    }
+
+    /**
+     * Rebuilds plan from the cache.
+     *
+     * @param <T> the type of generated values
+     * @param sourceClass {@link ClassAccessWrapper} of the generated class.
+     * @param valueGeneratorFactory {@link ValueGeneratorFactory} to use.
+     * @return rebuilt plan, or <code>null</code> if there is no valid entry.
+     */
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    public static <T> ClassValueGenerator<T> load(final ClassAccessWrapper<T> sourceClass, final ValueGeneratorFactory valueGeneratorFactory) {
+        Path cacheDirectory = directory;
+        if (cacheDirectory == null)
+            return null;
+        Path entry = cacheDirectory.resolve(entryName(sourceClass));
+        if (!Files.isRegularFile(entry))
+            return null;
+        try {
+            // Step 1. Reading entry
+            Properties properties = new Properties();
+            try (InputStream input = Files.newInputStream(entry)) {
+                properties.load(input);
+            }
+            // Step 2. Checking that none of the classes changed
+            ClassLoader classLoader = classLoader(sourceClass.getSourceClass());
+            List<Class<?>> dependencies = new ArrayList<Class<?>>();
+            for (String dependency : properties.getProperty("classes").split(","))
+                dependencies.add(ClassUtils.getClass(classLoader, dependency, false));
+            if (!VERSION.equals(properties.getProperty("version")) || !properties.getProperty("hash").equals(hash(dependencies)))
+                return null;
+            // Step 3. Rebuilding constructor
+            ClassConstructor<T> objectConstructor;
+            String kind = properties.getProperty("constructor");
+            if ("simple".equals(kind)) {
+                Constructor<?> constructor = (Constructor<?>) member(classLoader, properties.getProperty("constructor.member"));
+                objectConstructor = new ClassConstructorSimple<T>((Constructor<T>) constructor, parameterGenerators(constructor, valueGeneratorFactory));
+            } else if ("factory".equals(kind)) {
+                Method method = (Method) member(classLoader, properties.getProperty("constructor.member"));
+                objectConstructor = new ClassConstructorFactory<T>(method, parameterGenerators(method, valueGeneratorFactory));
+            } else if ("builder".equals(kind)) {
+                Method method = (Method) member(classLoader, properties.getProperty("constructor.member"));
+                ClassAccessWrapper<?> builderClass = sourceClass.wrap(method.getReturnType());
+                if (!valueGeneratorFactory.getPropertySetterManager().getApplicableProperties(builderClass).isEmpty())
+                    return null;
+                objectConstructor = new ClassConstructorBuilder<T>(
+                    new ClassConstructorFactory(method, parameterGenerators(method, valueGeneratorFactory)),
+                    propertySetter(builderClass, classLoader, properties, "builder.setter"),
+                    (Method) member(classLoader, properties.getProperty("builder.build")));
+            } else {
+                return null;
+            }
+            // Step 4. Rebuilding property setters
+            if (!valueGeneratorFactory.getPropertySetterManager().getApplicableProperties(sourceClass).isEmpty())
+                return null;
+            return new ClassValueGenerator<T>(objectConstructor, propertySetter(sourceClass, classLoader, properties, "setter"));
+        } catch (Exception | LinkageError invalidEntry) {
+            // Cache is best effort, any failure means rediscovery
+            return null;
+        }
+    }
+
+    /**
+     * Stores plan choices in the cache, if cache is enabled and plan can be stored.
+     *
+     * @param sourceClass {@link ClassAccessWrapper} the plan was discovered with.
+     * @param plan discovered plan.
+     * @param valueGeneratorFactory {@link ValueGeneratorFactory} the plan was discovered with.
+     */
+    public static void store(final ClassAccessWrapper<?> sourceClass, final ClassValueGenerator<?> plan, final ValueGeneratorFactory valueGeneratorFactory) {
+        Path cacheDirectory = directory;
+        if (cacheDirectory == null || !valueGeneratorFactory.getPropertySetterManager().getApplicableProperties(sourceClass).isEmpty())
+            return;
+        try {
+            Properties properties = new Properties();
+            Set<Class<?>> dependencies = new LinkedHashSet<Class<?>>();
+            dependencies.add(sourceClass.getSourceClass());
+            // Step 1. Describing constructor
+            ClassConstructor<?> objectConstructor = plan.getObjectConstructor();
+            if (objectConstructor instanceof ClassConstructorSimple) {
+                Constructor<?> constructor = ((ClassConstructorSimple<?>) objectConstructor).getConstructor();
+                properties.setProperty("constructor", "simple");
+                properties.setProperty("constructor.member", describe(constructor, dependencies));
+            } else if (objectConstructor instanceof ClassConstructorFactory) {
+                properties.setProperty("constructor", "factory");
+                properties.setProperty("constructor.member", describe(((ClassConstructorFactory<?>) objectConstructor).builder, dependencies));
+            } else if (objectConstructor instanceof ClassConstructorBuilder) {
+                ClassConstructorBuilder<?> builder = (ClassConstructorBuilder<?>) objectConstructor;
+                Method builderMethod = builder.builderFactoryMethod.builder;
+                if (!valueGeneratorFactory.getPropertySetterManager().getApplicableProperties(sourceClass.wrap(builderMethod.getReturnType())).isEmpty())
+                    return;
+                properties.setProperty("constructor", "builder");
+                properties.setProperty("constructor.member", describe(builderMethod, dependencies));
+                properties.setProperty("builder.build", describe(builder.valueBuilderMethod, dependencies));
+                if (!describe(builder.classPropertySetter, properties, "builder.setter", dependencies))
+                    return;
+            } else {
+                return;
+            }
+            // Step 2. Describing property setters
+            if (!describe(plan.getPropertySetter(), properties, "setter", dependencies))
+                return;
+            // Step 3. Adding hash of all classes, plan depends on, including their super classes
+            Set<Class<?>> hierarchy = new LinkedHashSet<Class<?>>();
+            for (Class<?> dependency : dependencies)
+                for (Class<?> current = dependency; current != null && current != Object.class; current = current.getSuperclass())
+                    hierarchy.add(current);
+            String hash = hash(hierarchy);
+            if (hash == null)
+                return;
+            properties.setProperty("version", VERSION);
+            properties.setProperty("classes", hierarchy.stream().map(Class::getName).collect(Collectors.joining(",")));
+            properties.setProperty("hash", hash);
+            // Step 4. Replacing entry atomically, so concurrent forks never read partial entry
+            Files.createDirectories(cacheDirectory);
+            Path temporary = Files.createTempFile(cacheDirectory, "plan", ".tmp");
+            try (OutputStream output = Files.newOutputStream(temporary)) {
+                properties.store(output, sourceClass.getSourceClass().getName());
+            }
+            Files.move(temporary, cacheDirectory.resolve(entryName(sourceClass)), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException | RuntimeException notStored) {
+            // Cache is best effort, plan is discovered again on the next run
+        }
+    }
+
+    private static String entryName(final ClassAccessWrapper<?> sourceClass) {
+        return sourceClass.getSourceClass().getName() + (sourceClass.isFullAccess() ? ".all" : ".public") + ".plan";
+    }
+
+    private static ClassLoader classLoader(final Class<?> klass) {
+        return klass.getClassLoader() != null ? klass.getClassLoader() : ClassLoader.getSystemClassLoader();
+    }
+
+    /**
+     * Describes setters of the combined property setter, as <code>field member|method member</code> pairs.
+     *
+     * @return <code>false</code> if setter can't be described.
+     */
+    private static boolean describe(final ClassPropertySetter<?> propertySetter, final Properties properties, final String prefix, final Set<Class<?>> dependencies) {
+        if (!(propertySetter instanceof ClassPropertyCombinedSetter))
+            return false;
+        Collection<ClassPropertySetter<?>> propertySetters = ((ClassPropertyCombinedSetter<?>) propertySetter).propertySetters;
+        int index = 0;
+        for (ClassPropertySetter<?> setter : propertySetters) {
+            ClassPropertySimpleSetter<?> simpleSetter;
+            if (setter instanceof ClassPropertySimpleSetter)
+                simpleSetter = (ClassPropertySimpleSetter<?>) setter;
+            else if (setter instanceof ClassPropertyCollectionSetter)
+                simpleSetter = ((ClassPropertyCollectionSetter<?>) setter).initialPropertySetter;
+            else
+                return false;
+            String field = simpleSetter.field != null ? describe(simpleSetter.field, dependencies) : NONE;
+            String method = simpleSetter.method != null ? describe(simpleSetter.method, dependencies) : NONE;
+            properties.setProperty(prefix + "." + index++, field + "|" + method);
+        }
+        properties.setProperty(prefix + ".count", String.valueOf(index));
+        return true;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> ClassPropertySetter<T> propertySetter(final ClassAccessWrapper<?> sourceClass, final ClassLoader classLoader, final Properties properties, final String prefix) throws ReflectiveOperationException {
+        int count = Integer.parseInt(properties.getProperty(prefix + ".count"));
+        List<ClassPropertySetter<?>> propertySetters = new ArrayList<ClassPropertySetter<?>>(count);
+        for (int i = 0; i < count; i++) {
+            String[] members = properties.getProperty(prefix + "." + i).split("\\|");
+            Field field = NONE.equals(members[0]) ? null : (Field) member(classLoader, members[0]);
+            Method method = NONE.equals(members[1]) ? null : (Method) member(classLoader, members[1]);
+            propertySetters.add(ClassPropertySetter.create(sourceClass, field, method));
+        }
+        return new ClassPropertyCombinedSetter<T>(propertySetters);
+    }
+
+    private static Collection<Supplier<?>> parameterGenerators(final Executable executable, final ValueGeneratorFactory valueGeneratorFactory) {
+        return Arrays.asList(executable.getParameters()).stream().map(valueGeneratorFactory::getByParameter).collect(Collectors.toList());
+    }
+
+    /**
+     * Describes member as <code>declaring#name(parameters)</code> for methods, <code>declaring(parameters)</code> for
+     * constructors and <code>declaring#name</code> for fields.
+     */
+    private static String describe(final Object member, final Set<Class<?>> dependencies) {
+        StringBuilder description = new StringBuilder();
+        Class<?>[] parameters = null;
+        if (member instanceof Field) {
+            Field field = (Field) member;
+            dependencies.add(field.getDeclaringClass());
+            return description.append(field.getDeclaringClass().getName()).append('#').append(field.getName()).toString();
+        } else if (member instanceof Method) {
+            Method method = (Method) member;
+            dependencies.add(method.getDeclaringClass());
+            description.append(method.getDeclaringClass().getName()).append('#').append(method.getName());
+            parameters = method.getParameterTypes();
+        } else {
+            Constructor<?> constructor = (Constructor<?>) member;
+            dependencies.add(constructor.getDeclaringClass());
+            description.append(constructor.getDeclaringClass().getName());
+            parameters = constructor.getParameterTypes();
+        }
+        description.append('(');
+        for (int i = 0; i < parameters.length; i++)
+            description.append(i == 0 ? "" : ",").append(parameters[i].getName());
+        return description.append(')').toString();
+    }
+
+    private static Object member(final ClassLoader classLoader, final String description) throws ReflectiveOperationException {
+        int parametersStart = description.indexOf('(');
+        // Step 1. Field
+        if (parametersStart < 0) {
+            int separator = description.indexOf('#');
+            return ClassUtils.getClass(classLoader, description.substring(0, separator), false).getDeclaredField(description.substring(separator + 1));
+        }
+        // Step 2. Method or constructor
+        String parameterList = description.substring(parametersStart + 1, description.length() - 1);
+        List<Class<?>> parameters = new ArrayList<Class<?>>();
+        if (!parameterList.isEmpty())
+            for (String parameter : parameterList.split(","))
+                parameters.add(ClassUtils.getClass(classLoader, parameter, false));
+        Class<?>[] parameterTypes = parameters.toArray(new Class<?>[parameters.size()]);
+        String owner = description.substring(0, parametersStart);
+        int separator = owner.indexOf('#');
+        if (separator < 0)
+            return ClassUtils.getClass(classLoader, owner, false).getDeclaredConstructor(parameterTypes);
+        return ClassUtils.getClass(classLoader, owner.substring(0, separator), false).getDeclaredMethod(owner.substring(separator + 1), parameterTypes);
+    }
+
+    /**
+     * Hashes bytecode of the classes, together with the Java version.
+     *
+     * @return hex SHA-256, or <code>null</code> if bytecode of any class is not available.
+     */
+    private static String hash(final Collection<Class<?>> classes) throws IOException {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException noAlgorithm) {
+            return null;
+        }
+        digest.update(System.getProperty("java.version").getBytes("UTF-8"));
+        for (Class<?> klass : classes) {
+            try (InputStream bytecode = classLoader(klass).getResourceAsStream(klass.getName().replace('.', '/') + ".class")) {
+                if (bytecode == null)
+                    return null;
+                digest.update(klass.getName().getBytes("UTF-8"));
+                digest.update(ByteStreams.toByteArray(bytecode));
+            }
+        }
+        return BaseEncoding.base16().lowerCase().encode(digest.digest());
+    }
+
+}
@@ -2,16 +2,31 @@ package com.clemble.test.random.constructor;
 
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.function.IntFunction;
 import java.util.function.Supplier;
 
 import com.clemble.test.random.ObjectGenerator;
+import com.clemble.test.random.constructor.validation.SizeConstraintValidator;
+import com.clemble.test.random.generator.CollectionSizes;
+import com.clemble.test.random.generator.ReusePool;
+import com.clemble.test.random.generator.SizeDistribution;
 import com.clemble.test.reflection.ReflectionUtils;
 
 /**
- * Property Setter for Collection fields.
+ * Property Setter for Collection fields. By default collection is populated with a single element through the add method,
+ * collections (and maps) with configured {@link SizeDistribution} are created presized and populated in bulk.
  * 
  * @author Anton Oparin
  * 
@@ -32,11 +47,42 @@ final class ClassPropertyCollectionSetter<T> extends ClassPropertySetter<T> {
      * ValueGenerator to use for additional value generation.
      */
     final private Supplier<T> valueGenerator;
+    /**
+     * Distribution of the collection size, <code>null</code> if collection is populated with a single element through the add method.
+     */
+    final private SizeDistribution sizeDistribution;
+    /**
+     * Creates collection (or map) of the expected size, <code>null</code> if collection is created with the initial setter generator.
+     */
+    final private IntFunction<Object> presizedGenerator;
+    /**
+     * ValueGenerator of the map keys, <code>null</code> for collections.
+     */
+    final private Supplier<?> keyGenerator;
+    /**
+     * Add method, resolved for the collection, <code>null</code> if there is none.
+     */
+    final private Method addMethod;
 
     ClassPropertyCollectionSetter(final ClassPropertySimpleSetter<T> iInitialPropertySetter, final Method iMethod, final Supplier<T> iValueGenerator) {
+        this(iInitialPropertySetter, iMethod, iValueGenerator, null, null, null, iMethod);
+    }
+
+    private ClassPropertyCollectionSetter(
+        final ClassPropertySimpleSetter<T> iInitialPropertySetter,
+        final Method iMethod,
+        final Supplier<T> iValueGenerator,
+        final SizeDistribution iSizeDistribution,
+        final IntFunction<Object> iPresizedGenerator,
+        final Supplier<?> iKeyGenerator,
+        final Method iAddMethod) {
         this.method = iMethod;
         this.valueGenerator = iValueGenerator;
         this.initialPropertySetter = iInitialPropertySetter;
+        this.sizeDistribution = iSizeDistribution;
+        this.presizedGenerator = iPresizedGenerator;
+        this.keyGenerator = iKeyGenerator;
+        this.addMethod = iAddMethod;
     }
 
     /**
@@ -47,40 +93,160 @@ final class ClassPropertyCollectionSetter<T> extends ClassPropertySetter<T> {
      * @param field
      *            object field
      */
-    @SuppressWarnings("unchecked")
     ClassPropertyCollectionSetter(final ClassAccessWrapper<?> sourceClass, final Field field) {
-        Method addMethod = ReflectionUtils.findAddMethod(sourceClass, field);
-        Method setMethod = ReflectionUtils.findSetMethod(sourceClass, field);
+        this(sourceClass, field, ReflectionUtils.findSetMethod(sourceClass, field), ReflectionUtils.findAddMethod(sourceClass, field));
+    }
 
-        this.initialPropertySetter = new ClassPropertySimpleSetter<T>(field, setMethod, (Supplier<T>) ObjectGenerator.getValueGenerator(field.getType()));
+    ClassPropertyCollectionSetter(final ClassAccessWrapper<?> sourceClass, final Method setMethod) {
+        this(sourceClass, null, setMethod, ReflectionUtils.findAddMethod(sourceClass, ReflectionUtils.extractMemberName(setMethod)));
+    }
+
+    @SuppressWarnings("unchecked")
+    private ClassPropertyCollectionSetter(final ClassAccessWrapper<?> sourceClass, final Field field, final Method setMethod, final Method addMethod) {
+        Class<?> propertyType = field != null ? field.getType() : setMethod.getParameterTypes()[0];
+        boolean map = Map.class.isAssignableFrom(propertyType);
 
-        if (addMethod != null) {
-            this.valueGenerator = (Supplier<T>) ObjectGenerator.getValueGenerator(addMethod.getParameterTypes()[0]);
+        this.initialPropertySetter = new ClassPropertySimpleSetter<T>(field, setMethod, (Supplier<T>) ObjectGenerator.getValueGenerator(propertyType));
+        this.addMethod = addMethod;
+        // Step 1. Checking configured size of the collection, elements must be known to generate them in bulk
+        Class<?> elementType = elementType(field, setMethod, map ? 1 : 0);
+        Class<?> keyType = map ? elementType(field, setMethod, 0) : null;
+        if (elementType == null && !map && addMethod != null)
+            elementType = addMethod.getParameterTypes()[0];
+        SizeDistribution distribution = sizeDistribution(sourceClass, field, setMethod, elementType);
+        if (distribution != null && elementType != null && (!map || keyType != null)) {
+            // Step 2. Collection populated in bulk
+            this.sizeDistribution = distribution;
+            this.presizedGenerator = presizedGenerator(propertyType);
+            this.valueGenerator = (Supplier<T>) ReusePool.apply(elementType, ObjectGenerator.getValueGenerator(elementType));
+            this.keyGenerator = map ? ObjectGenerator.getValueGenerator(keyType) : null;
+            this.method = null;
+        } else if (addMethod != null && !map) {
+            // Step 3. Single element added through the add method
+            this.valueGenerator = (Supplier<T>) ReusePool.apply(addMethod.getParameterTypes()[0], ObjectGenerator.getValueGenerator(addMethod.getParameterTypes()[0]));
             this.method = addMethod;
+            this.sizeDistribution = null;
+            this.presizedGenerator = null;
+            this.keyGenerator = null;
         } else {
             this.valueGenerator = null;
             this.method = null;
+            this.sizeDistribution = null;
+            this.presizedGenerator = null;
+            this.keyGenerator = null;
         }
     }
 
-    @SuppressWarnings("unchecked")
-    ClassPropertyCollectionSetter(final ClassAccessWrapper<?> sourceClass, final Method setMethod) {
-        Method addMethod = ReflectionUtils.findAddMethod(sourceClass, setMethod.getName().substring(3));
+    /**
+     * Selects {@link SizeDistribution} of the property, {@link javax.validation.constraints.Size} constraint takes
+     * precedence over configured one.
+     * 
+     * @param sourceClass
+     *            source Class for the object
+     * @param field
+     *            object field, can be <code>null</code>.
+     * @param setMethod
+     *            set method, can be <code>null</code>.
+     * @param elementType
+     *            type of the elements, can be <code>null</code>.
+     * @return {@link SizeDistribution} or <code>null</code> if there is none.
+     */
+    static SizeDistribution sizeDistribution(final ClassAccessWrapper<?> sourceClass, final Field field, final Method setMethod, final Class<?> elementType) {
+        // Step 1. Size constraint of the property
+        SizeDistribution constrained = SizeConstraintValidator.distribution(findConstraints(field, setMethod));
+        if (constrained != null)
+            return constrained;
+        // Step 2. Configured size of the property or element type
+        String property = field != null ? ReflectionUtils.extractFieldName(field) : ReflectionUtils.extractMemberName(setMethod);
+        return CollectionSizes.get(sourceClass.getSourceClass(), property, elementType);
+    }
 
-        this.initialPropertySetter = new ClassPropertySimpleSetter<T>(null, setMethod, (Supplier<T>) ObjectGenerator.getValueGenerator(setMethod.getParameterTypes()[0]));
+    /**
+     * Checks that add method is used by this setter, either collection is populated in bulk, or through the add method,
+     * so add method must not be used separately. Add method belongs to the collection, if it is the one, resolved for
+     * the collection with {@link ReflectionUtils#findAddMethod(ClassAccessWrapper, String)}.
+     * 
+     * @param candidate
+     *            add method.
+     * @return <code>true</code> if add method populates this collection.
+     */
+    boolean populates(final Method candidate) {
+        return (sizeDistribution != null || method != null) && candidate.equals(addMethod);
+    }
 
-        if (addMethod != null) {
-            this.valueGenerator = (Supplier<T>) ObjectGenerator.getValueGenerator(addMethod.getParameterTypes()[0]);
-            this.method = addMethod;
-        } else {
-            this.valueGenerator = null;
-            this.method = null;
-        }
+    /**
+     * Checks that map property has configured {@link SizeDistribution}, only such maps are populated.
+     * 
+     * @param sourceClass
+     *            source Class for the object
+     * @param field
+     *            object field, can be <code>null</code>.
+     * @param setMethod
+     *            set method, can be <code>null</code>.
+     * @return <code>true</code> if map can be populated.
+     */
+    static boolean isSizedMap(final ClassAccessWrapper<?> sourceClass, final Field field, final Method setMethod) {
+        Class<?> valueType = elementType(field, setMethod, 1);
+        return valueType != null && elementType(field, setMethod, 0) != null && sizeDistribution(sourceClass, field, setMethod, valueType) != null;
+    }
+
+    /**
+     * Extracts type argument of the property.
+     * 
+     * @param field
+     *            object field, can be <code>null</code>.
+     * @param setMethod
+     *            set method, can be <code>null</code>.
+     * @param argument
+     *            index of the type argument.
+     * @return {@link Class} of the argument, or <code>null</code> if it is not a {@link Class}.
+     */
+    private static Class<?> elementType(final Field field, final Method setMethod, final int argument) {
+        Type propertyType = field != null ? field.getGenericType() : setMethod.getGenericParameterTypes()[0];
+        if (!(propertyType instanceof ParameterizedType))
+            return null;
+        Type[] arguments = ((ParameterizedType) propertyType).getActualTypeArguments();
+        return arguments.length > argument && arguments[argument] instanceof Class ? (Class<?>) arguments[argument] : null;
+    }
 
+    /**
+     * Selects presized implementation for the property type.
+     * 
+     * @param propertyType
+     *            type of the property.
+     * @return generator of the presized collection, or <code>null</code> if implementation is not known.
+     */
+    private static IntFunction<Object> presizedGenerator(final Class<?> propertyType) {
+        if (propertyType.isAssignableFrom(ArrayList.class))
+            return (size) -> new ArrayList<Object>(size);
+        if (propertyType.isAssignableFrom(HashSet.class))
+            return (size) -> new HashSet<Object>(capacity(size));
+        if (propertyType == LinkedHashSet.class)
+            return (size) -> new LinkedHashSet<Object>(capacity(size));
+        if (propertyType.isAssignableFrom(ArrayDeque.class))
+            return (size) -> new ArrayDeque<Object>(size);
+        if (propertyType.isAssignableFrom(HashMap.class))
+            return (size) -> new HashMap<Object, Object>(capacity(size));
+        if (propertyType == LinkedHashMap.class)
+            return (size) -> new LinkedHashMap<Object, Object>(capacity(size));
+        return null;
+    }
+
+    /**
+     * @param size expected number of elements.
+     * @return hash table capacity, that holds expected number of elements without rehash.
+     */
+    private static int capacity(final int size) {
+        return size < 3 ? size + 1 : (int) (size / 0.75f + 1.0f);
     }
 
     @Override
     public void setProperties(Object target) {
+        // Step 0. Collection of configured size
+        if (sizeDistribution != null) {
+            setPopulated(target);
+            return;
+        }
         // Step 1. Generating initial empty Collection
         initialPropertySetter.setProperties(target);
         // Step 2. Setting method as a regular expression
@@ -88,6 +254,9 @@ final class ClassPropertyCollectionSetter<T> extends ClassPropertySetter<T> {
         try {
             if (method != null && valueGenerator != null) {
                 valueToSet = valueGenerator.get();
+                // Recursive values are not generated, when budget is exhausted, collection stays empty
+                if (valueToSet == null)
+                    return;
                 method.invoke(target, valueToSet);
             }
         } catch (Exception methodSetException) {
@@ -99,11 +268,35 @@ final class ClassPropertyCollectionSetter<T> extends ClassPropertySetter<T> {
         }
     }
 
+    @SuppressWarnings({ "rawtypes", "unchecked" })
+    private void setPopulated(final Object target) {
+        // Step 1. Creating collection of the expected size
+        int size = Math.max(0, sizeDistribution.nextSize());
+        Object container = presizedGenerator != null ? presizedGenerator.apply(size) : initialPropertySetter.valueGenerator.get();
+        // Step 2. Generating elements in bulk, until collection reaches the size
+        if (keyGenerator != null)
+            CollectionSizes.populate((Map) container, size, keyGenerator, valueGenerator);
+        else
+            CollectionSizes.populate((Collection) container, size, valueGenerator);
+        // Step 3. Setting populated collection
+        initialPropertySetter.setValue(target, container);
+    }
+
     @Override
     protected Class<?> getAffectedClass() {
         return initialPropertySetter.getAffectedClass();
     }
 
+    @Override
+    public List<Field> getAffectedFields() {
+        return initialPropertySetter.getAffectedFields();
+    }
+
+    @Override
+    public boolean isAppending() {
+        return method != null;
+    }
+
     @Override
     public String toString() {
         return initialPropertySetter.toString();
@@ -118,6 +311,6 @@ final class ClassPropertyCollectionSetter<T> extends ClassPropertySetter<T> {
     @Override
     @SuppressWarnings("unchecked")
     public ClassPropertySetter<T> clone(List<Supplier<?>> generatorsToUse) {
-        return new ClassPropertyCollectionSetter<T>(initialPropertySetter, method, (Supplier<T>) generatorsToUse.remove(0));
+        return new ClassPropertyCollectionSetter<T>(initialPropertySetter, method, (Supplier<T>) generatorsToUse.remove(0), sizeDistribution, presizedGenerator, keyGenerator, addMethod);
     }
 }
\ No newline at end of file
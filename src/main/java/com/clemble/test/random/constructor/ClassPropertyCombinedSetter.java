@@ -1,5 +1,6 @@
 package com.clemble.test.random.constructor;
 
+import java.lang.reflect.Field;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
@@ -19,7 +20,7 @@ final class ClassPropertyCombinedSetter<T> extends ClassPropertySetter<T> {
 	/**
 	 * Source {@link Colleciton} of {@link ClassPropertySetter}.
 	 */
-	final private Collection<ClassPropertySetter<?>> propertySetters;
+	final Collection<ClassPropertySetter<?>> propertySetters;
 
 	/**
 	 * Default constructor
@@ -52,6 +53,22 @@ final class ClassPropertyCombinedSetter<T> extends ClassPropertySetter<T> {
 		return valueGenerators;
 	}
 
+	@Override
+	public List<Field> getAffectedFields() {
+		List<Field> affectedFields = new ArrayList<Field>();
+		for (ClassPropertySetter<?> propertySetter : propertySetters)
+			affectedFields.addAll(propertySetter.getAffectedFields());
+		return affectedFields;
+	}
+
+	@Override
+	public boolean isAppending() {
+		for (ClassPropertySetter<?> propertySetter : propertySetters)
+			if (propertySetter.isAppending())
+				return true;
+		return false;
+	}
+
 	@Override
 	public ClassPropertySetter<T> clone(List<Supplier<?>> generatorsToUse) {
 		List<ClassPropertySetter<?>> newPropertySetters = new ArrayList<ClassPropertySetter<?>>();
@@ -1,20 +1,26 @@
 package com.clemble.test.random.constructor;
 
+import java.lang.annotation.Annotation;
 import java.lang.reflect.Field;
 import java.lang.reflect.Member;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
+import java.lang.reflect.Type;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
 import java.util.TreeSet;
 import java.util.function.Predicate;
 import java.util.function.Supplier;
+import java.util.stream.Stream;
 
 import com.clemble.test.random.ObjectGenerator;
 import com.clemble.test.random.ValueGeneratorFactory;
+import com.clemble.test.random.generator.ReusePool;
 import com.clemble.test.reflection.ReflectionUtils;
 
 /**
@@ -39,6 +45,24 @@ abstract public class ClassPropertySetter<T> {
 
     abstract public ClassPropertySetter<T> clone(List<Supplier<?>> generatorsToUse);
 
+    /**
+     * Returns fields populated by this setter, setters working only through methods have no fields.
+     * 
+     * @return {@link List} of affected fields.
+     */
+    public List<Field> getAffectedFields() {
+        return Collections.emptyList();
+    }
+
+    /**
+     * Checks that setter adds values through the add method, to the state, left from previous population.
+     * 
+     * @return <code>true</code> if setter uses add method.
+     */
+    public boolean isAppending() {
+        return false;
+    }
+
     /**
      * Returns affected Class. Supposed to be used primerely inside invocation.
      * 
@@ -46,6 +70,11 @@ abstract public class ClassPropertySetter<T> {
      */
     abstract protected Class<?> getAffectedClass();
 
+    /**
+     * Bean Validation constraints of the properties.
+     */
+    final private static ConstraintValidatorRegistry CONSTRAINTS = new ConstraintValidatorRegistry();
+
     /**
      * Filter for applicable methods, uses only set and add methods
      */
@@ -169,19 +198,58 @@ abstract public class ClassPropertySetter<T> {
 
         Class<T> targetClass = (Class<T>) (field != null ? field.getType() : method.getParameterTypes()[0]);
         if (valueGenerator == null) {
-            if (Collection.class.isAssignableFrom(targetClass)) {
+            if (Collection.class.isAssignableFrom(targetClass) || (Map.class.isAssignableFrom(targetClass) && ClassPropertyCollectionSetter.isSizedMap(sourceClass, field, method))) {
                 if (field != null)
                     return new ClassPropertyCollectionSetter<T>(sourceClass, field);
                 else
                     return new ClassPropertyCollectionSetter<T>(sourceClass, method);
             } else {
-                valueGenerator = ObjectGenerator.getValueGenerator(targetClass);
+                Type targetType = field != null ? field.getGenericType() : method.getGenericParameterTypes()[0];
+                Supplier<T> unconstrained = ObjectGenerator.getValueGenerator(targetClass);
+                valueGenerator = CONSTRAINTS.get(targetType, findConstraints(field, method), unconstrained);
+                // Pool is shared by all references of the type, so only unconstrained values are served from it
+                if (valueGenerator == unconstrained)
+                    valueGenerator = ReusePool.apply(targetClass, valueGenerator);
             }
         }
 
         return new ClassPropertySimpleSetter<T>(field, method, valueGenerator);
     }
 
+    /**
+     * Searches for constraints of the property, on the field, set method, its parameter and get method. Field, that is
+     * not accessible with the access level, is checked as well.
+     *
+     * @param field
+     *            target field, can be <code>null</code>.
+     * @param method
+     *            target set method, can be <code>null</code>.
+     * @return annotations of the property.
+     */
+    static Stream<Annotation> findConstraints(final Field field, final Method method) {
+        Class<?> declaringClass = field != null ? field.getDeclaringClass() : method.getDeclaringClass();
+        String property = field != null ? field.getName() : ReflectionUtils.extractMemberName(method);
+        List<Annotation> constraints = new ArrayList<Annotation>();
+        // Step 1. Field annotations, field is searched by name, if it is not known
+        Field propertyField = field;
+        for (Class<?> klass = declaringClass; propertyField == null && klass != null && klass != Object.class; klass = klass.getSuperclass())
+            for (Field declaredField : klass.getDeclaredFields())
+                if (declaredField.getName().equalsIgnoreCase(property))
+                    propertyField = declaredField;
+        if (propertyField != null)
+            constraints.addAll(Arrays.asList(propertyField.getDeclaredAnnotations()));
+        // Step 2. Set method and its parameter annotations
+        if (method != null) {
+            constraints.addAll(Arrays.asList(method.getDeclaredAnnotations()));
+            constraints.addAll(Arrays.asList(method.getParameterAnnotations()[0]));
+        }
+        // Step 3. Get method annotations
+        for (Method getter : declaringClass.getDeclaredMethods())
+            if (getter.getParameterCount() == 0 && (getter.getName().equalsIgnoreCase("get" + property) || getter.getName().equalsIgnoreCase("is" + property)))
+                constraints.addAll(Arrays.asList(getter.getDeclaredAnnotations()));
+        return constraints.stream();
+    }
+
     /**
      * Extracts all possible PropertySetters with specified access level.
      * @param <T>
@@ -202,9 +270,9 @@ abstract public class ClassPropertySetter<T> {
         searchClass.getMethods().stream().
             filter(FILTER_APPLICABLE_METHODS).
             forEach((method) -> {
+                // Self references are populated through the back reference, limited by the generation budget
                 if (method.getParameterTypes().length != 1 ||
-                    method.getParameterTypes()[0] == Object.class ||
-                    searchClass.getSourceClass().equals(method.getParameterTypes()[0])) {
+                    method.getParameterTypes()[0] == Object.class) {
                 } else {
                     ClassPropertySetter<?> propertySetter = createMethodSetter(searchClass, method);
                     if (propertySetter != null) {
@@ -213,6 +281,22 @@ abstract public class ClassPropertySetter<T> {
                 }
             });
 
+        // Step 2.1. Add methods, used by the collection setters, are not used separately
+        final List<ClassPropertyCollectionSetter<?>> populatedSetters = new ArrayList<ClassPropertyCollectionSetter<?>>();
+        for (ClassPropertySetter<?> propertySetter : propertySetters)
+            if (propertySetter instanceof ClassPropertyCollectionSetter)
+                populatedSetters.add((ClassPropertyCollectionSetter<?>) propertySetter);
+        propertySetters.removeIf((propertySetter) -> {
+            if (!(propertySetter instanceof ClassPropertySimpleSetter))
+                return false;
+            Method method = ((ClassPropertySimpleSetter<?>) propertySetter).method;
+            if (method == null || !method.getName().toLowerCase().startsWith("add"))
+                return false;
+            for (ClassPropertyCollectionSetter<?> populatedSetter : populatedSetters)
+                if (populatedSetter.populates(method))
+                    return true;
+            return false;
+        });
         final List<ClassPropertySetter<?>> resultSetters = new ArrayList<ClassPropertySetter<?>>(propertySetters);
         Collections.sort(resultSetters, COMPARE_PRESENTATION_TYPE);
         // Step 3. Returning accumulated result
@@ -7,12 +7,11 @@ import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
 import java.util.ArrayList;
 import java.util.Collection;
-import java.util.HashSet;
-import java.util.List;
 import java.util.Set;
 import java.util.SortedSet;
-import java.util.TreeSet;
 import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
 import java.util.function.Supplier;
 
 import com.clemble.test.reflection.ReflectionUtils;
@@ -20,7 +19,8 @@ import com.google.common.base.Predicate;
 import com.google.common.collect.Collections2;
 
 /**
- * Simple abstraction to keep track of registered PropertySetters.
+ * Simple abstraction to keep track of registered PropertySetters. Lookups are lock free and can run concurrently
+ * with registration.
  * 
  * @author Anton Oparin
  * 
@@ -30,12 +30,12 @@ final public class ClassPropertySetterRegistry {
     /**
      * Registered PropertySetters collection
      */
-    final private SortedSet<ClassPropertySetter<?>> propertySelectors = new TreeSet<ClassPropertySetter<?>>(ClassPropertySetter.COMPARE_PRESENTATION_TYPE);
+    final private SortedSet<ClassPropertySetter<?>> propertySelectors = new ConcurrentSkipListSet<ClassPropertySetter<?>>(ClassPropertySetter.COMPARE_PRESENTATION_TYPE);
 
     /**
      * Registered abstract PropertySetters collection
      */
-    final private Set<AbstractPropertySetter<?>> abstractPropertySelectors = new HashSet<AbstractPropertySetter<?>>();
+    final private Set<AbstractPropertySetter<?>> abstractPropertySelectors = ConcurrentHashMap.newKeySet();
 
     /**
      * Registers specified Property in PropertySelectors list.
@@ -43,7 +43,7 @@ final public class ClassPropertySetterRegistry {
      * @param propertySelector
      *            PropertySelector to add.
      */
-    public void addSpecificProperties(ClassPropertySetter<?> propertySelector) {
+    public synchronized void addSpecificProperties(ClassPropertySetter<?> propertySelector) {
         propertySelectors.remove(propertySelector);
         propertySelectors.add(propertySelector);
     }
@@ -56,13 +56,13 @@ final public class ClassPropertySetterRegistry {
      * @return Collection of PropertySetters applicable to the provided Class.
      */
     public Collection<ClassPropertySetter<?>> getApplicableProperties(final ClassAccessWrapper<?> applicableClass) {
-        // Step 1. Filter all properties
-        Collection<ClassPropertySetter<?>> applicableSelectors = Collections2.filter(propertySelectors, new Predicate<ClassPropertySetter<?>>() {
+        // Step 1. Filter all properties, copying them, so that registry itself is not modified
+        Collection<ClassPropertySetter<?>> applicableSelectors = new ArrayList<ClassPropertySetter<?>>(Collections2.filter(propertySelectors, new Predicate<ClassPropertySetter<?>>() {
             @Override
             public boolean apply(ClassPropertySetter<?> selector) {
                 return applicableClass.canReplace(selector.getAffectedClass());
             }
-        });
+        }));
         // Step 2. Filter all abstract properties
         for (AbstractPropertySetter<?> abstractProperty: abstractPropertySelectors) {
             if(abstractProperty.isApplicable(applicableClass)) {
@@ -72,8 +72,7 @@ final public class ClassPropertySetterRegistry {
             }
         }
         // Step 3. Returning result set to the
-        List<ClassPropertySetter<?>> sortedSelectors = new ArrayList<ClassPropertySetter<?>>(applicableSelectors);
-        return sortedSelectors;
+        return applicableSelectors;
     }
 
     /**
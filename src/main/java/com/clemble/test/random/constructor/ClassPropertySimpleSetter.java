@@ -7,6 +7,18 @@ import java.util.List;
 import java.util.concurrent.Callable;
 import java.util.function.Supplier;
 
+import com.clemble.test.random.generator.PrimitiveValueGenerators;
+import com.clemble.test.random.generator.PrimitiveValueGenerators.BooleanValueGenerator;
+import com.clemble.test.random.generator.PrimitiveValueGenerators.ByteValueGenerator;
+import com.clemble.test.random.generator.PrimitiveValueGenerators.CharValueGenerator;
+import com.clemble.test.random.generator.PrimitiveValueGenerators.DoubleValueGenerator;
+import com.clemble.test.random.generator.PrimitiveValueGenerators.FloatValueGenerator;
+import com.clemble.test.random.generator.PrimitiveValueGenerators.IntValueGenerator;
+import com.clemble.test.random.generator.PrimitiveValueGenerators.LongValueGenerator;
+import com.clemble.test.random.generator.PrimitiveValueGenerators.ShortValueGenerator;
+import com.clemble.test.random.generator.RecursiveValueGenerator;
+import com.clemble.test.reflection.ReflectionUtils;
+
 /**
  * Property setter implementation for a plain field.
  * 
@@ -28,7 +40,11 @@ final class ClassPropertySimpleSetter<T> extends ClassPropertySetter<T> {
 	/**
 	 * Value Generator to use to set the value property
 	 */
-	final private Supplier<?> valueGenerator;
+	final Supplier<?> valueGenerator;
+	/**
+	 * Primitive field, that is set with unboxed value, or null if value is boxed.
+	 */
+	final Class<?> primitiveType;
 
 	/**
 	 * Default constructor.
@@ -44,21 +60,49 @@ final class ClassPropertySimpleSetter<T> extends ClassPropertySetter<T> {
 		this.field = field;
 		this.method = method;
 		this.valueGenerator = valueGenerator;
+		this.primitiveType = method == null && field != null && PrimitiveValueGenerators.isPrimitive(field.getType(), valueGenerator) ? field.getType() : null;
 	}
 
 	@Override
 	public void setProperties(final Object target) {
+		// Step 0. Primitive fields are set without boxing
+		if (primitiveType != null) {
+			setPrimitive(target);
+			return;
+		}
         Object valueToSet = null;
         try {
             valueToSet = valueGenerator.get();
-            // Step 1. Setting value, preferring method over field
+            // Step 0.1. Recursive value is not generated, when budget is exhausted, property is left as is
+            if (valueToSet == null && valueGenerator instanceof RecursiveValueGenerator)
+                return;
+        } catch (RuntimeException generationException) {
+            // Required recursive values, that never end, fail generation
+            if (RecursiveValueGenerator.isUnfinished(generationException))
+                throw generationException;
+            // Value can't be generated, property is set to null
+        }
+        setValue(target, valueToSet);
+	}
+
+	/**
+	 * Sets provided value, preferring method over field.
+	 * 
+	 * @param target
+	 *            Object to update.
+	 * @param valueToSet
+	 *            value to set.
+	 */
+	void setValue(final Object target, final Object valueToSet) {
+		try {
+			// Step 1. Setting value, preferring method over field
 			if (method != null) {
 				method.invoke(target, valueToSet);
 			} else {
 				field.set(target, valueToSet);
 			}
 		} catch (Exception methodSetException) {
-			// Step 3. Changing access level and making another attempt
+			// Step 2. Changing access level and making another attempt
 			try {
 				if (method != null) {
 					method.setAccessible(true);
@@ -72,6 +116,38 @@ final class ClassPropertySimpleSetter<T> extends ClassPropertySetter<T> {
 		}
 	}
 
+	private void setPrimitive(final Object target) {
+		try {
+			setPrimitive(field, target);
+		} catch (Exception fieldSetException) {
+			try {
+				field.setAccessible(true);
+				setPrimitive(field, target);
+			} catch (Exception anotherFieldSetException) {
+			}
+		}
+	}
+
+	private void setPrimitive(final Field field, final Object target) throws IllegalAccessException {
+		if (primitiveType == int.class) {
+			field.setInt(target, ((IntValueGenerator) valueGenerator).getAsInt());
+		} else if (primitiveType == long.class) {
+			field.setLong(target, ((LongValueGenerator) valueGenerator).getAsLong());
+		} else if (primitiveType == double.class) {
+			field.setDouble(target, ((DoubleValueGenerator) valueGenerator).getAsDouble());
+		} else if (primitiveType == boolean.class) {
+			field.setBoolean(target, ((BooleanValueGenerator) valueGenerator).getAsBoolean());
+		} else if (primitiveType == byte.class) {
+			field.setByte(target, ((ByteValueGenerator) valueGenerator).getAsByte());
+		} else if (primitiveType == char.class) {
+			field.setChar(target, ((CharValueGenerator) valueGenerator).getAsChar());
+		} else if (primitiveType == short.class) {
+			field.setShort(target, ((ShortValueGenerator) valueGenerator).getAsShort());
+		} else if (primitiveType == float.class) {
+			field.setFloat(target, ((FloatValueGenerator) valueGenerator).getAsFloat());
+		}
+	}
+
 	@Override
 	protected Class<?> getAffectedClass() {
 		return field != null ? field.getDeclaringClass() : method.getDeclaringClass();
@@ -95,4 +171,18 @@ final class ClassPropertySimpleSetter<T> extends ClassPropertySetter<T> {
 		return new ClassPropertySimpleSetter<T>(field, method, (Supplier<T>) generatorsToUse.remove(0));
 	}
 
+	@Override
+	public boolean isAppending() {
+		return method != null && method.getName().toLowerCase().startsWith("add");
+	}
+
+	@Override
+	public List<Field> getAffectedFields() {
+		if (field != null)
+			return Collections.singletonList(field);
+		// Step 1. Method only setter affects field of the same name and type, even if it is not accessible
+		Field backingField = ReflectionUtils.findField(ClassAccessWrapper.createAllMethodsAccessor(method.getDeclaringClass()), method);
+		return backingField != null && backingField.getType() == method.getParameterTypes()[0] ? Collections.singletonList(backingField) : Collections.<Field> emptyList();
+	}
+
 }
\ No newline at end of file
@@ -2,6 +2,8 @@ package com.clemble.test.random.constructor;
 
 import static com.google.common.base.Preconditions.checkNotNull;
 
+import java.lang.reflect.Field;
+import java.util.List;
 import java.util.concurrent.Callable;
 import java.util.function.Supplier;
 
@@ -45,6 +47,37 @@ public class ClassValueGenerator<T> implements Supplier<T> {
         return (T) generatedObject;
     }
 
+    /**
+     * Populates existing value with new random properties, the same way as a newly constructed one.
+     * 
+     * @param target value to populate.
+     * @return populated value.
+     */
+    public T populate(final T target) {
+        propertySetter.setProperties(target);
+        return target;
+    }
+
+    /**
+     * Checks that the whole state of generated value comes from property population, so existing value can be
+     * populated again instead of constructing a new one. Values populated through add methods are not, add method
+     * appends to the collection of the previous population.
+     * 
+     * @return <code>true</code> if value is constructed with no arguments, and no property is set with add method.
+     */
+    public boolean isRepopulatable() {
+        return objectConstructor instanceof ClassConstructorSimple && objectConstructor.getValueGenerators().isEmpty() && !propertySetter.isAppending();
+    }
+
+    /**
+     * Returns fields populated by the plan, in population order.
+     * 
+     * @return {@link List} of populated fields.
+     */
+    public List<Field> getFields() {
+        return propertySetter.getAffectedFields();
+    }
+
     /**
      * Returns associated {@link ClassConstructor}.
      * 
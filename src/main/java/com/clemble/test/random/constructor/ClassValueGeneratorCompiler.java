@@ -0,0 +1,736 @@
+package com.clemble.test.random.constructor;
+
+import static java.lang.invoke.MethodType.methodType;
+
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Executable;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BiConsumer;
+import java.util.function.DoubleSupplier;
+import java.util.function.Function;
+import java.util.function.IntSupplier;
+import java.util.function.LongSupplier;
+import java.util.function.ObjDoubleConsumer;
+import java.util.function.ObjIntConsumer;
+import java.util.function.ObjLongConsumer;
+import java.util.function.Supplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import com.clemble.test.random.generator.PrimitiveValueGenerators;
+import com.clemble.test.random.generator.PrimitiveValueGenerators.BooleanValueGenerator;
+import com.clemble.test.random.generator.PrimitiveValueGenerators.ByteValueGenerator;
+import com.clemble.test.random.generator.PrimitiveValueGenerators.CharValueGenerator;
+import com.clemble.test.random.generator.PrimitiveValueGenerators.FloatValueGenerator;
+import com.clemble.test.random.generator.PrimitiveValueGenerators.ShortValueGenerator;
+import com.clemble.test.random.generator.RecursiveValueGenerator;
+import com.google.common.primitives.Primitives;
+
+/**
+ * Compiles resolved {@link ClassValueGenerator} plan, replacing reflective {@link Constructor#newInstance(Object...)},
+ * {@link Method#invoke(Object, Object...)} and {@link Field#set(Object, Object)} calls, with {@link LambdaMetafactory}
+ * generated accessors (or direct {@link MethodHandle}s, when accessor can't be generated) and flat construct than set loop.
+ * Primitive properties, filled with primitive value generators, are written with unboxed accessors, both for fields and setters.
+ * If any part of the plan can't be compiled, reflective plan is used.
+ *
+ * @author Anton Oparin
+ */
+final public class ClassValueGeneratorCompiler {
+
+    final private static Logger LOGGER = Logger.getLogger(ClassValueGeneratorCompiler.class.getName());
+
+    /**
+     * Lookup of the compiler, used for members, that are made accessible with reflection.
+     */
+    final private static MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+
+    /**
+     * MethodHandles.privateLookupIn, available since Java 9, used to generate accessors for non public members.
+     */
+    final private static MethodHandle PRIVATE_LOOKUP_IN = findPrivateLookupIn();
+
+    /**
+     * Compilation switch, can be disabled with -Dobject.generator.compile=false.
+     */
+    private static volatile boolean enabled = !"false".equalsIgnoreCase(System.getProperty("object.generator.compile"));
+
+    private ClassValueGeneratorCompiler() {
+        throw new IllegalAccessError();
+    }
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    public static void enable() {
+        enabled = true;
+    }
+
+    public static void disable() {
+        enabled = false;
+    }
+
+    /**
+     * Checks if {@link Supplier} is a compiled plan.
+     *
+     * @param valueGenerator {@link Supplier} to check.
+     * @return <code>true</code> if {@link Supplier} was compiled, <code>false</code> otherwise.
+     */
+    public static boolean isCompiled(Supplier<?> valueGenerator) {
+        return valueGenerator instanceof CompiledClassValueGenerator;
+    }
+
+    /**
+     * Compiles {@link ClassValueGenerator} plan.
+     *
+     * @param <T> the type of object to generate
+     * @param plan resolved {@link ClassValueGenerator}.
+     * @return compiled {@link ClassValueGenerator}, or original plan if compilation is disabled or not possible.
+     */
+    public static <T> ClassValueGenerator<T> compile(final ClassValueGenerator<T> plan) {
+        if (!enabled || plan instanceof CompiledClassValueGenerator)
+            return plan;
+        try {
+            // Step 1. Compiling construction
+            Instantiator instantiator = compileConstructor(plan.getObjectConstructor());
+            if (instantiator == null)
+                return plan;
+            // Step 2. Compiling property setters
+            return new CompiledClassValueGenerator<T>(plan, instantiator, compileProperties(plan.getPropertySetter()));
+        } catch (Throwable throwable) {
+            // Step 3. Falling back to reflective plan
+            LOGGER.log(Level.FINE, "Reflective plan is used for " + plan.getObjectConstructor(), throwable);
+            return plan;
+        }
+    }
+
+    private static Instantiator compileConstructor(final ClassConstructor<?> constructor) throws Throwable {
+        if (constructor instanceof ClassConstructorSimple) {
+            Constructor<?> target = ((ClassConstructorSimple<?>) constructor).getConstructor();
+            final Supplier<?>[] arguments = toArray(constructor.getValueGenerators());
+            // Step 1. Default constructor is replaced with generated Supplier
+            if (arguments.length == 0) {
+                final Supplier<?> supplier = generateSupplier(target, target.getDeclaringClass());
+                return supplier::get;
+            }
+            // Step 2. Constructor with arguments is invoked with spreading MethodHandle
+            final MethodHandle handle = unreflect(target).asSpreader(Object[].class, arguments.length).asType(methodType(Object.class, Object[].class));
+            return () -> (Object) handle.invokeExact(values(arguments));
+        } else if (constructor instanceof ClassConstructorFactory) {
+            Method target = ((ClassConstructorFactory<?>) constructor).builder;
+            final Supplier<?>[] arguments = toArray(constructor.getValueGenerators());
+            if (arguments.length == 0) {
+                final Supplier<?> supplier = generateSupplier(target, target.getReturnType());
+                return supplier::get;
+            }
+            final MethodHandle handle = unreflect(target).asSpreader(Object[].class, arguments.length).asType(methodType(Object.class, Object[].class));
+            return () -> (Object) handle.invokeExact(values(arguments));
+        } else if (constructor instanceof ClassConstructorBuilder) {
+            ClassConstructorBuilder<?> builder = (ClassConstructorBuilder<?>) constructor;
+            final Instantiator builderFactory = compileConstructor(builder.builderFactoryMethod);
+            if (builderFactory == null)
+                return null;
+            final PropertyWriter[] builderProperties = compileProperties(builder.classPropertySetter);
+            final Function<Object, Object> build = generateFunction(builder.valueBuilderMethod);
+            return () -> {
+                Object valueBuilder = builderFactory.newInstance();
+                for (PropertyWriter property : builderProperties)
+                    property.write(valueBuilder);
+                return build.apply(valueBuilder);
+            };
+        }
+        return null;
+    }
+
+    private static PropertyWriter[] compileProperties(final ClassPropertySetter<?> propertySetter) {
+        List<PropertyWriter> writers = new ArrayList<PropertyWriter>();
+        compileProperties(propertySetter, writers);
+        return writers.toArray(new PropertyWriter[writers.size()]);
+    }
+
+    private static void compileProperties(final ClassPropertySetter<?> propertySetter, final List<PropertyWriter> writers) {
+        if (propertySetter instanceof ClassPropertyCombinedSetter) {
+            for (ClassPropertySetter<?> childSetter : ((ClassPropertyCombinedSetter<?>) propertySetter).propertySetters)
+                compileProperties(childSetter, writers);
+        } else if (propertySetter instanceof ClassPropertySimpleSetter) {
+            ClassPropertySimpleSetter<?> simpleSetter = (ClassPropertySimpleSetter<?>) propertySetter;
+            try {
+                PropertyWriter primitiveWriter = compilePrimitive(simpleSetter);
+                if (primitiveWriter != null) {
+                    writers.add(primitiveWriter);
+                    return;
+                }
+                // Recursive properties are skipped on exhausted budget, by the reflective setter
+                if (simpleSetter.valueGenerator instanceof RecursiveValueGenerator) {
+                    writers.add(new DelegatePropertyWriter(propertySetter));
+                    return;
+                }
+                BiConsumer<Object, Object> accessor = simpleSetter.method != null ? generateSetter(simpleSetter.method) : generateSetter(simpleSetter.field);
+                writers.add(new CompiledPropertyWriter(accessor, simpleSetter.valueGenerator));
+            } catch (Throwable throwable) {
+                LOGGER.log(Level.FINE, "Reflective setter is used for " + propertySetter, throwable);
+                writers.add(new DelegatePropertyWriter(propertySetter));
+            }
+        } else {
+            writers.add(new DelegatePropertyWriter(propertySetter));
+        }
+    }
+
+    private static PropertyWriter compilePrimitive(final ClassPropertySimpleSetter<?> simpleSetter) throws Throwable {
+        Class<?> type = simpleSetter.method != null ? simpleSetter.method.getParameterTypes()[0] : simpleSetter.field.getType();
+        if (!PrimitiveValueGenerators.isPrimitive(type, simpleSetter.valueGenerator))
+            return null;
+        Object accessor = simpleSetter.method != null
+            ? generatePrimitiveSetter(simpleSetter.method, type)
+            : toPrimitiveSetter(unreflectSetter(simpleSetter.field, type), type);
+        return toPrimitiveWriter(accessor, type, simpleSetter.valueGenerator);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static PropertyWriter toPrimitiveWriter(final Object accessor, final Class<?> type, final Supplier<?> valueGenerator) {
+        if (type == int.class)
+            return new IntPropertyWriter((ObjIntConsumer<Object>) accessor, (IntSupplier) valueGenerator);
+        else if (type == long.class)
+            return new LongPropertyWriter((ObjLongConsumer<Object>) accessor, (LongSupplier) valueGenerator);
+        else if (type == double.class)
+            return new DoublePropertyWriter((ObjDoubleConsumer<Object>) accessor, (DoubleSupplier) valueGenerator);
+        else if (type == boolean.class)
+            return new BooleanPropertyWriter((ObjBooleanConsumer) accessor, (BooleanValueGenerator) valueGenerator);
+        else if (type == byte.class)
+            return new BytePropertyWriter((ObjByteConsumer) accessor, (ByteValueGenerator) valueGenerator);
+        else if (type == char.class)
+            return new CharPropertyWriter((ObjCharConsumer) accessor, (CharValueGenerator) valueGenerator);
+        else if (type == short.class)
+            return new ShortPropertyWriter((ObjShortConsumer) accessor, (ShortValueGenerator) valueGenerator);
+        return new FloatPropertyWriter((ObjFloatConsumer) accessor, (FloatValueGenerator) valueGenerator);
+    }
+
+    private static Object generatePrimitiveSetter(Method method, Class<?> primitiveType) throws Throwable {
+        try {
+            return LambdaMetafactory.metafactory(
+                lookupIn(method),
+                "accept",
+                methodType(primitiveConsumer(primitiveType)),
+                methodType(void.class, Object.class, primitiveType),
+                lookupIn(method).unreflect(method),
+                methodType(void.class, method.getDeclaringClass(), primitiveType)).getTarget().invoke();
+        } catch (Throwable throwable) {
+            fallback(method, throwable);
+            return toPrimitiveSetter(unreflect(method).asType(methodType(void.class, Object.class, primitiveType)), primitiveType);
+        }
+    }
+
+    /**
+     * Functional interface, implemented by generated primitive setter, JDK provides them only for int, long and double.
+     */
+    private static Class<?> primitiveConsumer(Class<?> primitiveType) {
+        if (primitiveType == int.class)
+            return ObjIntConsumer.class;
+        else if (primitiveType == long.class)
+            return ObjLongConsumer.class;
+        else if (primitiveType == double.class)
+            return ObjDoubleConsumer.class;
+        else if (primitiveType == boolean.class)
+            return ObjBooleanConsumer.class;
+        else if (primitiveType == byte.class)
+            return ObjByteConsumer.class;
+        else if (primitiveType == char.class)
+            return ObjCharConsumer.class;
+        else if (primitiveType == short.class)
+            return ObjShortConsumer.class;
+        return ObjFloatConsumer.class;
+    }
+
+    private static MethodHandle unreflectSetter(Field field, Class<?> primitiveType) throws IllegalAccessException {
+        field.setAccessible(true);
+        return LOOKUP.unreflectSetter(field).asType(methodType(void.class, Object.class, primitiveType));
+    }
+
+    /**
+     * Wraps {@link MethodHandle} of (Object, primitive)void type, into primitive setter of the same type.
+     */
+    private static Object toPrimitiveSetter(final MethodHandle handle, final Class<?> primitiveType) {
+        if (primitiveType == int.class)
+            return (ObjIntConsumer<Object>) (target, value) -> {
+                try {
+                    handle.invokeExact(target, value);
+                } catch (Throwable throwable) {
+                    throw new RuntimeException(throwable);
+                }
+            };
+        else if (primitiveType == long.class)
+            return (ObjLongConsumer<Object>) (target, value) -> {
+                try {
+                    handle.invokeExact(target, value);
+                } catch (Throwable throwable) {
+                    throw new RuntimeException(throwable);
+                }
+            };
+        else if (primitiveType == double.class)
+            return (ObjDoubleConsumer<Object>) (target, value) -> {
+                try {
+                    handle.invokeExact(target, value);
+                } catch (Throwable throwable) {
+                    throw new RuntimeException(throwable);
+                }
+            };
+        else if (primitiveType == boolean.class)
+            return (ObjBooleanConsumer) (target, value) -> {
+                try {
+                    handle.invokeExact(target, value);
+                } catch (Throwable throwable) {
+                    throw new RuntimeException(throwable);
+                }
+            };
+        else if (primitiveType == byte.class)
+            return (ObjByteConsumer) (target, value) -> {
+                try {
+                    handle.invokeExact(target, value);
+                } catch (Throwable throwable) {
+                    throw new RuntimeException(throwable);
+                }
+            };
+        else if (primitiveType == char.class)
+            return (ObjCharConsumer) (target, value) -> {
+                try {
+                    handle.invokeExact(target, value);
+                } catch (Throwable throwable) {
+                    throw new RuntimeException(throwable);
+                }
+            };
+        else if (primitiveType == short.class)
+            return (ObjShortConsumer) (target, value) -> {
+                try {
+                    handle.invokeExact(target, value);
+                } catch (Throwable throwable) {
+                    throw new RuntimeException(throwable);
+                }
+            };
+        return (ObjFloatConsumer) (target, value) -> {
+            try {
+                handle.invokeExact(target, value);
+            } catch (Throwable throwable) {
+                throw new RuntimeException(throwable);
+            }
+        };
+    }
+
+    /**
+     * {@link ObjIntConsumer} counterpart for boolean properties, public, since generated setter implements it.
+     */
+    @FunctionalInterface
+    public interface ObjBooleanConsumer {
+
+        void accept(Object target, boolean value);
+
+    }
+
+    /**
+     * {@link ObjIntConsumer} counterpart for byte properties, public, since generated setter implements it.
+     */
+    @FunctionalInterface
+    public interface ObjByteConsumer {
+
+        void accept(Object target, byte value);
+
+    }
+
+    /**
+     * {@link ObjIntConsumer} counterpart for char properties, public, since generated setter implements it.
+     */
+    @FunctionalInterface
+    public interface ObjCharConsumer {
+
+        void accept(Object target, char value);
+
+    }
+
+    /**
+     * {@link ObjIntConsumer} counterpart for short properties, public, since generated setter implements it.
+     */
+    @FunctionalInterface
+    public interface ObjShortConsumer {
+
+        void accept(Object target, short value);
+
+    }
+
+    /**
+     * {@link ObjIntConsumer} counterpart for float properties, public, since generated setter implements it.
+     */
+    @FunctionalInterface
+    public interface ObjFloatConsumer {
+
+        void accept(Object target, float value);
+
+    }
+
+    private static Supplier<?> generateSupplier(Executable executable, Class<?> returnType) throws Throwable {
+        try {
+            MethodHandles.Lookup lookup = lookupIn(executable);
+            MethodHandle implementation = executable instanceof Constructor ? lookup.unreflectConstructor((Constructor<?>) executable) : lookup.unreflect((Method) executable);
+            return (Supplier<?>) LambdaMetafactory.metafactory(
+                lookup,
+                "get",
+                methodType(Supplier.class),
+                methodType(Object.class),
+                implementation,
+                methodType(Primitives.wrap(returnType))).getTarget().invoke();
+        } catch (Throwable throwable) {
+            fallback(executable, throwable);
+            final MethodHandle handle = unreflect(executable).asType(methodType(Object.class));
+            return () -> {
+                try {
+                    return (Object) handle.invokeExact();
+                } catch (Throwable invocationThrowable) {
+                    throw new RuntimeException(invocationThrowable);
+                }
+            };
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Function<Object, Object> generateFunction(Method method) throws Throwable {
+        try {
+            return (Function<Object, Object>) LambdaMetafactory.metafactory(
+                lookupIn(method),
+                "apply",
+                methodType(Function.class),
+                methodType(Object.class, Object.class),
+                lookupIn(method).unreflect(method),
+                methodType(Primitives.wrap(method.getReturnType()), method.getDeclaringClass())).getTarget().invoke();
+        } catch (Throwable throwable) {
+            fallback(method, throwable);
+            final MethodHandle handle = unreflect(method).asType(methodType(Object.class, Object.class));
+            return (target) -> {
+                try {
+                    return (Object) handle.invokeExact(target);
+                } catch (Throwable invocationThrowable) {
+                    throw new RuntimeException(invocationThrowable);
+                }
+            };
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static BiConsumer<Object, Object> generateSetter(Method method) throws Throwable {
+        try {
+            return (BiConsumer<Object, Object>) LambdaMetafactory.metafactory(
+                lookupIn(method),
+                "accept",
+                methodType(BiConsumer.class),
+                methodType(void.class, Object.class, Object.class),
+                lookupIn(method).unreflect(method),
+                methodType(void.class, method.getDeclaringClass(), Primitives.wrap(method.getParameterTypes()[0]))).getTarget().invoke();
+        } catch (Throwable throwable) {
+            fallback(method, throwable);
+            return toSetter(unreflect(method).asType(methodType(void.class, Object.class, Object.class)));
+        }
+    }
+
+    private static BiConsumer<Object, Object> generateSetter(Field field) throws Throwable {
+        field.setAccessible(true);
+        return toSetter(LOOKUP.unreflectSetter(field).asType(methodType(void.class, Object.class, Object.class)));
+    }
+
+    private static BiConsumer<Object, Object> toSetter(final MethodHandle handle) {
+        return (target, value) -> {
+            try {
+                handle.invokeExact(target, value);
+            } catch (Throwable throwable) {
+                throw new RuntimeException(throwable);
+            }
+        };
+    }
+
+    private static MethodHandle unreflect(Executable member) throws IllegalAccessException {
+        member.setAccessible(true);
+        if (member instanceof Constructor)
+            return LOOKUP.unreflectConstructor((Constructor<?>) member);
+        return LOOKUP.unreflect((Method) member);
+    }
+
+    private static MethodHandles.Lookup lookupIn(java.lang.reflect.Member member) {
+        return lookupIn(member.getDeclaringClass());
+    }
+
+    private static MethodHandles.Lookup lookupIn(Class<?> klass) {
+        if (PRIVATE_LOOKUP_IN != null) {
+            try {
+                return (MethodHandles.Lookup) PRIVATE_LOOKUP_IN.invokeExact(klass, LOOKUP);
+            } catch (Throwable throwable) {
+                // Falling back to compiler lookup, non public members will use reflective accessors
+                LOGGER.log(Level.FINE, "Private lookup is not available in " + klass, throwable);
+            }
+        }
+        return LOOKUP;
+    }
+
+    /**
+     * Records failed accessor generation, member is accessed with {@link MethodHandle} made accessible with reflection instead.
+     */
+    private static void fallback(Executable member, Throwable throwable) {
+        LOGGER.log(Level.FINE, "Accessor can't be generated for " + member + ", MethodHandle is used", throwable);
+    }
+
+    private static MethodHandle findPrivateLookupIn() {
+        try {
+            return LOOKUP.findStatic(MethodHandles.class, "privateLookupIn", methodType(MethodHandles.Lookup.class, Class.class, MethodHandles.Lookup.class));
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            // Java 8, there is no private lookup
+            return null;
+        }
+    }
+
+    private static Supplier<?>[] toArray(List<Supplier<?>> valueGenerators) {
+        return valueGenerators.toArray(new Supplier<?>[valueGenerators.size()]);
+    }
+
+    private static Object[] values(Supplier<?>[] valueGenerators) {
+        Object[] values = new Object[valueGenerators.length];
+        for (int i = 0; i < values.length; i++)
+            values[i] = valueGenerators[i].get();
+        return values;
+    }
+
+    /**
+     * Compiled construction of a new value.
+     */
+    interface Instantiator {
+
+        Object newInstance() throws Throwable;
+
+    }
+
+    /**
+     * Compiled property population step.
+     */
+    static abstract class PropertyWriter {
+
+        void write(Object target) {
+            try {
+                writeUnchecked(target);
+            } catch (RuntimeException runtimeException) {
+                // Same as in ClassPropertySimpleSetter, failed properties are ignored, unless required recursive values never end
+                if (RecursiveValueGenerator.isUnfinished(runtimeException))
+                    throw runtimeException;
+            } catch (Error accessorError) {
+                // Reflective invocation wraps errors of the accessor in InvocationTargetException, so they are ignored as well
+            }
+        }
+
+        abstract void writeUnchecked(Object target);
+
+    }
+
+    /**
+     * Property populated with generated accessor.
+     */
+    final static class CompiledPropertyWriter extends PropertyWriter {
+
+        final private BiConsumer<Object, Object> accessor;
+        final private Supplier<?> valueGenerator;
+
+        CompiledPropertyWriter(BiConsumer<Object, Object> accessor, Supplier<?> valueGenerator) {
+            this.accessor = accessor;
+            this.valueGenerator = valueGenerator;
+        }
+
+        @Override
+        void writeUnchecked(Object target) {
+            accessor.accept(target, valueGenerator.get());
+        }
+
+    }
+
+    /**
+     * {@code int} property populated with unboxed generated accessor.
+     */
+    final static class IntPropertyWriter extends PropertyWriter {
+
+        final private ObjIntConsumer<Object> accessor;
+        final private IntSupplier valueGenerator;
+
+        IntPropertyWriter(ObjIntConsumer<Object> accessor, IntSupplier valueGenerator) {
+            this.accessor = accessor;
+            this.valueGenerator = valueGenerator;
+        }
+
+        @Override
+        void writeUnchecked(Object target) {
+            accessor.accept(target, valueGenerator.getAsInt());
+        }
+
+    }
+
+    /**
+     * {@code long} property populated with unboxed generated accessor.
+     */
+    final static class LongPropertyWriter extends PropertyWriter {
+
+        final private ObjLongConsumer<Object> accessor;
+        final private LongSupplier valueGenerator;
+
+        LongPropertyWriter(ObjLongConsumer<Object> accessor, LongSupplier valueGenerator) {
+            this.accessor = accessor;
+            this.valueGenerator = valueGenerator;
+        }
+
+        @Override
+        void writeUnchecked(Object target) {
+            accessor.accept(target, valueGenerator.getAsLong());
+        }
+
+    }
+
+    /**
+     * {@code double} property populated with unboxed generated accessor.
+     */
+    final static class DoublePropertyWriter extends PropertyWriter {
+
+        final private ObjDoubleConsumer<Object> accessor;
+        final private DoubleSupplier valueGenerator;
+
+        DoublePropertyWriter(ObjDoubleConsumer<Object> accessor, DoubleSupplier valueGenerator) {
+            this.accessor = accessor;
+            this.valueGenerator = valueGenerator;
+        }
+
+        @Override
+        void writeUnchecked(Object target) {
+            accessor.accept(target, valueGenerator.getAsDouble());
+        }
+
+    }
+
+    /**
+     * {@code boolean} property populated with unboxed generated accessor.
+     */
+    final static class BooleanPropertyWriter extends PropertyWriter {
+
+        final private ObjBooleanConsumer accessor;
+        final private BooleanValueGenerator valueGenerator;
+
+        BooleanPropertyWriter(ObjBooleanConsumer accessor, BooleanValueGenerator valueGenerator) {
+            this.accessor = accessor;
+            this.valueGenerator = valueGenerator;
+        }
+
+        @Override
+        void writeUnchecked(Object target) {
+            accessor.accept(target, valueGenerator.getAsBoolean());
+        }
+
+    }
+
+    /**
+     * {@code byte} property populated with unboxed generated accessor.
+     */
+    final static class BytePropertyWriter extends PropertyWriter {
+
+        final private ObjByteConsumer accessor;
+        final private ByteValueGenerator valueGenerator;
+
+        BytePropertyWriter(ObjByteConsumer accessor, ByteValueGenerator valueGenerator) {
+            this.accessor = accessor;
+            this.valueGenerator = valueGenerator;
+        }
+
+        @Override
+        void writeUnchecked(Object target) {
+            accessor.accept(target, valueGenerator.getAsByte());
+        }
+
+    }
+
+    /**
+     * {@code char} property populated with unboxed generated accessor.
+     */
+    final static class CharPropertyWriter extends PropertyWriter {
+
+        final private ObjCharConsumer accessor;
+        final private CharValueGenerator valueGenerator;
+
+        CharPropertyWriter(ObjCharConsumer accessor, CharValueGenerator valueGenerator) {
+            this.accessor = accessor;
+            this.valueGenerator = valueGenerator;
+        }
+
+        @Override
+        void writeUnchecked(Object target) {
+            accessor.accept(target, valueGenerator.getAsChar());
+        }
+
+    }
+
+    /**
+     * {@code short} property populated with unboxed generated accessor.
+     */
+    final static class ShortPropertyWriter extends PropertyWriter {
+
+        final private ObjShortConsumer accessor;
+        final private ShortValueGenerator valueGenerator;
+
+        ShortPropertyWriter(ObjShortConsumer accessor, ShortValueGenerator valueGenerator) {
+            this.accessor = accessor;
+            this.valueGenerator = valueGenerator;
+        }
+
+        @Override
+        void writeUnchecked(Object target) {
+            accessor.accept(target, valueGenerator.getAsShort());
+        }
+
+    }
+
+    /**
+     * {@code float} property populated with unboxed generated accessor.
+     */
+    final static class FloatPropertyWriter extends PropertyWriter {
+
+        final private ObjFloatConsumer accessor;
+        final private FloatValueGenerator valueGenerator;
+
+        FloatPropertyWriter(ObjFloatConsumer accessor, FloatValueGenerator valueGenerator) {
+            this.accessor = accessor;
+            this.valueGenerator = valueGenerator;
+        }
+
+        @Override
+        void writeUnchecked(Object target) {
+            accessor.accept(target, valueGenerator.getAsFloat());
+        }
+
+    }
+
+    /**
+     * Property, that can't be compiled, populated with original {@link ClassPropertySetter}.
+     */
+    final static class DelegatePropertyWriter extends PropertyWriter {
+
+        final private ClassPropertySetter<?> propertySetter;
+
+        DelegatePropertyWriter(ClassPropertySetter<?> propertySetter) {
+            this.propertySetter = propertySetter;
+        }
+
+        @Override
+        void write(Object target) {
+            // ClassPropertySetter handles failures of its properties itself
+            writeUnchecked(target);
+        }
+
+        @Override
+        void writeUnchecked(Object target) {
+            propertySetter.setProperties(target);
+        }
+
+    }
+
+}
@@ -0,0 +1,55 @@
+package com.clemble.test.random.constructor;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import com.clemble.test.random.constructor.ClassValueGeneratorCompiler.Instantiator;
+import com.clemble.test.random.constructor.ClassValueGeneratorCompiler.PropertyWriter;
+
+/**
+ * {@link ClassValueGenerator} compiled by {@link ClassValueGeneratorCompiler}, keeps original plan for introspection.
+ *
+ * @author Anton Oparin
+ *
+ * @param <T> parameterized {@link Class}.
+ */
+final class CompiledClassValueGenerator<T> extends ClassValueGenerator<T> {
+
+    /**
+     * Compiled construction.
+     */
+    final private Instantiator instantiator;
+    /**
+     * Compiled property population steps.
+     */
+    final private PropertyWriter[] propertyWriters;
+
+    CompiledClassValueGenerator(final ClassValueGenerator<T> plan, final Instantiator instantiator, final PropertyWriter[] propertyWriters) {
+        super(plan.getObjectConstructor(), plan.getPropertySetter());
+        this.instantiator = checkNotNull(instantiator);
+        this.propertyWriters = checkNotNull(propertyWriters);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public T get() {
+        // Step 1. Generating random Object
+        Object generatedObject;
+        try {
+            generatedObject = instantiator.newInstance();
+        } catch (RuntimeException runtimeException) {
+            throw runtimeException;
+        } catch (Throwable throwable) {
+            throw new RuntimeException(throwable);
+        }
+        // Step 2. Setting properties to the Object
+        return populate((T) generatedObject);
+    }
+
+    @Override
+    public T populate(final T target) {
+        for (PropertyWriter propertyWriter : propertyWriters)
+            propertyWriter.write(target);
+        return target;
+    }
+
+}
@@ -1,10 +1,16 @@
 package com.clemble.test.random.constructor;
 
+import com.clemble.test.random.constructor.validation.AssertConstraintValidator;
 import com.clemble.test.random.constructor.validation.ConstraintValidator;
+import com.clemble.test.random.constructor.validation.NullConstraintValidator;
+import com.clemble.test.random.constructor.validation.PatternConstraintValidator;
+import com.clemble.test.random.constructor.validation.RangeConstraintValidator;
 import com.clemble.test.random.constructor.validation.SizeConstraintValidator;
+import com.clemble.test.random.constructor.validation.TimeConstraintValidator;
 import com.google.common.collect.ImmutableList;
 
 import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
 import java.util.*;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
@@ -12,20 +18,29 @@ import java.util.stream.Stream;
 
 public class ConstraintValidatorRegistry {
 
+    /**
+     * Validators in order of application, {@link PatternConstraintValidator} overrides {@link SizeConstraintValidator} for
+     * Strings, and {@link NullConstraintValidator} overrides all.
+     */
     final private List<ConstraintValidator> validators = ImmutableList.
-        of(new SizeConstraintValidator());
+        of(new SizeConstraintValidator(),
+            new RangeConstraintValidator(),
+            new TimeConstraintValidator(),
+            new AssertConstraintValidator(),
+            new PatternConstraintValidator(),
+            new NullConstraintValidator());
 
-    public <T> Supplier<T> get(Stream<Annotation> annotation, Supplier<T> generator) {
+    @SuppressWarnings("unchecked")
+    public <T> Supplier<T> get(Type type, Stream<Annotation> annotation, Supplier<T> generator) {
         Collection<Annotation> allAnnotations = annotation.collect(Collectors.toList());
+        if (allAnnotations.isEmpty())
+            return generator;
         // Step 1. Filtering validators
         for(ConstraintValidator validator: validators) {
-            // Step 2. Filtering by annotation
-            for(Annotation a: allAnnotations) {
-                if(validator.test(a)) {
-                    generator = validator.apply(generator, a);
-                    break;
-                }
-            }
+            // Step 2. Each validator builds generator once from all of its constraints
+            List<Annotation> constraints = allAnnotations.stream().filter(validator).collect(Collectors.toList());
+            if (!constraints.isEmpty())
+                generator = (Supplier<T>) validator.apply(type, generator, constraints);
         }
         // Step 3. Returning accumulated response
         return generator;
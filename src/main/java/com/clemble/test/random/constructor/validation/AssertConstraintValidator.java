@@ -0,0 +1,39 @@
+package com.clemble.test.random.constructor.validation;
+
+import static com.clemble.test.random.constructor.validation.ConstraintValidator.rawType;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+import java.util.List;
+import java.util.function.Supplier;
+
+import javax.validation.constraints.AssertFalse;
+import javax.validation.constraints.AssertTrue;
+
+import com.clemble.test.random.generator.PrimitiveValueGenerators.BooleanValueGenerator;
+
+/**
+ * Generates constant value for {@link AssertTrue} and {@link AssertFalse} constraints of boolean values.
+ *
+ * @author Anton Oparin
+ */
+public class AssertConstraintValidator implements ConstraintValidator {
+
+    final private static BooleanValueGenerator TRUE = () -> true;
+
+    final private static BooleanValueGenerator FALSE = () -> false;
+
+    @Override
+    public Supplier<?> apply(Type type, Supplier<?> generator, List<Annotation> constraints) {
+        Class<?> klass = rawType(type);
+        if (klass != boolean.class && klass != Boolean.class)
+            return generator;
+        return constraints.get(0) instanceof AssertTrue ? TRUE : FALSE;
+    }
+
+    @Override
+    public boolean test(Annotation o) {
+        return o instanceof AssertTrue || o instanceof AssertFalse;
+    }
+
+}
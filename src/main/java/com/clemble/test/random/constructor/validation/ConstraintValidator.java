@@ -1,14 +1,55 @@
 package com.clemble.test.random.constructor.validation;
 
 import java.lang.annotation.Annotation;
-import java.util.function.BiFunction;
+import java.lang.reflect.Array;
+import java.lang.reflect.GenericArrayType;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.List;
 import java.util.function.Predicate;
 import java.util.function.Supplier;
 
-public interface ConstraintValidator
-    extends BiFunction<Supplier, Annotation, Supplier>, Predicate<Annotation> {
+/**
+ * Builds value generator, that produces values satisfying Bean Validation constraints. Generator is built once, when the
+ * plan is resolved, from all constraints of the value, accepted by the validator, and the type of the value, so each value
+ * is generated in range in one shot.
+ *
+ * @author Anton Oparin
+ */
+public interface ConstraintValidator extends Predicate<Annotation> {
 
-    @Override
-    Supplier apply(Supplier t, Annotation u);
+    /**
+     * @param type generic type of the constrained value.
+     * @param generator generator of unconstrained values.
+     * @param constraints constraints of the value, accepted by this validator.
+     * @return generator of values, satisfying constraints, or original generator, if constraints do not apply to the type.
+     */
+    Supplier<?> apply(Type type, Supplier<?> generator, List<Annotation> constraints);
+
+    /**
+     * @param type generic type.
+     * @return {@link Class} of the type.
+     */
+    static Class<?> rawType(final Type type) {
+        if (type instanceof Class)
+            return (Class<?>) type;
+        if (type instanceof ParameterizedType)
+            return rawType(((ParameterizedType) type).getRawType());
+        if (type instanceof GenericArrayType)
+            return Array.newInstance(rawType(((GenericArrayType) type).getGenericComponentType()), 0).getClass();
+        return Object.class;
+    }
+
+    /**
+     * @param type generic type.
+     * @param argument index of the type argument.
+     * @return {@link Class} of the type argument, or <code>null</code> if it is not a {@link Class}.
+     */
+    static Class<?> typeArgument(final Type type, final int argument) {
+        if (!(type instanceof ParameterizedType))
+            return null;
+        Type[] arguments = ((ParameterizedType) type).getActualTypeArguments();
+        return arguments.length > argument && arguments[argument] instanceof Class ? (Class<?>) arguments[argument] : null;
+    }
 
 }
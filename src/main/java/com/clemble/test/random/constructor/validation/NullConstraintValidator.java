@@ -0,0 +1,39 @@
+package com.clemble.test.random.constructor.validation;
+
+import static com.clemble.test.random.constructor.validation.ConstraintValidator.rawType;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+import java.util.List;
+import java.util.function.Supplier;
+
+import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Null;
+
+import com.clemble.test.random.generator.RecursiveValueGenerator;
+
+/**
+ * Generates <code>null</code> for {@link Null} constraint. Generators do not produce <code>null</code>, apart from recursive
+ * references, after generation budget is exhausted, so {@link NotNull} recursive references are replaced with required ones,
+ * that are generated regardless of the budget, and fail generation, if they never end.
+ *
+ * @author Anton Oparin
+ */
+public class NullConstraintValidator implements ConstraintValidator {
+
+    final private static Supplier<?> NULL = () -> null;
+
+    @Override
+    public Supplier<?> apply(Type type, Supplier<?> generator, List<Annotation> constraints) {
+        for (Annotation constraint : constraints)
+            if (constraint instanceof Null && !rawType(type).isPrimitive())
+                return NULL;
+        return generator instanceof RecursiveValueGenerator ? ((RecursiveValueGenerator<?>) generator).required() : generator;
+    }
+
+    @Override
+    public boolean test(Annotation o) {
+        return o instanceof Null || o instanceof NotNull;
+    }
+
+}
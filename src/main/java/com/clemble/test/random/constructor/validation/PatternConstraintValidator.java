@@ -0,0 +1,90 @@
+package com.clemble.test.random.constructor.validation;
+
+import static com.clemble.test.random.constructor.validation.ConstraintValidator.rawType;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import java.util.logging.Logger;
+
+import javax.validation.constraints.Pattern;
+
+import com.clemble.test.random.generator.RandomValueGenerators;
+
+/**
+ * Replaces {@link String} generator with {@link com.clemble.test.random.generator.RegexGenerator} of the {@link Pattern}
+ * expression, so generated values match it. Each expression is compiled once. Expressions, that can't be generated
+ * (lookarounds, back references, no Latin-1 match), keep original generator, with a single warning.
+ *
+ * @author Anton Oparin
+ */
+public class PatternConstraintValidator implements ConstraintValidator {
+
+    final private static Logger LOGGER = Logger.getLogger(PatternConstraintValidator.class.getName());
+
+    final private static Map<String, Supplier<String>> GENERATORS = new ConcurrentHashMap<String, Supplier<String>>();
+
+    @Override
+    public Supplier<?> apply(Type type, Supplier<?> generator, List<Annotation> constraints) {
+        if (!rawType(type).isAssignableFrom(String.class))
+            return generator;
+        Pattern pattern = (Pattern) constraints.get(0);
+        try {
+            return generator(pattern);
+        } catch (IllegalArgumentException unsupported) {
+            // Already reported, when expression was rejected
+            return generator;
+        }
+    }
+
+    @Override
+    public boolean test(Annotation o) {
+        return o instanceof Pattern;
+    }
+
+    /**
+     * @param pattern {@link Pattern} constraint.
+     * @return {@link Supplier} of {@link String}s, matching the constraint.
+     * @throws IllegalArgumentException if expression can't be generated.
+     */
+    public static Supplier<String> generator(final Pattern pattern) {
+        final boolean caseInsensitive = Arrays.asList(pattern.flags()).contains(Pattern.Flag.CASE_INSENSITIVE);
+        Supplier<String> generator = GENERATORS.computeIfAbsent((caseInsensitive ? "i:" : ":") + pattern.regexp(),
+            (key) -> compile(pattern.regexp(), caseInsensitive));
+        if (generator instanceof Rejected)
+            throw new IllegalArgumentException(((Rejected) generator).reason);
+        return generator;
+    }
+
+    private static Supplier<String> compile(final String regexp, final boolean caseInsensitive) {
+        try {
+            return RandomValueGenerators.randomRegexString(regexp, caseInsensitive);
+        } catch (IllegalArgumentException unsupported) {
+            LOGGER.warning("Pattern " + regexp + " is ignored, " + unsupported.getMessage());
+            return new Rejected(unsupported.getMessage());
+        }
+    }
+
+    /**
+     * Cached rejection of the expression, so it is parsed and reported once.
+     */
+    final private static class Rejected implements Supplier<String> {
+
+        final private String reason;
+
+        private Rejected(final String reason) {
+            this.reason = reason;
+        }
+
+        @Override
+        public String get() {
+            throw new IllegalArgumentException(reason);
+        }
+
+    }
+
+}
@@ -0,0 +1,181 @@
+package com.clemble.test.random.constructor.validation;
+
+import static com.clemble.test.random.constructor.validation.ConstraintValidator.rawType;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.RoundingMode;
+import java.util.List;
+import java.util.function.Supplier;
+
+import javax.validation.constraints.DecimalMax;
+import javax.validation.constraints.DecimalMin;
+import javax.validation.constraints.Max;
+import javax.validation.constraints.Min;
+
+import com.clemble.test.random.generator.PrimitiveValueGenerators.ByteValueGenerator;
+import com.clemble.test.random.generator.PrimitiveValueGenerators.DoubleValueGenerator;
+import com.clemble.test.random.generator.PrimitiveValueGenerators.FloatValueGenerator;
+import com.clemble.test.random.generator.PrimitiveValueGenerators.IntValueGenerator;
+import com.clemble.test.random.generator.PrimitiveValueGenerators.LongValueGenerator;
+import com.clemble.test.random.generator.PrimitiveValueGenerators.ShortValueGenerator;
+import com.clemble.test.random.generator.RandomSources;
+
+/**
+ * Generates numbers in the range of {@link Min}, {@link Max}, {@link DecimalMin} and {@link DecimalMax} constraints. All
+ * constraints are intersected into a single range once, and each value is taken uniformly from it. Integral types use
+ * the type limits for unbounded side, floating point types and {@link BigDecimal} use the other bound plus or minus
+ * {@link #SOFT_RANGE}. Primitive types get primitive specialized generators.
+ *
+ * @author Anton Oparin
+ */
+public class RangeConstraintValidator implements ConstraintValidator {
+
+    /**
+     * Range of floating point values, when one of the bounds is not set.
+     */
+    final public static BigDecimal SOFT_RANGE = BigDecimal.valueOf(1_000_000);
+
+    @Override
+    public Supplier<?> apply(Type type, Supplier<?> generator, List<Annotation> constraints) {
+        // Step 1. Intersecting all constraints
+        BigDecimal lower = null;
+        BigDecimal upper = null;
+        boolean lowerInclusive = true;
+        boolean upperInclusive = true;
+        for (Annotation constraint : constraints) {
+            BigDecimal bound;
+            boolean inclusive = true;
+            boolean min = constraint instanceof Min || constraint instanceof DecimalMin;
+            if (constraint instanceof Min) {
+                bound = BigDecimal.valueOf(((Min) constraint).value());
+            } else if (constraint instanceof Max) {
+                bound = BigDecimal.valueOf(((Max) constraint).value());
+            } else if (constraint instanceof DecimalMin) {
+                bound = new BigDecimal(((DecimalMin) constraint).value());
+                inclusive = ((DecimalMin) constraint).inclusive();
+            } else {
+                bound = new BigDecimal(((DecimalMax) constraint).value());
+                inclusive = ((DecimalMax) constraint).inclusive();
+            }
+            if (min && (lower == null || bound.compareTo(lower) > 0 || (bound.compareTo(lower) == 0 && !inclusive))) {
+                lower = bound;
+                lowerInclusive = inclusive;
+            } else if (!min && (upper == null || bound.compareTo(upper) < 0 || (bound.compareTo(upper) == 0 && !inclusive))) {
+                upper = bound;
+                upperInclusive = inclusive;
+            }
+        }
+        // Step 2. Building generator of the type
+        Class<?> klass = rawType(type);
+        if (klass == long.class || klass == Long.class) {
+            long[] range = integral(lower, lowerInclusive, upper, upperInclusive, Long.MIN_VALUE, Long.MAX_VALUE);
+            return (LongValueGenerator) () -> nextLong(range);
+        } else if (klass == int.class || klass == Integer.class) {
+            long[] range = integral(lower, lowerInclusive, upper, upperInclusive, Integer.MIN_VALUE, Integer.MAX_VALUE);
+            return (IntValueGenerator) () -> (int) nextLong(range);
+        } else if (klass == short.class || klass == Short.class) {
+            long[] range = integral(lower, lowerInclusive, upper, upperInclusive, Short.MIN_VALUE, Short.MAX_VALUE);
+            return (ShortValueGenerator) () -> (short) nextLong(range);
+        } else if (klass == byte.class || klass == Byte.class) {
+            long[] range = integral(lower, lowerInclusive, upper, upperInclusive, Byte.MIN_VALUE, Byte.MAX_VALUE);
+            return (ByteValueGenerator) () -> (byte) nextLong(range);
+        } else if (klass == BigInteger.class) {
+            long[] range = integral(lower, lowerInclusive, upper, upperInclusive, Long.MIN_VALUE, Long.MAX_VALUE);
+            return () -> BigInteger.valueOf(nextLong(range));
+        }
+        // Step 3. Floating point types, unbounded side is limited with soft range
+        if (lower == null && upper == null)
+            return generator;
+        if (lower == null) {
+            lower = upper.subtract(SOFT_RANGE);
+        } else if (upper == null) {
+            upper = lower.add(SOFT_RANGE);
+        }
+        if (lower.compareTo(upper) > 0 || (lower.compareTo(upper) == 0 && !(lowerInclusive && upperInclusive)))
+            throw new IllegalArgumentException("Range constraints can't be satisfied, min " + lower + " max " + upper);
+        if (klass == double.class || klass == Double.class) {
+            double from = lowerDouble(lower, lowerInclusive);
+            double to = upperDouble(upper, upperInclusive);
+            return (DoubleValueGenerator) () -> nextDouble(from, to);
+        } else if (klass == float.class || klass == Float.class) {
+            float from = lowerFloat(lower, lowerInclusive);
+            float to = upperFloat(upper, upperInclusive);
+            return (FloatValueGenerator) () -> Math.min(Math.max((float) nextDouble(from, to), from), to);
+        } else if (klass == BigDecimal.class) {
+            return decimalGenerator(lower, lowerInclusive, upper, upperInclusive);
+        }
+        return generator;
+    }
+
+    @Override
+    public boolean test(Annotation o) {
+        return o instanceof Min || o instanceof Max || o instanceof DecimalMin || o instanceof DecimalMax;
+    }
+
+    /**
+     * @return range of integral values, first value and the number of values (0 for the whole range of long).
+     */
+    private static long[] integral(final BigDecimal lower, final boolean lowerInclusive, final BigDecimal upper, final boolean upperInclusive, final long min, final long max) {
+        BigDecimal from = lower == null ? BigDecimal.valueOf(min) : lowerInclusive ? lower.setScale(0, RoundingMode.CEILING) : lower.setScale(0, RoundingMode.FLOOR).add(BigDecimal.ONE);
+        BigDecimal to = upper == null ? BigDecimal.valueOf(max) : upperInclusive ? upper.setScale(0, RoundingMode.FLOOR) : upper.setScale(0, RoundingMode.CEILING).subtract(BigDecimal.ONE);
+        from = from.max(BigDecimal.valueOf(min));
+        to = to.min(BigDecimal.valueOf(max));
+        if (from.compareTo(to) > 0)
+            throw new IllegalArgumentException("Range constraints can't be satisfied, min " + lower + " max " + upper);
+        return new long[] { from.longValueExact(), to.longValueExact() - from.longValueExact() + 1 };
+    }
+
+    private static long nextLong(final long[] range) {
+        long random = RandomSources.get().nextLong();
+        return range[1] == 0 ? random : range[0] + Long.remainderUnsigned(random, range[1]);
+    }
+
+    private static double nextDouble(final double from, final double to) {
+        double random = RandomSources.get().nextDouble();
+        // Weighted sum does not overflow for the bounds of opposite signs
+        return Math.min(Math.max(from * (1 - random) + to * random, from), to);
+    }
+
+    private static double lowerDouble(final BigDecimal lower, final boolean inclusive) {
+        double from = Math.max(lower.doubleValue(), -Double.MAX_VALUE);
+        int compare = new BigDecimal(from).compareTo(lower);
+        return compare < 0 || (compare == 0 && !inclusive) ? Math.nextUp(from) : from;
+    }
+
+    private static double upperDouble(final BigDecimal upper, final boolean inclusive) {
+        double to = Math.min(upper.doubleValue(), Double.MAX_VALUE);
+        int compare = new BigDecimal(to).compareTo(upper);
+        return compare > 0 || (compare == 0 && !inclusive) ? Math.nextDown(to) : to;
+    }
+
+    private static float lowerFloat(final BigDecimal lower, final boolean inclusive) {
+        float from = Math.max(lower.floatValue(), -Float.MAX_VALUE);
+        int compare = new BigDecimal(from).compareTo(lower);
+        return compare < 0 || (compare == 0 && !inclusive) ? Math.nextUp(from) : from;
+    }
+
+    private static float upperFloat(final BigDecimal upper, final boolean inclusive) {
+        float to = Math.min(upper.floatValue(), Float.MAX_VALUE);
+        int compare = new BigDecimal(to).compareTo(upper);
+        return compare > 0 || (compare == 0 && !inclusive) ? Math.nextDown(to) : to;
+    }
+
+    private static Supplier<BigDecimal> decimalGenerator(final BigDecimal lower, final boolean lowerInclusive, final BigDecimal upper, final boolean upperInclusive) {
+        // Both bounds are multiples of the step, so rounding up keeps value in range
+        final int scale = Math.max(2, Math.max(lower.scale(), upper.scale()));
+        final BigDecimal step = BigDecimal.ONE.movePointLeft(scale);
+        final BigDecimal difference = upper.subtract(lower);
+        return () -> {
+            BigDecimal value = lower.add(difference.multiply(BigDecimal.valueOf(RandomSources.get().nextDouble()))).setScale(scale, RoundingMode.CEILING);
+            if (!lowerInclusive && value.compareTo(lower) == 0)
+                value = value.add(step);
+            if (!upperInclusive && value.compareTo(upper) == 0)
+                value = value.subtract(step);
+            return value;
+        };
+    }
+
+}
@@ -1,32 +1,69 @@
 package com.clemble.test.random.constructor.validation;
 
+import static com.clemble.test.random.constructor.validation.ConstraintValidator.rawType;
+import static com.clemble.test.random.constructor.validation.ConstraintValidator.typeArgument;
+
 import java.lang.annotation.Annotation;
+import java.lang.reflect.Array;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
 import java.util.Map;
-import java.util.function.BiFunction;
 import java.util.function.Supplier;
+import java.util.stream.Stream;
 
 import javax.validation.constraints.Size;
 
+import com.clemble.test.random.ObjectGenerator;
+import com.clemble.test.random.generator.CollectionSizes;
+import com.clemble.test.random.generator.RandomValueGenerators;
+import com.clemble.test.random.generator.ReusePool;
+import com.clemble.test.random.generator.SizeDistribution;
+import com.clemble.test.random.generator.StringGenerator;
+
+/**
+ * Generates {@link String}s, arrays, {@link Collection}s and {@link Map}s with the size from the {@link Size} range: size
+ * is taken once for each value, and value is generated of that size. Unbounded maximum is replaced with the minimum
+ * plus {@link #SOFT_RANGE}.
+ *
+ * @author Anton Oparin
+ */
 public class SizeConstraintValidator implements ConstraintValidator {
 
+    /**
+     * Size range above the minimum, when maximum is not bounded.
+     */
+    final public static int SOFT_RANGE = 32;
+
     @Override
-    public Supplier apply(Supplier t, Annotation a) {
-        if (test(a)) {
-            Size size = (Size) a;
-            Object test = t.get();
-            if (test instanceof CharSequence) {
-                return charSequenceSupplier.apply(size, t);
-            } else if (test instanceof Collection) {
-                return collectionSupplier.apply(size, t);
-            } else if (test instanceof Map) {
-                return mapSupplier.apply(size, t);
-            }
-            // TODO add array processing
-            return t;
-        } else {
-            return t;
+    @SuppressWarnings({ "rawtypes", "unchecked" })
+    public Supplier<?> apply(Type type, Supplier<?> generator, List<Annotation> constraints) {
+        SizeDistribution sizes = distribution(constraints.stream());
+        Class<?> klass = rawType(type);
+        // Step 1. Strings and arrays are generated of the size
+        if (klass.isAssignableFrom(String.class))
+            return StringGenerator.ascii(sizes);
+        if (klass.isArray())
+            return klass.getComponentType().isPrimitive() ? RandomValueGenerators.randomPrimitiveArray(klass.getComponentType(), sizes) : arrayGenerator(klass.getComponentType(), sizes);
+        // Step 2. Collections and maps, created by original generator, are populated with elements, elements must be known
+        if (Collection.class.isAssignableFrom(klass) && typeArgument(type, 0) != null) {
+            final Supplier<?> elementGenerator = elementGenerator(typeArgument(type, 0));
+            return () -> {
+                Collection collection = (Collection) generator.get();
+                int size = Math.max(0, sizes.nextSize());
+                if (collection instanceof ArrayList)
+                    ((ArrayList) collection).ensureCapacity(size);
+                return CollectionSizes.populate(collection, size, elementGenerator);
+            };
+        } else if (Map.class.isAssignableFrom(klass) && typeArgument(type, 0) != null && typeArgument(type, 1) != null) {
+            final Supplier<?> keyGenerator = ObjectGenerator.getValueGenerator(typeArgument(type, 0));
+            final Supplier<?> valueGenerator = elementGenerator(typeArgument(type, 1));
+            return () -> {
+                return CollectionSizes.populate((Map) generator.get(), Math.max(0, sizes.nextSize()), keyGenerator, valueGenerator);
+            };
         }
+        return generator;
     }
 
     @Override
@@ -34,43 +71,42 @@ public class SizeConstraintValidator implements ConstraintValidator {
         return o instanceof Size;
     }
 
-    private BiFunction<Size, Supplier<Collection>, Supplier<Collection>> collectionSupplier = (size, supplier) -> {
-        return () -> {
-            Collection generated = supplier.get();
-            while (generated.size() < size.min()) {
-                generated.addAll(supplier.get());
+    /**
+     * Combines {@link Size} constraints into a single {@link SizeDistribution}.
+     *
+     * @param constraints constraints of the value.
+     * @return {@link SizeDistribution} uniform in all {@link Size} ranges, or <code>null</code> if there is no {@link Size}.
+     */
+    public static SizeDistribution distribution(final Stream<Annotation> constraints) {
+        int min = 0;
+        int max = Integer.MAX_VALUE;
+        boolean sized = false;
+        for (Annotation constraint : (Iterable<Annotation>) constraints::iterator) {
+            if (constraint instanceof Size) {
+                min = Math.max(min, ((Size) constraint).min());
+                max = Math.min(max, ((Size) constraint).max());
+                sized = true;
             }
-            while (generated.size() > size.max()) {
-                generated.remove(generated.iterator().next());
-            }
-            return generated;
-        };
-    };
+        }
+        if (!sized)
+            return null;
+        if (max < min)
+            throw new IllegalArgumentException("Size constraints can't be satisfied, min " + min + " max " + max);
+        return SizeDistribution.uniform(min, (int) Math.min(max, (long) min + SOFT_RANGE));
+    }
 
-    private BiFunction<Size, Supplier<CharSequence>, Supplier<CharSequence>> charSequenceSupplier = (size, supplier) -> {
-        return () -> {
-            CharSequence generated = supplier.get();
-            while (generated.length() < size.min()) {
-                generated = generated.toString() + supplier.get();
-            }
-            while (generated.length() > size.max()) {
-                generated = generated.subSequence(1, generated.length());
-            }
-            return generated;
-        };
-    };
+    private static Supplier<?> elementGenerator(final Class<?> elementType) {
+        return ReusePool.apply(elementType, ObjectGenerator.getValueGenerator(elementType));
+    }
 
-    private BiFunction<Size, Supplier<Map>, Supplier<Map>> mapSupplier = (size, supplier) -> {
+    private static Supplier<?> arrayGenerator(final Class<?> componentType, final SizeDistribution sizes) {
+        final Supplier<?> elementGenerator = elementGenerator(componentType);
         return () -> {
-            Map generated = supplier.get();
-            while (generated.size() < size.min()) {
-                generated.putAll(supplier.get());
-            }
-            while (generated.size() > size.max()) {
-                generated.remove(generated.keySet().iterator().next());
-            }
-            return generated;
+            Object[] array = (Object[]) Array.newInstance(componentType, Math.max(0, sizes.nextSize()));
+            for (int i = 0; i < array.length; i++)
+                array[i] = elementGenerator.get();
+            return array;
         };
-    };
+    }
 
 }
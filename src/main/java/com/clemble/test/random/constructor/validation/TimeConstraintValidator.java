@@ -0,0 +1,73 @@
+package com.clemble.test.random.constructor.validation;
+
+import static com.clemble.test.random.constructor.validation.ConstraintValidator.rawType;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.Calendar;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import javax.validation.constraints.Future;
+import javax.validation.constraints.Past;
+
+import com.clemble.test.random.generator.RandomSources;
+
+/**
+ * Generates {@link Date}, {@link Calendar} and java.time values for {@link Past} and {@link Future} constraints. Values
+ * are from 1 day to {@link #SPAN_DAYS} days before or after the moment of generation.
+ *
+ * @author Anton Oparin
+ */
+public class TimeConstraintValidator implements ConstraintValidator {
+
+    /**
+     * Maximum distance of the generated time from now, in days.
+     */
+    final public static int SPAN_DAYS = 3650;
+
+    final private static long DAY = TimeUnit.DAYS.toMillis(1);
+
+    @Override
+    public Supplier<?> apply(Type type, Supplier<?> generator, List<Annotation> constraints) {
+        final int direction = constraints.get(0) instanceof Past ? -1 : 1;
+        Class<?> klass = rawType(type);
+        // Step 1. Dates are shifted by whole days
+        if (klass == LocalDate.class)
+            return () -> LocalDate.now().plusDays(direction * (1 + RandomSources.get().nextInt(SPAN_DAYS)));
+        // Step 2. Other types are converted from the shifted Instant
+        final Supplier<Instant> instantGenerator = () -> Instant.now().plusMillis(direction * (DAY + (long) (RandomSources.get().nextDouble() * (SPAN_DAYS - 1) * DAY)));
+        if (klass == Instant.class)
+            return instantGenerator;
+        if (klass == Date.class)
+            return () -> Date.from(instantGenerator.get());
+        if (klass == Calendar.class) {
+            return () -> {
+                Calendar calendar = Calendar.getInstance();
+                calendar.setTimeInMillis(instantGenerator.get().toEpochMilli());
+                return calendar;
+            };
+        }
+        if (klass == LocalDateTime.class)
+            return () -> LocalDateTime.ofInstant(instantGenerator.get(), ZoneId.systemDefault());
+        if (klass == ZonedDateTime.class)
+            return () -> ZonedDateTime.ofInstant(instantGenerator.get(), ZoneId.systemDefault());
+        if (klass == OffsetDateTime.class)
+            return () -> OffsetDateTime.ofInstant(instantGenerator.get(), ZoneId.systemDefault());
+        return generator;
+    }
+
+    @Override
+    public boolean test(Annotation o) {
+        return o instanceof Past || o instanceof Future;
+    }
+
+}
@@ -0,0 +1,159 @@
+package com.clemble.test.random.corpus;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+/**
+ * Memory mapped corpus of pre-generated values, written by {@link CorpusWriter}. Opening corpus only maps the file, values
+ * are materialized lazily by index, so the file can be larger than the heap, and its pages are loaded by the OS on
+ * demand. Corpus can be read from any number of threads.
+ *
+ * @author Anton Oparin
+ *
+ * @param <T>
+ *            stored type.
+ */
+final public class Corpus<T> {
+
+    /**
+     * "OGCORPUS" in ASCII.
+     */
+    final static long MAGIC = 0x4F47434F52505553L;
+    final static int VERSION = 2;
+    /**
+     * Size of the fixed part of the header: magic, version, segment size, count and description length.
+     */
+    final static int HEADER_SIZE = 28;
+    /**
+     * Default size of the mapped segment, 1 GB.
+     */
+    final static int DEFAULT_SEGMENT_SIZE = 1 << 30;
+
+    /**
+     * Stored type.
+     */
+    final private Class<T> type;
+    /**
+     * Layout of the stored values.
+     */
+    final private CorpusLayout layout;
+    /**
+     * Mapped segments of the file.
+     */
+    final private ByteBuffer[] segments;
+    final private int segmentSize;
+    /**
+     * Position of the offsets table.
+     */
+    final private long tableStart;
+    /**
+     * Number of stored values.
+     */
+    final private long size;
+
+    private Corpus(final Class<T> type, final CorpusLayout layout, final ByteBuffer[] segments, final int segmentSize, final long tableStart, final long size) {
+        this.type = type;
+        this.layout = layout;
+        this.segments = segments;
+        this.segmentSize = segmentSize;
+        this.tableStart = tableStart;
+        this.size = size;
+    }
+
+    /**
+     * Maps corpus file.
+     *
+     * @param <T> the type of stored values
+     * @param type {@link Class} of stored values.
+     * @param path corpus file.
+     * @return mapped {@link Corpus}.
+     * @throws IOException if file is not a corpus, or can't be read.
+     * @throws IllegalArgumentException if corpus was written with a different layout of the class.
+     */
+    public static <T> Corpus<T> open(final Class<T> type, final Path path) throws IOException {
+        checkNotNull(type);
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            // Step 1. Reading header
+            long fileSize = channel.size();
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            while (header.hasRemaining())
+                if (channel.read(header, header.position()) < 0)
+                    throw new IOException(path + " is not a corpus");
+            header.flip();
+            if (header.getLong() != MAGIC)
+                throw new IOException(path + " is not a corpus");
+            if (header.getInt() != VERSION)
+                throw new IOException(path + " has unsupported corpus version");
+            int segmentSize = header.getInt();
+            long size = header.getLong();
+            ByteBuffer description = ByteBuffer.allocate(header.getInt());
+            while (description.hasRemaining())
+                if (channel.read(description, HEADER_SIZE + description.position()) < 0)
+                    throw new IOException(path + " is truncated");
+            // Step 2. Checking that class layout did not change
+            CorpusLayout layout = CorpusLayout.of(type);
+            String storedDescription = new String(description.array(), StandardCharsets.UTF_8);
+            if (!layout.describe().equals(storedDescription))
+                throw new IllegalArgumentException("Corpus layout " + storedDescription + " does not match " + layout.describe());
+            long tableStart = (HEADER_SIZE + description.capacity() + 7) & ~7L;
+            if (tableStart + size * 8 > fileSize)
+                throw new IOException(path + " is truncated");
+            // Step 3. Mapping segments, mapping stays valid after the channel is closed
+            ByteBuffer[] segments = new ByteBuffer[(int) ((fileSize + segmentSize - 1) / segmentSize)];
+            for (int i = 0; i < segments.length; i++) {
+                long position = (long) i * segmentSize;
+                segments[i] = channel.map(MapMode.READ_ONLY, position, Math.min(segmentSize, fileSize - position));
+            }
+            return new Corpus<T>(type, layout, segments, segmentSize, tableStart, size);
+        }
+    }
+
+    /**
+     * @return stored {@link Class}.
+     */
+    public Class<T> getType() {
+        return type;
+    }
+
+    /**
+     * @return number of stored values.
+     */
+    public long size() {
+        return size;
+    }
+
+    /**
+     * Materializes stored value, each call returns a new instance.
+     *
+     * @param index value index.
+     * @return stored value.
+     */
+    public T get(final long index) {
+        if (index < 0 || index >= size)
+            throw new IndexOutOfBoundsException("Index " + index + " out of [0, " + size + ")");
+        // Step 1. Reading record offset
+        long offsetPosition = tableStart + index * 8;
+        long recordPosition = segments[(int) (offsetPosition / segmentSize)].getLong((int) (offsetPosition % segmentSize));
+        // Step 2. Reading record, records never cross segment border
+        ByteBuffer record = segments[(int) (recordPosition / segmentSize)].duplicate();
+        record.position((int) (recordPosition % segmentSize));
+        return type.cast(layout.read(record));
+    }
+
+    /**
+     * @return lazy sized {@link Stream} of stored values, can be used in parallel.
+     */
+    public Stream<T> stream() {
+        return LongStream.range(0, size).mapToObj(this::get);
+    }
+
+}
@@ -0,0 +1,121 @@
+package com.clemble.test.random.corpus;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Supplier;
+
+import com.clemble.test.random.ObjectGenerator;
+import com.clemble.test.random.constructor.ClassConstructor;
+import com.clemble.test.random.constructor.ClassConstructorSimple;
+import com.clemble.test.random.constructor.ClassValueGenerator;
+import com.clemble.test.random.corpus.FieldCodec.Kind;
+
+/**
+ * Record layout of the class: fields populated by the generation plan of the class. Simple fields (primitives, wrappers,
+ * {@link String}, enums) are stored as is, fields of concrete classes are stored as nested records. Records are
+ * materialized with the no argument constructor of the plan, and all stored fields are written from the record, so the
+ * same record always gives the same value. Classes constructed with arguments, and classes with fields, that can't be
+ * stored (collections, arrays, interfaces, cycles, inaccessible JDK internals), are rejected.
+ *
+ * @author Anton Oparin
+ */
+final class CorpusLayout {
+
+    /**
+     * No argument constructor of the plan, used to materialize records.
+     */
+    final private ClassConstructor<?> constructor;
+    /**
+     * Stored fields, in population order of the plan.
+     */
+    final private FieldCodec[] codecs;
+    /**
+     * Description of the layout, stored in the corpus.
+     */
+    final private String description;
+
+    private CorpusLayout(final Class<?> type, final ClassConstructor<?> constructor, final List<FieldCodec> codecs) {
+        this.constructor = constructor;
+        this.codecs = codecs.toArray(new FieldCodec[codecs.size()]);
+        StringBuilder builder = new StringBuilder(type.getName()).append('{');
+        for (int i = 0; i < this.codecs.length; i++)
+            builder.append(i == 0 ? "" : ",").append(this.codecs[i].describe());
+        this.description = builder.append('}').toString();
+    }
+
+    /**
+     * Builds layout from the fields populated by the generation plan of the class.
+     *
+     * @param type {@link Class} to store.
+     * @return {@link CorpusLayout} of the class.
+     * @throws IllegalArgumentException if class is not constructed with no arguments, or any populated field can't be stored.
+     */
+    static CorpusLayout of(final Class<?> type) {
+        return of(type, new HashSet<Class<?>>());
+    }
+
+    private static CorpusLayout of(final Class<?> type, final Set<Class<?>> path) {
+        // Step 1. Checking that class is constructed with no arguments
+        if (type.isInterface() || type.isArray() || type.isPrimitive() || (type.getModifiers() & Modifier.ABSTRACT) != 0)
+            throw new IllegalArgumentException(type.getName() + " can't be stored in the corpus");
+        Supplier<?> valueGenerator = ObjectGenerator.getValueGenerator(type);
+        if (!(valueGenerator instanceof ClassValueGenerator))
+            throw new IllegalArgumentException(type.getName() + " is not generated from the class plan and can't be stored in the corpus");
+        ClassValueGenerator<?> plan = (ClassValueGenerator<?>) valueGenerator;
+        ClassConstructor<?> constructor = plan.getObjectConstructor();
+        if (!(constructor instanceof ClassConstructorSimple) || !constructor.getValueGenerators().isEmpty())
+            throw new IllegalArgumentException(type.getName() + " has no no-argument constructor and can't be stored in the corpus");
+        // Step 2. Building codecs for all populated fields, cycles can't be stored
+        path.add(type);
+        Set<Field> processed = new HashSet<Field>();
+        List<FieldCodec> codecs = new ArrayList<FieldCodec>();
+        for (Field field : plan.getFields()) {
+            if ((field.getModifiers() & Modifier.STATIC) != 0 || !processed.add(field))
+                continue;
+            Class<?> fieldType = field.getType();
+            if (FieldCodec.kindOf(fieldType) == null && path.contains(fieldType))
+                throw new IllegalArgumentException(field + " is a cyclic reference and can't be stored in the corpus");
+            try {
+                Kind kind = FieldCodec.kindOf(fieldType);
+                codecs.add(kind != null ? new FieldCodec(field, kind, null) : new FieldCodec(field, Kind.OBJECT, of(fieldType, path)));
+            } catch (IllegalArgumentException notStored) {
+                throw notStored;
+            } catch (RuntimeException inaccessible) {
+                throw new IllegalArgumentException(field + " is not accessible and can't be stored in the corpus", inaccessible);
+            }
+        }
+        path.remove(type);
+        return new CorpusLayout(type, constructor, codecs);
+    }
+
+    void write(final Object value, final ByteBuffer out) {
+        try {
+            for (FieldCodec codec : codecs)
+                codec.write(value, out);
+        } catch (IllegalAccessException accessException) {
+            throw new IllegalStateException(accessException);
+        }
+    }
+
+    Object read(final ByteBuffer in) {
+        Object value;
+        try {
+            value = constructor.construct();
+            for (FieldCodec codec : codecs)
+                codec.read(in, value);
+        } catch (IllegalAccessException accessException) {
+            throw new IllegalStateException(accessException);
+        }
+        return value;
+    }
+
+    String describe() {
+        return description;
+    }
+
+}
@@ -0,0 +1,143 @@
+package com.clemble.test.random.corpus;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.io.IOException;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Writes values in the corpus file, read by {@link Corpus}. Values are written one by one, so corpus can be larger than
+ * the heap.
+ * <p>
+ * File consists of the header, table of record offsets and records. File is split in segments, of at most
+ * {@link Corpus#DEFAULT_SEGMENT_SIZE} bytes, each mapped separately, no record crosses the segment border.
+ *
+ * @author Anton Oparin
+ */
+public abstract class CorpusWriter {
+
+    /**
+     * Size of the output buffer.
+     */
+    final private static int BUFFER_SIZE = 1 << 20;
+
+    private CorpusWriter() {
+        throw new IllegalAccessError();
+    }
+
+    /**
+     * Writes count values to the corpus file.
+     *
+     * @param <T> the type of stored values
+     * @param path corpus file, replaced if exists.
+     * @param type {@link Class} of stored values.
+     * @param values source of values, must have at least count values.
+     * @param count number of values to write.
+     * @throws IOException if write fails.
+     */
+    public static <T> void write(final Path path, final Class<T> type, final Iterator<? extends T> values, final long count) throws IOException {
+        write(path, type, values, count, Corpus.DEFAULT_SEGMENT_SIZE);
+    }
+
+    /**
+     * Writes count values to the corpus file, split in segments of specified size.
+     *
+     * @param <T> the type of stored values
+     * @param path corpus file, replaced if exists.
+     * @param type {@link Class} of stored values.
+     * @param values source of values, must have at least count values.
+     * @param count number of values to write.
+     * @param segmentSize size of the mapped segment, multiple of 8.
+     * @throws IOException if write fails.
+     */
+    public static <T> void write(final Path path, final Class<T> type, final Iterator<? extends T> values, final long count, final int segmentSize) throws IOException {
+        checkNotNull(values);
+        if (count < 0)
+            throw new IllegalArgumentException("Count must be non negative");
+        if (segmentSize <= 0 || segmentSize % 8 != 0)
+            throw new IllegalArgumentException("Segment size must be positive multiple of 8");
+        CorpusLayout layout = CorpusLayout.of(type);
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            // Step 1. Writing header
+            byte[] description = layout.describe().getBytes(StandardCharsets.UTF_8);
+            ByteBuffer header = ByteBuffer.allocate(Corpus.HEADER_SIZE + description.length);
+            header.putLong(Corpus.MAGIC).putInt(Corpus.VERSION).putInt(segmentSize).putLong(count).putInt(description.length).put(description);
+            header.flip();
+            long tableStart = (header.remaining() + 7) & ~7L;
+            if (tableStart > segmentSize)
+                throw new IllegalArgumentException("Corpus header does not fit in the segment");
+            writeFully(channel, header, 0);
+            // Step 2. Writing records, followed by their offsets
+            ByteBuffer offsets = ByteBuffer.allocateDirect(BUFFER_SIZE);
+            long offsetsPosition = tableStart;
+            ByteBuffer output = ByteBuffer.allocateDirect(BUFFER_SIZE);
+            long outputPosition = tableStart + count * 8;
+            ByteBuffer record = ByteBuffer.allocateDirect(BUFFER_SIZE >> 4);
+            for (long i = 0; i < count; i++) {
+                if (!values.hasNext())
+                    throw new NoSuchElementException("Only " + i + " values of " + count + " available");
+                // Step 2.1. Encoding record, growing buffer if needed
+                T value = values.next();
+                while (true) {
+                    try {
+                        record.clear();
+                        layout.write(value, record);
+                        break;
+                    } catch (BufferOverflowException overflowException) {
+                        record = ByteBuffer.allocateDirect(record.capacity() << 1);
+                    }
+                }
+                record.flip();
+                int recordSize = record.remaining();
+                if (recordSize > segmentSize)
+                    throw new IllegalArgumentException("Record of " + recordSize + " bytes does not fit in the segment");
+                // Step 2.2. Moving record to the next segment, if it crosses the border
+                long recordPosition = outputPosition + output.position();
+                if (recordPosition / segmentSize != (recordPosition + recordSize - 1) / segmentSize) {
+                    output.flip();
+                    writeFully(channel, output, outputPosition);
+                    output.clear();
+                    recordPosition = outputPosition = (recordPosition / segmentSize + 1) * segmentSize;
+                }
+                // Step 2.3. Appending record to the output
+                if (output.remaining() < recordSize) {
+                    output.flip();
+                    outputPosition += writeFully(channel, output, outputPosition);
+                    output.clear();
+                }
+                if (output.remaining() < recordSize) {
+                    outputPosition += writeFully(channel, record, outputPosition);
+                } else {
+                    output.put(record);
+                }
+                // Step 2.4. Appending record offset
+                offsets.putLong(recordPosition);
+                if (!offsets.hasRemaining()) {
+                    offsets.flip();
+                    offsetsPosition += writeFully(channel, offsets, offsetsPosition);
+                    offsets.clear();
+                }
+            }
+            // Step 3. Flushing remaining records and offsets
+            output.flip();
+            writeFully(channel, output, outputPosition);
+            offsets.flip();
+            writeFully(channel, offsets, offsetsPosition);
+        }
+    }
+
+    private static int writeFully(final FileChannel channel, final ByteBuffer buffer, final long position) throws IOException {
+        int written = 0;
+        while (buffer.hasRemaining())
+            written += channel.write(buffer, position + written);
+        return written;
+    }
+
+}
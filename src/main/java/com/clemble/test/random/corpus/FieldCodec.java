@@ -0,0 +1,237 @@
+package com.clemble.test.random.corpus;
+
+import java.lang.reflect.Field;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import com.google.common.primitives.Primitives;
+
+/**
+ * Binary encoding of a single field in the corpus record. Primitive fields are stored as is, all other fields are
+ * prefixed with a presence byte, so <code>null</code> values are preserved.
+ *
+ * @author Anton Oparin
+ */
+final class FieldCodec {
+
+    /**
+     * Supported field kinds.
+     */
+    enum Kind {
+        BOOLEAN, BYTE, CHAR, SHORT, INT, LONG, FLOAT, DOUBLE, STRING, ENUM, OBJECT
+    }
+
+    final private Field field;
+    final private Kind kind;
+    /**
+     * Whether value is stored without presence byte.
+     */
+    final private boolean primitive;
+    /**
+     * Enum constants for {@link Kind#ENUM}.
+     */
+    final private Object[] constants;
+    /**
+     * Nested layout for {@link Kind#OBJECT}.
+     */
+    final private CorpusLayout nested;
+
+    FieldCodec(final Field field, final Kind kind, final CorpusLayout nested) {
+        this.field = field;
+        this.kind = kind;
+        this.primitive = field.getType().isPrimitive();
+        this.constants = kind == Kind.ENUM ? field.getType().getEnumConstants() : null;
+        this.nested = nested;
+        field.setAccessible(true);
+    }
+
+    /**
+     * Returns kind of the simple value type, or <code>null</code> if type is not simple.
+     *
+     * @param type field type.
+     * @return matching {@link Kind}, or <code>null</code>.
+     */
+    static Kind kindOf(final Class<?> type) {
+        Class<?> unwrapped = Primitives.unwrap(type);
+        if (unwrapped == boolean.class)
+            return Kind.BOOLEAN;
+        if (unwrapped == byte.class)
+            return Kind.BYTE;
+        if (unwrapped == char.class)
+            return Kind.CHAR;
+        if (unwrapped == short.class)
+            return Kind.SHORT;
+        if (unwrapped == int.class)
+            return Kind.INT;
+        if (unwrapped == long.class)
+            return Kind.LONG;
+        if (unwrapped == float.class)
+            return Kind.FLOAT;
+        if (unwrapped == double.class)
+            return Kind.DOUBLE;
+        if (type == String.class)
+            return Kind.STRING;
+        if (type.isEnum())
+            return Kind.ENUM;
+        return null;
+    }
+
+    void write(final Object source, final ByteBuffer out) throws IllegalAccessException {
+        // Step 1. Primitive values are written without boxing
+        if (primitive) {
+            switch (kind) {
+            case BOOLEAN:
+                out.put(field.getBoolean(source) ? (byte) 1 : (byte) 0);
+                break;
+            case BYTE:
+                out.put(field.getByte(source));
+                break;
+            case CHAR:
+                out.putChar(field.getChar(source));
+                break;
+            case SHORT:
+                out.putShort(field.getShort(source));
+                break;
+            case INT:
+                out.putInt(field.getInt(source));
+                break;
+            case LONG:
+                out.putLong(field.getLong(source));
+                break;
+            case FLOAT:
+                out.putFloat(field.getFloat(source));
+                break;
+            default:
+                out.putDouble(field.getDouble(source));
+            }
+            return;
+        }
+        // Step 2. Other values are prefixed with presence byte
+        Object value = field.get(source);
+        if (value == null) {
+            out.put((byte) 0);
+            return;
+        }
+        out.put((byte) 1);
+        switch (kind) {
+        case BOOLEAN:
+            out.put((Boolean) value ? (byte) 1 : (byte) 0);
+            break;
+        case BYTE:
+            out.put((Byte) value);
+            break;
+        case CHAR:
+            out.putChar((Character) value);
+            break;
+        case SHORT:
+            out.putShort((Short) value);
+            break;
+        case INT:
+            out.putInt((Integer) value);
+            break;
+        case LONG:
+            out.putLong((Long) value);
+            break;
+        case FLOAT:
+            out.putFloat((Float) value);
+            break;
+        case DOUBLE:
+            out.putDouble((Double) value);
+            break;
+        case STRING:
+            byte[] bytes = ((String) value).getBytes(StandardCharsets.UTF_8);
+            out.putInt(bytes.length);
+            out.put(bytes);
+            break;
+        case ENUM:
+            out.putInt(((Enum<?>) value).ordinal());
+            break;
+        default:
+            nested.write(value, out);
+        }
+    }
+
+    void read(final ByteBuffer in, final Object target) throws IllegalAccessException {
+        // Step 1. Primitive values are read without boxing
+        if (primitive) {
+            switch (kind) {
+            case BOOLEAN:
+                field.setBoolean(target, in.get() != 0);
+                break;
+            case BYTE:
+                field.setByte(target, in.get());
+                break;
+            case CHAR:
+                field.setChar(target, in.getChar());
+                break;
+            case SHORT:
+                field.setShort(target, in.getShort());
+                break;
+            case INT:
+                field.setInt(target, in.getInt());
+                break;
+            case LONG:
+                field.setLong(target, in.getLong());
+                break;
+            case FLOAT:
+                field.setFloat(target, in.getFloat());
+                break;
+            default:
+                field.setDouble(target, in.getDouble());
+            }
+            return;
+        }
+        // Step 2. Other values are prefixed with presence byte
+        if (in.get() == 0) {
+            field.set(target, null);
+            return;
+        }
+        Object value;
+        switch (kind) {
+        case BOOLEAN:
+            value = in.get() != 0;
+            break;
+        case BYTE:
+            value = in.get();
+            break;
+        case CHAR:
+            value = in.getChar();
+            break;
+        case SHORT:
+            value = in.getShort();
+            break;
+        case INT:
+            value = in.getInt();
+            break;
+        case LONG:
+            value = in.getLong();
+            break;
+        case FLOAT:
+            value = in.getFloat();
+            break;
+        case DOUBLE:
+            value = in.getDouble();
+            break;
+        case STRING:
+            byte[] bytes = new byte[in.getInt()];
+            in.get(bytes);
+            value = new String(bytes, StandardCharsets.UTF_8);
+            break;
+        case ENUM:
+            value = constants[in.getInt()];
+            break;
+        default:
+            value = nested.read(in);
+        }
+        field.set(target, value);
+    }
+
+    /**
+     * @return description of the field, used to check that corpus matches the current class layout.
+     */
+    String describe() {
+        String type = kind == Kind.OBJECT ? nested.describe() : field.getType().getName();
+        return field.getDeclaringClass().getName() + "." + field.getName() + ":" + type;
+    }
+
+}
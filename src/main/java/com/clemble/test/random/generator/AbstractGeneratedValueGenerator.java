@@ -0,0 +1,59 @@
+package com.clemble.test.random.generator;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.util.function.Supplier;
+
+import com.clemble.test.random.ObjectGenerator;
+
+/**
+ * Base class for compile time generated {@link GeneratedValueGenerator}s, resolves value generators for constructor
+ * arguments and properties lazily on the first use.
+ *
+ * @author Anton Oparin
+ *
+ * @param <T> parameterized {@link Class}.
+ */
+abstract public class AbstractGeneratedValueGenerator<T> implements GeneratedValueGenerator<T> {
+
+    /**
+     * Generated {@link Class}.
+     */
+    final private Class<T> targetClass;
+    /**
+     * Lazily resolved {@link Supplier}s, one for each argument or property.
+     */
+    final private Supplier<?>[] valueGenerators;
+
+    protected AbstractGeneratedValueGenerator(final Class<T> targetClass, final int numValues) {
+        this.targetClass = checkNotNull(targetClass);
+        this.valueGenerators = new Supplier<?>[numValues];
+    }
+
+    @Override
+    final public Class<T> getTargetClass() {
+        return targetClass;
+    }
+
+    /**
+     * Generates value for the argument or property.
+     *
+     * @param <V> the type of value
+     * @param index index of argument or property.
+     * @param klass {@link Class} of the value.
+     * @return generated value.
+     */
+    @SuppressWarnings("unchecked")
+    final protected <V> V value(final int index, final Class<V> klass) {
+        Supplier<?> valueGenerator = valueGenerators[index];
+        if (valueGenerator == null)
+            valueGenerators[index] = valueGenerator = ObjectGenerator.getValueGenerator(klass);
+        return (V) valueGenerator.get();
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + " [" + targetClass.getName() + "]";
+    }
+
+}
@@ -2,33 +2,41 @@ package com.clemble.test.random.generator;
 
 import com.clemble.test.random.AbstractValueGeneratorFactory;
 import com.clemble.test.random.ValueGeneratorFactory;
-import com.google.common.cache.CacheBuilder;
-import com.google.common.cache.CacheLoader;
-import com.google.common.cache.LoadingCache;
 
-import java.lang.reflect.Parameter;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
 import java.util.function.Supplier;
 
 /**
  * {@link ValueGeneratorFactory} implementation that uses caching to optimize {@link Supplier} production.
- * 
+ * <p>
+ * Cached generators are read without locking. Concurrent top level requests for the same {@link Class} are resolved once,
+ * other threads wait for the result. Nested requests (made while resolving another {@link Class}) never wait for other threads,
+ * since two threads resolving dependent classes could otherwise wait for each other.
+ *
  * @author Anton Oparin
- * 
+ *
  */
 public class CachedValueGeneratorFactory extends AbstractValueGeneratorFactory {
 
+    /**
+     * Number of resolutions in progress in the current thread.
+     */
+    final private static ThreadLocal<int[]> RESOLUTION_DEPTH = ThreadLocal.withInitial(() -> new int[1]);
+
     final private ValueGeneratorFactory valueGeneratorFactory;
 
     /**
-     * Google LoadingCache that is used as a primary cache implementation.
+     * Resolved value generators.
+     */
+    final private ConcurrentMap<Class<?>, Supplier<?>> cachedValueGenerators = new ConcurrentHashMap<Class<?>, Supplier<?>>();
+
+    /**
+     * Top level resolutions in progress.
      */
-    final private LoadingCache<Class<?>, Supplier<?>> cachedValueGenerators = CacheBuilder.newBuilder().build(
-            new CacheLoader<Class<?>, Supplier<?>>() {
-                @Override
-                public Supplier<?> load(Class<?> klass) throws Exception {
-                    return valueGeneratorFactory.get(klass);
-                }
-            });
+    final private ConcurrentMap<Class<?>, FutureTask<Supplier<?>>> pendingValueGenerators = new ConcurrentHashMap<Class<?>, FutureTask<Supplier<?>>>();
 
     public CachedValueGeneratorFactory(ValueGeneratorFactory newValueGeneratorFactory) {
         super(newValueGeneratorFactory.getPropertySetterManager());
@@ -38,13 +46,57 @@ public class CachedValueGeneratorFactory extends AbstractValueGeneratorFactory {
     @Override
     @SuppressWarnings("unchecked")
     public <T> Supplier<T> get(Class<T> klass) {
+        // Step 1. Checking already resolved generators
+        Supplier<?> valueGenerator = cachedValueGenerators.get(klass);
+        if (valueGenerator != null)
+            return (Supplier<T>) valueGenerator;
+        // Step 2. Nested requests are resolved in place
+        if (RESOLUTION_DEPTH.get()[0] > 0)
+            return (Supplier<T>) resolve(klass);
+        // Step 3. Top level requests are resolved once, all concurrent requests wait for the result
+        FutureTask<Supplier<?>> resolution = new FutureTask<Supplier<?>>(() -> resolve(klass));
+        FutureTask<Supplier<?>> pendingResolution = pendingValueGenerators.putIfAbsent(klass, resolution);
+        if (pendingResolution == null) {
+            // Step 3.1. Previous resolution might have finished between the cache check and registration
+            valueGenerator = cachedValueGenerators.get(klass);
+            if (valueGenerator != null) {
+                pendingValueGenerators.remove(klass, resolution);
+                return (Supplier<T>) valueGenerator;
+            }
+            try {
+                resolution.run();
+            } finally {
+                pendingValueGenerators.remove(klass, resolution);
+            }
+            pendingResolution = resolution;
+        }
         try {
-            return (Supplier<T>) cachedValueGenerators.get(klass);
-        } catch (Exception e) {
+            return (Supplier<T>) pendingResolution.get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException)
+                throw (RuntimeException) e.getCause();
+            throw new RuntimeException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
             throw new RuntimeException(e);
         }
     }
 
+    private Supplier<?> resolve(Class<?> klass) {
+        int[] depth = RESOLUTION_DEPTH.get();
+        depth[0]++;
+        try {
+            Supplier<?> valueGenerator = valueGeneratorFactory.get(klass);
+            // Back reference is only valid inside the plan being resolved
+            if (valueGenerator instanceof RecursiveValueGenerator)
+                return valueGenerator;
+            Supplier<?> cachedValueGenerator = cachedValueGenerators.putIfAbsent(klass, valueGenerator);
+            return cachedValueGenerator != null ? cachedValueGenerator : valueGenerator;
+        } finally {
+            depth[0]--;
+        }
+    }
+
     @Override
     protected <T> Supplier<T> enumValueGenerator(Class<T> klass) {
         throw new UnsupportedOperationException();
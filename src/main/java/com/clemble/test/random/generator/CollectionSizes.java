@@ -0,0 +1,182 @@
+package com.clemble.test.random.generator;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Registry of {@link SizeDistribution}s of generated collections, maps and arrays. Distribution is selected for a property in
+ * order: registered for the property of the class (or its super class), registered for the element type (value type for
+ * maps), default one. Without distribution collection is populated with a single element through the add method.
+ * <p>
+ * Collection distributions are selected, when plan is resolved, so they must be registered before the first generation.
+ * Array lengths (by the component type, or default from 1 to 10) are checked on each generated array.
+ *
+ * @author Anton Oparin
+ */
+public abstract class CollectionSizes {
+
+    /**
+     * Distributions registered for the properties, by the declaring class and lower case property name.
+     */
+    final private static Map<Class<?>, Map<String, SizeDistribution>> PROPERTY_SIZES = new ConcurrentHashMap<Class<?>, Map<String, SizeDistribution>>();
+
+    /**
+     * Distributions registered for the element types.
+     */
+    final private static Map<Class<?>, SizeDistribution> ELEMENT_SIZES = new ConcurrentHashMap<Class<?>, SizeDistribution>();
+
+    /**
+     * Distribution used for all other collections, <code>null</code> if there is none.
+     */
+    private static volatile SizeDistribution defaultSize;
+
+    /**
+     * Maximum number of generation attempts per element, duplicates (in sets and map keys) and failed elements are
+     * generated again, until collection reaches expected size.
+     */
+    final public static int ATTEMPTS_PER_ELEMENT = 10;
+
+    /**
+     * Default array length, from 1 to 10.
+     */
+    final public static SizeDistribution DEFAULT_ARRAY_LENGTH = SizeDistribution.uniform(1, 10);
+
+    /**
+     * Array lengths registered for the component types.
+     */
+    final private static Map<Class<?>, SizeDistribution> ARRAY_LENGTHS = new ConcurrentHashMap<Class<?>, SizeDistribution>();
+
+    /**
+     * Length of all other arrays.
+     */
+    private static volatile SizeDistribution defaultArrayLength = DEFAULT_ARRAY_LENGTH;
+
+    private CollectionSizes() {
+        throw new IllegalAccessError();
+    }
+
+    public static void register(final Class<?> elementType, final SizeDistribution sizeDistribution) {
+        ELEMENT_SIZES.put(checkNotNull(elementType), checkNotNull(sizeDistribution));
+    }
+
+    public static void register(final Class<?> owner, final String property, final SizeDistribution sizeDistribution) {
+        PROPERTY_SIZES.
+            computeIfAbsent(checkNotNull(owner), (klass) -> new ConcurrentHashMap<String, SizeDistribution>()).
+            put(property.toLowerCase(), checkNotNull(sizeDistribution));
+    }
+
+    /**
+     * @param sizeDistribution distribution of all other collections, <code>null</code> to populate them with a single element.
+     */
+    public static void setDefault(final SizeDistribution sizeDistribution) {
+        defaultSize = sizeDistribution;
+    }
+
+    public static void registerArray(final Class<?> componentType, final SizeDistribution lengthDistribution) {
+        ARRAY_LENGTHS.put(checkNotNull(componentType), checkNotNull(lengthDistribution));
+    }
+
+    /**
+     * @param lengthDistribution length of all other arrays, <code>null</code> to use {@link #DEFAULT_ARRAY_LENGTH}.
+     */
+    public static void setDefaultArray(final SizeDistribution lengthDistribution) {
+        defaultArrayLength = lengthDistribution != null ? lengthDistribution : DEFAULT_ARRAY_LENGTH;
+    }
+
+    /**
+     * Removes all registered distributions.
+     */
+    public static void reset() {
+        PROPERTY_SIZES.clear();
+        ELEMENT_SIZES.clear();
+        ARRAY_LENGTHS.clear();
+        defaultSize = null;
+        defaultArrayLength = DEFAULT_ARRAY_LENGTH;
+    }
+
+    /**
+     * Selects array length distribution, checked on each generated array.
+     *
+     * @param componentType component type of the array.
+     * @return {@link SizeDistribution} of the array length.
+     */
+    public static SizeDistribution getArray(final Class<?> componentType) {
+        SizeDistribution lengthDistribution = ARRAY_LENGTHS.isEmpty() ? null : ARRAY_LENGTHS.get(componentType);
+        return lengthDistribution != null ? lengthDistribution : defaultArrayLength;
+    }
+
+    /**
+     * Selects distribution for the property.
+     *
+     * @param owner generated {@link Class}.
+     * @param property lower case property name.
+     * @param elementType element type, or <code>null</code> if it is not known.
+     * @return {@link SizeDistribution} or <code>null</code> if there is none.
+     */
+    public static SizeDistribution get(final Class<?> owner, final String property, final Class<?> elementType) {
+        // Step 1. Checking property of the class and its super classes
+        if (!PROPERTY_SIZES.isEmpty()) {
+            for (Class<?> klass = owner; klass != null && klass != Object.class; klass = klass.getSuperclass()) {
+                Map<String, SizeDistribution> properties = PROPERTY_SIZES.get(klass);
+                SizeDistribution sizeDistribution = properties != null ? properties.get(property) : null;
+                if (sizeDistribution != null)
+                    return sizeDistribution;
+            }
+        }
+        // Step 2. Checking element type
+        SizeDistribution sizeDistribution = elementType != null ? ELEMENT_SIZES.get(elementType) : null;
+        return sizeDistribution != null ? sizeDistribution : defaultSize;
+    }
+
+    /**
+     * Adds generated elements, until collection grows by the size, or attempts are exhausted. Back reference, that returns
+     * <code>null</code>, has exhausted generation budget, so no more elements are generated.
+     *
+     * @param <T> the type of elements
+     * @param collection populated {@link Collection}.
+     * @param size number of elements to add.
+     * @param elementGenerator {@link Supplier} of elements.
+     * @return populated {@link Collection}.
+     */
+    public static <T> Collection<T> populate(final Collection<T> collection, final int size, final Supplier<? extends T> elementGenerator) {
+        int expected = collection.size() + size;
+        for (long attempts = (long) size * ATTEMPTS_PER_ELEMENT; collection.size() < expected && attempts > 0; attempts--) {
+            T element = elementGenerator.get();
+            if (element != null)
+                collection.add(element);
+            else if (elementGenerator instanceof RecursiveValueGenerator)
+                break;
+        }
+        return collection;
+    }
+
+    /**
+     * Puts generated entries, until map grows by the size, or attempts are exhausted.
+     *
+     * @param <K> the type of keys
+     * @param <V> the type of values
+     * @param map populated {@link Map}.
+     * @param size number of entries to put.
+     * @param keyGenerator {@link Supplier} of keys.
+     * @param valueGenerator {@link Supplier} of values.
+     * @return populated {@link Map}.
+     * @see #populate(Collection, int, Supplier)
+     */
+    public static <K, V> Map<K, V> populate(final Map<K, V> map, final int size, final Supplier<? extends K> keyGenerator, final Supplier<? extends V> valueGenerator) {
+        int expected = map.size() + size;
+        for (long attempts = (long) size * ATTEMPTS_PER_ELEMENT; map.size() < expected && attempts > 0; attempts--) {
+            K key = keyGenerator.get();
+            V value = valueGenerator.get();
+            if (key != null && value != null)
+                map.put(key, value);
+            else if (valueGenerator instanceof RecursiveValueGenerator && value == null)
+                break;
+        }
+        return map;
+    }
+
+}
@@ -0,0 +1,22 @@
+package com.clemble.test.random.generator;
+
+import java.util.function.Supplier;
+
+/**
+ * {@link Supplier} generated at compile time for a {@link com.clemble.test.random.annotation.Generatable} type, it calls
+ * constructors, factory methods, builders and setters directly, without reflection.
+ *
+ * @author Anton Oparin
+ *
+ * @param <T> parameterized {@link Class}.
+ */
+public interface GeneratedValueGenerator<T> extends Supplier<T> {
+
+    /**
+     * Returns {@link Class} this generator produces.
+     *
+     * @return generated {@link Class}.
+     */
+    public Class<T> getTargetClass();
+
+}
@@ -0,0 +1,40 @@
+package com.clemble.test.random.generator;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.ServiceLoader;
+import java.util.function.Supplier;
+
+import com.google.common.collect.ImmutableMap;
+
+/**
+ * Registry of compile time {@link GeneratedValueGenerator}s, loaded once with {@link ServiceLoader}.
+ *
+ * @author Anton Oparin
+ */
+public abstract class GeneratedValueGenerators {
+
+    /**
+     * All {@link GeneratedValueGenerator}s, available in the classpath.
+     */
+    final private static Map<Class<?>, Supplier<?>> GENERATED_GENERATORS;
+    static {
+        Map<Class<?>, Supplier<?>> generators = new HashMap<Class<?>, Supplier<?>>();
+        for (GeneratedValueGenerator<?> generator : ServiceLoader.load(GeneratedValueGenerator.class))
+            generators.put(generator.getTargetClass(), generator);
+        GENERATED_GENERATORS = ImmutableMap.copyOf(generators);
+    }
+
+    /**
+     * Returns {@link GeneratedValueGenerator} for the {@link Class}.
+     *
+     * @param <T> the type of object to generate
+     * @param klass generated {@link Class}.
+     * @return {@link GeneratedValueGenerator} if there is one for the {@link Class}, <code>null</code> otherwise.
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> Supplier<T> get(Class<T> klass) {
+        return (Supplier<T>) GENERATED_GENERATORS.get(klass);
+    }
+
+}
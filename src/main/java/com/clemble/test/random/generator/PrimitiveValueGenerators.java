@@ -0,0 +1,137 @@
+package com.clemble.test.random.generator;
+
+import java.util.function.BooleanSupplier;
+import java.util.function.DoubleSupplier;
+import java.util.function.IntSupplier;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Primitive specialized value generators. Each of them is still a {@link Supplier} of the wrapper type, so it can be used
+ * anywhere a regular value generator is expected, but property setters, that know the primitive type of the property,
+ * read the value with primitive getter and write it without boxing.
+ *
+ * @author Anton Oparin
+ */
+public abstract class PrimitiveValueGenerators {
+
+    private PrimitiveValueGenerators() {
+        throw new IllegalAccessError();
+    }
+
+    /**
+     * Checks whether value generator can produce unboxed value of provided primitive type.
+     *
+     * @param primitiveType primitive type of the property.
+     * @param valueGenerator value generator to check.
+     * @return <code>true</code> if valueGenerator has primitive getter for primitiveType.
+     */
+    public static boolean isPrimitive(Class<?> primitiveType, Supplier<?> valueGenerator) {
+        if (primitiveType == int.class)
+            return valueGenerator instanceof IntValueGenerator;
+        if (primitiveType == long.class)
+            return valueGenerator instanceof LongValueGenerator;
+        if (primitiveType == double.class)
+            return valueGenerator instanceof DoubleValueGenerator;
+        if (primitiveType == boolean.class)
+            return valueGenerator instanceof BooleanValueGenerator;
+        if (primitiveType == byte.class)
+            return valueGenerator instanceof ByteValueGenerator;
+        if (primitiveType == char.class)
+            return valueGenerator instanceof CharValueGenerator;
+        if (primitiveType == short.class)
+            return valueGenerator instanceof ShortValueGenerator;
+        if (primitiveType == float.class)
+            return valueGenerator instanceof FloatValueGenerator;
+        return false;
+    }
+
+    @FunctionalInterface
+    public interface BooleanValueGenerator extends Supplier<Boolean>, BooleanSupplier {
+
+        @Override
+        default Boolean get() {
+            return getAsBoolean();
+        }
+
+    }
+
+    @FunctionalInterface
+    public interface ByteValueGenerator extends Supplier<Byte> {
+
+        byte getAsByte();
+
+        @Override
+        default Byte get() {
+            return getAsByte();
+        }
+
+    }
+
+    @FunctionalInterface
+    public interface CharValueGenerator extends Supplier<Character> {
+
+        char getAsChar();
+
+        @Override
+        default Character get() {
+            return getAsChar();
+        }
+
+    }
+
+    @FunctionalInterface
+    public interface ShortValueGenerator extends Supplier<Short> {
+
+        short getAsShort();
+
+        @Override
+        default Short get() {
+            return getAsShort();
+        }
+
+    }
+
+    @FunctionalInterface
+    public interface IntValueGenerator extends Supplier<Integer>, IntSupplier {
+
+        @Override
+        default Integer get() {
+            return getAsInt();
+        }
+
+    }
+
+    @FunctionalInterface
+    public interface LongValueGenerator extends Supplier<Long>, LongSupplier {
+
+        @Override
+        default Long get() {
+            return getAsLong();
+        }
+
+    }
+
+    @FunctionalInterface
+    public interface FloatValueGenerator extends Supplier<Float> {
+
+        float getAsFloat();
+
+        @Override
+        default Float get() {
+            return getAsFloat();
+        }
+
+    }
+
+    @FunctionalInterface
+    public interface DoubleValueGenerator extends Supplier<Double>, DoubleSupplier {
+
+        @Override
+        default Double get() {
+            return getAsDouble();
+        }
+
+    }
+
+}
@@ -0,0 +1,46 @@
+package com.clemble.test.random.generator;
+
+import java.util.Random;
+
+/**
+ * Source of randomness for all built-in value generators. Implementations are shared between threads, so they must keep
+ * their state thread confined (one generator per thread), instead of synchronizing on a single shared state.
+ * <p>
+ * Implementation can be provided with {@link java.util.ServiceLoader} (META-INF/services/com.clemble.test.random.generator.RandomSource),
+ * or set with {@link RandomSources#set(RandomSource)}.
+ *
+ * @author Anton Oparin
+ */
+public interface RandomSource {
+
+    boolean nextBoolean();
+
+    int nextInt();
+
+    /**
+     * @param bound upper bound (exclusive), must be positive.
+     * @return random int from 0 (inclusive) to bound (exclusive).
+     */
+    int nextInt(int bound);
+
+    long nextLong();
+
+    /**
+     * @return random float from 0 (inclusive) to 1 (exclusive).
+     */
+    float nextFloat();
+
+    /**
+     * @return random double from 0 (inclusive) to 1 (exclusive).
+     */
+    double nextDouble();
+
+    /**
+     * {@link Random} view of the source for the current thread, used with APIs that accept {@link Random}. Returned
+     * {@link Random} must not be shared with other threads.
+     *
+     * @return {@link Random} backed by this source.
+     */
+    Random asRandom();
+
+}
@@ -0,0 +1,67 @@
+package com.clemble.test.random.generator;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.util.Iterator;
+import java.util.ServiceLoader;
+import java.util.function.Supplier;
+
+/**
+ * Holder of the {@link RandomSource} used by all built-in value generators. Initial {@link RandomSource} is the first
+ * one available through {@link ServiceLoader}, or {@link ThreadLocalRandomSource} if there is none.
+ *
+ * @author Anton Oparin
+ */
+public abstract class RandomSources {
+
+    /**
+     * {@link RandomSource} in use.
+     */
+    private static volatile RandomSource randomSource = load();
+
+    private RandomSources() {
+        throw new IllegalAccessError();
+    }
+
+    private static RandomSource load() {
+        Iterator<RandomSource> providers = ServiceLoader.load(RandomSource.class).iterator();
+        return providers.hasNext() ? providers.next() : new ThreadLocalRandomSource();
+    }
+
+    /**
+     * @return {@link RandomSource} in use.
+     */
+    public static RandomSource get() {
+        return randomSource;
+    }
+
+    /**
+     * Replaces {@link RandomSource} used by all built-in value generators.
+     *
+     * @param newRandomSource {@link RandomSource} to use.
+     */
+    public static void set(RandomSource newRandomSource) {
+        randomSource = checkNotNull(newRandomSource);
+    }
+
+    /**
+     * Restores initial {@link RandomSource}.
+     */
+    public static void reset() {
+        randomSource = load();
+    }
+
+    /**
+     * Runs task, that must not affect values generated afterwards (for example plan resolution), in seeded mode it uses
+     * a separate stream.
+     *
+     * @param <T> the type of result
+     * @param task task to run.
+     * @return task result.
+     */
+    public static <T> T detached(Supplier<T> task) {
+        RandomSource currentSource = randomSource;
+        return currentSource instanceof SeededRandomSource ? ((SeededRandomSource) currentSource).detached(task) : task.get();
+    }
+
+}
@@ -3,6 +3,7 @@ package com.clemble.test.random.generator;
 import com.clemble.test.random.AbstractValueGeneratorFactory;
 import com.clemble.test.random.constructor.ClassPropertySetterRegistry;
 
+import java.lang.reflect.Array;
 import java.lang.reflect.Parameter;
 import java.util.function.Supplier;
 
@@ -24,12 +25,21 @@ public class RandomValueGeneratorFactory extends AbstractValueGeneratorFactory {
     @Override
     @SuppressWarnings({ "rawtypes", "unchecked" })
     protected Supplier arrayValueGenerator(Class klass) {
-        final Supplier valueGenerator = get(klass.getComponentType());
+        final Class<?> componentType = klass.getComponentType();
+        final Supplier valueGenerator = get(componentType);
         return () -> {
-            int size = 1 + RandomValueGenerators.RANDOM_UTILS.nextInt(10);
-            Object[] values = new Object[size];
-            for (int i = 0; i < size; i++)
-                values[i] = valueGenerator.get();
+            // Step 1. Creating array of the field type, so it can be set
+            int length = RandomValueGenerators.arrayLength(componentType);
+            Object values = Array.newInstance(componentType, length);
+            // Step 2. Filling array, primitive components are set through Array
+            if (componentType.isPrimitive()) {
+                for (int i = 0; i < length; i++)
+                    Array.set(values, i, valueGenerator.get());
+            } else {
+                Object[] references = (Object[]) values;
+                for (int i = 0; i < length; i++)
+                    references[i] = valueGenerator.get();
+            }
             return values;
         };
     }
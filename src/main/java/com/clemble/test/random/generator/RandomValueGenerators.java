@@ -5,139 +5,130 @@ import java.util.function.Supplier;
 
 import org.apache.commons.lang3.RandomStringUtils;
 
+import com.clemble.test.random.generator.PrimitiveValueGenerators.BooleanValueGenerator;
+import com.clemble.test.random.generator.PrimitiveValueGenerators.ByteValueGenerator;
+import com.clemble.test.random.generator.PrimitiveValueGenerators.CharValueGenerator;
+import com.clemble.test.random.generator.PrimitiveValueGenerators.DoubleValueGenerator;
+import com.clemble.test.random.generator.PrimitiveValueGenerators.FloatValueGenerator;
+import com.clemble.test.random.generator.PrimitiveValueGenerators.IntValueGenerator;
+import com.clemble.test.random.generator.PrimitiveValueGenerators.LongValueGenerator;
+import com.clemble.test.random.generator.PrimitiveValueGenerators.ShortValueGenerator;
 import com.google.common.collect.ImmutableMap;
 
 public abstract class RandomValueGenerators {
 
     /**
      * Generic source of randomness in all value generators (shared for performance reasons).
+     *
+     * @deprecated single shared {@link Random} is a contention point under concurrent generation, built-in value generators
+     *             use {@link #random()} instead.
      */
+    @Deprecated
     final public static Random RANDOM_UTILS = new Random();
 
+    /**
+     * Returns {@link RandomSource} used by all built-in value generators.
+     *
+     * @return {@link RandomSource} in use.
+     */
+    public static RandomSource random() {
+        return RandomSources.get();
+    }
+
+    /**
+     * Returns length of the next generated array, configured with {@link CollectionSizes#registerArray(Class, SizeDistribution)}.
+     *
+     * @param componentType component type of the array.
+     * @return length of the array.
+     */
+    public static int arrayLength(Class<?> componentType) {
+        return Math.max(0, CollectionSizes.getArray(componentType).nextSize());
+    }
+
     /**
      * {@link Boolean} random value generator.
      */
-    final public static Supplier<Boolean> BOOLEAN_VALUE_GENERATOR = () -> RANDOM_UTILS.nextBoolean();
+    final public static BooleanValueGenerator BOOLEAN_VALUE_GENERATOR = () -> random().nextBoolean();
 
     /**
-     * {@link Byte} array random value generator.
+     * {@link Boolean} array random value generator, fills 64 values from a single random long.
      */
-    final public static Supplier<boolean[]> BOOLEAN_ARRAY_VALUE_GENERATOR = () -> {
-        boolean[] resultArray = new boolean[1 + RANDOM_UTILS.nextInt(10)];
-        for (int i = 0; i < resultArray.length; i++)
-            resultArray[i] = BOOLEAN_VALUE_GENERATOR.get();
-        return resultArray;
-    };
+    final public static Supplier<boolean[]> BOOLEAN_ARRAY_VALUE_GENERATOR = () -> fill(new boolean[arrayLength(boolean.class)]);
 
     /**
      * {@link Byte} random value generator.
      */
-    final public static Supplier<Byte> BYTE_VALUE_GENERATOR = () -> (byte) RANDOM_UTILS.nextInt();
+    final public static ByteValueGenerator BYTE_VALUE_GENERATOR = () -> (byte) random().nextInt();
 
     /**
-     * {@link Byte} array random value generator.
+     * {@link Byte} array random value generator, fills array with {@link Random#nextBytes(byte[])}.
      */
-    final public static Supplier<byte[]> BYTE_ARRAY_VALUE_GENERATOR = () -> {
-        byte[] resultArray = new byte[1 + RANDOM_UTILS.nextInt(10)];
-        for (int i = 0; i < resultArray.length; i++)
-            resultArray[i] = BYTE_VALUE_GENERATOR.get();
-        return resultArray;
-    };
+    final public static Supplier<byte[]> BYTE_ARRAY_VALUE_GENERATOR = () -> fill(new byte[arrayLength(byte.class)]);
 
     /**
      * {@link Character} random value generator.
      */
-    final public static Supplier<Character> CHAR_VALUE_GENERATOR = () -> (char) RANDOM_UTILS.nextInt((int) Character.MAX_VALUE);
+    final public static CharValueGenerator CHAR_VALUE_GENERATOR = () -> (char) random().nextInt((int) Character.MAX_VALUE);
 
     /**
-     * {@link Character} array random value generator.
+     * {@link Character} array random value generator, fills 4 values from a single random long.
      */
-    final public static Supplier<char[]> CHAR_ARRAY_VALUE_GENERATOR = () -> {
-        char[] resultArray = new char[1 + RANDOM_UTILS.nextInt(10)];
-        for (int i = 0; i < resultArray.length; i++)
-            resultArray[i] = CHAR_VALUE_GENERATOR.get();
-        return resultArray;
-    };
+    final public static Supplier<char[]> CHAR_ARRAY_VALUE_GENERATOR = () -> fill(new char[arrayLength(char.class)]);
 
     /**
      * {@link Integer} random value generator.
      */
-    final public static Supplier<Integer> INTEGER_VALUE_GENERATOR = () -> RANDOM_UTILS.nextInt();
+    final public static IntValueGenerator INTEGER_VALUE_GENERATOR = () -> random().nextInt();
 
     /**
-     * {@link Integer} array random value generator.
+     * {@link Integer} array random value generator, fills 2 values from a single random long.
      */
-    final public static Supplier<int[]> INTEGER_ARRAY_VALUE_GENERATOR = () -> {
-        int[] resultArray = new int[1 + RANDOM_UTILS.nextInt(10)];
-        for (int i = 0; i < resultArray.length; i++)
-            resultArray[i] = INTEGER_VALUE_GENERATOR.get();
-        return resultArray;
-    };
+    final public static Supplier<int[]> INTEGER_ARRAY_VALUE_GENERATOR = () -> fill(new int[arrayLength(int.class)]);
 
     /**
      * {@link Short} random value generator.
      */
-    final public static Supplier<Short> SHORT_VALUE_GENERATOR = () -> (short) RANDOM_UTILS.nextInt();
+    final public static ShortValueGenerator SHORT_VALUE_GENERATOR = () -> (short) random().nextInt();
 
     /**
-     * {@link Short} array random value generator.
+     * {@link Short} array random value generator, fills 4 values from a single random long.
      */
-    final public static Supplier<short[]> SHORT_ARRAY_VALUE_GENERATOR = () -> {
-        short[] resultArray = new short[1 + RANDOM_UTILS.nextInt(10)];
-        for (int i = 0; i < resultArray.length; i++)
-            resultArray[i] = SHORT_VALUE_GENERATOR.get();
-        return resultArray;
-    };
+    final public static Supplier<short[]> SHORT_ARRAY_VALUE_GENERATOR = () -> fill(new short[arrayLength(short.class)]);
 
     /**
      * {@link Long} random value generator.
      */
-    final public static Supplier<Long> LONG_VALUE_GENERATOR = () -> RANDOM_UTILS.nextLong();
+    final public static LongValueGenerator LONG_VALUE_GENERATOR = () -> random().nextLong();
 
     /**
      * {@link Long} array random value generator.
      */
-    final public static Supplier<long[]> LONG_ARRAY_VALUE_GENERATOR = () -> {
-        long[] resultArray = new long[1 + RANDOM_UTILS.nextInt(10)];
-        for (int i = 0; i < resultArray.length; i++)
-            resultArray[i] = LONG_VALUE_GENERATOR.get();
-        return resultArray;
-    };
+    final public static Supplier<long[]> LONG_ARRAY_VALUE_GENERATOR = () -> fill(new long[arrayLength(long.class)]);
 
     /**
      * {@link Float} random value generator.
      */
-    final public static Supplier<Float> FLOAT_VALUE_GENERATOR = () -> RANDOM_UTILS.nextFloat();
+    final public static FloatValueGenerator FLOAT_VALUE_GENERATOR = () -> random().nextFloat();
 
     /**
      * {@link Float} array random value generator.
      */
-    final public static Supplier<float[]> FLOAT_ARRAY_VALUE_GENERATOR = () -> {
-        float[] resultArray = new float[1 + RANDOM_UTILS.nextInt(10)];
-        for (int i = 0; i < resultArray.length; i++)
-            resultArray[i] = LONG_VALUE_GENERATOR.get();
-        return resultArray;
-    };
+    final public static Supplier<float[]> FLOAT_ARRAY_VALUE_GENERATOR = () -> fill(new float[arrayLength(float.class)]);
 
     /**
      * {@link Double} random value generator.
      */
-    final public static Supplier<Double> DOUBLE_VALUE_GENERATOR = () -> RANDOM_UTILS.nextDouble();
+    final public static DoubleValueGenerator DOUBLE_VALUE_GENERATOR = () -> random().nextDouble();
 
     /**
      * {@link Double} array random value generator.
      */
-    final public static Supplier<double[]> DOUBLE_ARRAY_VALUE_GENERATOR = () -> {
-        double[] resultArray = new double[1 + RANDOM_UTILS.nextInt(10)];
-        for (int i = 0; i < resultArray.length; i++)
-            resultArray[i] = LONG_VALUE_GENERATOR.get();
-        return resultArray;
-    };
+    final public static Supplier<double[]> DOUBLE_ARRAY_VALUE_GENERATOR = () -> fill(new double[arrayLength(double.class)]);
 
     /**
-     * {@link String} generates random String of 10 characters long.
+     * {@link String} generates random printable ASCII String of 10 characters long.
      */
-    final public static Supplier<String> STRING_VALUE_GENERATOR = () -> RandomStringUtils.randomAscii(10);
+    final public static Supplier<String> STRING_VALUE_GENERATOR = StringGenerator.ascii(SizeDistribution.fixed(10));
 
     /**
      * Generates random selection from list of enums
@@ -164,7 +155,7 @@ public abstract class RandomValueGenerators {
         final List<T> randomValues = new ArrayList<T>();
         for (T value : iterable)
             randomValues.add(value);
-        return () -> randomValues.get(RANDOM_UTILS.nextInt(randomValues.size()));
+        return () -> randomValues.get(random().nextInt(randomValues.size()));
     }
 
     /**
@@ -177,7 +168,45 @@ public abstract class RandomValueGenerators {
     final public static Supplier<String> randomString(final int length) {
         if (length <= 0)
             throw new IllegalArgumentException("Length must be possitive");
-        return () -> RandomStringUtils.random(length);
+        return () -> RandomStringUtils.random(length, 0, 0, false, false, null, random().asRandom());
+    }
+
+    /**
+     * Generates random {@link String} generator of the Latin-1 alphabet, with length from {@link SizeDistribution}.
+     * 
+     * @param alphabet
+     *            characters to use.
+     * @param length
+     *            {@link SizeDistribution} of the length.
+     * @return random {@link String} of the alphabet.
+     */
+    final public static Supplier<String> randomString(final String alphabet, final SizeDistribution length) {
+        return new StringGenerator(alphabet, length);
+    }
+
+    /**
+     * Generates random {@link String} generator, that produces {@link String}s matching regular expression, expression is
+     * compiled once into {@link RegexGenerator}.
+     * 
+     * @param regex
+     *            regular expression to match.
+     * @return random {@link String} matching the expression.
+     */
+    final public static Supplier<String> randomRegexString(final String regex) {
+        return new RegexGenerator(regex);
+    }
+
+    /**
+     * Generates random {@link String} generator, that produces {@link String}s matching regular expression.
+     * 
+     * @param regex
+     *            regular expression to match.
+     * @param caseInsensitive
+     *            whether letters match in both cases.
+     * @return random {@link String} matching the expression.
+     */
+    final public static Supplier<String> randomRegexString(final String regex, final boolean caseInsensitive) {
+        return new RegexGenerator(regex, caseInsensitive, RegexGenerator.DEFAULT_SOFT_LENGTH);
     }
 
     /**
@@ -190,7 +219,7 @@ public abstract class RandomValueGenerators {
     final public static Supplier<String> randomAlphabeticString(final int length) {
         if (length <= 0)
             throw new IllegalArgumentException("Length must be possitive");
-        return () -> RandomStringUtils.randomAlphabetic(length);
+        return StringGenerator.alphabetic(SizeDistribution.fixed(length));
     }
 
     /**
@@ -203,7 +232,7 @@ public abstract class RandomValueGenerators {
     final public static Supplier<String> randomAlphanumericString(final int length) {
         if (length <= 0)
             throw new IllegalArgumentException("Length must be possitive");
-        return () -> RandomStringUtils.randomAlphanumeric(length);
+        return StringGenerator.alphanumeric(SizeDistribution.fixed(length));
     }
 
     /**
@@ -216,7 +245,110 @@ public abstract class RandomValueGenerators {
     final public static Supplier<String> randomAsciiString(final int length) {
         if (length <= 0)
             throw new IllegalArgumentException("Length must be possitive");
-        return () -> RandomStringUtils.randomAscii(length);
+        return StringGenerator.ascii(SizeDistribution.fixed(length));
+    }
+
+    /**
+     * Generates primitive array generator, with length from {@link SizeDistribution}, array is filled in bulk, the same
+     * way as default primitive array generators.
+     *
+     * @param componentType
+     *            primitive component type of the array.
+     * @param length
+     *            {@link SizeDistribution} of the array length.
+     * @return random primitive array.
+     */
+    final public static Supplier<?> randomPrimitiveArray(final Class<?> componentType, final SizeDistribution length) {
+        if (componentType == boolean.class)
+            return () -> fill(new boolean[Math.max(0, length.nextSize())]);
+        if (componentType == byte.class)
+            return () -> fill(new byte[Math.max(0, length.nextSize())]);
+        if (componentType == char.class)
+            return () -> fill(new char[Math.max(0, length.nextSize())]);
+        if (componentType == short.class)
+            return () -> fill(new short[Math.max(0, length.nextSize())]);
+        if (componentType == int.class)
+            return () -> fill(new int[Math.max(0, length.nextSize())]);
+        if (componentType == long.class)
+            return () -> fill(new long[Math.max(0, length.nextSize())]);
+        if (componentType == float.class)
+            return () -> fill(new float[Math.max(0, length.nextSize())]);
+        if (componentType == double.class)
+            return () -> fill(new double[Math.max(0, length.nextSize())]);
+        throw new IllegalArgumentException("Not a primitive type " + componentType);
+    }
+
+    private static boolean[] fill(final boolean[] resultArray) {
+        Random random = random().asRandom();
+        // Step 1. Taking 64 values from a single long
+        for (int i = 0; i < resultArray.length; i += 64) {
+            long bits = random.nextLong();
+            for (int j = i, end = Math.min(i + 64, resultArray.length); j < end; j++, bits >>>= 1)
+                resultArray[j] = (bits & 1) != 0;
+        }
+        return resultArray;
+    }
+
+    private static byte[] fill(final byte[] resultArray) {
+        random().asRandom().nextBytes(resultArray);
+        return resultArray;
+    }
+
+    private static char[] fill(final char[] resultArray) {
+        Random random = random().asRandom();
+        // Step 1. Taking 4 values from a single long
+        for (int i = 0; i < resultArray.length; i += 4) {
+            long bits = random.nextLong();
+            for (int j = i, end = Math.min(i + 4, resultArray.length); j < end; j++, bits >>>= 16)
+                resultArray[j] = (char) bits;
+        }
+        return resultArray;
+    }
+
+    private static int[] fill(final int[] resultArray) {
+        Random random = random().asRandom();
+        // Step 1. Taking 2 values from a single long
+        int i = 0;
+        for (; i + 1 < resultArray.length; i += 2) {
+            long bits = random.nextLong();
+            resultArray[i] = (int) bits;
+            resultArray[i + 1] = (int) (bits >>> 32);
+        }
+        if (i < resultArray.length)
+            resultArray[i] = random.nextInt();
+        return resultArray;
+    }
+
+    private static short[] fill(final short[] resultArray) {
+        Random random = random().asRandom();
+        // Step 1. Taking 4 values from a single long
+        for (int i = 0; i < resultArray.length; i += 4) {
+            long bits = random.nextLong();
+            for (int j = i, end = Math.min(i + 4, resultArray.length); j < end; j++, bits >>>= 16)
+                resultArray[j] = (short) bits;
+        }
+        return resultArray;
+    }
+
+    private static long[] fill(final long[] resultArray) {
+        Random random = random().asRandom();
+        for (int i = 0; i < resultArray.length; i++)
+            resultArray[i] = random.nextLong();
+        return resultArray;
+    }
+
+    private static float[] fill(final float[] resultArray) {
+        Random random = random().asRandom();
+        for (int i = 0; i < resultArray.length; i++)
+            resultArray[i] = random.nextFloat();
+        return resultArray;
+    }
+
+    private static double[] fill(final double[] resultArray) {
+        Random random = random().asRandom();
+        for (int i = 0; i < resultArray.length; i++)
+            resultArray[i] = random.nextDouble();
+        return resultArray;
     }
 
     /**
@@ -0,0 +1,227 @@
+package com.clemble.test.random.generator;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.util.function.Supplier;
+
+/**
+ * Back reference to a {@link Class}, that is used while resolving its own plan (trees, parent/child links, linked nodes).
+ * Reference is bound to the resolved plan, and generates values, while generation budget is not exhausted, after that it
+ * returns <code>null</code>, so recursive properties stay empty and collections get no more elements.
+ * <p>
+ * Budget is counted per generated root: maximum number of nested recursive values on the path from the root and maximum
+ * number of recursive values in the root. Defaults can be changed with -Dobject.generator.maxDepth and
+ * -Dobject.generator.maxNodes. Types without cycles are not affected.
+ *
+ * @author Anton Oparin
+ *
+ * @param <T>
+ *            referenced {@link Class}.
+ */
+final public class RecursiveValueGenerator<T> implements Supplier<T> {
+
+    final private static int DEPTH = 0;
+    final private static int NODES = 1;
+    final private static int ROOTS = 2;
+
+    /**
+     * Current depth, number of generated recursive values and number of roots in progress in the current thread.
+     */
+    final private static ThreadLocal<int[]> BUDGET = ThreadLocal.withInitial(() -> new int[3]);
+
+    private static volatile int maxDepth = Integer.getInteger("object.generator.maxDepth", 3);
+
+    private static volatile int maxNodes = Integer.getInteger("object.generator.maxNodes", 1024);
+
+    /**
+     * Referenced {@link Class}.
+     */
+    final private Class<T> referencedClass;
+    /**
+     * Resolved plan, <code>null</code> until resolution completes.
+     */
+    private volatile Supplier<T> valueGenerator;
+    /**
+     * Marks that plan of the class references itself.
+     */
+    private volatile boolean referenced;
+
+    public RecursiveValueGenerator(final Class<T> referencedClass) {
+        this.referencedClass = checkNotNull(referencedClass);
+    }
+
+    public Class<T> getReferencedClass() {
+        return referencedClass;
+    }
+
+    /**
+     * Returns this reference, for use in the plan being resolved.
+     *
+     * @return this {@link RecursiveValueGenerator}.
+     */
+    public RecursiveValueGenerator<T> reference() {
+        referenced = true;
+        return this;
+    }
+
+    /**
+     * Binds reference to the resolved plan.
+     *
+     * @param resolvedValueGenerator resolved plan of the referenced class.
+     * @return {@link Supplier} to use for the class, plan itself if it has no back references, or plan that starts new
+     *         generation budget otherwise.
+     */
+    public Supplier<T> bind(final Supplier<T> resolvedValueGenerator) {
+        this.valueGenerator = checkNotNull(resolvedValueGenerator);
+        return referenced ? new Root<T>(resolvedValueGenerator) : resolvedValueGenerator;
+    }
+
+    @Override
+    public T get() {
+        // Step 1. Plan is still resolving, trial constructions get no value
+        Supplier<T> target = valueGenerator;
+        if (target == null)
+            return null;
+        // Step 2. Checking budget
+        int[] budget = BUDGET.get();
+        if (budget[DEPTH] >= maxDepth || budget[NODES] >= maxNodes)
+            return null;
+        // Step 3. Generating nested value
+        return generate(target, budget);
+    }
+
+    private T generate(final Supplier<T> target, final int[] budget) {
+        if (budget[DEPTH]++ == 0 && budget[ROOTS] == 0)
+            budget[NODES] = 0;
+        budget[NODES]++;
+        try {
+            return target.get();
+        } finally {
+            budget[DEPTH]--;
+        }
+    }
+
+    /**
+     * Returns reference for a required ({@link javax.validation.constraints.NotNull}) property, that is generated after the
+     * budget is exhausted, only optional recursive properties of the value are left empty. Required references, that never
+     * reach an optional one, can't end, so generation fails, when they exceed the budget twice.
+     *
+     * @return required reference to the class.
+     */
+    public Supplier<T> required() {
+        return new Required<T>(this);
+    }
+
+    /**
+     * Checks, that failure is caused by required references, that never end. Such failure must reach the caller, instead
+     * of leaving the property empty.
+     *
+     * @param throwable generation failure.
+     * @return <code>true</code> if generation of required references failed.
+     */
+    public static boolean isUnfinished(Throwable throwable) {
+        for (; throwable != null; throwable = throwable.getCause())
+            if (throwable instanceof Unfinished)
+                return true;
+        return false;
+    }
+
+    public static int getMaxDepth() {
+        return maxDepth;
+    }
+
+    /**
+     * @param depth maximum number of nested recursive values on the path from the generated root.
+     */
+    public static void setMaxDepth(final int depth) {
+        if (depth < 0)
+            throw new IllegalArgumentException("Depth must be non negative");
+        maxDepth = depth;
+    }
+
+    public static int getMaxNodes() {
+        return maxNodes;
+    }
+
+    /**
+     * @param nodes maximum number of recursive values in a single generated root.
+     */
+    public static void setMaxNodes(final int nodes) {
+        if (nodes < 0)
+            throw new IllegalArgumentException("Number of nodes must be non negative");
+        maxNodes = nodes;
+    }
+
+    @Override
+    public String toString() {
+        return "recursive " + referencedClass.getName();
+    }
+
+    /**
+     * Reference for a required property, that is generated regardless of the budget.
+     */
+    final private static class Required<T> implements Supplier<T> {
+
+        final private RecursiveValueGenerator<T> reference;
+
+        private Required(final RecursiveValueGenerator<T> reference) {
+            this.reference = reference;
+        }
+
+        @Override
+        public T get() {
+            Supplier<T> target = reference.valueGenerator;
+            if (target == null)
+                return null;
+            int[] budget = BUDGET.get();
+            if (budget[DEPTH] >= 2 * maxDepth + 1 || budget[NODES] >= 2 * maxNodes + 1)
+                throw new Unfinished("Required reference to " + reference.referencedClass.getName() + " does not end within the generation budget");
+            return reference.generate(target, budget);
+        }
+
+        @Override
+        public String toString() {
+            return "required " + reference;
+        }
+
+    }
+
+    /**
+     * Failure of required references, that don't end within the budget.
+     */
+    final private static class Unfinished extends IllegalStateException {
+
+        private static final long serialVersionUID = 1L;
+
+        private Unfinished(final String message) {
+            super(message);
+        }
+
+    }
+
+    /**
+     * Plan of the recursive class, that starts new generation budget, when it is used as a root.
+     */
+    final private static class Root<T> implements Supplier<T> {
+
+        final private Supplier<T> valueGenerator;
+
+        private Root(final Supplier<T> valueGenerator) {
+            this.valueGenerator = valueGenerator;
+        }
+
+        @Override
+        public T get() {
+            int[] budget = BUDGET.get();
+            if (budget[ROOTS]++ == 0 && budget[DEPTH] == 0)
+                budget[NODES] = 0;
+            try {
+                return valueGenerator.get();
+            } finally {
+                budget[ROOTS]--;
+            }
+        }
+
+    }
+
+}
@@ -0,0 +1,771 @@
+package com.clemble.test.random.generator;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Generates random {@link String}s, matching regular expression. Expression is compiled once into a DFA (regex is parsed,
+ * compiled into NFA, which is converted to DFA with subset construction), each DFA state keeps precomputed transition
+ * tables: distinct next states, Latin-1 characters leading to each of them, and distance to the closest accepting state.
+ * Generation is a single random walk over the tables, at each state next state (or stop, if the state is accepting) is
+ * chosen uniformly, and then a character leading to it. After soft length limit walk takes only the shortest way to the
+ * accepting state, so unbounded repetitions stay short, and result always matches.
+ * <p>
+ * Supported syntax: literals, escapes ({@code \d \D \w \W \s \S \t \n \r \f \xhh \\uhhhh \Q..\E}), {@code .}, character
+ * classes with ranges, negation and {@code \p{Alpha}} like POSIX classes, groups (capturing, non capturing, named),
+ * alternation, greedy, lazy and possessive quantifiers, {@code (?i)} flag. Anchors and word boundaries are ignored,
+ * lookarounds and back references are not supported. Only Latin-1 characters are generated, {@code .} and negated classes
+ * use printable ASCII characters, other characters are dropped from classes and ranges, and expression, that matches no
+ * Latin-1 {@link String}, is rejected.
+ *
+ * @author Anton Oparin
+ */
+final public class RegexGenerator implements Supplier<String> {
+
+    /**
+     * Default soft length limit of generated {@link String}s.
+     */
+    final public static int DEFAULT_SOFT_LENGTH = 32;
+
+    /**
+     * Maximum number of DFA states.
+     */
+    final private static int MAX_STATES = 10_000;
+
+    /**
+     * Printable ASCII characters, used by '.' and negated classes.
+     */
+    final private static BitSet PRINTABLE = range(' ', '~');
+
+    /**
+     * Reusable buffer of the current thread.
+     */
+    final private static ThreadLocal<byte[][]> BUFFER = ThreadLocal.withInitial(() -> new byte[][] { new byte[64] });
+
+    /**
+     * Source regular expression.
+     */
+    final private String regex;
+    /**
+     * Soft length limit, after which walk goes to the closest accepting state.
+     */
+    final private int softLength;
+    /**
+     * Accepting DFA states.
+     */
+    final private boolean[] accepting;
+    /**
+     * Distinct next states of each DFA state.
+     */
+    final private int[][] targets;
+    /**
+     * Characters, leading to each next state.
+     */
+    final private byte[][][] symbols;
+    /**
+     * Indexes of next states, that are closer to the accepting state.
+     */
+    final private int[][] closer;
+
+    public RegexGenerator(final String regex) {
+        this(regex, false, DEFAULT_SOFT_LENGTH);
+    }
+
+    /**
+     * Default constructor.
+     *
+     * @param regex regular expression to match.
+     * @param caseInsensitive whether letters match in both cases.
+     * @param softLength length, after which unbounded repetitions stop as soon as possible.
+     */
+    public RegexGenerator(final String regex, final boolean caseInsensitive, final int softLength) {
+        if (softLength < 0)
+            throw new IllegalArgumentException("Soft length must be non negative");
+        this.regex = checkNotNull(regex);
+        this.softLength = softLength;
+        // Step 1. Parsing expression and compiling it into NFA
+        Nfa nfa = new Nfa();
+        int start = nfa.state();
+        int accept = new Parser(regex, caseInsensitive).parse().compile(nfa, start);
+        // Step 2. Converting NFA to DFA with subset construction
+        List<BitSet> states = new ArrayList<BitSet>();
+        List<int[]> transitions = new ArrayList<int[]>();
+        Map<BitSet, Integer> stateIds = new HashMap<BitSet, Integer>();
+        BitSet initial = nfa.closure(singleton(start));
+        states.add(initial);
+        stateIds.put(initial, 0);
+        for (int state = 0; state < states.size(); state++) {
+            BitSet current = states.get(state);
+            int[] next = new int[256];
+            Arrays.fill(next, -1);
+            for (int symbol = 0; symbol < 256; symbol++) {
+                BitSet move = nfa.move(current, symbol);
+                if (move.isEmpty())
+                    continue;
+                BitSet target = nfa.closure(move);
+                Integer targetId = stateIds.get(target);
+                if (targetId == null) {
+                    if (states.size() == MAX_STATES)
+                        throw new IllegalArgumentException("Regular expression is too complex " + regex);
+                    targetId = states.size();
+                    states.add(target);
+                    stateIds.put(target, targetId);
+                }
+                next[symbol] = targetId;
+            }
+            transitions.add(next);
+        }
+        // Step 3. Calculating distance to the closest accepting state, with reverse BFS from accepting states
+        int size = states.size();
+        this.accepting = new boolean[size];
+        int[] distance = new int[size];
+        List<List<Integer>> sources = new ArrayList<List<Integer>>(size);
+        Deque<Integer> queue = new ArrayDeque<Integer>();
+        for (int state = 0; state < size; state++) {
+            sources.add(new ArrayList<Integer>());
+            accepting[state] = states.get(state).get(accept);
+            distance[state] = accepting[state] ? 0 : Integer.MAX_VALUE;
+            if (accepting[state])
+                queue.add(state);
+        }
+        BitSet linked = new BitSet(size);
+        for (int state = 0; state < size; state++) {
+            linked.clear();
+            for (int target : transitions.get(state))
+                if (target >= 0 && !linked.get(target)) {
+                    linked.set(target);
+                    sources.get(target).add(state);
+                }
+        }
+        while (!queue.isEmpty()) {
+            int target = queue.poll();
+            for (int source : sources.get(target))
+                if (distance[source] == Integer.MAX_VALUE) {
+                    distance[source] = distance[target] + 1;
+                    queue.add(source);
+                }
+        }
+        if (distance[0] == Integer.MAX_VALUE)
+            throw new IllegalArgumentException("Regular expression matches no Latin-1 string " + regex);
+        // Step 4. Building transition tables, states that can't reach accepting state are dropped
+        this.targets = new int[size][];
+        this.symbols = new byte[size][][];
+        this.closer = new int[size][];
+        for (int state = 0; state < size; state++) {
+            int[] next = transitions.get(state);
+            List<Integer> stateTargets = new ArrayList<Integer>();
+            List<BitSet> stateSymbols = new ArrayList<BitSet>();
+            for (int symbol = 0; symbol < 256; symbol++) {
+                if (next[symbol] < 0 || distance[next[symbol]] == Integer.MAX_VALUE)
+                    continue;
+                int index = stateTargets.indexOf(next[symbol]);
+                if (index < 0) {
+                    index = stateTargets.size();
+                    stateTargets.add(next[symbol]);
+                    stateSymbols.add(new BitSet(256));
+                }
+                stateSymbols.get(index).set(symbol);
+            }
+            targets[state] = new int[stateTargets.size()];
+            symbols[state] = new byte[stateTargets.size()][];
+            List<Integer> stateCloser = new ArrayList<Integer>();
+            for (int index = 0; index < stateTargets.size(); index++) {
+                targets[state][index] = stateTargets.get(index);
+                symbols[state][index] = toBytes(stateSymbols.get(index));
+                if (distance[stateTargets.get(index)] < distance[state])
+                    stateCloser.add(index);
+            }
+            closer[state] = stateCloser.stream().mapToInt(Integer::intValue).toArray();
+        }
+    }
+
+    public String getRegex() {
+        return regex;
+    }
+
+    @Override
+    public String get() {
+        RandomSource random = RandomSources.get();
+        byte[][] holder = BUFFER.get();
+        byte[] buffer = holder[0];
+        int length = 0;
+        int state = 0;
+        while (true) {
+            int[] stateTargets = targets[state];
+            int index;
+            // Step 1. Choosing next state, or stopping in accepting state
+            if (length < softLength) {
+                int options = stateTargets.length + (accepting[state] ? 1 : 0);
+                index = random.nextInt(options);
+                if (index == stateTargets.length)
+                    break;
+            } else if (accepting[state]) {
+                break;
+            } else {
+                int[] stateCloser = closer[state];
+                index = stateCloser[stateCloser.length == 1 ? 0 : random.nextInt(stateCloser.length)];
+            }
+            // Step 2. Appending character, leading to the next state
+            byte[] stateSymbols = symbols[state][index];
+            if (length == buffer.length)
+                holder[0] = buffer = Arrays.copyOf(buffer, buffer.length << 1);
+            buffer[length++] = stateSymbols[stateSymbols.length == 1 ? 0 : random.nextInt(stateSymbols.length)];
+            state = stateTargets[index];
+        }
+        // Step 3. Creating Latin-1 String
+        return new String(buffer, 0, length, StandardCharsets.ISO_8859_1);
+    }
+
+    @Override
+    public String toString() {
+        return "RegexGenerator[" + regex + "]";
+    }
+
+    private static BitSet singleton(final int value) {
+        BitSet set = new BitSet();
+        set.set(value);
+        return set;
+    }
+
+    private static BitSet range(final char first, final char last) {
+        BitSet set = new BitSet(256);
+        set.set(first, last + 1);
+        return set;
+    }
+
+    private static byte[] toBytes(final BitSet set) {
+        byte[] bytes = new byte[set.cardinality()];
+        for (int symbol = set.nextSetBit(0), i = 0; symbol >= 0; symbol = set.nextSetBit(symbol + 1))
+            bytes[i++] = (byte) symbol;
+        return bytes;
+    }
+
+    /**
+     * NFA with epsilon transitions and character set transitions.
+     */
+    final private static class Nfa {
+
+        final private List<List<Integer>> epsilons = new ArrayList<List<Integer>>();
+        final private List<List<BitSet>> edgeSymbols = new ArrayList<List<BitSet>>();
+        final private List<List<Integer>> edgeTargets = new ArrayList<List<Integer>>();
+
+        private int state() {
+            epsilons.add(new ArrayList<Integer>(2));
+            edgeSymbols.add(new ArrayList<BitSet>(1));
+            edgeTargets.add(new ArrayList<Integer>(1));
+            return epsilons.size() - 1;
+        }
+
+        private void epsilon(final int from, final int to) {
+            epsilons.get(from).add(to);
+        }
+
+        private void edge(final int from, final BitSet symbols, final int to) {
+            edgeSymbols.get(from).add(symbols);
+            edgeTargets.get(from).add(to);
+        }
+
+        private BitSet closure(final BitSet states) {
+            BitSet closure = (BitSet) states.clone();
+            Deque<Integer> pending = new ArrayDeque<Integer>();
+            for (int state = states.nextSetBit(0); state >= 0; state = states.nextSetBit(state + 1))
+                pending.push(state);
+            while (!pending.isEmpty())
+                for (int next : epsilons.get(pending.pop()))
+                    if (!closure.get(next)) {
+                        closure.set(next);
+                        pending.push(next);
+                    }
+            return closure;
+        }
+
+        private BitSet move(final BitSet states, final int symbol) {
+            BitSet move = new BitSet();
+            for (int state = states.nextSetBit(0); state >= 0; state = states.nextSetBit(state + 1)) {
+                List<BitSet> symbols = edgeSymbols.get(state);
+                for (int i = 0; i < symbols.size(); i++)
+                    if (symbols.get(i).get(symbol))
+                        move.set(edgeTargets.get(state).get(i));
+            }
+            return move;
+        }
+
+    }
+
+    /**
+     * Parsed regular expression.
+     */
+    private static interface Node {
+
+        /**
+         * Adds NFA states of the node.
+         *
+         * @param nfa target {@link Nfa}.
+         * @param from state to start from.
+         * @return final state of the node.
+         */
+        int compile(Nfa nfa, int from);
+
+    }
+
+    final private static class Symbols implements Node {
+
+        final private BitSet symbols;
+
+        private Symbols(final BitSet symbols) {
+            this.symbols = symbols;
+        }
+
+        @Override
+        public int compile(final Nfa nfa, final int from) {
+            int to = nfa.state();
+            nfa.edge(from, symbols, to);
+            return to;
+        }
+
+    }
+
+    final private static class Sequence implements Node {
+
+        final private List<Node> nodes;
+
+        private Sequence(final List<Node> nodes) {
+            this.nodes = nodes;
+        }
+
+        @Override
+        public int compile(final Nfa nfa, final int from) {
+            int current = from;
+            for (Node node : nodes)
+                current = node.compile(nfa, current);
+            return current;
+        }
+
+    }
+
+    final private static class Alternation implements Node {
+
+        final private List<Node> branches;
+
+        private Alternation(final List<Node> branches) {
+            this.branches = branches;
+        }
+
+        @Override
+        public int compile(final Nfa nfa, final int from) {
+            int to = nfa.state();
+            for (Node branch : branches) {
+                int start = nfa.state();
+                nfa.epsilon(from, start);
+                nfa.epsilon(branch.compile(nfa, start), to);
+            }
+            return to;
+        }
+
+    }
+
+    final private static class Repetition implements Node {
+
+        final private Node node;
+        final private int min;
+        final private int max;
+
+        private Repetition(final Node node, final int min, final int max) {
+            this.node = node;
+            this.min = min;
+            this.max = max;
+        }
+
+        @Override
+        public int compile(final Nfa nfa, final int from) {
+            // Step 1. Mandatory repetitions
+            int current = from;
+            for (int i = 0; i < min; i++)
+                current = node.compile(nfa, current);
+            int to = nfa.state();
+            if (max < 0) {
+                // Step 2.1. Unbounded repetitions loop
+                int loop = nfa.state();
+                nfa.epsilon(current, loop);
+                nfa.epsilon(node.compile(nfa, loop), loop);
+                nfa.epsilon(loop, to);
+            } else {
+                // Step 2.2. Optional repetitions, each can be the last one
+                for (int i = min; i < max; i++) {
+                    nfa.epsilon(current, to);
+                    current = node.compile(nfa, current);
+                }
+                nfa.epsilon(current, to);
+            }
+            return to;
+        }
+
+    }
+
+    /**
+     * Recursive descent parser of the regular expression.
+     */
+    final private static class Parser {
+
+        final private static int MAX_REPETITIONS = 1000;
+
+        final private String regex;
+        private boolean caseInsensitive;
+        private int position;
+
+        private Parser(final String regex, final boolean caseInsensitive) {
+            this.regex = regex;
+            this.caseInsensitive = caseInsensitive;
+        }
+
+        private Node parse() {
+            Node node = alternation();
+            if (position < regex.length())
+                throw error("Unmatched ')'");
+            return node;
+        }
+
+        private Node alternation() {
+            List<Node> branches = new ArrayList<Node>();
+            branches.add(sequence());
+            while (position < regex.length() && regex.charAt(position) == '|') {
+                position++;
+                branches.add(sequence());
+            }
+            return branches.size() == 1 ? branches.get(0) : new Alternation(branches);
+        }
+
+        private Node sequence() {
+            List<Node> nodes = new ArrayList<Node>();
+            while (position < regex.length() && regex.charAt(position) != '|' && regex.charAt(position) != ')') {
+                Node atom = atom();
+                if (atom != null)
+                    nodes.add(quantified(atom));
+            }
+            return nodes.size() == 1 ? nodes.get(0) : new Sequence(nodes);
+        }
+
+        private Node quantified(Node atom) {
+            while (position < regex.length()) {
+                char quantifier = regex.charAt(position);
+                if (quantifier == '*') {
+                    atom = new Repetition(atom, 0, -1);
+                } else if (quantifier == '+') {
+                    atom = new Repetition(atom, 1, -1);
+                } else if (quantifier == '?') {
+                    atom = new Repetition(atom, 0, 1);
+                } else if (quantifier == '{') {
+                    int end = regex.indexOf('}', position);
+                    if (end < 0)
+                        throw error("Unclosed repetition");
+                    String[] bounds = regex.substring(position + 1, end).split(",", -1);
+                    try {
+                        int min = Integer.parseInt(bounds[0].trim());
+                        int max = bounds.length == 1 ? min : bounds[1].trim().isEmpty() ? -1 : Integer.parseInt(bounds[1].trim());
+                        if (bounds.length > 2 || min < 0 || (max >= 0 && max < min) || Math.max(min, max) > MAX_REPETITIONS)
+                            throw error("Illegal repetition");
+                        atom = new Repetition(atom, min, max);
+                    } catch (NumberFormatException numberFormatException) {
+                        throw error("Illegal repetition");
+                    }
+                    position = end;
+                } else {
+                    return atom;
+                }
+                position++;
+                // Lazy and possessive quantifiers generate the same strings
+                if (position < regex.length() && (regex.charAt(position) == '?' || regex.charAt(position) == '+'))
+                    position++;
+            }
+            return atom;
+        }
+
+        private Node atom() {
+            char character = regex.charAt(position++);
+            switch (character) {
+            case '^':
+            case '$':
+                return null;
+            case '.':
+                return new Symbols(PRINTABLE);
+            case '(':
+                return group();
+            case '[':
+                return new Symbols(characterClass());
+            case '*':
+            case '+':
+            case '?':
+            case '{':
+                throw error("Dangling quantifier");
+            case '\\':
+                return escape();
+            default:
+                return new Symbols(literal(character));
+            }
+        }
+
+        private Node group() {
+            boolean groupCaseInsensitive = caseInsensitive;
+            if (regex.startsWith("?", position)) {
+                position++;
+                if (regex.startsWith("<", position) && !regex.startsWith("<=", position) && !regex.startsWith("<!", position)) {
+                    // Step 1. Named group
+                    position = regex.indexOf('>', position) + 1;
+                    if (position == 0)
+                        throw error("Unclosed group name");
+                } else {
+                    // Step 2. Flags, only case insensitivity is taken into account
+                    boolean enable = true;
+                    boolean flags = true;
+                    while (flags && position < regex.length()) {
+                        char flag = regex.charAt(position);
+                        if (flag == '-') {
+                            enable = false;
+                        } else if (flag == 'i') {
+                            caseInsensitive = enable;
+                        } else if (flag == ')') {
+                            // Flags apply to the rest of the enclosing group
+                            position++;
+                            return null;
+                        } else if (flag == ':') {
+                            flags = false;
+                        } else if (!Character.isLetter(flag)) {
+                            throw error("Lookarounds are not supported");
+                        }
+                        position++;
+                    }
+                }
+            }
+            Node node = alternation();
+            if (position >= regex.length() || regex.charAt(position) != ')')
+                throw error("Unclosed group");
+            position++;
+            caseInsensitive = groupCaseInsensitive;
+            return node;
+        }
+
+        private Node escape() {
+            if (position >= regex.length())
+                throw error("Unfinished escape");
+            char character = regex.charAt(position);
+            switch (character) {
+            case 'b':
+            case 'B':
+            case 'A':
+            case 'z':
+            case 'Z':
+            case 'G':
+                position++;
+                return null;
+            case 'Q':
+                int end = regex.indexOf("\\E", position);
+                String quoted = regex.substring(position + 1, end < 0 ? regex.length() : end);
+                position = end < 0 ? regex.length() : end + 2;
+                List<Node> nodes = new ArrayList<Node>();
+                for (char literal : quoted.toCharArray())
+                    nodes.add(new Symbols(literal(literal)));
+                return new Sequence(nodes);
+            default:
+                if (character >= '1' && character <= '9')
+                    throw error("Back references are not supported");
+                return new Symbols(escapeSymbols());
+            }
+        }
+
+        private BitSet escapeSymbols() {
+            char character = regex.charAt(position++);
+            switch (character) {
+            case 'd':
+                return range('0', '9');
+            case 'D':
+                return negate(range('0', '9'));
+            case 'w':
+                return word();
+            case 'W':
+                return negate(word());
+            case 's':
+                return whitespace();
+            case 'S':
+                return negate(whitespace());
+            case 'p':
+                return posix();
+            case 'P':
+                return negate(posix());
+            default:
+                position--;
+                return literal(escapeCharacter());
+            }
+        }
+
+        private char escapeCharacter() {
+            char character = regex.charAt(position++);
+            switch (character) {
+            case 't':
+                return '\t';
+            case 'n':
+                return '\n';
+            case 'r':
+                return '\r';
+            case 'f':
+                return '\f';
+            case 'a':
+                return '\u0007';
+            case 'e':
+                return '\u001B';
+            case 'x':
+                return hex(2);
+            case 'u':
+                return hex(4);
+            default:
+                if (Character.isLetterOrDigit(character))
+                    throw error("Unsupported escape \\" + character);
+                return character;
+            }
+        }
+
+        private BitSet characterClass() {
+            BitSet symbols = new BitSet(256);
+            boolean negated = regex.startsWith("^", position);
+            if (negated)
+                position++;
+            boolean first = true;
+            while (true) {
+                if (position >= regex.length())
+                    throw error("Unclosed character class");
+                char character = regex.charAt(position++);
+                if (character == ']' && !first)
+                    break;
+                first = false;
+                if (character == '[') {
+                    symbols.or(characterClass());
+                } else if (character == '&' && regex.startsWith("&", position)) {
+                    throw error("Character class intersection is not supported");
+                } else if (character == '\\' && position < regex.length() && "dDwWsSpP".indexOf(regex.charAt(position)) >= 0) {
+                    symbols.or(escapeSymbols());
+                } else {
+                    char from = character == '\\' ? escapeCharacter() : character;
+                    if (regex.startsWith("-", position) && position + 1 < regex.length() && regex.charAt(position + 1) != ']') {
+                        position++;
+                        char to = regex.charAt(position++);
+                        if (to == '\\')
+                            to = escapeCharacter();
+                        if (to < from)
+                            throw error("Illegal character range");
+                        // Range is clipped to Latin-1
+                        for (int symbol = from; symbol <= Math.min(to, 0xFF); symbol++)
+                            symbols.or(literal((char) symbol));
+                    } else {
+                        symbols.or(literal(from));
+                    }
+                }
+            }
+            return negated ? negate(symbols) : symbols;
+        }
+
+        private BitSet posix() {
+            int end = regex.indexOf('}', position);
+            if (!regex.startsWith("{", position) || end < 0)
+                throw error("Illegal character property");
+            String name = regex.substring(position + 1, end);
+            position = end + 1;
+            switch (name.startsWith("Is") ? name.substring(2) : name) {
+            case "Lower":
+            case "Ll":
+                return range('a', 'z');
+            case "Upper":
+            case "Lu":
+                return range('A', 'Z');
+            case "Alpha":
+            case "L":
+                return union(range('a', 'z'), range('A', 'Z'));
+            case "Digit":
+            case "Nd":
+                return range('0', '9');
+            case "Alnum":
+                return union(union(range('a', 'z'), range('A', 'Z')), range('0', '9'));
+            case "XDigit":
+                return union(union(range('a', 'f'), range('A', 'F')), range('0', '9'));
+            case "Punct":
+                return union(union(range('!', '/'), range(':', '@')), union(range('[', '`'), range('{', '~')));
+            case "Space":
+                return whitespace();
+            case "Print":
+                return range(' ', '~');
+            case "Graph":
+                return range('!', '~');
+            case "ASCII":
+                return range('\u0000', '\u007F');
+            default:
+                throw error("Unsupported character property " + name);
+            }
+        }
+
+        private char hex(final int digits) {
+            if (position + digits > regex.length())
+                throw error("Illegal hexadecimal escape");
+            try {
+                char character = (char) Integer.parseInt(regex.substring(position, position + digits), 16);
+                position += digits;
+                return character;
+            } catch (NumberFormatException numberFormatException) {
+                throw error("Illegal hexadecimal escape");
+            }
+        }
+
+        private BitSet literal(final char character) {
+            // Characters outside of Latin-1 can't be generated, and match nothing
+            BitSet symbols = new BitSet(256);
+            if (character <= 0xFF)
+                symbols.set(character);
+            if (caseInsensitive && Character.isLetter(character)) {
+                char upper = Character.toUpperCase(character);
+                char lower = Character.toLowerCase(character);
+                if (upper <= 0xFF)
+                    symbols.set(upper);
+                if (lower <= 0xFF)
+                    symbols.set(lower);
+            }
+            return symbols;
+        }
+
+        private IllegalArgumentException error(final String message) {
+            return new IllegalArgumentException(message + " near index " + position + " of " + regex);
+        }
+
+        private static BitSet word() {
+            BitSet word = union(union(range('a', 'z'), range('A', 'Z')), range('0', '9'));
+            word.set('_');
+            return word;
+        }
+
+        private static BitSet whitespace() {
+            BitSet whitespace = range('\t', '\r');
+            whitespace.set(' ');
+            return whitespace;
+        }
+
+        private static BitSet negate(final BitSet symbols) {
+            BitSet negated = (BitSet) PRINTABLE.clone();
+            negated.andNot(symbols);
+            return negated;
+        }
+
+        private static BitSet union(final BitSet first, final BitSet second) {
+            BitSet union = (BitSet) first.clone();
+            union.or(second);
+            return union;
+        }
+
+    }
+
+}
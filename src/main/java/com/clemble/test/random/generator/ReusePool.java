@@ -0,0 +1,173 @@
+package com.clemble.test.random.generator;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Supplier;
+
+/**
+ * Reuse policy of the referenced type: configured fraction of references (properties, constructor and factory method
+ * parameters, collection elements) is served from a bounded pool of previously generated instances, instead of generating
+ * new ones. Pool is shared by all plans, that reference the type, so it bounds memory and gives shared references
+ * (for example many orders of the same customer). Values generated directly (not as a reference) and references with
+ * Bean Validation constraints are always new.
+ * <p>
+ * Pool slots are filled lazily, the first reuse of an empty slot generates the value, that stays in the slot. Policy
+ * is applied, when plan is resolved, so it must be registered before plans, that reference the type, are resolved
+ * (with caching enabled, before the first generation).
+ * <p>
+ * Pooled values belong to the {@link RandomSource} in use, replacing it (for example with
+ * {@link com.clemble.test.random.ObjectGenerator#enableSeeding(long)}) starts with an empty pool. With
+ * {@link SeededRandomSource} every slot is filled from its own stream, derived from the seed and the slot, and the choice
+ * of the slot comes from the stream of the referencing object, so seeded generation stays reproducible, and parallel
+ * generation produces the same (equal, not necessarily identical) objects, as sequential.
+ *
+ * @author Anton Oparin
+ *
+ * @param <T>
+ *            reused {@link Class}.
+ */
+final public class ReusePool<T> {
+
+    /**
+     * Registered pools.
+     */
+    final private static Map<Class<?>, ReusePool<?>> POOLS = new ConcurrentHashMap<Class<?>, ReusePool<?>>();
+
+    /**
+     * Key of the pool, distinguishes streams of the slots of different pools.
+     */
+    final private long key;
+    /**
+     * Fraction of references, served from the pool.
+     */
+    final private double fraction;
+    /**
+     * Maximum number of values in the pool.
+     */
+    final private int size;
+    /**
+     * Previously generated values of the {@link RandomSource} in use.
+     */
+    private volatile Slots<T> slots;
+
+    private ReusePool(final Class<T> klass, final double fraction, final int size) {
+        if (fraction < 0 || fraction > 1)
+            throw new IllegalArgumentException("Fraction must be between 0 and 1");
+        if (size <= 0)
+            throw new IllegalArgumentException("Pool size must be positive");
+        this.key = (long) klass.getName().hashCode() << 32;
+        this.fraction = fraction;
+        this.size = size;
+        this.slots = new Slots<T>(RandomSources.get(), size);
+    }
+
+    public double getFraction() {
+        return fraction;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * @return number of values in the pool.
+     */
+    public int getPooled() {
+        AtomicReferenceArray<T> pool = slots.values;
+        int pooled = 0;
+        for (int i = 0; i < pool.length(); i++)
+            if (pool.get(i) != null)
+                pooled++;
+        return pooled;
+    }
+
+    private T get(final Supplier<T> valueGenerator) {
+        RandomSource randomSource = RandomSources.get();
+        // Step 1. Generating new value for the rest of references
+        if (randomSource.nextDouble() >= fraction)
+            return valueGenerator.get();
+        // Step 2. Taking random slot of the source in use, empty slot is filled with new value
+        int slot = randomSource.nextInt(size);
+        AtomicReferenceArray<T> pool = slotsOf(randomSource).values;
+        T value = pool.get(slot);
+        if (value != null)
+            return value;
+        // Step 3. In seeded mode slot value is generated from the stream of the slot
+        value = randomSource instanceof SeededRandomSource
+            ? ((SeededRandomSource) randomSource).generateShared(key | slot, valueGenerator)
+            : valueGenerator.get();
+        return value == null || pool.compareAndSet(slot, null, value) ? value : pool.get(slot);
+    }
+
+    private Slots<T> slotsOf(final RandomSource randomSource) {
+        Slots<T> currentSlots = slots;
+        if (currentSlots.randomSource != randomSource) {
+            synchronized (this) {
+                currentSlots = slots;
+                if (currentSlots.randomSource != randomSource)
+                    slots = currentSlots = new Slots<T>(randomSource, size);
+            }
+        }
+        return currentSlots;
+    }
+
+    /**
+     * Registers reuse policy for the type, replacing previous one.
+     *
+     * @param <T> the type of reused values
+     * @param klass reused {@link Class}.
+     * @param fraction fraction of references, served from the pool, from 0 to 1.
+     * @param size maximum number of values in the pool.
+     * @return registered {@link ReusePool}.
+     */
+    public static <T> ReusePool<T> register(final Class<T> klass, final double fraction, final int size) {
+        ReusePool<T> reusePool = new ReusePool<T>(checkNotNull(klass), fraction, size);
+        POOLS.put(klass, reusePool);
+        return reusePool;
+    }
+
+    /**
+     * Removes reuse policy of the type, plans resolved after that generate new values.
+     *
+     * @param klass reused {@link Class}.
+     */
+    public static void remove(final Class<?> klass) {
+        POOLS.remove(klass);
+    }
+
+    /**
+     * Applies reuse policy to the reference generator.
+     *
+     * @param <T> the type of referenced values
+     * @param klass referenced {@link Class}.
+     * @param valueGenerator {@link Supplier} of new values.
+     * @return {@link Supplier} served from the pool, if there is a policy for the type, original {@link Supplier} otherwise.
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> Supplier<T> apply(final Class<?> klass, final Supplier<T> valueGenerator) {
+        final ReusePool<T> reusePool = POOLS.isEmpty() ? null : (ReusePool<T>) POOLS.get(klass);
+        // Back references are kept as is, they are bounded by the generation budget
+        if (reusePool == null || valueGenerator instanceof RecursiveValueGenerator)
+            return valueGenerator;
+        return () -> reusePool.get(valueGenerator);
+    }
+
+    /**
+     * Values, generated with the {@link RandomSource}.
+     */
+    final private static class Slots<T> {
+
+        final private RandomSource randomSource;
+        final private AtomicReferenceArray<T> values;
+
+        private Slots(final RandomSource randomSource, final int size) {
+            this.randomSource = randomSource;
+            this.values = new AtomicReferenceArray<T>(size);
+        }
+
+    }
+
+}
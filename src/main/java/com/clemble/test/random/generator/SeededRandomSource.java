@@ -0,0 +1,152 @@
+package com.clemble.test.random.generator;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Reproducible {@link RandomSource}. Every generated object gets an index, reserved from the sequence, and is generated
+ * from its own {@link SplittableRandom}, derived from the root seed and the index only. So the same seed produces the same
+ * objects regardless of the thread, or the order in which objects are generated.
+ *
+ * @author Anton Oparin
+ */
+public class SeededRandomSource extends SplittableRandomSource {
+
+    /**
+     * Golden ratio increment, same as used in {@link SplittableRandom}.
+     */
+    final private static long GOLDEN_GAMMA = 0x9e3779b97f4a7c15L;
+
+    /**
+     * Marks threads, that are already generating indexed object, nested generation continues the same stream.
+     */
+    final private static ThreadLocal<boolean[]> INDEXED = ThreadLocal.withInitial(() -> new boolean[1]);
+
+    /**
+     * Root seed.
+     */
+    final private long seed;
+
+    /**
+     * Next index to reserve.
+     */
+    final private AtomicLong sequence = new AtomicLong();
+
+    public SeededRandomSource(long seed) {
+        super(seed);
+        this.seed = seed;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * Reserves continuous range of indexes.
+     *
+     * @param count number of indexes to reserve.
+     * @return first reserved index.
+     */
+    public long reserve(long count) {
+        return sequence.getAndAdd(count);
+    }
+
+    /**
+     * Generates value with the stream, associated with the index.
+     *
+     * @param <T> the type of generated value
+     * @param index index of the value.
+     * @param valueGenerator value generator to use.
+     * @return generated value.
+     */
+    public <T> T generate(long index, Supplier<T> valueGenerator) {
+        return generateWith(mix(seed + (index + 1) * GOLDEN_GAMMA), valueGenerator);
+    }
+
+    /**
+     * Generates value with the stream, associated with the sub index of the index, used for unbounded sequences,
+     * which reserve a single index.
+     *
+     * @param <T> the type of generated value
+     * @param index reserved index.
+     * @param subIndex position in the sequence.
+     * @param valueGenerator value generator to use.
+     * @return generated value.
+     */
+    public <T> T generate(long index, long subIndex, Supplier<T> valueGenerator) {
+        return generateWith(mix(mix(seed + (index + 1) * GOLDEN_GAMMA) + (subIndex + 1) * GOLDEN_GAMMA), valueGenerator);
+    }
+
+    private <T> T generateWith(long streamSeed, Supplier<T> valueGenerator) {
+        boolean[] indexed = INDEXED.get();
+        // Step 1. Nested generation uses the stream of enclosing value
+        if (indexed[0])
+            return valueGenerator.get();
+        // Step 2. Positioning current thread on the stream of the index
+        SplittableRandomAdapter adapter = current.get();
+        SplittableRandom previous = adapter.random;
+        adapter.random = new SplittableRandom(streamSeed);
+        indexed[0] = true;
+        try {
+            return valueGenerator.get();
+        } finally {
+            indexed[0] = false;
+            adapter.random = previous;
+        }
+    }
+
+    /**
+     * Generates value, shared between generated objects (for example reuse pool slot), with the stream associated with
+     * the key only, so that it does not depend on the object, that happened to generate it first. Stream of enclosing
+     * value is restored afterwards and is not affected.
+     *
+     * @param <T> the type of generated value
+     * @param key key of the shared value.
+     * @param valueGenerator value generator to use.
+     * @return generated value.
+     */
+    public <T> T generateShared(long key, Supplier<T> valueGenerator) {
+        boolean[] indexed = INDEXED.get();
+        boolean previousIndexed = indexed[0];
+        SplittableRandomAdapter adapter = current.get();
+        SplittableRandom previous = adapter.random;
+        adapter.random = new SplittableRandom(mix(mix(seed) + (key + 1) * GOLDEN_GAMMA));
+        indexed[0] = true;
+        try {
+            return valueGenerator.get();
+        } finally {
+            indexed[0] = previousIndexed;
+            adapter.random = previous;
+        }
+    }
+
+    /**
+     * Runs task on a separate stream, so that values it consumes do not shift the stream of generated objects. Used for
+     * plan resolution, which instantiates candidates, so that generated objects are the same with, or without caching.
+     *
+     * @param <T> the type of result
+     * @param task task to run.
+     * @return task result.
+     */
+    public <T> T detached(Supplier<T> task) {
+        SplittableRandomAdapter adapter = current.get();
+        SplittableRandom previous = adapter.random;
+        adapter.random = new SplittableRandom(mix(seed));
+        try {
+            return task.get();
+        } finally {
+            adapter.random = previous;
+        }
+    }
+
+    /**
+     * Stafford variant 13 of 64 bit mix function, as in {@link SplittableRandom}, so that close indexes get unrelated streams.
+     */
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+
+}
@@ -0,0 +1,38 @@
+package com.clemble.test.random.generator;
+
+/**
+ * Distribution of generated collection and map sizes.
+ *
+ * @author Anton Oparin
+ */
+@FunctionalInterface
+public interface SizeDistribution {
+
+    /**
+     * @return size of the next generated collection, non negative.
+     */
+    int nextSize();
+
+    /**
+     * @param size size of all generated collections.
+     * @return {@link SizeDistribution} with the same size.
+     */
+    static SizeDistribution fixed(final int size) {
+        if (size < 0)
+            throw new IllegalArgumentException("Size must be non negative");
+        return () -> size;
+    }
+
+    /**
+     * @param min minimal size (inclusive).
+     * @param max maximal size (inclusive).
+     * @return {@link SizeDistribution} with sizes uniformly distributed in the range.
+     */
+    static SizeDistribution uniform(final int min, final int max) {
+        if (min < 0 || max < min)
+            throw new IllegalArgumentException("Range must be non negative and min must not exceed max");
+        final int range = max - min + 1;
+        return () -> min + RandomSources.get().nextInt(range);
+    }
+
+}
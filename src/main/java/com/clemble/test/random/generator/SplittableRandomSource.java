@@ -0,0 +1,127 @@
+package com.clemble.test.random.generator;
+
+import java.util.Random;
+import java.util.SplittableRandom;
+
+/**
+ * {@link RandomSource} backed by {@link SplittableRandom}, each thread gets its own {@link SplittableRandom}, split from
+ * the root generator on first use.
+ *
+ * @author Anton Oparin
+ */
+public class SplittableRandomSource implements RandomSource {
+
+    /**
+     * Root generator, only used to split per thread generators.
+     */
+    final private SplittableRandom root;
+
+    /**
+     * Per thread generator and its {@link Random} view.
+     */
+    final ThreadLocal<SplittableRandomAdapter> current = ThreadLocal.withInitial(this::split);
+
+    public SplittableRandomSource() {
+        this(new SplittableRandom());
+    }
+
+    public SplittableRandomSource(long seed) {
+        this(new SplittableRandom(seed));
+    }
+
+    private SplittableRandomSource(SplittableRandom root) {
+        this.root = root;
+    }
+
+    private SplittableRandomAdapter split() {
+        // SplittableRandom is not thread safe, split must be synchronized
+        synchronized (root) {
+            return new SplittableRandomAdapter(root.split());
+        }
+    }
+
+    @Override
+    public boolean nextBoolean() {
+        return current.get().random.nextBoolean();
+    }
+
+    @Override
+    public int nextInt() {
+        return current.get().random.nextInt();
+    }
+
+    @Override
+    public int nextInt(int bound) {
+        return current.get().random.nextInt(bound);
+    }
+
+    @Override
+    public long nextLong() {
+        return current.get().random.nextLong();
+    }
+
+    @Override
+    public float nextFloat() {
+        return (current.get().random.nextInt() >>> 8) * 0x1.0p-24f;
+    }
+
+    @Override
+    public double nextDouble() {
+        return current.get().random.nextDouble();
+    }
+
+    @Override
+    public Random asRandom() {
+        return current.get();
+    }
+
+    /**
+     * {@link Random} view of a {@link SplittableRandom}, confined to a single thread.
+     */
+    @SuppressWarnings("serial")
+    final static class SplittableRandomAdapter extends Random {
+
+        SplittableRandom random;
+
+        SplittableRandomAdapter(SplittableRandom random) {
+            this.random = random;
+        }
+
+        @Override
+        public synchronized void setSeed(long seed) {
+            // Random constructor sets the seed, which is ignored, all values are taken from SplittableRandom
+        }
+
+        @Override
+        protected int next(int bits) {
+            return random.nextInt() >>> (32 - bits);
+        }
+
+        @Override
+        public int nextInt() {
+            return random.nextInt();
+        }
+
+        @Override
+        public int nextInt(int bound) {
+            return random.nextInt(bound);
+        }
+
+        @Override
+        public long nextLong() {
+            return random.nextLong();
+        }
+
+        @Override
+        public boolean nextBoolean() {
+            return random.nextBoolean();
+        }
+
+        @Override
+        public double nextDouble() {
+            return random.nextDouble();
+        }
+
+    }
+
+}
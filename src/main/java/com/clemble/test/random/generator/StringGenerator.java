@@ -0,0 +1,144 @@
+package com.clemble.test.random.generator;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+import java.util.function.Supplier;
+
+/**
+ * Generates random {@link String}s of Latin-1 alphabet. Each random long gives 8 bytes, which are mapped to the alphabet
+ * with a lookup table (bytes above the largest multiple of the alphabet size are skipped, so characters are uniformly
+ * distributed), into reusable per thread buffer, {@link String} is created from the buffer as Latin-1 bytes. Length of
+ * the {@link String}s is taken from {@link SizeDistribution}.
+ *
+ * @author Anton Oparin
+ */
+final public class StringGenerator implements Supplier<String> {
+
+    /**
+     * Printable ASCII characters, from space to '~'.
+     */
+    final public static String ASCII = alphabet(' ', '~');
+
+    /**
+     * ASCII letters.
+     */
+    final public static String ALPHABETIC = alphabet('A', 'Z') + alphabet('a', 'z');
+
+    /**
+     * ASCII letters and digits.
+     */
+    final public static String ALPHANUMERIC = alphabet('0', '9') + ALPHABETIC;
+
+    /**
+     * Digits.
+     */
+    final public static String NUMERIC = alphabet('0', '9');
+
+    /**
+     * Reusable buffer of the current thread.
+     */
+    final private static ThreadLocal<byte[][]> BUFFER = ThreadLocal.withInitial(() -> new byte[][] { new byte[64] });
+
+    /**
+     * Character for each random byte.
+     */
+    final private byte[] lookup = new byte[256];
+    /**
+     * Random bytes below the limit are mapped to the alphabet, others are skipped.
+     */
+    final private int limit;
+    /**
+     * Distribution of the length.
+     */
+    final private SizeDistribution lengthDistribution;
+
+    /**
+     * Default constructor.
+     *
+     * @param alphabet characters to use, Latin-1 only (codes below 256), repeated characters are more frequent.
+     * @param lengthDistribution {@link SizeDistribution} of the length.
+     */
+    public StringGenerator(final String alphabet, final SizeDistribution lengthDistribution) {
+        if (alphabet == null || alphabet.isEmpty() || alphabet.length() > 256)
+            throw new IllegalArgumentException("Alphabet must have from 1 to 256 characters");
+        this.lengthDistribution = checkNotNull(lengthDistribution);
+        // Step 1. Building lookup table, same number of bytes for each character
+        int size = alphabet.length();
+        this.limit = 256 - 256 % size;
+        for (int i = 0; i < alphabet.length(); i++)
+            if (alphabet.charAt(i) > 0xFF)
+                throw new IllegalArgumentException("Alphabet must have only Latin-1 characters");
+        for (int i = 0; i < limit; i++)
+            lookup[i] = (byte) alphabet.charAt(i % size);
+    }
+
+    @Override
+    public String get() {
+        int length = Math.max(0, lengthDistribution.nextSize());
+        // Step 1. Taking reusable buffer
+        byte[][] holder = BUFFER.get();
+        byte[] buffer = holder[0];
+        if (buffer.length < length)
+            holder[0] = buffer = new byte[Math.max(length, buffer.length << 1)];
+        // Step 2. Mapping bytes of random longs to the alphabet
+        Random random = RandomSources.get().asRandom();
+        int filled = 0;
+        while (filled < length) {
+            long word = random.nextLong();
+            for (int i = 0; i < 8 && filled < length; i++, word >>>= 8) {
+                int index = (int) word & 0xFF;
+                if (index < limit)
+                    buffer[filled++] = lookup[index];
+            }
+        }
+        // Step 3. Creating Latin-1 String
+        return new String(buffer, 0, length, StandardCharsets.ISO_8859_1);
+    }
+
+    /**
+     * @param length {@link SizeDistribution} of the length.
+     * @return {@link StringGenerator} of printable ASCII {@link String}s.
+     */
+    public static StringGenerator ascii(final SizeDistribution length) {
+        return new StringGenerator(ASCII, length);
+    }
+
+    /**
+     * @param length {@link SizeDistribution} of the length.
+     * @return {@link StringGenerator} of ASCII letters.
+     */
+    public static StringGenerator alphabetic(final SizeDistribution length) {
+        return new StringGenerator(ALPHABETIC, length);
+    }
+
+    /**
+     * @param length {@link SizeDistribution} of the length.
+     * @return {@link StringGenerator} of ASCII letters and digits.
+     */
+    public static StringGenerator alphanumeric(final SizeDistribution length) {
+        return new StringGenerator(ALPHANUMERIC, length);
+    }
+
+    /**
+     * @param length {@link SizeDistribution} of the length.
+     * @return {@link StringGenerator} of digits.
+     */
+    public static StringGenerator numeric(final SizeDistribution length) {
+        return new StringGenerator(NUMERIC, length);
+    }
+
+    /**
+     * @param first first character.
+     * @param last last character (inclusive).
+     * @return {@link String} of all characters in the range.
+     */
+    public static String alphabet(final char first, final char last) {
+        StringBuilder alphabet = new StringBuilder(last - first + 1);
+        for (char character = first; character <= last; character++)
+            alphabet.append(character);
+        return alphabet.toString();
+    }
+
+}
@@ -0,0 +1,49 @@
+package com.clemble.test.random.generator;
+
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Default {@link RandomSource}, backed by {@link ThreadLocalRandom}, each thread uses its own generator state without any
+ * synchronization.
+ *
+ * @author Anton Oparin
+ */
+public class ThreadLocalRandomSource implements RandomSource {
+
+    @Override
+    public boolean nextBoolean() {
+        return ThreadLocalRandom.current().nextBoolean();
+    }
+
+    @Override
+    public int nextInt() {
+        return ThreadLocalRandom.current().nextInt();
+    }
+
+    @Override
+    public int nextInt(int bound) {
+        return ThreadLocalRandom.current().nextInt(bound);
+    }
+
+    @Override
+    public long nextLong() {
+        return ThreadLocalRandom.current().nextLong();
+    }
+
+    @Override
+    public float nextFloat() {
+        return ThreadLocalRandom.current().nextFloat();
+    }
+
+    @Override
+    public double nextDouble() {
+        return ThreadLocalRandom.current().nextDouble();
+    }
+
+    @Override
+    public Random asRandom() {
+        return ThreadLocalRandom.current();
+    }
+
+}
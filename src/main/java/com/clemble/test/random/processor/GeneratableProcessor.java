@@ -0,0 +1,297 @@
+package com.clemble.test.random.processor;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+
+import com.clemble.test.random.annotation.Generatable;
+import com.clemble.test.random.generator.GeneratedValueGenerator;
+
+/**
+ * Annotation processor, that generates {@link GeneratedValueGenerator} source for each {@link Generatable} type. Generated
+ * code uses the same strategy order as reflective discovery (factory method, builder, constructor), but calls selected
+ * members directly. Generators are registered in META-INF/services, so they are picked up before reflective discovery.
+ *
+ * @author Anton Oparin
+ */
+@SupportedAnnotationTypes("com.clemble.test.random.annotation.Generatable")
+public class GeneratableProcessor extends AbstractProcessor {
+
+    /**
+     * Suffix of generated classes.
+     */
+    final public static String GENERATOR_SUFFIX = "_Generator";
+
+    /**
+     * Names of all generated classes, registered in META-INF/services.
+     */
+    final private Set<String> generatedGenerators = new TreeSet<String>();
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        for (Element element : roundEnv.getElementsAnnotatedWith(Generatable.class)) {
+            if (element.getKind() == ElementKind.PACKAGE) {
+                // Step 1. Package marker, generating for all types that can be generated
+                for (TypeElement type : ElementFilter.typesIn(element.getEnclosedElements()))
+                    processPackageType(type);
+            } else if (element.getKind() == ElementKind.CLASS) {
+                // Step 2. Explicitly marked types must be generated
+                TypeElement type = (TypeElement) element;
+                String failure = generate(type);
+                if (failure != null)
+                    processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, "Can't generate " + type.getQualifiedName() + ": " + failure, type);
+            } else {
+                processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, "@Generatable is applicable only to classes and packages", element);
+            }
+        }
+        if (roundEnv.processingOver() && !generatedGenerators.isEmpty())
+            writeServices();
+        return true;
+    }
+
+    private void processPackageType(TypeElement type) {
+        if (type.getKind() == ElementKind.CLASS && type.getAnnotation(Generatable.class) == null) {
+            String failure = generate(type);
+            if (failure != null)
+                processingEnv.getMessager().printMessage(Diagnostic.Kind.NOTE, "Skipping " + type.getQualifiedName() + ": " + failure, type);
+        }
+        for (TypeElement nested : ElementFilter.typesIn(type.getEnclosedElements()))
+            if (nested.getModifiers().contains(Modifier.STATIC))
+                processPackageType(nested);
+    }
+
+    /**
+     * Generates {@link GeneratedValueGenerator} source for the type.
+     *
+     * @param type type to generate.
+     * @return <code>null</code> if generation succeeded, failure description otherwise.
+     */
+    private String generate(TypeElement type) {
+        // Step 1. Sanity check
+        for (Element enclosing = type; enclosing.getKind() != ElementKind.PACKAGE; enclosing = enclosing.getEnclosingElement()) {
+            if (enclosing.getModifiers().contains(Modifier.PRIVATE))
+                return "type is not accessible";
+            if (enclosing != type && !type.getModifiers().contains(Modifier.STATIC))
+                return "inner class requires enclosing instance";
+        }
+        PackageElement packageElement = processingEnv.getElementUtils().getPackageOf(type);
+        String generatorName = flatName(type) + GENERATOR_SUFFIX;
+        String targetName = typeName(type.asType());
+        // Step 2. Selecting construction strategy, the same order is used in reflective discovery
+        List<String> values = new ArrayList<String>();
+        StringBuilder body = new StringBuilder();
+        ExecutableElement factory = selectFactoryMethod(type, packageElement);
+        ExecutableElement builder = factory == null ? selectBuilder(type, packageElement) : null;
+        if (factory != null) {
+            body.append("        ").append(targetName).append(" target = ").append(targetName).append('.').append(factory.getSimpleName()).
+                append('(').append(arguments(factory, values)).append(");\n");
+        } else if (builder != null) {
+            TypeElement builderType = (TypeElement) processingEnv.getTypeUtils().asElement(builder.getReturnType());
+            String builderName = typeName(builderType.asType());
+            body.append("        ").append(builderName).append(" builder = ").append(targetName).append('.').append(builder.getSimpleName()).
+                append('(').append(arguments(builder, values)).append(");\n");
+            appendProperties("builder", builderType, packageElement, values, body);
+            body.append("        ").append(targetName).append(" target = builder.").append(selectBuildMethod(type, builderType, packageElement).getSimpleName()).append("();\n");
+        } else {
+            ExecutableElement constructor = selectConstructor(type, packageElement);
+            if (constructor == null)
+                return "no accessible factory method, builder or constructor";
+            body.append("        ").append(targetName).append(" target = new ").append(targetName).
+                append('(').append(arguments(constructor, values)).append(");\n");
+        }
+        // Step 3. Setting properties on constructed value
+        if (builder == null)
+            appendProperties("target", type, packageElement, values, body);
+        body.append("        return target;\n");
+        // Step 4. Writing generated source
+        String packageName = packageElement.getQualifiedName().toString();
+        String qualifiedGeneratorName = packageName.isEmpty() ? generatorName : packageName + "." + generatorName;
+        try (Writer writer = processingEnv.getFiler().createSourceFile(qualifiedGeneratorName, type).openWriter()) {
+            if (!packageName.isEmpty())
+                writer.write("package " + packageName + ";\n\n");
+            writer.write("/**\n * Generated by " + GeneratableProcessor.class.getName() + " for {@link " + targetName + "}, do not edit.\n */\n");
+            writer.write("@SuppressWarnings({ \"unchecked\", \"rawtypes\" })\n");
+            writer.write("public final class " + generatorName + " extends com.clemble.test.random.generator.AbstractGeneratedValueGenerator<" + targetName + "> {\n\n");
+            writer.write("    public " + generatorName + "() {\n");
+            writer.write("        super(" + targetName + ".class, " + values.size() + ");\n");
+            writer.write("    }\n\n");
+            writer.write("    @Override\n");
+            writer.write("    public " + targetName + " get() {\n");
+            writer.write(body.toString());
+            writer.write("    }\n\n");
+            writer.write("}\n");
+        } catch (IOException e) {
+            return "failed to write source " + e.getMessage();
+        }
+        generatedGenerators.add(qualifiedGeneratorName);
+        return null;
+    }
+
+    private ExecutableElement selectFactoryMethod(TypeElement type, PackageElement packageElement) {
+        ExecutableElement factory = null;
+        for (ExecutableElement method : ElementFilter.methodsIn(type.getEnclosedElements())) {
+            if (!method.getModifiers().contains(Modifier.STATIC) || !accessible(method, packageElement) || !replaces(type, method.getReturnType()) || circular(type, method))
+                continue;
+            if (factory == null || method.getParameters().size() > factory.getParameters().size())
+                factory = method;
+        }
+        return factory;
+    }
+
+    private ExecutableElement selectBuilder(TypeElement type, PackageElement packageElement) {
+        ExecutableElement builder = null;
+        for (ExecutableElement method : ElementFilter.methodsIn(type.getEnclosedElements())) {
+            if (!method.getModifiers().contains(Modifier.STATIC) || !accessible(method, packageElement) || circular(type, method))
+                continue;
+            if (method.getReturnType().getKind() != TypeKind.DECLARED)
+                continue;
+            TypeElement builderType = (TypeElement) processingEnv.getTypeUtils().asElement(method.getReturnType());
+            if (!accessible(builderType, packageElement) || selectBuildMethod(type, builderType, packageElement) == null)
+                continue;
+            if (builder == null || method.getParameters().size() > builder.getParameters().size())
+                builder = method;
+        }
+        return builder;
+    }
+
+    private ExecutableElement selectBuildMethod(TypeElement type, TypeElement builderType, PackageElement packageElement) {
+        for (ExecutableElement method : ElementFilter.methodsIn(processingEnv.getElementUtils().getAllMembers(builderType))) {
+            if (!method.getModifiers().contains(Modifier.STATIC) && method.getParameters().isEmpty() && accessible(method, packageElement) && !isObjectMember(method) && replaces(type, method.getReturnType()))
+                return method;
+        }
+        return null;
+    }
+
+    private ExecutableElement selectConstructor(TypeElement type, PackageElement packageElement) {
+        if (type.getModifiers().contains(Modifier.ABSTRACT))
+            return null;
+        ExecutableElement constructor = null;
+        for (ExecutableElement candidate : ElementFilter.constructorsIn(type.getEnclosedElements())) {
+            if (!accessible(candidate, packageElement) || circular(type, candidate))
+                continue;
+            if (constructor == null || candidate.getParameters().size() > constructor.getParameters().size())
+                constructor = candidate;
+        }
+        return constructor;
+    }
+
+    private void appendProperties(String target, TypeElement type, PackageElement packageElement, List<String> values, StringBuilder body) {
+        Collection<String> setters = new HashSet<String>();
+        // Step 1. Calling set methods, preferring methods over fields
+        for (ExecutableElement method : ElementFilter.methodsIn(processingEnv.getElementUtils().getAllMembers(type))) {
+            String name = method.getSimpleName().toString();
+            if (method.getModifiers().contains(Modifier.STATIC) || !accessible(method, packageElement) || isObjectMember(method))
+                continue;
+            if (!name.startsWith("set") || name.length() == 3 || method.getParameters().size() != 1)
+                continue;
+            // Same restrictions as in reflective discovery, Object and self references are ignored
+            TypeMirror parameterType = processingEnv.getTypeUtils().erasure(method.getParameters().get(0).asType());
+            if (parameterType.toString().equals(Object.class.getName()) || processingEnv.getTypeUtils().isSameType(parameterType, processingEnv.getTypeUtils().erasure(type.asType())))
+                continue;
+            setters.add(name.substring(3).toLowerCase());
+            body.append("        ").append(target).append('.').append(name).append('(').append(value(method.getParameters().get(0).asType(), values)).append(");\n");
+        }
+        // Step 2. Setting fields, that don't have set methods
+        for (VariableElement field : ElementFilter.fieldsIn(processingEnv.getElementUtils().getAllMembers(type))) {
+            if (field.getModifiers().contains(Modifier.STATIC) || field.getModifiers().contains(Modifier.FINAL) || !accessible(field, packageElement))
+                continue;
+            if (setters.contains(field.getSimpleName().toString().toLowerCase()))
+                continue;
+            body.append("        ").append(target).append('.').append(field.getSimpleName()).append(" = ").append(value(field.asType(), values)).append(";\n");
+        }
+    }
+
+    private String arguments(ExecutableElement executable, List<String> values) {
+        StringBuilder arguments = new StringBuilder();
+        for (VariableElement parameter : executable.getParameters()) {
+            if (arguments.length() > 0)
+                arguments.append(", ");
+            arguments.append(value(parameter.asType(), values));
+        }
+        return arguments.toString();
+    }
+
+    private String value(TypeMirror type, List<String> values) {
+        String typeName = typeName(type);
+        values.add(typeName);
+        return "(" + typeName + ") value(" + (values.size() - 1) + ", " + typeName + ".class)";
+    }
+
+    private String typeName(TypeMirror type) {
+        return processingEnv.getTypeUtils().erasure(type).toString();
+    }
+
+    private boolean replaces(TypeElement type, TypeMirror candidate) {
+        return candidate.getKind() == TypeKind.DECLARED &&
+            processingEnv.getTypeUtils().isAssignable(processingEnv.getTypeUtils().erasure(candidate), processingEnv.getTypeUtils().erasure(type.asType()));
+    }
+
+    private boolean circular(TypeElement type, ExecutableElement executable) {
+        TypeMirror erasure = processingEnv.getTypeUtils().erasure(type.asType());
+        for (VariableElement parameter : executable.getParameters()) {
+            TypeMirror parameterType = processingEnv.getTypeUtils().erasure(parameter.asType());
+            if (processingEnv.getTypeUtils().isAssignable(parameterType, erasure) || processingEnv.getTypeUtils().isAssignable(erasure, parameterType))
+                return true;
+        }
+        return false;
+    }
+
+    private boolean accessible(Element element, PackageElement packageElement) {
+        if (element.getModifiers().contains(Modifier.PUBLIC))
+            return true;
+        if (element.getModifiers().contains(Modifier.PRIVATE))
+            return false;
+        return processingEnv.getElementUtils().getPackageOf(element).equals(packageElement);
+    }
+
+    private boolean isObjectMember(Element element) {
+        return ((TypeElement) element.getEnclosingElement()).getQualifiedName().contentEquals(Object.class.getName());
+    }
+
+    private static String flatName(TypeElement type) {
+        String name = type.getSimpleName().toString();
+        Element enclosing = type.getEnclosingElement();
+        return enclosing.getKind() == ElementKind.PACKAGE ? name : flatName((TypeElement) enclosing) + "_" + name;
+    }
+
+    private void writeServices() {
+        try {
+            FileObject services = processingEnv.getFiler().createResource(StandardLocation.CLASS_OUTPUT, "", "META-INF/services/" + GeneratedValueGenerator.class.getName());
+            try (Writer writer = services.openWriter()) {
+                for (String generator : generatedGenerators)
+                    writer.write(generator + "\n");
+            }
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, "Failed to register generated generators " + e.getMessage());
+        }
+    }
+
+}
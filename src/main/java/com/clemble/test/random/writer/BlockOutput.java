@@ -0,0 +1,128 @@
+package com.clemble.test.random.writer;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayDeque;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Output of the encoded blocks to the {@link FileChannel}. Blocks are either written as is, or compressed in parallel,
+ * each as a separate gzip member, concatenated gzip members are a valid gzip file. Number of blocks in flight is bounded,
+ * so memory use does not depend on the size of the output.
+ *
+ * @author Anton Oparin
+ */
+abstract class BlockOutput implements AutoCloseable {
+
+    final protected FileChannel channel;
+
+    BlockOutput(final FileChannel channel) {
+        this.channel = channel;
+    }
+
+    /**
+     * Writes block, block buffer can be reused after the call.
+     *
+     * @param block flipped block to write.
+     * @throws IOException if write fails.
+     */
+    abstract void write(ByteBuffer block) throws IOException;
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    static BlockOutput plain(final FileChannel channel) {
+        return new PlainBlockOutput(channel);
+    }
+
+    static BlockOutput gzip(final FileChannel channel, final Executor executor, final int maxBlocksInFlight) {
+        return new GzipBlockOutput(channel, executor, maxBlocksInFlight);
+    }
+
+    static void writeFully(final FileChannel channel, final ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining())
+            channel.write(buffer);
+    }
+
+    final private static class PlainBlockOutput extends BlockOutput {
+
+        PlainBlockOutput(final FileChannel channel) {
+            super(channel);
+        }
+
+        @Override
+        void write(final ByteBuffer block) throws IOException {
+            writeFully(channel, block);
+        }
+
+    }
+
+    final private static class GzipBlockOutput extends BlockOutput {
+
+        final private Executor executor;
+        final private int maxBlocksInFlight;
+        /**
+         * Blocks being compressed, in the output order.
+         */
+        final private ArrayDeque<CompletableFuture<byte[]>> compressedBlocks = new ArrayDeque<CompletableFuture<byte[]>>();
+
+        GzipBlockOutput(final FileChannel channel, final Executor executor, final int maxBlocksInFlight) {
+            super(channel);
+            this.executor = executor;
+            this.maxBlocksInFlight = maxBlocksInFlight;
+        }
+
+        @Override
+        void write(final ByteBuffer block) throws IOException {
+            // Step 1. Copying block, since its buffer is reused
+            final byte[] source = new byte[block.remaining()];
+            block.get(source);
+            compressedBlocks.add(CompletableFuture.supplyAsync(() -> compress(source), executor));
+            // Step 2. Writing compressed blocks, when too many are in flight
+            while (compressedBlocks.size() > maxBlocksInFlight)
+                writeNext();
+        }
+
+        private void writeNext() throws IOException {
+            try {
+                writeFully(channel, ByteBuffer.wrap(compressedBlocks.poll().join()));
+            } catch (CompletionException completionException) {
+                if (completionException.getCause() instanceof UncheckedIOException)
+                    throw ((UncheckedIOException) completionException.getCause()).getCause();
+                throw completionException;
+            }
+        }
+
+        private static byte[] compress(final byte[] source) {
+            try {
+                ByteArrayOutputStream compressed = new ByteArrayOutputStream(source.length / 4 + 64);
+                try (GZIPOutputStream gzip = new GZIPOutputStream(compressed, 1 << 16)) {
+                    gzip.write(source);
+                }
+                return compressed.toByteArray();
+            } catch (IOException ioException) {
+                throw new UncheckedIOException(ioException);
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                while (!compressedBlocks.isEmpty())
+                    writeNext();
+            } finally {
+                super.close();
+            }
+        }
+
+    }
+
+}
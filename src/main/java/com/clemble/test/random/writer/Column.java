@@ -0,0 +1,139 @@
+package com.clemble.test.random.writer;
+
+import java.lang.reflect.Field;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.time.temporal.TemporalAccessor;
+import java.time.temporal.TemporalAmount;
+import java.util.Arrays;
+import java.util.Calendar;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+import com.clemble.test.random.ObjectGenerator;
+import com.clemble.test.random.constructor.ClassValueGenerator;
+import com.google.common.primitives.Primitives;
+
+/**
+ * Output column, simple field reached from the written value through the chain of nested fields. Columns are taken from
+ * the fields populated by the resolved {@link ClassValueGenerator} plan, nested beans are flattened with dotted names
+ * (for example <code>address.city</code>). Field, that can't be written, fails column resolution, instead of being skipped.
+ *
+ * @author Anton Oparin
+ */
+final class Column {
+
+    /**
+     * Dotted column name.
+     */
+    final private String name;
+    /**
+     * Chain of fields, from the written value to the column value.
+     */
+    final private Field[] path;
+
+    private Column(final String name, final Field[] path) {
+        this.name = name;
+        this.path = path;
+    }
+
+    String getName() {
+        return name;
+    }
+
+    /**
+     * @return type of the column value.
+     */
+    Class<?> getType() {
+        return path[path.length - 1].getType();
+    }
+
+    /**
+     * @param value written value.
+     * @return column value, or <code>null</code> if any nested value on the way is <code>null</code>.
+     */
+    Object get(final Object value) {
+        Object current = value;
+        try {
+            for (int i = 0; i < path.length && current != null; i++)
+                current = path[i].get(current);
+        } catch (IllegalAccessException accessException) {
+            throw new IllegalStateException(accessException);
+        }
+        return current;
+    }
+
+    /**
+     * Checks that type is written as a single value: primitives, wrappers, {@link String}, enums, {@link Date},
+     * {@link Calendar}, java.time types, {@link BigDecimal}, {@link BigInteger} and {@link UUID}.
+     *
+     * @param type value type.
+     * @return <code>true</code> if type is simple.
+     */
+    static boolean isSimple(final Class<?> type) {
+        return type.isPrimitive()
+            || Primitives.isWrapperType(type)
+            || type == String.class
+            || type.isEnum()
+            || Date.class.isAssignableFrom(type)
+            || Calendar.class.isAssignableFrom(type)
+            || TemporalAccessor.class.isAssignableFrom(type)
+            || TemporalAmount.class.isAssignableFrom(type)
+            || type == BigDecimal.class
+            || type == BigInteger.class
+            || type == UUID.class;
+    }
+
+    /**
+     * Builds columns from the resolved plan of the class.
+     *
+     * @param type written {@link Class}.
+     * @return {@link List} of columns.
+     * @throws IllegalArgumentException if class, or any of its nested beans, is not generated through {@link ClassValueGenerator},
+     *             or field is not accessible.
+     */
+    static List<Column> of(final Class<?> type) {
+        List<Column> columns = new ArrayList<Column>();
+        collect(type, "", new Field[0], new HashSet<Class<?>>(), columns);
+        return columns;
+    }
+
+    private static void collect(final Class<?> type, final String prefix, final Field[] prefixPath, final Set<Class<?>> parents, final List<Column> columns) {
+        // Step 1. Taking resolved plan
+        Supplier<?> valueGenerator = ObjectGenerator.getValueGenerator(type);
+        if (!(valueGenerator instanceof ClassValueGenerator))
+            throw new IllegalArgumentException(type.getName() + " is not generated from the class plan");
+        // Step 2. Adding simple fields, flattening nested beans, cycles are not written
+        parents.add(type);
+        Set<Field> processed = new HashSet<Field>();
+        for (Field field : ((ClassValueGenerator<?>) valueGenerator).getFields()) {
+            if ((field.getModifiers() & Modifier.STATIC) != 0 || !processed.add(field))
+                continue;
+            Class<?> fieldType = field.getType();
+            Field[] path = Arrays.copyOf(prefixPath, prefixPath.length + 1);
+            path[prefixPath.length] = field;
+            try {
+                field.setAccessible(true);
+            } catch (RuntimeException accessException) {
+                throw new IllegalArgumentException("Field " + prefix + field.getName() + " of " + type.getName() + " is not accessible", accessException);
+            }
+            if (isSimple(fieldType)) {
+                columns.add(new Column(prefix + field.getName(), path));
+            } else if (!fieldType.isArray() && !fieldType.isInterface() && (fieldType.getModifiers() & Modifier.ABSTRACT) == 0 && !parents.contains(fieldType)) {
+                try {
+                    collect(fieldType, prefix + field.getName() + ".", path, parents, columns);
+                } catch (IllegalArgumentException notWritten) {
+                    throw new IllegalArgumentException("Field " + prefix + field.getName() + " of " + type.getName() + " can't be written", notWritten);
+                }
+            }
+        }
+        parents.remove(type);
+    }
+
+}
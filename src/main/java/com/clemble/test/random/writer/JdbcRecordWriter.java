@@ -0,0 +1,218 @@
+package com.clemble.test.random.writer;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+import javax.sql.DataSource;
+
+import com.clemble.test.random.ObjectGenerator;
+import com.google.common.primitives.Primitives;
+
+/**
+ * Generates values of the class and inserts them in the data base table with {@link PreparedStatement} batches. Columns
+ * are taken from the fields populated by the resolved plan, nested beans are flattened with underscore (for example
+ * <code>address_city</code>). Each writer thread uses its own {@link Connection}, and commits after each batch.
+ * <p>
+ * Values are generated lazily, so memory use does not depend on the number of rows. In seeded mode rows are the same, as
+ * a single list generated with the same seed.
+ *
+ * @author Anton Oparin
+ *
+ * @param <T>
+ *            written type.
+ */
+final public class JdbcRecordWriter<T> {
+
+    final private Class<T> type;
+    final private DataSource dataSource;
+    final private String table;
+    /**
+     * Number of rows in a single batch.
+     */
+    private int batchSize = 1000;
+    /**
+     * Number of writer threads.
+     */
+    private int threads = 1;
+
+    public JdbcRecordWriter(final Class<T> type, final DataSource dataSource, final String table) {
+        this.type = checkNotNull(type);
+        this.dataSource = checkNotNull(dataSource);
+        this.table = checkNotNull(table);
+    }
+
+    /**
+     * @param batchSize number of rows in a single batch.
+     * @return this {@link JdbcRecordWriter}.
+     */
+    public JdbcRecordWriter<T> batchSize(final int batchSize) {
+        if (batchSize <= 0)
+            throw new IllegalArgumentException("Batch size must be positive");
+        this.batchSize = batchSize;
+        return this;
+    }
+
+    /**
+     * @param threads number of writer threads, each with its own {@link Connection}.
+     * @return this {@link JdbcRecordWriter}.
+     */
+    public JdbcRecordWriter<T> threads(final int threads) {
+        if (threads <= 0)
+            throw new IllegalArgumentException("Number of threads must be positive");
+        this.threads = threads;
+        return this;
+    }
+
+    /**
+     * @return insert statement used by the writer.
+     */
+    public String getInsertStatement() {
+        return insertStatement(Column.of(type));
+    }
+
+    private String insertStatement(final List<Column> columns) {
+        StringBuilder names = new StringBuilder();
+        StringBuilder parameters = new StringBuilder();
+        for (int i = 0; i < columns.size(); i++) {
+            names.append(i == 0 ? "" : ", ").append(columns.get(i).getName().replace('.', '_'));
+            parameters.append(i == 0 ? "?" : ", ?");
+        }
+        return "INSERT INTO " + table + " (" + names + ") VALUES (" + parameters + ")";
+    }
+
+    /**
+     * Generates and inserts rows.
+     *
+     * @param count number of rows.
+     * @return {@link WriteReport} with the throughput.
+     * @throws SQLException if insert fails.
+     */
+    public WriteReport write(final long count) throws SQLException {
+        if (count < 0)
+            throw new IllegalArgumentException("Count must be non negative");
+        final List<Column> columns = Column.of(type);
+        final String sql = insertStatement(columns);
+        long start = System.nanoTime();
+        // Step 1. Creating lazy streams in writer order, so in seeded mode writers get contiguous indexes
+        List<Stream<T>> streams = new ArrayList<Stream<T>>();
+        for (int i = 0; i < threads; i++)
+            streams.add(ObjectGenerator.stream(type, count / threads + (i < count % threads ? 1 : 0)));
+        // Step 2. Inserting on dedicated threads, since writers block on I/O
+        final AtomicLong written = new AtomicLong();
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<CompletableFuture<Void>> writes = new ArrayList<CompletableFuture<Void>>();
+            for (final Stream<T> stream : streams) {
+                writes.add(CompletableFuture.runAsync(() -> {
+                    try {
+                        written.addAndGet(insert(sql, columns, stream.iterator()));
+                    } catch (SQLException sqlException) {
+                        throw new CompletionException(sqlException);
+                    }
+                }, executor));
+            }
+            CompletableFuture.allOf(writes.toArray(new CompletableFuture<?>[writes.size()])).join();
+        } catch (CompletionException completionException) {
+            if (completionException.getCause() instanceof SQLException)
+                throw (SQLException) completionException.getCause();
+            throw completionException;
+        } finally {
+            executor.shutdown();
+        }
+        return new WriteReport(written.get(), System.nanoTime() - start);
+    }
+
+    private long insert(final String sql, final List<Column> columns, final Iterator<T> values) throws SQLException {
+        long inserted = 0;
+        try (Connection connection = dataSource.getConnection()) {
+            boolean autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(false);
+            try (PreparedStatement statement = connection.prepareStatement(sql)) {
+                int batched = 0;
+                while (values.hasNext()) {
+                    // Step 1. Binding row
+                    T value = values.next();
+                    for (int i = 0; i < columns.size(); i++)
+                        bind(statement, i + 1, columns.get(i), columns.get(i).get(value));
+                    statement.addBatch();
+                    // Step 2. Executing full batch
+                    if (++batched == batchSize) {
+                        statement.executeBatch();
+                        connection.commit();
+                        inserted += batched;
+                        batched = 0;
+                    }
+                }
+                if (batched != 0) {
+                    statement.executeBatch();
+                    connection.commit();
+                    inserted += batched;
+                }
+            } catch (SQLException sqlException) {
+                connection.rollback();
+                throw sqlException;
+            } finally {
+                connection.setAutoCommit(autoCommit);
+            }
+        }
+        return inserted;
+    }
+
+    private static void bind(final PreparedStatement statement, final int index, final Column column, final Object value) throws SQLException {
+        if (value == null) {
+            statement.setNull(index, sqlType(column.getType()));
+        } else if (value instanceof Enum) {
+            statement.setString(index, ((Enum<?>) value).name());
+        } else if (value instanceof Character) {
+            statement.setString(index, value.toString());
+        } else if (value instanceof Date) {
+            statement.setObject(index, new Timestamp(((Date) value).getTime()));
+        } else if (value instanceof Calendar) {
+            statement.setObject(index, new Timestamp(((Calendar) value).getTimeInMillis()));
+        } else {
+            statement.setObject(index, value);
+        }
+    }
+
+    private static int sqlType(final Class<?> type) {
+        Class<?> unwrapped = Primitives.unwrap(type);
+        if (unwrapped == boolean.class)
+            return Types.BOOLEAN;
+        if (unwrapped == byte.class)
+            return Types.TINYINT;
+        if (unwrapped == short.class)
+            return Types.SMALLINT;
+        if (unwrapped == int.class)
+            return Types.INTEGER;
+        if (unwrapped == long.class)
+            return Types.BIGINT;
+        if (unwrapped == float.class)
+            return Types.REAL;
+        if (unwrapped == double.class)
+            return Types.DOUBLE;
+        if (type == BigDecimal.class || type == BigInteger.class)
+            return Types.NUMERIC;
+        if (Date.class.isAssignableFrom(type) || Calendar.class.isAssignableFrom(type))
+            return Types.TIMESTAMP;
+        return Types.VARCHAR;
+    }
+
+}
@@ -0,0 +1,163 @@
+package com.clemble.test.random.writer;
+
+import java.util.List;
+
+/**
+ * Text format of the written records, each record is a single line.
+ *
+ * @author Anton Oparin
+ */
+public enum RecordFormat {
+
+    /**
+     * Newline delimited JSON, one flat object per line.
+     */
+    NDJSON(".ndjson") {
+        @Override
+        void header(final List<Column> columns, final StringBuilder line) {
+        }
+
+        @Override
+        void record(final Object value, final List<Column> columns, final StringBuilder line) {
+            line.append('{');
+            for (int i = 0; i < columns.size(); i++) {
+                Column column = columns.get(i);
+                if (i != 0)
+                    line.append(',');
+                appendString(column.getName(), line);
+                line.append(':');
+                Object columnValue = column.get(value);
+                if (columnValue == null) {
+                    line.append("null");
+                } else if (columnValue instanceof Boolean) {
+                    line.append(((Boolean) columnValue).booleanValue());
+                } else if (columnValue instanceof Double || columnValue instanceof Float) {
+                    double number = ((Number) columnValue).doubleValue();
+                    // JSON has no presentation for NaN and infinity
+                    if (Double.isNaN(number) || Double.isInfinite(number))
+                        line.append("null");
+                    else
+                        line.append(columnValue);
+                } else if (columnValue instanceof Number) {
+                    line.append(columnValue);
+                } else {
+                    appendString(columnValue instanceof Enum ? ((Enum<?>) columnValue).name() : columnValue.toString(), line);
+                }
+            }
+            line.append('}').append('\n');
+        }
+
+        private void appendString(final String value, final StringBuilder line) {
+            line.append('"');
+            for (int i = 0; i < value.length(); i++) {
+                char character = value.charAt(i);
+                switch (character) {
+                case '"':
+                    line.append("\\\"");
+                    break;
+                case '\\':
+                    line.append("\\\\");
+                    break;
+                case '\n':
+                    line.append("\\n");
+                    break;
+                case '\r':
+                    line.append("\\r");
+                    break;
+                case '\t':
+                    line.append("\\t");
+                    break;
+                default:
+                    if (character < 0x20 || Character.isSurrogate(character) && !isSurrogatePair(value, i)) {
+                        line.append(String.format("\\u%04x", (int) character));
+                    } else {
+                        line.append(character);
+                    }
+                }
+            }
+            line.append('"');
+        }
+
+        private boolean isSurrogatePair(final String value, final int i) {
+            char character = value.charAt(i);
+            if (Character.isHighSurrogate(character))
+                return i + 1 < value.length() && Character.isLowSurrogate(value.charAt(i + 1));
+            return i > 0 && Character.isHighSurrogate(value.charAt(i - 1));
+        }
+    },
+    /**
+     * Comma separated values (RFC 4180), with the header line.
+     */
+    CSV(".csv") {
+        @Override
+        void header(final List<Column> columns, final StringBuilder line) {
+            for (int i = 0; i < columns.size(); i++) {
+                if (i != 0)
+                    line.append(',');
+                appendValue(columns.get(i).getName(), line);
+            }
+            line.append('\n');
+        }
+
+        @Override
+        void record(final Object value, final List<Column> columns, final StringBuilder line) {
+            for (int i = 0; i < columns.size(); i++) {
+                if (i != 0)
+                    line.append(',');
+                Object columnValue = columns.get(i).get(value);
+                if (columnValue != null)
+                    appendValue(columnValue instanceof Enum ? ((Enum<?>) columnValue).name() : columnValue.toString(), line);
+            }
+            line.append('\n');
+        }
+
+        private void appendValue(final String value, final StringBuilder line) {
+            // Step 1. Values with separators, quotes or line breaks are quoted
+            boolean quote = false;
+            for (int i = 0; i < value.length() && !quote; i++) {
+                char character = value.charAt(i);
+                quote = character == ',' || character == '"' || character == '\n' || character == '\r';
+            }
+            if (!quote) {
+                line.append(value);
+                return;
+            }
+            // Step 2. Quotes are escaped by doubling
+            line.append('"');
+            for (int i = 0; i < value.length(); i++) {
+                char character = value.charAt(i);
+                if (character == '"')
+                    line.append('"');
+                line.append(character);
+            }
+            line.append('"');
+        }
+    };
+
+    /**
+     * File extension.
+     */
+    final private String extension;
+
+    private RecordFormat(final String extension) {
+        this.extension = extension;
+    }
+
+    /**
+     * @return file extension, including the dot.
+     */
+    public String getExtension() {
+        return extension;
+    }
+
+    /**
+     * Appends file header line, if format has one.
+     */
+    abstract void header(final List<Column> columns, final StringBuilder line);
+
+    /**
+     * Appends record line.
+     */
+    abstract void record(final Object value, final List<Column> columns, final StringBuilder line);
+
+}
@@ -0,0 +1,189 @@
+package com.clemble.test.random.writer;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Stream;
+
+import com.clemble.test.random.ObjectGenerator;
+
+/**
+ * Generates values of the class and writes them as text records, for loading in the data base. Values are generated
+ * lazily and encoded in reusable direct buffers, written to the {@link FileChannel}, so memory use does not depend on
+ * the number of records.
+ * <p>
+ * Output can be split in several files, written in parallel, each with a contiguous part of the records, and compressed
+ * with gzip, blocks of the file are compressed in parallel. In seeded mode records are the same, as a single list
+ * generated with the same seed.
+ *
+ * @author Anton Oparin
+ *
+ * @param <T>
+ *            written type.
+ */
+final public class RecordWriter<T> {
+
+    /**
+     * Size of the encoded block, compressed as a separate gzip member.
+     */
+    final static int BLOCK_SIZE = 1 << 20;
+
+    final private Class<T> type;
+    final private RecordFormat format;
+    /**
+     * Whether output is compressed with gzip.
+     */
+    private boolean compressed;
+    /**
+     * Number of output files.
+     */
+    private int files = 1;
+    /**
+     * {@link Executor} output files are written on.
+     */
+    private Executor executor = ForkJoinPool.commonPool();
+
+    public RecordWriter(final Class<T> type, final RecordFormat format) {
+        this.type = checkNotNull(type);
+        this.format = checkNotNull(format);
+    }
+
+    /**
+     * @param compressed whether output is compressed with gzip.
+     * @return this {@link RecordWriter}.
+     */
+    public RecordWriter<T> compressed(final boolean compressed) {
+        this.compressed = compressed;
+        return this;
+    }
+
+    /**
+     * @param files number of output files, written in parallel.
+     * @return this {@link RecordWriter}.
+     */
+    public RecordWriter<T> files(final int files) {
+        if (files <= 0)
+            throw new IllegalArgumentException("Number of files must be positive");
+        this.files = files;
+        return this;
+    }
+
+    /**
+     * @param executor {@link Executor} output files are written on.
+     * @return this {@link RecordWriter}.
+     */
+    public RecordWriter<T> executor(final Executor executor) {
+        this.executor = checkNotNull(executor);
+        return this;
+    }
+
+    /**
+     * Generates and writes records. Output files are named after the prefix, with the file number if there are several
+     * files, format extension and <code>.gz</code> if compressed, for example <code>orders-0.csv.gz</code>.
+     *
+     * @param prefix prefix of the output files, existing files are replaced.
+     * @param count number of records.
+     * @return written files.
+     * @throws IOException if write fails.
+     */
+    public List<Path> write(final Path prefix, final long count) throws IOException {
+        if (count < 0)
+            throw new IllegalArgumentException("Count must be non negative");
+        final List<Column> columns = Column.of(type);
+        // Step 1. Creating lazy streams in file order, so in seeded mode files get contiguous indexes
+        List<Path> paths = new ArrayList<Path>();
+        List<Stream<T>> streams = new ArrayList<Stream<T>>();
+        for (int i = 0; i < files; i++) {
+            String name = prefix.getFileName() + (files > 1 ? "-" + i : "") + format.getExtension() + (compressed ? ".gz" : "");
+            paths.add(prefix.resolveSibling(name));
+            streams.add(ObjectGenerator.stream(type, count / files + (i < count % files ? 1 : 0)));
+        }
+        // Step 2. Writing files
+        if (files == 1) {
+            writeFile(paths.get(0), streams.get(0), columns);
+            return paths;
+        }
+        List<CompletableFuture<Void>> writes = new ArrayList<CompletableFuture<Void>>();
+        for (int i = 0; i < files; i++) {
+            final Path path = paths.get(i);
+            final Stream<T> stream = streams.get(i);
+            writes.add(CompletableFuture.runAsync(() -> {
+                try {
+                    writeFile(path, stream, columns);
+                } catch (IOException ioException) {
+                    throw new UncheckedIOException(ioException);
+                }
+            }, executor));
+        }
+        try {
+            CompletableFuture.allOf(writes.toArray(new CompletableFuture<?>[writes.size()])).join();
+        } catch (CompletionException completionException) {
+            if (completionException.getCause() instanceof UncheckedIOException)
+                throw ((UncheckedIOException) completionException.getCause()).getCause();
+            throw completionException;
+        }
+        return paths;
+    }
+
+    private void writeFile(final Path path, final Stream<T> values, final List<Column> columns) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+        ForkJoinPool compressor = ForkJoinPool.commonPool();
+        try (BlockOutput output = compressed ? BlockOutput.gzip(channel, compressor, compressor.getParallelism() + 1) : BlockOutput.plain(channel)) {
+            CharsetEncoder encoder = StandardCharsets.UTF_8.newEncoder().onMalformedInput(CodingErrorAction.REPLACE).onUnmappableCharacter(CodingErrorAction.REPLACE);
+            ByteBuffer block = ByteBuffer.allocateDirect(BLOCK_SIZE);
+            StringBuilder line = new StringBuilder(256);
+            // Step 1. Writing header
+            format.header(columns, line);
+            append(line, encoder, block, output);
+            // Step 2. Writing records, line buffer is reused
+            Iterator<T> iterator = values.iterator();
+            while (iterator.hasNext()) {
+                line.setLength(0);
+                format.record(iterator.next(), columns, line);
+                append(line, encoder, block, output);
+            }
+            // Step 3. Writing the last block
+            block.flip();
+            if (block.hasRemaining())
+                output.write(block);
+        }
+    }
+
+    private static void append(final StringBuilder line, final CharsetEncoder encoder, final ByteBuffer block, final BlockOutput output) throws IOException {
+        CharBuffer characters = CharBuffer.wrap(line);
+        encoder.reset();
+        while (true) {
+            CoderResult result = encoder.encode(characters, block, true);
+            if (result.isOverflow()) {
+                block.flip();
+                output.write(block);
+                block.clear();
+            } else {
+                break;
+            }
+        }
+        while (encoder.flush(block).isOverflow()) {
+            block.flip();
+            output.write(block);
+            block.clear();
+        }
+    }
+
+}
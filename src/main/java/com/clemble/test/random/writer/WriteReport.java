@@ -0,0 +1,46 @@
+package com.clemble.test.random.writer;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Result of the write: number of written rows and time it took.
+ *
+ * @author Anton Oparin
+ */
+final public class WriteReport {
+
+    final private long rows;
+    final private long elapsedNanos;
+
+    WriteReport(final long rows, final long elapsedNanos) {
+        this.rows = rows;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    /**
+     * @return number of written rows.
+     */
+    public long getRows() {
+        return rows;
+    }
+
+    /**
+     * @return time of the write in milliseconds.
+     */
+    public long getElapsedMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(elapsedNanos);
+    }
+
+    /**
+     * @return throughput in rows per second.
+     */
+    public double getRowsPerSecond() {
+        return elapsedNanos == 0 ? 0 : rows * (double) TimeUnit.SECONDS.toNanos(1) / elapsedNanos;
+    }
+
+    @Override
+    public String toString() {
+        return rows + " rows in " + getElapsedMillis() + " ms (" + Math.round(getRowsPerSecond()) + " rows/sec)";
+    }
+
+}
@@ -12,7 +12,6 @@ import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import com.clemble.test.random.constructor.ClassAccessWrapper;
-import org.reflections.Reflections;
 
 /**
  * Collection of internal Reflection utilities used by stresstest packages.
@@ -59,7 +58,8 @@ public class ReflectionUtils {
     }
 
     /**
-     * Searches for possible implementations of the package in provided package and all underlying packages.
+     * Searches for possible implementations of the package in provided package and all underlying packages,
+     * uses {@link SubtypeIndex} of the {@link Class} {@link ClassLoader}, so each package is scanned only once.
      *
      * @param <T>         the type of object to search
      * @param klass       source Class
@@ -68,9 +68,7 @@ public class ReflectionUtils {
      * from provided package and all sub packages.
      */
     public static <T> Set<Class<? extends T>> findPossibleImplementations(String packageName, Class<T> klass) {
-        Reflections reflections = new Reflections(packageName);
-        Set<Class<? extends T>> subTypes = reflections.getSubTypesOf(klass);
-        return subTypes;
+        return SubtypeIndex.forClass(klass).getSubTypesOf(packageName, klass);
     }
 
     /**
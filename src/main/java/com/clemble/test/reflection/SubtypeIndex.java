@@ -0,0 +1,291 @@
+package com.clemble.test.reflection;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Writer;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.reflections.Reflections;
+import org.reflections.scanners.SubTypesScanner;
+
+import com.google.common.base.Joiner;
+import com.google.common.base.Splitter;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Multimap;
+
+/**
+ * Index of subtypes, built once per {@link ClassLoader}. Lookup first checks prebuilt index files
+ * ({@value #INDEX_LOCATION}), than packages already scanned with {@link Reflections}, and only if none of them apply
+ * scans the package. All lookup results are cached, so repeated lookups are a simple {@link Map} read.
+ *
+ * @author Anton Oparin
+ */
+final public class SubtypeIndex {
+
+    /**
+     * Location of prebuilt index files in the classpath.
+     */
+    final public static String INDEX_LOCATION = "META-INF/object-generator/subtypes.index";
+
+    /**
+     * Header of index file, listing packages covered by the index.
+     */
+    final private static String PACKAGES_HEADER = "#packages=";
+
+    /**
+     * Subtypes are returned ordered by name, so that the same subtype is selected on every run.
+     */
+    final private static Comparator<Class<?>> NAME_ORDER = Comparator.comparing(Class::getName);
+
+    /**
+     * Indexes associated with {@link ClassLoader}s, weak keys allow {@link ClassLoader} to be collected.
+     */
+    final private static LoadingCache<ClassLoader, SubtypeIndex> INDEXES = CacheBuilder.newBuilder().weakKeys().build(
+        new CacheLoader<ClassLoader, SubtypeIndex>() {
+            @Override
+            public SubtypeIndex load(ClassLoader classLoader) throws Exception {
+                return new SubtypeIndex(classLoader);
+            }
+        });
+
+    /**
+     * {@link ClassLoader} used for scanning and loading of indexed classes.
+     */
+    final private ClassLoader classLoader;
+    /**
+     * Packages covered by prebuilt index files.
+     */
+    final private Collection<String> indexedPackages;
+    /**
+     * Prebuilt mapping of type name to all of its subtype names.
+     */
+    final private Map<String, Set<String>> indexedSubtypes;
+    /**
+     * Packages, that were already scanned with {@link Reflections}.
+     */
+    final private ConcurrentMap<String, Reflections> scannedPackages = new ConcurrentHashMap<String, Reflections>();
+    /**
+     * Cached lookup results, keyed by package name and searched type.
+     */
+    final private ConcurrentMap<List<Object>, Set<Class<?>>> subtypes = new ConcurrentHashMap<List<Object>, Set<Class<?>>>();
+
+    private SubtypeIndex(final ClassLoader classLoader) {
+        this.classLoader = checkNotNull(classLoader);
+        this.indexedPackages = new ArrayList<String>();
+        this.indexedSubtypes = new HashMap<String, Set<String>>();
+        // Step 1. Reading all prebuilt index files available to the ClassLoader
+        try {
+            Enumeration<URL> indexFiles = classLoader.getResources(INDEX_LOCATION);
+            while (indexFiles.hasMoreElements())
+                read(indexFiles.nextElement());
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to read " + INDEX_LOCATION, e);
+        }
+    }
+
+    /**
+     * Returns {@link SubtypeIndex} associated with the {@link ClassLoader}.
+     *
+     * @param classLoader {@link ClassLoader} to use, if <code>null</code> context {@link ClassLoader} is used.
+     * @return {@link SubtypeIndex} for the {@link ClassLoader}.
+     */
+    public static SubtypeIndex forClassLoader(ClassLoader classLoader) {
+        if (classLoader == null)
+            classLoader = Thread.currentThread().getContextClassLoader();
+        if (classLoader == null)
+            classLoader = SubtypeIndex.class.getClassLoader();
+        return INDEXES.getUnchecked(classLoader);
+    }
+
+    /**
+     * Returns {@link SubtypeIndex} associated with the {@link ClassLoader} of the {@link Class}.
+     *
+     * @param klass source {@link Class}.
+     * @return {@link SubtypeIndex} for the {@link Class}.
+     */
+    public static SubtypeIndex forClass(Class<?> klass) {
+        return forClassLoader(klass.getClassLoader());
+    }
+
+    /**
+     * Checks whether package is covered by prebuilt index file.
+     *
+     * @param packageName package name.
+     * @return <code>true</code> if package lookups are served from prebuilt index, <code>false</code> otherwise.
+     */
+    public boolean isIndexed(String packageName) {
+        return findCoveringPackage(indexedPackages, packageName) != null;
+    }
+
+    /**
+     * Searches for all subtypes of the {@link Class} in the package and all underlying packages.
+     *
+     * @param <T>         the type of object to search
+     * @param packageName search start point
+     * @param klass       source Class
+     * @return all subtypes of the {@link Class} from provided package and all sub packages.
+     */
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    public <T> Set<Class<? extends T>> getSubTypesOf(final String packageName, final Class<T> klass) {
+        List<Object> key = Arrays.<Object>asList(packageName, klass);
+        Set<Class<?>> cached = subtypes.get(key);
+        if (cached == null) {
+            Set<Class<?>> computed = (Set) computeSubTypesOf(packageName, klass);
+            cached = subtypes.putIfAbsent(key, computed);
+            if (cached == null)
+                cached = computed;
+        }
+        return (Set) cached;
+    }
+
+    private <T> Set<Class<? extends T>> computeSubTypesOf(final String packageName, final Class<T> klass) {
+        // Step 1. Checking prebuilt index
+        if (isIndexed(packageName)) {
+            Set<String> names = indexedSubtypes.get(klass.getName());
+            return names != null ? load(packageName, klass, names) : ImmutableSet.<Class<? extends T>>of();
+        }
+        // Step 2. Checking packages, that were already scanned
+        String scannedPackage = findCoveringPackage(scannedPackages.keySet(), packageName);
+        // Step 3. Scanning package, if it was not scanned before
+        if (scannedPackage == null) {
+            scannedPackages.computeIfAbsent(packageName, scanPackage -> new Reflections(scanPackage, classLoader));
+            scannedPackage = packageName;
+        }
+        Set<Class<? extends T>> scanned = scannedPackages.get(scannedPackage).getSubTypesOf(klass);
+        // Step 4. Leaving only types from requested package, scan itself matches packages by name prefix
+        List<Class<? extends T>> result = new ArrayList<Class<? extends T>>();
+        for (Class<? extends T> subType : scanned)
+            if (covers(packageName, subType.getName()))
+                result.add(subType);
+        return ordered(result);
+    }
+
+    private static <T> Set<Class<? extends T>> ordered(Collection<Class<? extends T>> subTypes) {
+        List<Class<? extends T>> orderedSubTypes = new ArrayList<Class<? extends T>>(subTypes);
+        orderedSubTypes.sort(NAME_ORDER);
+        return ImmutableSet.copyOf(orderedSubTypes);
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> Set<Class<? extends T>> load(String packageName, Class<T> klass, Set<String> names) {
+        List<Class<? extends T>> result = new ArrayList<Class<? extends T>>();
+        for (String name : names) {
+            if (!covers(packageName, name))
+                continue;
+            try {
+                Class<?> subType = Class.forName(name, false, classLoader);
+                if (klass.isAssignableFrom(subType))
+                    result.add((Class<? extends T>) subType);
+            } catch (ClassNotFoundException | LinkageError e) {
+                // Ignore stale index entries
+            }
+        }
+        return ordered(result);
+    }
+
+    private static String findCoveringPackage(Collection<String> packages, String packageName) {
+        for (String candidate : packages)
+            if (covers(candidate, packageName))
+                return candidate;
+        return null;
+    }
+
+    /**
+     * Checks that package, or class, belongs to the package or one of its sub packages.
+     *
+     * @param packageName covering package name, empty for the default package.
+     * @param name package or class name.
+     * @return <code>true</code> if name is the package itself, or is nested in it.
+     */
+    private static boolean covers(String packageName, String name) {
+        return packageName.isEmpty() || name.equals(packageName) || name.startsWith(packageName + ".");
+    }
+
+    private void read(URL indexFile) throws IOException {
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(indexFile.openStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.startsWith(PACKAGES_HEADER)) {
+                    indexedPackages.addAll(Splitter.on(',').omitEmptyStrings().trimResults().splitToList(line.substring(PACKAGES_HEADER.length())));
+                } else if (!line.isEmpty() && !line.startsWith("#")) {
+                    int separator = line.indexOf('=');
+                    Set<String> names = indexedSubtypes.get(line.substring(0, separator));
+                    if (names == null)
+                        indexedSubtypes.put(line.substring(0, separator), names = new HashSet<String>());
+                    names.addAll(Splitter.on(',').omitEmptyStrings().splitToList(line.substring(separator + 1)));
+                }
+            }
+        }
+    }
+
+    /**
+     * Scans provided packages and writes index file, which is used instead of scanning in later runs.
+     *
+     * @param outputDirectory root of the classpath directory to write index to (for example target/classes).
+     * @param packages        packages to index.
+     * @return written index {@link File}.
+     * @throws IOException in case of write failure.
+     */
+    public static File write(File outputDirectory, String... packages) throws IOException {
+        // Step 1. Scanning all requested packages
+        Map<String, Set<String>> index = new TreeMap<String, Set<String>>();
+        for (String packageName : packages) {
+            Reflections reflections = new Reflections(packageName);
+            Multimap<String, String> directSubtypes = reflections.getStore().get(SubTypesScanner.class.getSimpleName());
+            if (directSubtypes == null)
+                continue;
+            for (String supertype : directSubtypes.keySet()) {
+                Set<String> names = index.get(supertype);
+                if (names == null)
+                    index.put(supertype, names = new TreeSet<String>());
+                for (String subType : reflections.getStore().getAll(SubTypesScanner.class.getSimpleName(), supertype))
+                    names.add(subType);
+            }
+        }
+        // Step 2. Writing index file
+        File indexFile = new File(outputDirectory, INDEX_LOCATION);
+        indexFile.getParentFile().mkdirs();
+        try (Writer writer = Files.newBufferedWriter(indexFile.toPath(), StandardCharsets.UTF_8)) {
+            writer.write(PACKAGES_HEADER + Joiner.on(',').join(packages) + "\n");
+            for (Map.Entry<String, Set<String>> entry : index.entrySet())
+                writer.write(entry.getKey() + "=" + Joiner.on(',').join(entry.getValue()) + "\n");
+        }
+        return indexFile;
+    }
+
+    /**
+     * Build time entry point, writes index file.
+     *
+     * @param args output directory, followed by the list of packages to index.
+     * @throws IOException in case of write failure.
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2)
+            throw new IllegalArgumentException("Usage: SubtypeIndex <output directory> <package>...");
+        write(new File(args[0]), Arrays.copyOfRange(args, 1, args.length));
+    }
+
+}
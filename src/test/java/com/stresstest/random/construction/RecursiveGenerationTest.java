@@ -0,0 +1,166 @@
+package com.stresstest.random.construction;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.validation.constraints.NotNull;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.clemble.test.random.ObjectGenerator;
+import com.clemble.test.random.generator.RecursiveValueGenerator;
+
+public class RecursiveGenerationTest {
+
+    public static class Node {
+        private String value;
+        private Node next;
+
+        public void setValue(String value) {
+            this.value = value;
+        }
+
+        public void setNext(Node next) {
+            this.next = next;
+        }
+    }
+
+    public static class BinaryTree {
+        private long value;
+        private BinaryTree left;
+        private BinaryTree right;
+
+        public void setValue(long value) {
+            this.value = value;
+        }
+
+        public void setLeft(BinaryTree left) {
+            this.left = left;
+        }
+
+        public void setRight(BinaryTree right) {
+            this.right = right;
+        }
+
+        public int size() {
+            return 1 + (left != null ? left.size() : 0) + (right != null ? right.size() : 0);
+        }
+    }
+
+    public static class Category {
+        private String name;
+        private List<Category> children = new ArrayList<Category>();
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public void setChildren(List<Category> children) {
+            this.children = children;
+        }
+
+        public void addChildren(Category child) {
+            this.children.add(child);
+        }
+    }
+
+    public static class Parent {
+        private Child child;
+
+        public void setChild(Child child) {
+            this.child = child;
+        }
+    }
+
+    public static class Child {
+        private Parent parent;
+
+        public void setParent(Parent parent) {
+            this.parent = parent;
+        }
+    }
+
+    public static class Department {
+        private Employee manager;
+
+        public void setManager(Employee manager) {
+            this.manager = manager;
+        }
+    }
+
+    public static class Employee {
+        @NotNull
+        private Department department;
+
+        public void setDepartment(Department department) {
+            this.department = department;
+        }
+    }
+
+    @After
+    public void reset() {
+        ObjectGenerator.setMaxDepth(3);
+        ObjectGenerator.setMaxNodes(1024);
+        ObjectGenerator.disableCaching();
+    }
+
+    @Test
+    public void testLinkedNodeDepth() {
+        ObjectGenerator.setMaxDepth(2);
+        Node node = ObjectGenerator.generate(Node.class);
+        Assert.assertNotNull(node.value);
+        Assert.assertNotNull(node.next);
+        Assert.assertNotNull(node.next.next);
+        Assert.assertNotNull(node.next.next.value);
+        Assert.assertNull(node.next.next.next);
+    }
+
+    @Test
+    public void testNodeBudgetPerRoot() {
+        Assert.assertEquals(15, ObjectGenerator.generate(BinaryTree.class).size());
+        ObjectGenerator.setMaxNodes(4);
+        for (BinaryTree tree : ObjectGenerator.generateList(BinaryTree.class, 10))
+            Assert.assertEquals(5, tree.size());
+    }
+
+    @Test
+    public void testCollectionStaysEmpty() {
+        ObjectGenerator.setMaxDepth(1);
+        Category category = ObjectGenerator.generate(Category.class);
+        Assert.assertEquals(1, category.children.size());
+        Assert.assertNotNull(category.children.get(0).name);
+        Assert.assertTrue(category.children.get(0).children.isEmpty());
+    }
+
+    @Test
+    public void testMutualReference() {
+        Parent parent = ObjectGenerator.generate(Parent.class);
+        Assert.assertNotNull(parent.child);
+        Assert.assertNotNull(parent.child.parent);
+        Child child = ObjectGenerator.generate(Child.class);
+        Assert.assertNotNull(child.parent);
+    }
+
+    @Test
+    public void testCachedResolution() {
+        ObjectGenerator.enableCaching();
+        ObjectGenerator.setMaxDepth(0);
+        Node node = ObjectGenerator.generate(Node.class);
+        Assert.assertNotNull(node);
+        Assert.assertNull(node.next);
+        Assert.assertNotNull(ObjectGenerator.generate(Parent.class).child);
+    }
+
+    @Test
+    public void testRequiredReferenceFailsLoudly() {
+        try {
+            ObjectGenerator.generate(Department.class);
+            Assert.fail("Required references never end");
+        } catch (RuntimeException exception) {
+            Assert.assertTrue(RecursiveValueGenerator.isUnfinished(exception));
+        }
+    }
+
+}
@@ -0,0 +1,209 @@
+package com.stresstest.random.corpus;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.clemble.test.random.ObjectGenerator;
+import com.clemble.test.random.corpus.Corpus;
+import com.clemble.test.random.corpus.CorpusWriter;
+
+public class CorpusTest {
+
+    public enum Status {
+        NEW, ACTIVE, CLOSED
+    }
+
+    public static class Address {
+        private String city;
+        private int zip;
+
+        public void setCity(String city) {
+            this.city = city;
+        }
+
+        public void setZip(int zip) {
+            this.zip = zip;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (!(obj instanceof Address))
+                return false;
+            Address other = (Address) obj;
+            return Objects.equals(city, other.city) && zip == other.zip;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(city, zip);
+        }
+    }
+
+    public static class Customer {
+        private long id;
+        private double balance;
+        private boolean vip;
+        private char grade;
+        private Integer age;
+        private String name;
+        private Status status;
+        private Address address;
+
+        public void setId(long id) {
+            this.id = id;
+        }
+
+        public void setBalance(double balance) {
+            this.balance = balance;
+        }
+
+        public void setVip(boolean vip) {
+            this.vip = vip;
+        }
+
+        public void setGrade(char grade) {
+            this.grade = grade;
+        }
+
+        public void setAge(Integer age) {
+            this.age = age;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public void setStatus(Status status) {
+            this.status = status;
+        }
+
+        public void setAddress(Address address) {
+            this.address = address;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (!(obj instanceof Customer))
+                return false;
+            Customer other = (Customer) obj;
+            return id == other.id && balance == other.balance && vip == other.vip && grade == other.grade && Objects.equals(age, other.age)
+                    && Objects.equals(name, other.name) && status == other.status && Objects.equals(address, other.address);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(id, name);
+        }
+    }
+
+    public static class Point {
+        final private int x;
+        final private String label;
+        final private Address address;
+
+        public Point(int x, String label, Address address) {
+            this.x = x;
+            this.label = label;
+            this.address = address;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (!(obj instanceof Point))
+                return false;
+            Point other = (Point) obj;
+            return x == other.x && Objects.equals(label, other.label) && Objects.equals(address, other.address);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(x, label);
+        }
+    }
+
+    public static class Basket {
+        private List<String> items;
+
+        public void setItems(List<String> items) {
+            this.items = items;
+        }
+    }
+
+    public static class Other {
+        private String value;
+
+        public void setValue(String value) {
+            this.value = value;
+        }
+    }
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @After
+    public void clean() {
+        ObjectGenerator.disableSeeding();
+    }
+
+    @Test
+    public void testWriteAndRead() throws IOException {
+        Path path = folder.newFile().toPath();
+        ObjectGenerator.enableSeeding(42);
+        List<Customer> customers = ObjectGenerator.generateList(Customer.class, 1000);
+        ObjectGenerator.enableSeeding(42);
+        ObjectGenerator.writeCorpus(Customer.class, 1000, path);
+
+        Corpus<Customer> corpus = ObjectGenerator.openCorpus(Customer.class, path);
+        Assert.assertEquals(1000, corpus.size());
+        Assert.assertEquals(customers.get(500), corpus.get(500));
+        Assert.assertNotSame(corpus.get(0), corpus.get(0));
+        Assert.assertEquals(customers, corpus.stream().parallel().collect(Collectors.toList()));
+    }
+
+    @Test
+    public void testSegments() throws IOException {
+        Path path = folder.newFile().toPath();
+        List<Customer> customers = ObjectGenerator.generateList(Customer.class, 500);
+        CorpusWriter.write(path, Customer.class, customers.iterator(), customers.size(), 1024);
+        Assert.assertTrue(Files.size(path) > 10 * 1024);
+
+        Corpus<Customer> corpus = Corpus.open(Customer.class, path);
+        for (int i = 0; i < customers.size(); i++)
+            Assert.assertEquals(customers.get(i), corpus.get(i));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testConstructedWithArguments() throws IOException {
+        ObjectGenerator.writeCorpus(Point.class, 10, folder.newFile().toPath());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testUnsupported() throws IOException {
+        ObjectGenerator.writeCorpus(Basket.class, 10, folder.newFile().toPath());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testLayoutMismatch() throws IOException {
+        Path path = folder.newFile().toPath();
+        ObjectGenerator.writeCorpus(Customer.class, 10, path);
+        Corpus.open(Other.class, path);
+    }
+
+    @Test(expected = IOException.class)
+    public void testNotCorpus() throws IOException {
+        Path path = folder.newFile().toPath();
+        Files.write(path, new byte[64]);
+        Corpus.open(Customer.class, path);
+    }
+
+}
@@ -0,0 +1,100 @@
+package com.stresstest.random.factory;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.clemble.test.random.ObjectGenerator;
+import com.clemble.test.random.generator.SizeDistribution;
+
+public class ArrayGenerationTest {
+
+    public static class Item {
+        private String name;
+
+        public void setName(String name) {
+            this.name = name;
+        }
+    }
+
+    public static class ArrayBean {
+        private Item[] items;
+        private String[] names;
+        private int[][] matrix;
+        private float[] weights;
+        private double[] scores;
+        private boolean[] flags;
+
+        public void setItems(Item[] items) {
+            this.items = items;
+        }
+
+        public void setNames(String[] names) {
+            this.names = names;
+        }
+
+        public void setMatrix(int[][] matrix) {
+            this.matrix = matrix;
+        }
+
+        public void setWeights(float[] weights) {
+            this.weights = weights;
+        }
+
+        public void setScores(double[] scores) {
+            this.scores = scores;
+        }
+
+        public void setFlags(boolean[] flags) {
+            this.flags = flags;
+        }
+    }
+
+    @After
+    public void reset() {
+        ObjectGenerator.resetCollectionSizes();
+    }
+
+    @Test
+    public void testTypedArrays() {
+        ArrayBean bean = ObjectGenerator.generate(ArrayBean.class);
+        Assert.assertNotNull(bean.items);
+        Assert.assertTrue(bean.items.length >= 1 && bean.items.length <= 10);
+        for (Item item : bean.items)
+            Assert.assertNotNull(item.name);
+        Assert.assertNotNull(bean.names);
+        Assert.assertNotNull(bean.matrix);
+        Assert.assertNotNull(bean.matrix[0]);
+    }
+
+    @Test
+    public void testFloatingArraysInRange() {
+        ObjectGenerator.defaultArrayLength(SizeDistribution.fixed(1000));
+        ArrayBean bean = ObjectGenerator.generate(ArrayBean.class);
+        Assert.assertEquals(1000, bean.weights.length);
+        for (float weight : bean.weights)
+            Assert.assertTrue(weight >= 0 && weight < 1);
+        for (double score : bean.scores)
+            Assert.assertTrue(score >= 0 && score < 1);
+        int set = 0;
+        for (boolean flag : bean.flags)
+            set += flag ? 1 : 0;
+        Assert.assertTrue(set > 0 && set < 1000);
+    }
+
+    @Test
+    public void testConfiguredLengths() {
+        ObjectGenerator.arrayLength(byte.class, SizeDistribution.fixed(4 << 20));
+        ObjectGenerator.arrayLength(int.class, SizeDistribution.fixed(7));
+        ObjectGenerator.arrayLength(Item.class, SizeDistribution.fixed(0));
+        byte[] bytes = ObjectGenerator.generate(byte[].class);
+        Assert.assertEquals(4 << 20, bytes.length);
+        int[] integers = ObjectGenerator.generate(int[].class);
+        Assert.assertEquals(7, integers.length);
+        ArrayBean bean = ObjectGenerator.generate(ArrayBean.class);
+        Assert.assertEquals(0, bean.items.length);
+        for (int[] row : bean.matrix)
+            Assert.assertEquals(7, row.length);
+    }
+
+}
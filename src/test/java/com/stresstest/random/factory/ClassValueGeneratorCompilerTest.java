@@ -0,0 +1,173 @@
+package com.stresstest.random.factory;
+
+import java.util.function.Supplier;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.clemble.test.random.ObjectGenerator;
+import com.clemble.test.random.ValueGeneratorFactory;
+import com.clemble.test.random.constructor.ClassValueGenerator;
+import com.clemble.test.random.constructor.ClassValueGeneratorCompiler;
+import com.clemble.test.random.generator.RandomValueGeneratorFactory;
+
+public class ClassValueGeneratorCompilerTest {
+
+    final private ValueGeneratorFactory valueGeneratorFactory = new RandomValueGeneratorFactory();
+
+    @SuppressWarnings("unused")
+    private static class PrivateBean {
+        final private String finalValue;
+        private Integer fieldValue;
+        private Long methodValue;
+
+        private PrivateBean(String finalValue) {
+            this.finalValue = finalValue;
+        }
+
+        private void setMethodValue(Long methodValue) {
+            this.methodValue = methodValue;
+        }
+
+        public void setBrokenValue(String brokenValue) {
+            throw new IllegalStateException();
+        }
+    }
+
+    public static class FactoryBean {
+        private int value;
+
+        private FactoryBean() {
+        }
+
+        public static FactoryBean create() {
+            return new FactoryBean();
+        }
+
+        public void setValue(int value) {
+            this.value = value;
+        }
+    }
+
+    @SuppressWarnings("unused")
+    private static class PrimitiveBean {
+        private boolean booleanField;
+        private byte byteField;
+        private char charField;
+        private short shortField;
+        private int intField;
+        private long longField;
+        private float floatField;
+        private double doubleField;
+
+        private boolean booleanValue;
+        private byte byteValue;
+        private char charValue;
+        private short shortValue;
+        private int intValue;
+        private long longValue;
+        private float floatValue;
+        private double doubleValue;
+
+        private void setBooleanProperty(boolean booleanValue) {
+            this.booleanValue = booleanValue;
+        }
+
+        private void setByteProperty(byte byteValue) {
+            this.byteValue = byteValue;
+        }
+
+        private void setCharProperty(char charValue) {
+            this.charValue = charValue;
+        }
+
+        private void setShortProperty(short shortValue) {
+            this.shortValue = shortValue;
+        }
+
+        private void setIntProperty(int intValue) {
+            this.intValue = intValue;
+        }
+
+        private void setLongProperty(long longValue) {
+            this.longValue = longValue;
+        }
+
+        private void setFloatProperty(float floatValue) {
+            this.floatValue = floatValue;
+        }
+
+        private void setDoubleProperty(double doubleValue) {
+            this.doubleValue = doubleValue;
+        }
+    }
+
+    @After
+    public void clean() {
+        ObjectGenerator.enableCompilation();
+    }
+
+    @Test
+    public void testPrivateMembersCompiled() {
+        Supplier<PrivateBean> generator = valueGeneratorFactory.get(PrivateBean.class);
+        Assert.assertTrue(ClassValueGeneratorCompiler.isCompiled(generator));
+        for (int i = 0; i < 100; i++) {
+            PrivateBean bean = generator.get();
+            Assert.assertNotNull(bean.finalValue);
+            Assert.assertNotNull(bean.fieldValue);
+            Assert.assertNotNull(bean.methodValue);
+        }
+    }
+
+    @Test
+    public void testFactoryMethodCompiled() {
+        Supplier<FactoryBean> generator = valueGeneratorFactory.get(FactoryBean.class);
+        Assert.assertTrue(ClassValueGeneratorCompiler.isCompiled(generator));
+        boolean valueSet = false;
+        for (int i = 0; i < 100; i++)
+            valueSet = valueSet || generator.get().value != 0;
+        Assert.assertTrue(valueSet);
+    }
+
+    @Test
+    public void testPrimitivesCompiled() {
+        Supplier<PrimitiveBean> generator = valueGeneratorFactory.get(PrimitiveBean.class);
+        Assert.assertTrue(ClassValueGeneratorCompiler.isCompiled(generator));
+        boolean[] fieldSet = new boolean[8];
+        boolean[] methodSet = new boolean[8];
+        for (int i = 0; i < 100; i++) {
+            PrimitiveBean bean = generator.get();
+            fieldSet[0] |= bean.booleanField;
+            fieldSet[1] |= bean.byteField != 0;
+            fieldSet[2] |= bean.charField != 0;
+            fieldSet[3] |= bean.shortField != 0;
+            fieldSet[4] |= bean.intField != 0;
+            fieldSet[5] |= bean.longField != 0;
+            fieldSet[6] |= bean.floatField != 0;
+            fieldSet[7] |= bean.doubleField != 0;
+            methodSet[0] |= bean.booleanValue;
+            methodSet[1] |= bean.byteValue != 0;
+            methodSet[2] |= bean.charValue != 0;
+            methodSet[3] |= bean.shortValue != 0;
+            methodSet[4] |= bean.intValue != 0;
+            methodSet[5] |= bean.longValue != 0;
+            methodSet[6] |= bean.floatValue != 0;
+            methodSet[7] |= bean.doubleValue != 0;
+        }
+        for (int i = 0; i < 8; i++) {
+            Assert.assertTrue("field " + i, fieldSet[i]);
+            Assert.assertTrue("method " + i, methodSet[i]);
+        }
+    }
+
+    @Test
+    public void testCompilationSwitch() {
+        ObjectGenerator.disableCompilation();
+        Supplier<PrivateBean> generator = valueGeneratorFactory.get(PrivateBean.class);
+        Assert.assertFalse(ClassValueGeneratorCompiler.isCompiled(generator));
+        Assert.assertEquals(ClassValueGenerator.class, generator.getClass());
+        Assert.assertNotNull(generator.get().methodValue);
+    }
+
+}
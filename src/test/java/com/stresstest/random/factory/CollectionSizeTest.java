@@ -0,0 +1,163 @@
+package com.stresstest.random.factory;
+
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.clemble.test.random.ObjectGenerator;
+import com.clemble.test.random.generator.SizeDistribution;
+
+public class CollectionSizeTest {
+
+    public static class Basket {
+        private List<String> items;
+        private Set<Integer> codes;
+        private Map<String, Long> prices;
+        private Deque<Long> history;
+
+        public void setItems(List<String> items) {
+            this.items = items;
+        }
+
+        public void addItems(String item) {
+            this.items.add(item);
+        }
+
+        public void setCodes(Set<Integer> codes) {
+            this.codes = codes;
+        }
+
+        public void setPrices(Map<String, Long> prices) {
+            this.prices = prices;
+        }
+
+        public void setHistory(Deque<Long> history) {
+            this.history = history;
+        }
+    }
+
+    public enum Level {
+        LOW, MEDIUM, HIGH
+    }
+
+    public static class Journal {
+        private List<String> items = new ArrayList<String>();
+        private List<String> archive;
+        private Set<String> labels;
+        private Set<Level> levels;
+
+        public void setArchive(List<String> archive) {
+            this.archive = archive;
+        }
+
+        public void addItem(String item) {
+            this.items.add(item);
+        }
+
+        public void setLabels(Set<String> labels) {
+            this.labels = labels;
+        }
+
+        public void addLabel(String label) {
+            this.labels.add(label);
+        }
+
+        public void setLevels(Set<Level> levels) {
+            this.levels = levels;
+        }
+    }
+
+    public static class Family {
+        private List<String> children;
+
+        public void setChildren(List<String> children) {
+            this.children = children;
+        }
+
+        public void addChild(String child) {
+            this.children.add(child);
+        }
+    }
+
+    @After
+    public void reset() {
+        ObjectGenerator.resetCollectionSizes();
+    }
+
+    @Test
+    public void testDefaultSingleElement() {
+        Basket basket = ObjectGenerator.generate(Basket.class);
+        Assert.assertEquals(1, basket.items.size());
+        Assert.assertTrue(basket.codes.isEmpty());
+        Assert.assertTrue(basket.prices.isEmpty());
+    }
+
+    @Test
+    public void testElementTypeSize() {
+        ObjectGenerator.collectionSize(String.class, SizeDistribution.fixed(5));
+        ObjectGenerator.collectionSize(Long.class, SizeDistribution.fixed(7));
+        Basket basket = ObjectGenerator.generate(Basket.class);
+        Assert.assertEquals(5, basket.items.size());
+        for (String item : basket.items)
+            Assert.assertNotNull(item);
+        Assert.assertEquals(7, basket.history.size());
+        Assert.assertEquals(7, basket.prices.size());
+    }
+
+    @Test
+    public void testPropertySize() {
+        ObjectGenerator.collectionSize(Long.class, SizeDistribution.fixed(7));
+        ObjectGenerator.collectionSize(Basket.class, "history", SizeDistribution.uniform(2, 4));
+        ObjectGenerator.collectionSize(Basket.class, "codes", SizeDistribution.fixed(3));
+        for (Basket basket : ObjectGenerator.generateList(Basket.class, 20)) {
+            Assert.assertTrue(basket.history.size() >= 2 && basket.history.size() <= 4);
+            Assert.assertTrue(basket.codes instanceof HashSet);
+            Assert.assertEquals(3, basket.codes.size());
+            Assert.assertEquals(7, basket.prices.size());
+            Assert.assertEquals(1, basket.items.size());
+        }
+    }
+
+    @Test
+    public void testSmallDomainSets() {
+        ObjectGenerator.collectionSize(Journal.class, "levels", SizeDistribution.fixed(2));
+        for (Journal journal : ObjectGenerator.generateList(Journal.class, 50))
+            Assert.assertEquals(2, journal.levels.size());
+    }
+
+    @Test
+    public void testAddMethodOfOtherCollection() {
+        ObjectGenerator.collectionSize(Journal.class, "archive", SizeDistribution.fixed(3));
+        ObjectGenerator.collectionSize(Journal.class, "labels", SizeDistribution.fixed(4));
+        Journal journal = ObjectGenerator.generate(Journal.class);
+        Assert.assertEquals(3, journal.archive.size());
+        Assert.assertEquals(1, journal.items.size());
+        Assert.assertEquals(4, journal.labels.size());
+    }
+
+    @Test
+    public void testIrregularAddMethod() {
+        ObjectGenerator.defaultCollectionSize(SizeDistribution.fixed(3));
+        for (Family family : ObjectGenerator.generateList(Family.class, 20))
+            Assert.assertEquals(3, family.children.size());
+    }
+
+    @Test
+    public void testLargePresizedCollections() {
+        ObjectGenerator.defaultCollectionSize(SizeDistribution.fixed(10_000));
+        Basket basket = ObjectGenerator.generate(Basket.class);
+        Assert.assertTrue(basket.items instanceof ArrayList);
+        Assert.assertEquals(10_000, basket.items.size());
+        Assert.assertTrue(basket.prices instanceof HashMap);
+        Assert.assertEquals(10_000, basket.prices.size());
+    }
+
+}
@@ -0,0 +1,121 @@
+package com.stresstest.random.factory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.clemble.test.random.ObjectGenerator;
+import com.clemble.test.random.generator.CachedValueGeneratorFactory;
+import com.clemble.test.random.generator.RandomValueGeneratorFactory;
+
+public class ConcurrentGenerationTest {
+
+    final private static int THREADS = 16;
+
+    final private ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+
+    public static class ResolvedBean {
+        private String name;
+        private NestedBean nested;
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public void setNested(NestedBean nested) {
+            this.nested = nested;
+        }
+    }
+
+    public static class NestedBean {
+        private long value;
+
+        public void setValue(long value) {
+            this.value = value;
+        }
+    }
+
+    public static class RegisteredBean {
+        private String value;
+
+        public void setValue(String value) {
+            this.value = value;
+        }
+    }
+
+    @Before
+    public void enableCaching() {
+        ObjectGenerator.enableCaching();
+    }
+
+    @After
+    public void clean() {
+        executor.shutdownNow();
+        ObjectGenerator.disableCaching();
+    }
+
+    @Test
+    public void testConcurrentFirstRequestResolvedOnce() throws Exception {
+        final AtomicInteger resolutions = new AtomicInteger();
+        final CachedValueGeneratorFactory cachedFactory = new CachedValueGeneratorFactory(new RandomValueGeneratorFactory() {
+            @Override
+            public <T> Supplier<T> get(Class<T> klass) {
+                if (klass == ResolvedBean.class) {
+                    resolutions.incrementAndGet();
+                    try {
+                        Thread.sleep(50);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+                return super.get(klass);
+            }
+        });
+        List<Supplier<ResolvedBean>> valueGenerators = runConcurrently(() -> cachedFactory.get(ResolvedBean.class));
+        Assert.assertEquals(1, resolutions.get());
+        for (Supplier<ResolvedBean> valueGenerator : valueGenerators)
+            Assert.assertSame(valueGenerators.get(0), valueGenerator);
+        Assert.assertNotNull(valueGenerators.get(0).get().nested);
+    }
+
+    @Test
+    public void testConcurrentGenerationAndRegistration() throws Exception {
+        List<ResolvedBean> generated = runConcurrently(() -> {
+            ObjectGenerator.register(RegisteredBean.class, "value", () -> "registered");
+            Assert.assertEquals("registered", ObjectGenerator.generate(RegisteredBean.class).value);
+            return ObjectGenerator.generate(ResolvedBean.class);
+        });
+        for (ResolvedBean bean : generated) {
+            Assert.assertNotNull(bean.name);
+            Assert.assertNotNull(bean.nested);
+        }
+    }
+
+    private <T> List<T> runConcurrently(final Callable<T> task) throws Exception {
+        final CountDownLatch start = new CountDownLatch(1);
+        List<Future<T>> futures = new ArrayList<Future<T>>();
+        for (int i = 0; i < THREADS; i++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                return task.call();
+            }));
+        }
+        start.countDown();
+        List<T> results = new ArrayList<T>();
+        for (Future<T> future : futures)
+            results.add(future.get());
+        return results;
+    }
+
+}
@@ -0,0 +1,171 @@
+package com.stresstest.random.factory;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import javax.validation.constraints.AssertTrue;
+import javax.validation.constraints.DecimalMax;
+import javax.validation.constraints.DecimalMin;
+import javax.validation.constraints.Future;
+import javax.validation.constraints.Max;
+import javax.validation.constraints.Min;
+import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Null;
+import javax.validation.constraints.Past;
+import javax.validation.constraints.Pattern;
+import javax.validation.constraints.Size;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.clemble.test.random.ObjectGenerator;
+
+public class ConstraintGenerationTest {
+
+    public static class Account {
+        @Size(min = 3, max = 8)
+        private String login;
+        @Size(min = 2, max = 4)
+        private List<String> roles;
+        @Size(min = 1, max = 3)
+        private Map<String, Integer> limits;
+        @Size(min = 6, max = 6)
+        private Set<Byte> flags;
+        @Size(min = 5, max = 5)
+        private int[] pins;
+        @Size(max = 2)
+        private String[] aliases;
+        @Min(18)
+        @Max(21)
+        private int age;
+        @DecimalMin(value = "0", inclusive = false)
+        private long visits;
+        @DecimalMin("-1.5")
+        @DecimalMax("1.5")
+        private double score;
+        @DecimalMin("10.05")
+        @DecimalMax("10.10")
+        private BigDecimal balance;
+        @Past
+        private Date created;
+        @Future
+        private LocalDate expires;
+        @AssertTrue
+        private boolean active;
+        @Null
+        private String comment;
+        @NotNull
+        @Size(max = 10)
+        @Pattern(regexp = "[0-9]{4}")
+        private String code;
+
+        public void setLogin(String login) {
+            this.login = login;
+        }
+
+        public void setRoles(List<String> roles) {
+            this.roles = roles;
+        }
+
+        public void setLimits(Map<String, Integer> limits) {
+            this.limits = limits;
+        }
+
+        public void setFlags(Set<Byte> flags) {
+            this.flags = flags;
+        }
+
+        public void setPins(int[] pins) {
+            this.pins = pins;
+        }
+
+        public void setAliases(String[] aliases) {
+            this.aliases = aliases;
+        }
+
+        public void setAge(int age) {
+            this.age = age;
+        }
+
+        public void setVisits(long visits) {
+            this.visits = visits;
+        }
+
+        public void setScore(double score) {
+            this.score = score;
+        }
+
+        public void setBalance(BigDecimal balance) {
+            this.balance = balance;
+        }
+
+        public void setCreated(Date created) {
+            this.created = created;
+        }
+
+        public void setExpires(LocalDate expires) {
+            this.expires = expires;
+        }
+
+        public void setActive(boolean active) {
+            this.active = active;
+        }
+
+        public void setComment(String comment) {
+            this.comment = comment;
+        }
+
+        public void setCode(String code) {
+            this.code = code;
+        }
+    }
+
+    public static class Measurement {
+        final private short level;
+        final private List<Integer> samples;
+        final private Map<Boolean, String> states;
+
+        public Measurement(@Min(-3) @Max(3) short level, @Size(min = 3, max = 3) List<Integer> samples, @Size(min = 2, max = 2) Map<Boolean, String> states) {
+            this.level = level;
+            this.samples = samples;
+            this.states = states;
+        }
+    }
+
+    @Test
+    public void testPropertyConstraints() {
+        for (Account account : ObjectGenerator.generateList(Account.class, 100)) {
+            Assert.assertTrue(account.login, account.login.length() >= 3 && account.login.length() <= 8);
+            Assert.assertTrue(account.roles.size() >= 2 && account.roles.size() <= 4);
+            Assert.assertTrue(account.limits.size() >= 1 && account.limits.size() <= 3);
+            Assert.assertEquals(6, account.flags.size());
+            Assert.assertEquals(5, account.pins.length);
+            Assert.assertTrue(account.aliases.length <= 2);
+            Assert.assertTrue(account.age >= 18 && account.age <= 21);
+            Assert.assertTrue(account.visits > 0);
+            Assert.assertTrue(account.score >= -1.5 && account.score <= 1.5);
+            Assert.assertTrue(account.balance.toString(), account.balance.compareTo(new BigDecimal("10.05")) >= 0 && account.balance.compareTo(new BigDecimal("10.10")) <= 0);
+            Assert.assertTrue(account.created.before(new Date()));
+            Assert.assertTrue(account.expires.isAfter(LocalDate.now()));
+            Assert.assertTrue(account.active);
+            Assert.assertNull(account.comment);
+            Assert.assertTrue(account.code, account.code.matches("[0-9]{4}"));
+        }
+    }
+
+    @Test
+    public void testParameterConstraints() {
+        for (Measurement measurement : ObjectGenerator.generateList(Measurement.class, 50)) {
+            Assert.assertTrue(measurement.level >= -3 && measurement.level <= 3);
+            Assert.assertEquals(3, measurement.samples.size());
+            Assert.assertEquals(2, measurement.states.size());
+            for (Integer sample : measurement.samples)
+                Assert.assertNotNull(sample);
+        }
+    }
+
+}
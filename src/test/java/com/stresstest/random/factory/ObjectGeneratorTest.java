@@ -16,6 +16,19 @@ public class ObjectGeneratorTest {
         public boolean value;
     }
 
+    public static class Flaky {
+        public Flaky(int value) {
+            if (value % 16 == 0)
+                throw new IllegalStateException();
+        }
+    }
+
+    public static class Broken {
+        public Broken(String value) {
+            throw new IllegalStateException();
+        }
+    }
+
     @Test
     public void testCaching() {
         ObjectGenerator.enableCaching();
@@ -34,4 +47,26 @@ public class ObjectGeneratorTest {
         constructors[0].setAccessible(true);
         constructors[0].newInstance();
     }
+
+    @Test
+    public void testListRetriesFailedValues() {
+        Assert.assertEquals(1000, ObjectGenerator.generateList(Flaky.class, 1000).size());
+        Assert.assertEquals(1000, ObjectGenerator.parallelGenerateList(Flaky.class, 1000).size());
+    }
+
+    @Test
+    public void testListFailsAsGenerate() {
+        try {
+            ObjectGenerator.generateList(Broken.class, 10);
+            Assert.fail();
+        } catch (RuntimeException exception) {
+            Assert.assertTrue(exception.getMessage().contains(Broken.class.getName()));
+        }
+        try {
+            ObjectGenerator.generate(Broken.class);
+            Assert.fail();
+        } catch (RuntimeException exception) {
+            Assert.assertTrue(exception.getMessage().contains(Broken.class.getName()));
+        }
+    }
 }
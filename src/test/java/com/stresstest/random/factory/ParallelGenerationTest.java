@@ -0,0 +1,73 @@
+package com.stresstest.random.factory;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.clemble.test.random.ObjectGenerator;
+import com.stresstest.random.factory.SeededGenerationTest.SeededBean;
+
+public class ParallelGenerationTest {
+
+    final private static int SIZE = 10000;
+
+    public static class ThreadBean {
+        final private String thread = Thread.currentThread().getName();
+        private long value;
+
+        public void setValue(long value) {
+            this.value = value;
+        }
+    }
+
+    @After
+    public void clean() {
+        ObjectGenerator.disableSeeding();
+    }
+
+    @Test
+    public void testParallelList() {
+        List<ThreadBean> values = ObjectGenerator.parallelGenerateList(ThreadBean.class, SIZE);
+        Assert.assertEquals(SIZE, values.size());
+        for (ThreadBean value : values)
+            Assert.assertNotNull(value);
+    }
+
+    @Test
+    public void testParallelArrayOnExecutor() {
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            ThreadBean[] values = ObjectGenerator.parallelGenerateArray(ThreadBean.class, SIZE, executor);
+            Set<String> threads = ConcurrentHashMap.newKeySet();
+            for (ThreadBean value : values)
+                threads.add(value.thread);
+            Assert.assertTrue(threads.size() > 1);
+            Assert.assertFalse(threads.contains(Thread.currentThread().getName()));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testPrimitiveArray() {
+        Integer[] values = ObjectGenerator.generateArray(int.class, 10);
+        Assert.assertEquals(10, values.length);
+        Assert.assertEquals(0, ObjectGenerator.parallelGenerateArray(int.class, 0).length);
+    }
+
+    @Test
+    public void testSeededParallelSameAsSequential() {
+        ObjectGenerator.enableSeeding(42);
+        List<SeededBean> sequential = ObjectGenerator.generateList(SeededBean.class, 2000);
+        ObjectGenerator.enableSeeding(42);
+        List<SeededBean> parallel = ObjectGenerator.parallelGenerateList(SeededBean.class, 2000);
+        Assert.assertEquals(sequential, parallel);
+    }
+
+}
@@ -0,0 +1,118 @@
+package com.stresstest.random.factory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Properties;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.clemble.test.random.ObjectGenerator;
+
+public class PlanCacheTest {
+
+    final private static AtomicInteger CONSTRUCTED = new AtomicInteger();
+
+    public static class CachedBean {
+        private String name;
+        private long value;
+
+        public CachedBean() {
+            CONSTRUCTED.incrementAndGet();
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public void setValue(long value) {
+            this.value = value;
+        }
+    }
+
+    public static class FactoryBean {
+        final private int value;
+
+        private FactoryBean(int value) {
+            CONSTRUCTED.incrementAndGet();
+            this.value = value;
+        }
+
+        public static FactoryBean create(int value) {
+            return new FactoryBean(value);
+        }
+    }
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private Path directory;
+
+    @Before
+    public void enable() {
+        directory = folder.getRoot().toPath();
+        ObjectGenerator.enablePlanCache(directory);
+    }
+
+    @After
+    public void disable() {
+        ObjectGenerator.disablePlanCache();
+    }
+
+    private Path entry(Class<?> klass) {
+        return directory.resolve(klass.getName() + ".public.plan");
+    }
+
+    @Test
+    public void testPlanReused() {
+        CONSTRUCTED.set(0);
+        ObjectGenerator.getValueGenerator(CachedBean.class);
+        Assert.assertTrue(CONSTRUCTED.get() > 0);
+        Assert.assertTrue(Files.exists(entry(CachedBean.class)));
+        // Rebuilt plan does no trial constructions
+        CONSTRUCTED.set(0);
+        CachedBean bean = ObjectGenerator.generate(CachedBean.class);
+        Assert.assertEquals(1, CONSTRUCTED.get());
+        Assert.assertNotNull(bean.name);
+    }
+
+    @Test
+    public void testFactoryReused() {
+        ObjectGenerator.getValueGenerator(FactoryBean.class);
+        Assert.assertTrue(Files.exists(entry(FactoryBean.class)));
+        CONSTRUCTED.set(0);
+        Assert.assertNotNull(ObjectGenerator.generate(FactoryBean.class));
+        Assert.assertEquals(1, CONSTRUCTED.get());
+    }
+
+    @Test
+    public void testChangedClassRediscovered() throws IOException {
+        ObjectGenerator.getValueGenerator(CachedBean.class);
+        Properties properties = new Properties();
+        try (InputStream input = Files.newInputStream(entry(CachedBean.class))) {
+            properties.load(input);
+        }
+        String hash = properties.getProperty("hash");
+        properties.setProperty("hash", "changed");
+        try (OutputStream output = Files.newOutputStream(entry(CachedBean.class))) {
+            properties.store(output, null);
+        }
+
+        CONSTRUCTED.set(0);
+        ObjectGenerator.getValueGenerator(CachedBean.class);
+        Assert.assertTrue(CONSTRUCTED.get() > 0);
+        try (InputStream input = Files.newInputStream(entry(CachedBean.class))) {
+            properties.load(input);
+        }
+        Assert.assertEquals(hash, properties.getProperty("hash"));
+    }
+
+}
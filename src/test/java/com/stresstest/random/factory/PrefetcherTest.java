@@ -0,0 +1,112 @@
+package com.stresstest.random.factory;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.clemble.test.random.ObjectGenerator;
+import com.clemble.test.random.ObjectPrefetcher;
+import com.stresstest.random.factory.SeededGenerationTest.SeededBean;
+
+public class PrefetcherTest {
+
+    public static class IdleBean {
+        private String name;
+
+        public void setName(String name) {
+            this.name = name;
+        }
+    }
+
+    private static Thread refiller(String name) {
+        for (Thread thread : Thread.getAllStackTraces().keySet())
+            if (thread.getName().equals("object-prefetcher-" + name + "-0"))
+                return thread;
+        return null;
+    }
+
+    private static void awaitState(Thread thread, Thread.State state) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10000;
+        while (thread.getState() != state && System.currentTimeMillis() < deadline)
+            Thread.sleep(10);
+    }
+
+    private static void awaitFill(ObjectPrefetcher<?> prefetcher, int level) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10000;
+        while (prefetcher.getFillLevel() < level && System.currentTimeMillis() < deadline)
+            Thread.sleep(10);
+    }
+
+    @Test
+    public void testPrefetched() throws InterruptedException {
+        try (ObjectPrefetcher<SeededBean> prefetcher = ObjectGenerator.prefetcher(SeededBean.class, 100, 1)) {
+            Assert.assertEquals(128, prefetcher.getCapacity());
+            awaitFill(prefetcher, 128);
+            Assert.assertEquals(128, prefetcher.getFillLevel());
+            for (int i = 0; i < 100; i++)
+                Assert.assertNotNull(prefetcher.get());
+            Assert.assertEquals(100, prefetcher.getPrefetchedCount());
+            Assert.assertEquals(0, prefetcher.getStarvationCount());
+        }
+    }
+
+    @Test
+    public void testStarvationAfterClose() throws InterruptedException {
+        ObjectPrefetcher<SeededBean> prefetcher = ObjectGenerator.prefetcher(SeededBean.class, 4, 1);
+        awaitFill(prefetcher, 4);
+        prefetcher.close();
+        Thread.sleep(50);
+        for (int i = 0; i < 10; i++)
+            Assert.assertNotNull(prefetcher.get());
+        Assert.assertTrue(prefetcher.getStarvationCount() >= 5);
+        Assert.assertEquals(10, prefetcher.getPrefetchedCount() + prefetcher.getStarvationCount());
+    }
+
+    @Test
+    public void testConcurrentConsumers() throws InterruptedException {
+        final int consumers = 4;
+        final int perConsumer = 5000;
+        final Set<SeededBean> values = Collections.synchronizedSet(Collections.newSetFromMap(new IdentityHashMap<SeededBean, Boolean>()));
+        final CountDownLatch done = new CountDownLatch(consumers);
+        ExecutorService executor = Executors.newFixedThreadPool(consumers);
+        try (final ObjectPrefetcher<SeededBean> prefetcher = ObjectGenerator.prefetcher(SeededBean.class, 256, 2)) {
+            for (int i = 0; i < consumers; i++)
+                executor.execute(() -> {
+                    for (int j = 0; j < perConsumer; j++)
+                        values.add(prefetcher.get());
+                    done.countDown();
+                });
+            Assert.assertTrue(done.await(30, TimeUnit.SECONDS));
+            Assert.assertEquals(consumers * perConsumer, prefetcher.getPrefetchedCount() + prefetcher.getStarvationCount());
+            // Each value is taken exactly once
+            Assert.assertEquals(consumers * perConsumer, values.size());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testIdleRefillerParkedUntilConsumed() throws InterruptedException {
+        try (ObjectPrefetcher<IdleBean> prefetcher = ObjectGenerator.prefetcher(IdleBean.class, 8, 1)) {
+            awaitFill(prefetcher, 8);
+            Thread refiller = refiller("IdleBean");
+            // Full ring parks the thread without timeout, until consumer takes a value
+            awaitState(refiller, Thread.State.WAITING);
+            Assert.assertEquals(Thread.State.WAITING, refiller.getState());
+            for (int i = 0; i < 4; i++)
+                Assert.assertNotNull(prefetcher.get().name);
+            awaitFill(prefetcher, 8);
+            Assert.assertEquals(8, prefetcher.getFillLevel());
+            awaitState(refiller, Thread.State.WAITING);
+            Assert.assertEquals(Thread.State.WAITING, refiller.getState());
+        }
+    }
+
+}
@@ -0,0 +1,188 @@
+package com.stresstest.random.factory;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+import com.clemble.test.random.ObjectGenerator;
+import com.stresstest.random.factory.SeededGenerationTest.SeededBean;
+
+public class PublisherGenerationTest {
+
+    public static class RecordingSubscriber<T> implements Subscriber<T> {
+        final private List<T> values = new CopyOnWriteArrayList<T>();
+        final private CountDownLatch terminated = new CountDownLatch(1);
+        final private AtomicReference<Throwable> error = new AtomicReference<Throwable>();
+        final private AtomicInteger signals = new AtomicInteger();
+        private volatile Thread signalThread;
+        final private long initialRequest;
+        private volatile Subscription subscription;
+        private volatile boolean completed;
+
+        public RecordingSubscriber(long initialRequest) {
+            this.initialRequest = initialRequest;
+        }
+
+        @Override
+        public void onSubscribe(Subscription subscription) {
+            this.subscription = subscription;
+            subscription.request(initialRequest);
+        }
+
+        @Override
+        public void onNext(T value) {
+            values.add(value);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            error.set(throwable);
+            signalThread = Thread.currentThread();
+            signals.incrementAndGet();
+            terminated.countDown();
+        }
+
+        @Override
+        public void onComplete() {
+            completed = true;
+            signalThread = Thread.currentThread();
+            signals.incrementAndGet();
+            terminated.countDown();
+        }
+
+        public boolean await() throws InterruptedException {
+            return terminated.await(10, TimeUnit.SECONDS);
+        }
+    }
+
+    @After
+    public void clean() {
+        ObjectGenerator.disableSeeding();
+    }
+
+    @Test
+    public void testDemandRespected() throws InterruptedException {
+        RecordingSubscriber<SeededBean> subscriber = new RecordingSubscriber<SeededBean>(3);
+        ObjectGenerator.publisher(SeededBean.class).subscribe(subscriber);
+        Assert.assertFalse(subscriber.terminated.await(200, TimeUnit.MILLISECONDS));
+        Assert.assertEquals(3, subscriber.values.size());
+
+        subscriber.subscription.request(2);
+        Thread.sleep(200);
+        Assert.assertEquals(5, subscriber.values.size());
+        subscriber.subscription.cancel();
+    }
+
+    @Test
+    public void testSizedCompletes() throws InterruptedException {
+        RecordingSubscriber<SeededBean> subscriber = new RecordingSubscriber<SeededBean>(Long.MAX_VALUE);
+        ObjectGenerator.publisher(SeededBean.class, 1000).subscribe(subscriber);
+        Assert.assertTrue(subscriber.await());
+        Assert.assertTrue(subscriber.completed);
+        Assert.assertEquals(1000, subscriber.values.size());
+
+        RecordingSubscriber<SeededBean> empty = new RecordingSubscriber<SeededBean>(1);
+        ObjectGenerator.publisher(SeededBean.class, 0).subscribe(empty);
+        Assert.assertTrue(empty.await());
+        Assert.assertTrue(empty.completed);
+    }
+
+    @Test
+    public void testCancelStops() throws InterruptedException {
+        final AtomicInteger received = new AtomicInteger();
+        ObjectGenerator.publisher(SeededBean.class).subscribe(new Subscriber<SeededBean>() {
+            private Subscription subscription;
+
+            @Override
+            public void onSubscribe(Subscription subscription) {
+                this.subscription = subscription;
+                subscription.request(Long.MAX_VALUE);
+            }
+
+            @Override
+            public void onNext(SeededBean value) {
+                if (received.incrementAndGet() == 10)
+                    subscription.cancel();
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+            }
+
+            @Override
+            public void onComplete() {
+            }
+        });
+        Thread.sleep(200);
+        Assert.assertEquals(10, received.get());
+    }
+
+    @Test
+    public void testInvalidRequest() throws InterruptedException {
+        RecordingSubscriber<SeededBean> subscriber = new RecordingSubscriber<SeededBean>(0);
+        ObjectGenerator.publisher(SeededBean.class).subscribe(subscriber);
+        Assert.assertTrue(subscriber.await());
+        Assert.assertTrue(subscriber.error.get() instanceof IllegalArgumentException);
+    }
+
+    @Test
+    public void testInvalidRequestSignalledOnceOnExecutor() throws InterruptedException {
+        final ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            RecordingSubscriber<SeededBean> subscriber = new RecordingSubscriber<SeededBean>(5);
+            ObjectGenerator.publisher(SeededBean.class, Long.MAX_VALUE, executor, 10).subscribe(subscriber);
+            subscriber.subscription.request(-1);
+            subscriber.subscription.request(0);
+            Assert.assertTrue(subscriber.await());
+            Thread.sleep(100);
+            Assert.assertTrue(subscriber.error.get() instanceof IllegalArgumentException);
+            Assert.assertEquals(1, subscriber.signals.get());
+            Assert.assertNotSame(Thread.currentThread(), subscriber.signalThread);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testBatchesOnExecutor() throws InterruptedException {
+        final AtomicInteger tasks = new AtomicInteger();
+        final ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Publisher<SeededBean> publisher = ObjectGenerator.publisher(SeededBean.class, 100, (task) -> {
+                tasks.incrementAndGet();
+                executor.execute(task);
+            }, 10);
+            RecordingSubscriber<SeededBean> subscriber = new RecordingSubscriber<SeededBean>(100);
+            publisher.subscribe(subscriber);
+            Assert.assertTrue(subscriber.await());
+            Assert.assertEquals(100, subscriber.values.size());
+            Assert.assertEquals(10, tasks.get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testSeededSameAsList() throws InterruptedException {
+        ObjectGenerator.enableSeeding(42);
+        List<SeededBean> list = ObjectGenerator.generateList(SeededBean.class, 500);
+        ObjectGenerator.enableSeeding(42);
+        RecordingSubscriber<SeededBean> subscriber = new RecordingSubscriber<SeededBean>(Long.MAX_VALUE);
+        ObjectGenerator.publisher(SeededBean.class, 500).subscribe(subscriber);
+        Assert.assertTrue(subscriber.await());
+        Assert.assertEquals(list, subscriber.values);
+    }
+
+}
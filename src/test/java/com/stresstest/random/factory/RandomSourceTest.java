@@ -0,0 +1,54 @@
+package com.stresstest.random.factory;
+
+import java.util.Random;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.clemble.test.random.ObjectGenerator;
+import com.clemble.test.random.generator.RandomSource;
+import com.clemble.test.random.generator.RandomSources;
+import com.clemble.test.random.generator.RandomValueGenerators;
+import com.clemble.test.random.generator.SplittableRandomSource;
+import com.clemble.test.random.generator.ThreadLocalRandomSource;
+
+public class RandomSourceTest {
+
+    @After
+    public void clean() {
+        RandomSources.reset();
+    }
+
+    @Test
+    public void testDefaultSource() {
+        Assert.assertTrue(RandomSources.get() instanceof ThreadLocalRandomSource);
+    }
+
+    @Test
+    public void testBuiltInGeneratorsUseSource() {
+        ObjectGenerator.setRandomSource(new SplittableRandomSource(42));
+        int[] integers = RandomValueGenerators.INTEGER_ARRAY_VALUE_GENERATOR.get();
+        String string = RandomValueGenerators.STRING_VALUE_GENERATOR.get();
+        long longValue = RandomValueGenerators.LONG_VALUE_GENERATOR.getAsLong();
+
+        ObjectGenerator.setRandomSource(new SplittableRandomSource(42));
+        Assert.assertArrayEquals(integers, RandomValueGenerators.INTEGER_ARRAY_VALUE_GENERATOR.get());
+        Assert.assertEquals(string, RandomValueGenerators.STRING_VALUE_GENERATOR.get());
+        Assert.assertEquals(longValue, RandomValueGenerators.LONG_VALUE_GENERATOR.getAsLong());
+    }
+
+    @Test
+    public void testSplittableRandomBounds() {
+        RandomSource randomSource = new SplittableRandomSource();
+        Random random = randomSource.asRandom();
+        Assert.assertSame(random, randomSource.asRandom());
+        for (int i = 0; i < 1000; i++) {
+            float nextFloat = randomSource.nextFloat();
+            Assert.assertTrue(nextFloat >= 0 && nextFloat < 1);
+            int nextInt = random.nextInt(10);
+            Assert.assertTrue(nextInt >= 0 && nextInt < 10);
+        }
+    }
+
+}
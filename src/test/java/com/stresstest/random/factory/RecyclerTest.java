@@ -0,0 +1,113 @@
+package com.stresstest.random.factory;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.clemble.test.random.ObjectGenerator;
+import com.clemble.test.random.ObjectRecycler;
+import com.stresstest.random.factory.SeededGenerationTest.SeededBean;
+
+public class RecyclerTest {
+
+    public static class RecycledBean {
+        private long value;
+
+        public long getValue() {
+            return value;
+        }
+
+        public void setValue(long value) {
+            this.value = value;
+        }
+    }
+
+    public static class ImmutableBean {
+        final private long value;
+
+        public ImmutableBean(long value) {
+            this.value = value;
+        }
+
+        public long getValue() {
+            return value;
+        }
+    }
+
+    public static class TaggedBean {
+        final private List<String> tags = new ArrayList<String>();
+
+        public void addTag(String tag) {
+            tags.add(tag);
+        }
+    }
+
+    @After
+    public void clean() {
+        ObjectGenerator.disableSeeding();
+    }
+
+    @Test
+    public void testReleasedReused() {
+        ObjectRecycler<RecycledBean> recycler = ObjectGenerator.recycler(RecycledBean.class);
+        Assert.assertTrue(recycler.isRecycling());
+        RecycledBean first = recycler.get();
+        long firstValue = first.getValue();
+        recycler.release(first);
+        RecycledBean second = recycler.get();
+        Assert.assertSame(first, second);
+        Assert.assertNotEquals(firstValue, second.getValue());
+        // Nothing released, new value is generated
+        Assert.assertNotSame(second, recycler.get());
+    }
+
+    @Test
+    public void testCapacity() {
+        ObjectRecycler<SeededBean> recycler = ObjectGenerator.recycler(SeededBean.class, 1);
+        SeededBean first = recycler.get();
+        SeededBean second = recycler.get();
+        recycler.release(first);
+        recycler.release(second);
+        Assert.assertSame(first, recycler.get());
+        Assert.assertNotSame(second, recycler.get());
+    }
+
+    @Test
+    public void testConstructorStateNotReused() {
+        ObjectRecycler<ImmutableBean> recycler = ObjectGenerator.recycler(ImmutableBean.class);
+        Assert.assertFalse(recycler.isRecycling());
+        ImmutableBean first = recycler.get();
+        recycler.release(first);
+        Assert.assertNotSame(first, recycler.get());
+    }
+
+    @Test
+    public void testAddMethodStateNotAccumulated() {
+        ObjectRecycler<TaggedBean> recycler = ObjectGenerator.recycler(TaggedBean.class);
+        int size = ObjectGenerator.generate(TaggedBean.class).tags.size();
+        for (int i = 0; i < 5; i++) {
+            TaggedBean bean = recycler.get();
+            Assert.assertEquals(size, bean.tags.size());
+            recycler.release(bean);
+        }
+        Assert.assertFalse(recycler.isRecycling());
+    }
+
+    @Test
+    public void testSeededSameAsGenerated() {
+        ObjectGenerator.enableSeeding(42);
+        SeededBean first = ObjectGenerator.generate(SeededBean.class);
+        SeededBean second = ObjectGenerator.generate(SeededBean.class);
+
+        ObjectGenerator.enableSeeding(42);
+        ObjectRecycler<SeededBean> recycler = ObjectGenerator.recycler(SeededBean.class);
+        SeededBean recycled = recycler.get();
+        Assert.assertEquals(first, recycled);
+        recycler.release(recycled);
+        Assert.assertEquals(second, recycler.get());
+    }
+
+}
@@ -0,0 +1,203 @@
+package com.stresstest.random.factory;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.logging.Handler;
+import java.util.logging.LogRecord;
+import java.util.logging.Logger;
+
+import javax.validation.constraints.Pattern;
+import javax.validation.constraints.Size;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.clemble.test.random.ObjectGenerator;
+import com.clemble.test.random.constructor.validation.PatternConstraintValidator;
+import com.clemble.test.random.generator.RandomValueGenerators;
+import com.clemble.test.random.generator.RegexGenerator;
+
+public class RegexGeneratorTest {
+
+    public static class Contact {
+        @Pattern(regexp = "\\+1-\\d{3}-\\d{3}-\\d{4}")
+        private String phone;
+        private String code;
+
+        public void setPhone(String phone) {
+            this.phone = phone;
+        }
+
+        @Pattern(regexp = "[a-z]{2}", flags = Pattern.Flag.CASE_INSENSITIVE)
+        public void setCode(String code) {
+            this.code = code;
+        }
+    }
+
+    public static class Document {
+        @Pattern(regexp = "[\\u0400-\\u04FF]+")
+        private String title;
+        @Size(min = 3, max = 3)
+        @Pattern(regexp = "(a)\\1")
+        private String code;
+
+        public void setTitle(String title) {
+            this.title = title;
+        }
+
+        public void setCode(String code) {
+            this.code = code;
+        }
+    }
+
+    public static class Heading {
+        @Pattern(regexp = "h(?=1)")
+        private String text;
+
+        public void setText(String text) {
+            this.text = text;
+        }
+    }
+
+    public static class Caption {
+        @Pattern(regexp = "h(?=1)")
+        private String text;
+
+        public void setText(String text) {
+            this.text = text;
+        }
+    }
+
+    public static class Product {
+        final private String sku;
+
+        public Product(@Pattern(regexp = "SKU-[0-9A-F]{8}") String sku) {
+            this.sku = sku;
+        }
+    }
+
+    @Test
+    public void testMatches() {
+        String[] expressions = {
+            "[a-z]{3,8}",
+            "^(foo|bar)+-\\d?$",
+            "[^a-z]\\w*\\s\\.",
+            "(?:ab|c){2}x?y*",
+            "\\p{Upper}{2}[\\d_-]{1,4}",
+            "\\Q.*\\E[.]",
+            "a(?<group>b|c)+?",
+            "(?i)hello",
+            "[\\u00C0-\\u00FF]+",
+            "[a-c\\u00F0-\\u0400]{3}",
+            ""
+        };
+        for (String expression : expressions) {
+            Supplier<String> generator = RandomValueGenerators.randomRegexString(expression);
+            for (int i = 0; i < 200; i++) {
+                String value = generator.get();
+                Assert.assertTrue(expression + " " + value, value.matches(expression));
+            }
+        }
+    }
+
+    @Test
+    public void testVariety() {
+        Supplier<String> generator = RandomValueGenerators.randomRegexString("(red|green|blue)-[0-9]");
+        Set<String> colors = new HashSet<String>();
+        for (int i = 0; i < 100; i++)
+            colors.add(generator.get().split("-")[0]);
+        Assert.assertEquals(3, colors.size());
+    }
+
+    @Test
+    public void testUnboundedRepetitionStaysShort() {
+        Supplier<String> generator = new RegexGenerator("a+b*(cd)+", false, 8);
+        for (int i = 0; i < 200; i++) {
+            String value = generator.get();
+            Assert.assertTrue(value, value.matches("a+b*(cd)+"));
+            Assert.assertTrue(value, value.length() <= 10);
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNoLatin1Match() {
+        new RegexGenerator("[\\u0400-\\u04FF]+");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testBackReference() {
+        new RegexGenerator("(a)\\1");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testLookahead() {
+        new RegexGenerator("a(?=b)");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testUnclosedGroup() {
+        new RegexGenerator("(ab");
+    }
+
+    @Test
+    public void testPatternConstraint() {
+        for (Contact contact : ObjectGenerator.generateList(Contact.class, 20)) {
+            Assert.assertTrue(contact.phone, contact.phone.matches("\\+1-\\d{3}-\\d{3}-\\d{4}"));
+            Assert.assertTrue(contact.code, contact.code.matches("[a-zA-Z]{2}"));
+        }
+    }
+
+    @Test
+    public void testUnsupportedPatternIgnored() {
+        for (Document document : ObjectGenerator.generateList(Document.class, 20)) {
+            Assert.assertNotNull(document.title);
+            Assert.assertEquals(3, document.code.length());
+        }
+    }
+
+    @Test
+    public void testUnsupportedPatternRejectedOnce() throws NoSuchFieldException {
+        final AtomicInteger warnings = new AtomicInteger();
+        Handler handler = new Handler() {
+            @Override
+            public void publish(LogRecord record) {
+                if (record.getMessage().contains("h(?=1)"))
+                    warnings.incrementAndGet();
+            }
+
+            @Override
+            public void flush() {
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+        Logger logger = Logger.getLogger(PatternConstraintValidator.class.getName());
+        logger.addHandler(handler);
+        try {
+            Assert.assertNotNull(ObjectGenerator.generate(Heading.class).text);
+            Assert.assertNotNull(ObjectGenerator.generate(Caption.class).text);
+            Pattern pattern = Heading.class.getDeclaredField("text").getAnnotation(Pattern.class);
+            for (int i = 0; i < 2; i++) {
+                try {
+                    PatternConstraintValidator.generator(pattern);
+                    Assert.fail();
+                } catch (IllegalArgumentException rejected) {
+                }
+            }
+        } finally {
+            logger.removeHandler(handler);
+        }
+        Assert.assertEquals(1, warnings.get());
+    }
+
+    @Test
+    public void testPatternConstraintOnParameter() {
+        for (Product product : ObjectGenerator.generateList(Product.class, 20))
+            Assert.assertTrue(product.sku, product.sku.matches("SKU-[0-9A-F]{8}"));
+    }
+
+}
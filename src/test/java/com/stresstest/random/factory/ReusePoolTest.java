@@ -0,0 +1,174 @@
+package com.stresstest.random.factory;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+
+import javax.validation.constraints.Max;
+import javax.validation.constraints.Min;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.clemble.test.random.ObjectGenerator;
+import com.clemble.test.random.generator.ReusePool;
+
+public class ReusePoolTest {
+
+    public static class Customer {
+        private String name;
+
+        public void setName(String name) {
+            this.name = name;
+        }
+    }
+
+    public static class Order {
+        private String id;
+        private Customer customer;
+
+        public void setId(String id) {
+            this.id = id;
+        }
+
+        public void setCustomer(Customer customer) {
+            this.customer = customer;
+        }
+    }
+
+    public static class Invoice {
+        final private Customer customer;
+
+        public Invoice(Customer customer) {
+            this.customer = customer;
+        }
+    }
+
+    public static class Rating {
+        @Min(1)
+        @Max(5)
+        private Integer stars;
+        private Integer votes;
+
+        public void setStars(Integer stars) {
+            this.stars = stars;
+        }
+
+        public void setVotes(Integer votes) {
+            this.votes = votes;
+        }
+    }
+
+    public static class Badge {
+        final private Integer level;
+        final private Integer points;
+
+        public Badge(@Min(1) @Max(3) Integer level, Integer points) {
+            this.level = level;
+            this.points = points;
+        }
+    }
+
+    @After
+    public void clean() {
+        ObjectGenerator.disableSeeding();
+        ObjectGenerator.disableReuse(Customer.class);
+        ObjectGenerator.disableReuse(Integer.class);
+    }
+
+    @Test
+    public void testReferencesServedFromPool() {
+        ReusePool<Customer> pool = ObjectGenerator.reuse(Customer.class, 1.0, 4);
+        Set<Customer> customers = identitySet();
+        for (Order order : ObjectGenerator.generateList(Order.class, 100)) {
+            Assert.assertNotNull(order.customer);
+            Assert.assertNotNull(order.customer.name);
+            customers.add(order.customer);
+        }
+        Assert.assertTrue(customers.size() <= 4);
+        Assert.assertEquals(customers.size(), pool.getPooled());
+    }
+
+    @Test
+    public void testFractionOfReferences() {
+        ObjectGenerator.reuse(Customer.class, 0.5, 4);
+        Set<Customer> customers = identitySet();
+        for (Order order : ObjectGenerator.generateList(Order.class, 100))
+            customers.add(order.customer);
+        Assert.assertTrue(customers.size() > 4);
+        Assert.assertTrue(customers.size() < 100);
+    }
+
+    @Test
+    public void testNoReuse() {
+        ObjectGenerator.reuse(Customer.class, 0, 4);
+        Set<Customer> customers = identitySet();
+        for (Order order : ObjectGenerator.generateList(Order.class, 100))
+            customers.add(order.customer);
+        Assert.assertEquals(100, customers.size());
+    }
+
+    @Test
+    public void testConstructorParameters() {
+        ObjectGenerator.reuse(Customer.class, 1.0, 2);
+        Set<Customer> customers = identitySet();
+        for (Invoice invoice : ObjectGenerator.generateList(Invoice.class, 50))
+            customers.add(invoice.customer);
+        Assert.assertTrue(customers.size() <= 2);
+    }
+
+    @Test
+    public void testDirectGenerationNotPooled() {
+        ObjectGenerator.reuse(Customer.class, 1.0, 1);
+        Set<Customer> customers = identitySet();
+        for (Customer customer : ObjectGenerator.generateList(Customer.class, 10))
+            customers.add(customer);
+        Assert.assertEquals(10, customers.size());
+    }
+
+    @Test
+    public void testConstrainedNotPooled() {
+        ObjectGenerator.reuse(Integer.class, 1.0, 1);
+        Set<Integer> votes = new HashSet<Integer>();
+        for (Rating rating : ObjectGenerator.generateList(Rating.class, 100)) {
+            Assert.assertTrue(rating.stars >= 1 && rating.stars <= 5);
+            votes.add(rating.votes);
+        }
+        Assert.assertEquals(1, votes.size());
+        Set<Integer> points = new HashSet<Integer>();
+        for (Badge badge : ObjectGenerator.generateList(Badge.class, 100)) {
+            Assert.assertTrue(badge.level >= 1 && badge.level <= 3);
+            points.add(badge.points);
+        }
+        Assert.assertEquals(1, points.size());
+    }
+
+    @Test
+    public void testSeededParallelSameAsSequential() {
+        ObjectGenerator.reuse(Customer.class, 0.5, 4);
+        ObjectGenerator.enableSeeding(42);
+        List<Order> sequential = ObjectGenerator.generateList(Order.class, 1000);
+        ObjectGenerator.enableSeeding(7);
+        Set<String> otherNames = new HashSet<String>();
+        for (Order order : ObjectGenerator.generateList(Order.class, 1000))
+            otherNames.add(order.customer.name);
+        ObjectGenerator.enableSeeding(42);
+        List<Order> parallel = ObjectGenerator.parallelGenerateList(Order.class, 1000);
+        Set<Customer> customers = identitySet();
+        for (int i = 0; i < sequential.size(); i++) {
+            Assert.assertEquals(sequential.get(i).id, parallel.get(i).id);
+            Assert.assertEquals(sequential.get(i).customer.name, parallel.get(i).customer.name);
+            Assert.assertFalse(otherNames.contains(sequential.get(i).customer.name));
+            customers.add(sequential.get(i).customer);
+        }
+        Assert.assertTrue(customers.size() < 1000);
+    }
+
+    private static Set<Customer> identitySet() {
+        return Collections.newSetFromMap(new IdentityHashMap<Customer, Boolean>());
+    }
+
+}
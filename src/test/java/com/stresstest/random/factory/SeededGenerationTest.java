@@ -0,0 +1,134 @@
+package com.stresstest.random.factory;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.clemble.test.random.ObjectGenerator;
+import com.clemble.test.random.generator.RandomSources;
+import com.clemble.test.random.generator.SeededRandomSource;
+import com.stresstest.random.construction.external.PublicAbstractInterface;
+
+public class SeededGenerationTest {
+
+    public static class SeededBean {
+        private String name;
+        private long value;
+        private double ratio;
+        private NestedBean nested;
+        private PublicAbstractInterface implementation;
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public void setValue(long value) {
+            this.value = value;
+        }
+
+        public void setRatio(double ratio) {
+            this.ratio = ratio;
+        }
+
+        public void setNested(NestedBean nested) {
+            this.nested = nested;
+        }
+
+        public void setImplementation(PublicAbstractInterface implementation) {
+            this.implementation = implementation;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (!(obj instanceof SeededBean))
+                return false;
+            SeededBean other = (SeededBean) obj;
+            return Objects.equals(name, other.name) && value == other.value && ratio == other.ratio && Objects.equals(nested, other.nested)
+                && Objects.equals(implementation == null ? null : implementation.getClass(), other.implementation == null ? null : other.implementation.getClass());
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(name, value);
+        }
+    }
+
+    public static class NestedBean {
+        private int first;
+        private String second;
+
+        public void setFirst(int first) {
+            this.first = first;
+        }
+
+        public void setSecond(String second) {
+            this.second = second;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            return obj instanceof NestedBean && first == ((NestedBean) obj).first && Objects.equals(second, ((NestedBean) obj).second);
+        }
+
+        @Override
+        public int hashCode() {
+            return first;
+        }
+    }
+
+    @After
+    public void clean() {
+        ObjectGenerator.disableSeeding();
+        ObjectGenerator.disableCaching();
+    }
+
+    @Test
+    public void testSameSeedSameObjects() {
+        ObjectGenerator.enableSeeding(42);
+        SeededBean first = ObjectGenerator.generate(SeededBean.class);
+        List<SeededBean> firstList = ObjectGenerator.generateList(SeededBean.class, 10);
+
+        ObjectGenerator.enableSeeding(42);
+        ObjectGenerator.enableCaching();
+        Assert.assertEquals(first, ObjectGenerator.generate(SeededBean.class));
+        Assert.assertEquals(firstList, ObjectGenerator.generateList(SeededBean.class, 10));
+
+        ObjectGenerator.enableSeeding(43);
+        Assert.assertNotEquals(first, ObjectGenerator.generate(SeededBean.class));
+    }
+
+    @Test
+    public void testSameIndexSameObjectInAnyThread() throws Exception {
+        ObjectGenerator.enableSeeding(42);
+        final SeededRandomSource randomSource = (SeededRandomSource) RandomSources.get();
+        List<SeededBean> sequential = new ArrayList<SeededBean>();
+        for (int i = 0; i < 32; i++) {
+            final long index = i;
+            sequential.add(randomSource.generate(index, () -> ObjectGenerator.generate(SeededBean.class)));
+        }
+
+        List<Integer> indexes = new ArrayList<Integer>();
+        for (int i = 0; i < 32; i++)
+            indexes.add(i);
+        Collections.shuffle(indexes);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<SeededBean>> parallel = new ArrayList<Future<SeededBean>>(Collections.<Future<SeededBean>>nCopies(32, null));
+            for (final Integer index : indexes)
+                parallel.set(index, executor.submit(() -> randomSource.generate(index, () -> ObjectGenerator.generate(SeededBean.class))));
+            for (int i = 0; i < 32; i++)
+                Assert.assertEquals(sequential.get(i), parallel.get(i).get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+}
@@ -0,0 +1,161 @@
+package com.stresstest.random.factory;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.clemble.test.random.ObjectGenerator;
+
+public class StaticDiscoveryTest {
+
+    final private static AtomicInteger CONSTRUCTED = new AtomicInteger();
+
+    public static class ConstructorBean {
+        final private String name;
+        final private long value;
+
+        public ConstructorBean() {
+            this(null, 0);
+        }
+
+        public ConstructorBean(String name) {
+            this(name, 0);
+        }
+
+        public ConstructorBean(String name, long value) {
+            CONSTRUCTED.incrementAndGet();
+            this.name = name;
+            this.value = value;
+        }
+    }
+
+    public static class FactoryBean {
+        final private int value;
+
+        private FactoryBean(int value) {
+            CONSTRUCTED.incrementAndGet();
+            this.value = value;
+        }
+
+        public static FactoryBean create() {
+            return new FactoryBean(0);
+        }
+
+        public static FactoryBean create(int value) {
+            return new FactoryBean(value);
+        }
+
+        public static FactoryBean create(int value, int multiplier) {
+            return new FactoryBean(value * multiplier);
+        }
+    }
+
+    public static class FailingBean {
+        final private String name;
+
+        public FailingBean(String name) {
+            CONSTRUCTED.incrementAndGet();
+            this.name = name;
+        }
+
+        public FailingBean(String name, int value) {
+            CONSTRUCTED.incrementAndGet();
+            throw new IllegalStateException();
+        }
+    }
+
+    public static class Tracker {
+        public Tracker() {
+            CONSTRUCTED.incrementAndGet();
+        }
+    }
+
+    public static class BuiltBean {
+        final private String name;
+
+        private BuiltBean(String name) {
+            this.name = name;
+        }
+
+        public static NameBuilder named(String name) {
+            return new NameBuilder(name);
+        }
+
+        public static TrackedBuilder tracked() {
+            return new TrackedBuilder();
+        }
+    }
+
+    public static class NameBuilder {
+        final private String name;
+
+        private NameBuilder(String name) {
+            this.name = name;
+        }
+
+        public BuiltBean build() {
+            return new BuiltBean(name);
+        }
+    }
+
+    public static class TrackedBuilder {
+        private Tracker tracker;
+
+        public void setTracker(Tracker tracker) {
+            this.tracker = tracker;
+        }
+
+        public BuiltBean build() {
+            return new BuiltBean(String.valueOf(tracker));
+        }
+    }
+
+    @Before
+    public void enable() {
+        CONSTRUCTED.set(0);
+        ObjectGenerator.enableStaticDiscovery();
+    }
+
+    @After
+    public void disable() {
+        ObjectGenerator.disableStaticDiscovery();
+    }
+
+    @Test
+    public void testSingleConstructorInstantiation() {
+        ObjectGenerator.disableStaticDiscovery();
+        ObjectGenerator.getValueGenerator(ConstructorBean.class);
+        Assert.assertEquals(3, CONSTRUCTED.get());
+
+        ObjectGenerator.enableStaticDiscovery();
+        CONSTRUCTED.set(0);
+        ConstructorBean bean = ObjectGenerator.getValueGenerator(ConstructorBean.class).get();
+        Assert.assertEquals(2, CONSTRUCTED.get());
+        Assert.assertNotNull(bean.name);
+    }
+
+    @Test
+    public void testSingleFactoryInstantiation() {
+        ObjectGenerator.getValueGenerator(FactoryBean.class);
+        Assert.assertEquals(1, CONSTRUCTED.get());
+        Assert.assertNotNull(ObjectGenerator.generate(FactoryBean.class));
+    }
+
+    @Test
+    public void testFallbackOnFailure() {
+        FailingBean bean = ObjectGenerator.getValueGenerator(FailingBean.class).get();
+        Assert.assertEquals(3, CONSTRUCTED.get());
+        Assert.assertNotNull(bean.name);
+    }
+
+    @Test
+    public void testOnlyChosenBuilderResolved() {
+        BuiltBean bean = ObjectGenerator.getValueGenerator(BuiltBean.class).get();
+        Assert.assertNotNull(bean.name);
+        Assert.assertEquals(0, CONSTRUCTED.get());
+    }
+
+}
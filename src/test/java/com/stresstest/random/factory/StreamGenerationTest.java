@@ -0,0 +1,52 @@
+package com.stresstest.random.factory;
+
+import java.util.List;
+import java.util.Spliterator;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.clemble.test.random.ObjectGenerator;
+import com.stresstest.random.factory.SeededGenerationTest.SeededBean;
+
+public class StreamGenerationTest {
+
+    @After
+    public void clean() {
+        ObjectGenerator.disableSeeding();
+    }
+
+    @Test
+    public void testSizedStream() {
+        Spliterator<SeededBean> spliterator = ObjectGenerator.stream(SeededBean.class, 1000).spliterator();
+        Assert.assertTrue(spliterator.hasCharacteristics(Spliterator.SIZED | Spliterator.SUBSIZED));
+        Assert.assertEquals(1000, spliterator.getExactSizeIfKnown());
+        Spliterator<SeededBean> prefix = spliterator.trySplit();
+        Assert.assertEquals(500, prefix.getExactSizeIfKnown());
+        Assert.assertEquals(500, spliterator.getExactSizeIfKnown());
+        Assert.assertEquals(1000, ObjectGenerator.stream(SeededBean.class, 1000).parallel().filter((bean) -> bean != null).count());
+    }
+
+    @Test
+    public void testInfiniteStream() {
+        Assert.assertEquals(5000, ObjectGenerator.stream(SeededBean.class).limit(5000).filter((bean) -> bean != null).count());
+    }
+
+    @Test
+    public void testSeededStream() {
+        ObjectGenerator.enableSeeding(42);
+        List<SeededBean> list = ObjectGenerator.generateList(SeededBean.class, 2000);
+        ObjectGenerator.enableSeeding(42);
+        Assert.assertEquals(list, ObjectGenerator.stream(SeededBean.class, 2000).parallel().collect(Collectors.toList()));
+
+        ObjectGenerator.enableSeeding(42);
+        List<SeededBean> infinite = ObjectGenerator.stream(SeededBean.class).limit(100).collect(Collectors.toList());
+        ObjectGenerator.enableSeeding(42);
+        Stream<SeededBean> parallelInfinite = ObjectGenerator.stream(SeededBean.class).parallel().limit(100);
+        Assert.assertEquals(infinite, parallelInfinite.collect(Collectors.toList()));
+    }
+
+}
@@ -0,0 +1,84 @@
+package com.stresstest.random.factory;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.clemble.test.random.ObjectGenerator;
+import com.clemble.test.random.generator.SizeDistribution;
+import com.clemble.test.random.generator.StringGenerator;
+
+public class StringGeneratorTest {
+
+    public static class Account {
+        private String login;
+        private String pin;
+
+        public void setLogin(String login) {
+            this.login = login;
+        }
+
+        public void setPin(String pin) {
+            this.pin = pin;
+        }
+    }
+
+    @Test
+    public void testAlphabetCoverage() {
+        StringGenerator generator = StringGenerator.alphanumeric(SizeDistribution.fixed(100));
+        Set<Character> characters = new HashSet<Character>();
+        for (int i = 0; i < 100; i++) {
+            String value = generator.get();
+            Assert.assertEquals(100, value.length());
+            for (char character : value.toCharArray()) {
+                Assert.assertTrue(StringGenerator.ALPHANUMERIC.indexOf(character) >= 0);
+                characters.add(character);
+            }
+        }
+        Assert.assertEquals(StringGenerator.ALPHANUMERIC.length(), characters.size());
+    }
+
+    @Test
+    public void testLatin1Alphabet() {
+        String alphabet = StringGenerator.alphabet('\u00C0', '\u00FF');
+        for (char character : new StringGenerator(alphabet, SizeDistribution.fixed(50)).get().toCharArray())
+            Assert.assertTrue(character >= '\u00C0' && character <= '\u00FF');
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNonLatin1Alphabet() {
+        new StringGenerator("abc\u0100", SizeDistribution.fixed(5));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testEmptyAlphabet() {
+        new StringGenerator("", SizeDistribution.fixed(5));
+    }
+
+    @Test
+    public void testLengthDistribution() {
+        StringGenerator generator = StringGenerator.numeric(SizeDistribution.uniform(0, 4));
+        Set<Integer> lengths = new HashSet<Integer>();
+        for (int i = 0; i < 200; i++)
+            lengths.add(generator.get().length());
+        Assert.assertEquals(5, lengths.size());
+    }
+
+    @Test
+    public void testLongStrings() {
+        Assert.assertEquals(10, StringGenerator.ascii(SizeDistribution.fixed(10)).get().length());
+        Assert.assertEquals(1 << 16, StringGenerator.ascii(SizeDistribution.fixed(1 << 16)).get().length());
+        Assert.assertEquals(10, StringGenerator.ascii(SizeDistribution.fixed(10)).get().length());
+    }
+
+    @Test
+    public void testPropertyGenerator() {
+        ObjectGenerator.register(Account.class, "pin", new StringGenerator("0123456789", SizeDistribution.fixed(4)));
+        Account account = ObjectGenerator.generate(Account.class);
+        Assert.assertEquals(10, account.login.length());
+        Assert.assertTrue(account.pin.matches("[0-9]{4}"));
+    }
+
+}
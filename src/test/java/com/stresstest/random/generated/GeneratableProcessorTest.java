@@ -0,0 +1,56 @@
+package com.stresstest.random.generated;
+
+import java.util.function.Supplier;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.clemble.test.random.ObjectGenerator;
+import com.clemble.test.random.generator.GeneratedValueGenerator;
+import com.stresstest.random.generated.marked.MarkedBean;
+
+public class GeneratableProcessorTest {
+
+    @Test
+    public void testConstructorGenerated() {
+        Supplier<GeneratedBean> generator = ObjectGenerator.getValueGenerator(GeneratedBean.class);
+        Assert.assertTrue(generator instanceof GeneratedValueGenerator);
+        Assert.assertEquals(GeneratedBean.class, ((GeneratedValueGenerator<?>) generator).getTargetClass());
+
+        GeneratedBean bean = ObjectGenerator.generate(GeneratedBean.class);
+        Assert.assertNotNull(bean.getOwner());
+        Assert.assertNotNull(bean.getName());
+        Assert.assertNotNull(bean.getTags());
+    }
+
+    @Test
+    public void testFactoryMethodGenerated() {
+        Assert.assertTrue(ObjectGenerator.getValueGenerator(GeneratedFactoryBean.class) instanceof GeneratedValueGenerator);
+        GeneratedFactoryBean bean = ObjectGenerator.generate(GeneratedFactoryBean.class);
+        Assert.assertNotNull(bean.getBean());
+        Assert.assertNotNull(bean.getBean().getName());
+    }
+
+    @Test
+    public void testBuilderGenerated() {
+        Assert.assertTrue(ObjectGenerator.getValueGenerator(GeneratedBuilderBean.class) instanceof GeneratedValueGenerator);
+        Assert.assertNotNull(ObjectGenerator.generate(GeneratedBuilderBean.class).getData());
+    }
+
+    @Test
+    public void testPackageMarkerGenerated() {
+        Assert.assertTrue(ObjectGenerator.getValueGenerator(MarkedBean.class) instanceof GeneratedValueGenerator);
+        Assert.assertTrue(ObjectGenerator.getValueGenerator(MarkedBean.NestedMarkedBean.class) instanceof GeneratedValueGenerator);
+        Assert.assertNotNull(ObjectGenerator.generate(MarkedBean.class).getValue());
+        Assert.assertNotNull(ObjectGenerator.generate(MarkedBean.NestedMarkedBean.class).data);
+    }
+
+    @Test
+    public void testRegisteredPropertyOverridesGenerated() {
+        Assert.assertTrue(ObjectGenerator.getValueGenerator(GeneratedOverriddenBean.class) instanceof GeneratedValueGenerator);
+        ObjectGenerator.register(GeneratedOverriddenBean.class, "name", () -> "registered");
+        Assert.assertFalse(ObjectGenerator.getValueGenerator(GeneratedOverriddenBean.class) instanceof GeneratedValueGenerator);
+        Assert.assertEquals("registered", ObjectGenerator.generate(GeneratedOverriddenBean.class).getName());
+    }
+
+}
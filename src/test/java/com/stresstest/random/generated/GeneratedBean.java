@@ -0,0 +1,49 @@
+package com.stresstest.random.generated;
+
+import java.util.List;
+
+import com.clemble.test.random.annotation.Generatable;
+
+@Generatable
+public class GeneratedBean {
+
+    final private int id;
+    final private String owner;
+    private String name;
+    private List<String> tags;
+    long counter;
+
+    public GeneratedBean(int id, String owner) {
+        this.id = id;
+        this.owner = owner;
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    public String getOwner() {
+        return owner;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public List<String> getTags() {
+        return tags;
+    }
+
+    public void setTags(List<String> tags) {
+        this.tags = tags;
+    }
+
+    public long getCounter() {
+        return counter;
+    }
+
+}
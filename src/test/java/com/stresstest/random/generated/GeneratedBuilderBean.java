@@ -0,0 +1,33 @@
+package com.stresstest.random.generated;
+
+import com.clemble.test.random.annotation.Generatable;
+
+@Generatable
+public abstract class GeneratedBuilderBean {
+
+    abstract public String getData();
+
+    public static class Builder {
+        private String data;
+
+        public Builder setData(String data) {
+            this.data = data;
+            return this;
+        }
+
+        public GeneratedBuilderBean build() {
+            final String data = this.data;
+            return new GeneratedBuilderBean() {
+                @Override
+                public String getData() {
+                    return data;
+                }
+            };
+        }
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+}
@@ -0,0 +1,28 @@
+package com.stresstest.random.generated;
+
+import com.clemble.test.random.annotation.Generatable;
+
+@Generatable
+public class GeneratedFactoryBean {
+
+    final private GeneratedBean bean;
+    final private double value;
+
+    private GeneratedFactoryBean(GeneratedBean bean, double value) {
+        this.bean = bean;
+        this.value = value;
+    }
+
+    public GeneratedBean getBean() {
+        return bean;
+    }
+
+    public double getValue() {
+        return value;
+    }
+
+    static GeneratedFactoryBean create(GeneratedBean bean, double value) {
+        return new GeneratedFactoryBean(bean, value);
+    }
+
+}
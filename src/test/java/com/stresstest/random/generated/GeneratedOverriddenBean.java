@@ -0,0 +1,18 @@
+package com.stresstest.random.generated;
+
+import com.clemble.test.random.annotation.Generatable;
+
+@Generatable
+public class GeneratedOverriddenBean {
+
+    private String name;
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+}
@@ -0,0 +1,19 @@
+package com.stresstest.random.generated.marked;
+
+public class MarkedBean {
+
+    private Boolean value;
+
+    public Boolean getValue() {
+        return value;
+    }
+
+    public void setValue(Boolean value) {
+        this.value = value;
+    }
+
+    public static class NestedMarkedBean {
+        public String data;
+    }
+
+}
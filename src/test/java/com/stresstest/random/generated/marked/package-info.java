@@ -0,0 +1,4 @@
+@Generatable
+package com.stresstest.random.generated.marked;
+
+import com.clemble.test.random.annotation.Generatable;
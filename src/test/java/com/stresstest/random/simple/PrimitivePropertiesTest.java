@@ -0,0 +1,82 @@
+package com.stresstest.random.simple;
+
+import java.util.function.DoubleSupplier;
+import java.util.function.IntSupplier;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.clemble.test.random.ObjectGenerator;
+import com.clemble.test.random.generator.RandomValueGeneratorFactory;
+import com.clemble.test.random.generator.RandomValueGenerators;
+
+public class PrimitivePropertiesTest {
+
+    public static class PrimitiveObject {
+        public int intField;
+        public long longField;
+        public double doubleField;
+        public float floatField;
+        public short shortField;
+        private int intProperty;
+        private long longProperty;
+        private double doubleProperty;
+
+        public void setIntProperty(int intProperty) {
+            this.intProperty = intProperty;
+        }
+
+        public void setLongProperty(long longProperty) {
+            this.longProperty = longProperty;
+        }
+
+        public void setDoubleProperty(double doubleProperty) {
+            this.doubleProperty = doubleProperty;
+        }
+    }
+
+    @After
+    public void clean() {
+        ObjectGenerator.enableCompilation();
+    }
+
+    @Test
+    public void testDefaultGeneratorsArePrimitive() {
+        Assert.assertTrue(RandomValueGenerators.DEFAULT_GENERATORS.get(int.class) instanceof IntSupplier);
+        Assert.assertTrue(RandomValueGenerators.DEFAULT_GENERATORS.get(long.class) instanceof LongSupplier);
+        Assert.assertTrue(RandomValueGenerators.DEFAULT_GENERATORS.get(double.class) instanceof DoubleSupplier);
+    }
+
+    @Test
+    public void testCompiledPrimitiveProperties() {
+        assertPropertiesSet(new RandomValueGeneratorFactory().get(PrimitiveObject.class));
+    }
+
+    @Test
+    public void testReflectivePrimitiveProperties() {
+        ObjectGenerator.disableCompilation();
+        assertPropertiesSet(new RandomValueGeneratorFactory().get(PrimitiveObject.class));
+    }
+
+    private void assertPropertiesSet(Supplier<PrimitiveObject> generator) {
+        boolean intField = false, longField = false, doubleField = false, floatField = false, shortField = false;
+        boolean intProperty = false, longProperty = false, doubleProperty = false;
+        for (int i = 0; i < 100; i++) {
+            PrimitiveObject value = generator.get();
+            intField |= value.intField != 0;
+            longField |= value.longField != 0;
+            doubleField |= value.doubleField != 0;
+            floatField |= value.floatField != 0;
+            shortField |= value.shortField != 0;
+            intProperty |= value.intProperty != 0;
+            longProperty |= value.longProperty != 0;
+            doubleProperty |= value.doubleProperty != 0;
+        }
+        Assert.assertTrue(intField && longField && doubleField && floatField && shortField);
+        Assert.assertTrue(intProperty && longProperty && doubleProperty);
+    }
+
+}
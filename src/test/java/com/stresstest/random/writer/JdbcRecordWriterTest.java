@@ -0,0 +1,85 @@
+package com.stresstest.random.writer;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.clemble.test.random.ObjectGenerator;
+import com.clemble.test.random.writer.JdbcRecordWriter;
+import com.clemble.test.random.writer.WriteReport;
+import com.stresstest.random.writer.RecordWriterTest.Entry;
+import com.stresstest.random.writer.RecordWriterTest.Row;
+
+public class JdbcRecordWriterTest {
+
+    private JdbcDataSource dataSource;
+    private Connection connection;
+
+    @Before
+    public void create() throws SQLException {
+        dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:rows;DB_CLOSE_DELAY=-1");
+        connection = dataSource.getConnection();
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE ROWS_TABLE (ID BIGINT, NAME VARCHAR(4096), ACTIVE BOOLEAN, ADDRESS_CITY VARCHAR(4096))");
+            statement.execute("CREATE TABLE ENTRIES_TABLE (ID BIGINT, CREATED TIMESTAMP, AMOUNT DECIMAL(20, 2), ISSUED DATE)");
+        }
+    }
+
+    @After
+    public void drop() throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP TABLE ROWS_TABLE");
+            statement.execute("DROP TABLE ENTRIES_TABLE");
+        }
+        connection.close();
+    }
+
+    private long count(String condition) throws SQLException {
+        try (Statement statement = connection.createStatement(); ResultSet resultSet = statement.executeQuery("SELECT COUNT(*) FROM ROWS_TABLE" + condition)) {
+            resultSet.next();
+            return resultSet.getLong(1);
+        }
+    }
+
+    @Test
+    public void testInsertStatement() {
+        String insert = ObjectGenerator.jdbcWriter(Row.class, dataSource, "ROWS_TABLE").getInsertStatement();
+        Assert.assertTrue(insert.startsWith("INSERT INTO ROWS_TABLE ("));
+        Assert.assertTrue(insert.contains("address_city"));
+    }
+
+    @Test
+    public void testParallelBatches() throws SQLException {
+        JdbcRecordWriter<Row> writer = ObjectGenerator.jdbcWriter(Row.class, dataSource, "ROWS_TABLE").batchSize(300).threads(4);
+        WriteReport report = writer.write(10001);
+        Assert.assertEquals(10001, report.getRows());
+        Assert.assertTrue(report.getRowsPerSecond() > 0);
+        Assert.assertEquals(10001, count(""));
+        Assert.assertTrue(count(" WHERE ADDRESS_CITY IS NOT NULL") > 0);
+    }
+
+    @Test
+    public void testValueTypeColumns() throws SQLException {
+        JdbcRecordWriter<Entry> writer = ObjectGenerator.jdbcWriter(Entry.class, dataSource, "ENTRIES_TABLE");
+        Assert.assertTrue(writer.getInsertStatement(), writer.getInsertStatement().contains("created"));
+        Assert.assertEquals(100, writer.write(100).getRows());
+        try (Statement statement = connection.createStatement(); ResultSet resultSet = statement.executeQuery("SELECT COUNT(*) FROM ENTRIES_TABLE WHERE CREATED IS NOT NULL AND AMOUNT IS NOT NULL AND ISSUED IS NOT NULL")) {
+            resultSet.next();
+            Assert.assertEquals(100, resultSet.getLong(1));
+        }
+    }
+
+    @Test(expected = SQLException.class)
+    public void testMissingTable() throws SQLException {
+        ObjectGenerator.jdbcWriter(Row.class, dataSource, "MISSING_TABLE").write(10);
+    }
+
+}
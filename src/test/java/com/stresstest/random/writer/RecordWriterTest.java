@@ -0,0 +1,176 @@
+package com.stresstest.random.writer;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import javax.validation.constraints.DecimalMax;
+import javax.validation.constraints.DecimalMin;
+import javax.validation.constraints.Past;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.clemble.test.random.ObjectGenerator;
+import com.clemble.test.random.writer.RecordFormat;
+
+public class RecordWriterTest {
+
+    public static class Address {
+        private String city;
+
+        public void setCity(String city) {
+            this.city = city;
+        }
+    }
+
+    public static class Row {
+        private long id;
+        private String name;
+        private Boolean active;
+        private Address address;
+
+        public void setId(long id) {
+            this.id = id;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public void setActive(Boolean active) {
+            this.active = active;
+        }
+
+        public void setAddress(Address address) {
+            this.address = address;
+        }
+    }
+
+    public static class Quote {
+        private String text;
+
+        public void setText(String text) {
+            this.text = text;
+        }
+    }
+
+    public static class Entry {
+        private long id;
+        private Date created;
+        @DecimalMin("0.01")
+        @DecimalMax("1000.00")
+        private BigDecimal amount;
+        @Past
+        private LocalDate issued;
+
+        public void setId(long id) {
+            this.id = id;
+        }
+
+        public void setCreated(Date created) {
+            this.created = created;
+        }
+
+        public void setAmount(BigDecimal amount) {
+            this.amount = amount;
+        }
+
+        public void setIssued(LocalDate issued) {
+            this.issued = issued;
+        }
+    }
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @After
+    public void clean() {
+        ObjectGenerator.disableSeeding();
+    }
+
+    private static List<String> readLines(Path path) throws IOException {
+        InputStream input = Files.newInputStream(path);
+        if (path.toString().endsWith(".gz"))
+            input = new GZIPInputStream(input);
+        List<String> lines = new ArrayList<String>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8))) {
+            for (String line = reader.readLine(); line != null; line = reader.readLine())
+                lines.add(line);
+        }
+        return lines;
+    }
+
+    @Test
+    public void testCsv() throws IOException {
+        List<Path> paths = ObjectGenerator.recordWriter(Row.class, RecordFormat.CSV).write(folder.getRoot().toPath().resolve("rows"), 1000);
+        Assert.assertEquals(1, paths.size());
+        Assert.assertTrue(paths.get(0).toString().endsWith("rows.csv"));
+        List<String> lines = readLines(paths.get(0));
+        Assert.assertEquals(1001, lines.size());
+        Assert.assertTrue(lines.get(0).contains("address.city"));
+        Assert.assertTrue(lines.get(0).contains("id"));
+    }
+
+    @Test
+    public void testNdjson() throws IOException {
+        List<Path> paths = ObjectGenerator.recordWriter(Row.class, RecordFormat.NDJSON).write(folder.getRoot().toPath().resolve("rows"), 100);
+        List<String> lines = readLines(paths.get(0));
+        Assert.assertEquals(100, lines.size());
+        for (String line : lines) {
+            Assert.assertTrue(line.startsWith("{") && line.endsWith("}"));
+            Assert.assertTrue(line.contains("\"id\":"));
+        }
+    }
+
+    @Test
+    public void testSplitCompressedSameAsSingle() throws IOException {
+        ObjectGenerator.enableSeeding(42);
+        List<Path> single = ObjectGenerator.recordWriter(Row.class, RecordFormat.NDJSON).write(folder.getRoot().toPath().resolve("single"), 50000);
+        ObjectGenerator.enableSeeding(42);
+        List<Path> split = ObjectGenerator.recordWriter(Row.class, RecordFormat.NDJSON).compressed(true).files(3).write(folder.getRoot().toPath().resolve("split"), 50000);
+        Assert.assertEquals(3, split.size());
+        Assert.assertTrue(split.get(2).toString().endsWith("split-2.ndjson.gz"));
+
+        List<String> joined = new ArrayList<String>();
+        for (Path path : split)
+            joined.addAll(readLines(path));
+        Assert.assertEquals(readLines(single.get(0)), joined);
+        Assert.assertEquals(16667, readLines(split.get(0)).size());
+    }
+
+    @Test
+    public void testCsvEscaping() throws IOException {
+        ObjectGenerator.register(Quote.class, "text", () -> "a,\"b\"");
+        List<Path> paths = ObjectGenerator.recordWriter(Quote.class, RecordFormat.CSV).write(folder.getRoot().toPath().resolve("escaped"), 1);
+        Assert.assertEquals("\"a,\"\"b\"\"\"", readLines(paths.get(0)).get(1));
+    }
+
+    @Test
+    public void testValueTypeColumns() throws IOException {
+        List<Path> paths = ObjectGenerator.recordWriter(Entry.class, RecordFormat.CSV).write(folder.getRoot().toPath().resolve("entries"), 10);
+        List<String> header = Arrays.asList(readLines(paths.get(0)).get(0).split(","));
+        Assert.assertEquals(new HashSet<String>(Arrays.asList("id", "created", "amount", "issued")), new HashSet<String>(header));
+        paths = ObjectGenerator.recordWriter(Entry.class, RecordFormat.NDJSON).write(folder.getRoot().toPath().resolve("entries"), 10);
+        for (String line : readLines(paths.get(0))) {
+            Assert.assertTrue(line, line.contains("\"created\":\""));
+            Assert.assertTrue(line, line.matches(".*\"issued\":\"\\d{4}-\\d{2}-\\d{2}\".*"));
+        }
+    }
+
+}
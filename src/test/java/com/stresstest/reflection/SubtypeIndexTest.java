@@ -0,0 +1,64 @@
+package com.stresstest.reflection;
+
+import java.io.File;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.util.Set;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.clemble.test.reflection.ReflectionUtils;
+import com.clemble.test.reflection.SubtypeIndex;
+import com.stresstest.random.construction.external.PublicAbstractClass;
+import com.stresstest.random.construction.external.PublicAbstractInterface;
+import com.stresstest.random.construction.external.impl.PublicAbstractClassImpl;
+import com.stresstest.random.construction.external.impl.PublicInterfaceImpl;
+
+public class SubtypeIndexTest {
+
+    final private static String EXTERNAL_PACKAGE = "com.stresstest.random.construction.external";
+
+    @Test
+    public void testLookupCached() {
+        Set<Class<? extends PublicAbstractInterface>> implementations = ReflectionUtils.findPossibleImplementations(PublicAbstractInterface.class);
+        Assert.assertTrue(implementations.contains(PublicInterfaceImpl.class));
+        Assert.assertSame(implementations, ReflectionUtils.findPossibleImplementations(PublicAbstractInterface.class));
+    }
+
+    @Test
+    public void testSubPackageLookupUsesScannedPackage() {
+        SubtypeIndex index = SubtypeIndex.forClass(PublicAbstractClass.class);
+        Set<Class<? extends PublicAbstractClass>> all = index.getSubTypesOf(EXTERNAL_PACKAGE, PublicAbstractClass.class);
+        Set<Class<? extends PublicAbstractClass>> impl = index.getSubTypesOf(EXTERNAL_PACKAGE + ".impl", PublicAbstractClass.class);
+        Assert.assertTrue(all.containsAll(impl));
+        Assert.assertTrue(impl.contains(PublicAbstractClassImpl.class));
+    }
+
+    @Test
+    public void testPackageNamePrefix() {
+        SubtypeIndex index = SubtypeIndex.forClass(PublicAbstractInterface.class);
+        Assert.assertFalse(index.getSubTypesOf(EXTERNAL_PACKAGE, PublicAbstractInterface.class).isEmpty());
+        Assert.assertTrue(index.getSubTypesOf("com.stresstest.random.construction.ext", PublicAbstractInterface.class).isEmpty());
+        Assert.assertTrue(index.getSubTypesOf(EXTERNAL_PACKAGE + "al", PublicAbstractInterface.class).isEmpty());
+    }
+
+    @Test
+    public void testPrebuiltIndexUsed() throws Exception {
+        File indexDirectory = Files.createTempDirectory("subtypes").toFile();
+        SubtypeIndex.write(indexDirectory, EXTERNAL_PACKAGE);
+
+        try (URLClassLoader classLoader = new URLClassLoader(new URL[] { indexDirectory.toURI().toURL() }, getClass().getClassLoader())) {
+            SubtypeIndex index = SubtypeIndex.forClassLoader(classLoader);
+            Assert.assertTrue(index.isIndexed(EXTERNAL_PACKAGE));
+            Assert.assertFalse(index.isIndexed("com.stresstest.random.simple"));
+            Assert.assertFalse(index.isIndexed(EXTERNAL_PACKAGE + "al"));
+            Assert.assertTrue(index.isIndexed(EXTERNAL_PACKAGE + ".impl"));
+            Set<Class<? extends PublicAbstractInterface>> implementations = index.getSubTypesOf(EXTERNAL_PACKAGE, PublicAbstractInterface.class);
+            Assert.assertTrue(implementations.contains(PublicInterfaceImpl.class));
+            Assert.assertEquals(SubtypeIndex.forClass(PublicAbstractInterface.class).getSubTypesOf(EXTERNAL_PACKAGE, PublicAbstractInterface.class), implementations);
+        }
+    }
+
+}